@@ -0,0 +1,91 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничитель частоты запросов к ANU API: не чаще одного запроса
+ * в {@code minIntervalMs} на все провайдеры, разделяющие экземпляр.
+ *
+ * Каждый вызов {@link #acquire()} резервирует следующий свободный слот
+ * под монитором и ждёт его уже вне монитора, поэтому одновременные
+ * загрузчики выстраиваются в очередь с шагом {@code minIntervalMs}.
+ *
+ * {@link #global()} — общий экземпляр JVM ({@code api.min.request.interval.ms}),
+ * его используют провайдеры, созданные из конфигурации.
+ */
+final class ApiRateLimiter {
+
+    /** Интервал по умолчанию: тариф ANU — 1 запрос в секунду. */
+    static final long DEFAULT_INTERVAL_MS = 1000;
+
+    private final long minIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final RNProvider.Sleeper sleeper;
+
+    /** Время (nanoClock), начиная с которого свободен следующий слот. */
+    private long nextSlotNanos;
+    private boolean started = false;
+
+    ApiRateLimiter(long minIntervalMs) {
+        this(minIntervalMs, System::nanoTime, Thread::sleep);
+    }
+
+    ApiRateLimiter(long minIntervalMs, LongSupplier nanoClock, RNProvider.Sleeper sleeper) {
+        if (minIntervalMs < 0) {
+            throw new IllegalArgumentException("minIntervalMs не может быть отрицательным, получено " + minIntervalMs);
+        }
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    private static final class GlobalHolder {
+        static final ApiRateLimiter INSTANCE = new ApiRateLimiter(configuredInterval());
+
+        private static long configuredInterval() {
+            String value = Config.getString("api.min.request.interval.ms");
+            return value != null ? Long.parseLong(value) : DEFAULT_INTERVAL_MS;
+        }
+    }
+
+    /** Общий для JVM ограничитель. */
+    static ApiRateLimiter global() {
+        return GlobalHolder.INSTANCE;
+    }
+
+    /** Ограничитель без ожидания (для провайдеров, не ходящих в ANU API). */
+    static ApiRateLimiter unlimited() {
+        return new ApiRateLimiter(0);
+    }
+
+    /**
+     * Ждёт своего слота.
+     *
+     * @return сколько миллисекунд пришлось ждать
+     */
+    long acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos + 999_999);  // округление вверх
+        if (waitMs > 0) {
+            sleeper.sleep(waitMs);
+        }
+        return waitMs;
+    }
+
+    /** Резервирует слот; возвращает, сколько наносекунд до него осталось. */
+    synchronized long reserve() {
+        if (minIntervalNanos == 0) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        long slot = !started || now - nextSlotNanos > 0 ? now : nextSlotNanos;
+        started = true;
+        nextSlotNanos = slot + minIntervalNanos;
+        return slot - now;
+    }
+
+    long getMinIntervalMs() {
+        return TimeUnit.NANOSECONDS.toMillis(minIntervalNanos);
+    }
+}
@@ -3,7 +3,10 @@ package org.ThreeDotsSierpinski;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ItemEvent;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -21,12 +24,20 @@ public class App {
     private static final String BUTTON_PLAY = "► Play";
     private static final String BUTTON_STOP = "■ Stop";
 
+    /** Число партий в спарклайне строки статуса. */
+    private static final int SPARKLINE_BATCHES = 30;
+
     private static final Logger LOGGER = LoggerConfig.getLogger();
 
     public static void main(String[] args) {
         LoggerConfig.initializeLogger();
         LOGGER.info(LOG_APP_STARTED);
 
+        if (List.of(args).contains("--daemon")) {
+            runDaemon();
+            return;
+        }
+
         // Выбор режима визуализации
         SwingUtilities.invokeLater(() -> {
             var selector = new ModeSelectionDialog();
@@ -47,8 +58,68 @@ public class App {
         });
     }
 
+    /**
+     * Режим без GUI: один RNProvider раздаёт энтропию локальным процессам через EntropyDaemon.
+     * Клиенты сокета обслуживаются как интерактивные, перенос в кольцо — как фоновый:
+     * в кольцо идут только квантовые числа, не больше {@code daemon.ring.prefetch} впрок.
+     */
+    private static void runDaemon() {
+        var core = SharedProviderCore.shared();
+        var provider = core.getProvider();
+        var providerMBean = JmxSupport.register(provider.getMetrics(), "type=RNProvider");
+        var daemon = EntropyDaemon.fromConfig(core.open("daemon", SharedProviderCore.QosClass.INTERACTIVE));
+
+        SharedEntropyRing.Producer ringProducer;
+        try {
+            ringProducer = startRingProducer(core.open("ring", SharedProviderCore.QosClass.BACKGROUND), provider);
+            daemon.start();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to start entropy daemon", e);
+            System.exit(1);
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOGGER.info(LOG_APP_SHUTTING_DOWN);
+            if (ringProducer != null) {
+                ringProducer.close();
+            }
+            daemon.close();
+            provider.shutdown();
+            JmxSupport.unregister(providerMBean);
+        }));
+
+        try {
+            daemon.awaitTermination();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Запускает производителя общего кольца, если задан {@code daemon.ring.path}.
+     *
+     * @return производитель или null, если кольцо выключено
+     */
+    private static SharedEntropyRing.Producer startRingProducer(EntropySource source, RNProvider provider)
+            throws IOException {
+        String ringPath = Config.getString("daemon.ring.path");
+        if (ringPath == null || ringPath.isBlank()) {
+            return null;
+        }
+        var ring = SharedEntropyRing.create(Path.of(ringPath), Config.getInt("daemon.ring.capacity"));
+        LOGGER.info("Shared entropy ring: " + ringPath);
+        return SharedEntropyRing.Producer.quantumOnly(ring, source,
+                () -> !provider.isForcedPseudo() && provider.getMode() == RNProvider.Mode.QUANTUM,
+                Config.getInt("daemon.ring.prefetch")).start();
+    }
+
     private static void launchMainWindow(VisualizationMode mode) {
-        RNProvider randomNumberProvider = new RNProvider();
+        var core = SharedProviderCore.shared();
+        RNProvider randomNumberProvider = core.getProvider();
+        // Рисование — через дескриптор ядра, как у остальных потребителей: GUI получает
+        // долю INTERACTIVE и не вытесняет daemon/кольцо, работающие в том же процессе
+        var guiHandle = core.open("gui", SharedProviderCore.QosClass.INTERACTIVE);
         JLabel statusLabel = new JLabel("Initializing...");
 
         String windowTitle = "Quantum Visualizer — " + mode.getName();
@@ -63,7 +134,7 @@ public class App {
         int finalWidth = (int) Math.round(basePanelWidth * scaleWidth);
         int finalHeight = (int) Math.round(basePanelHeight * scaleHeight);
 
-        var dotController = new DotController(randomNumberProvider, mode, statusLabel);
+        var dotController = new DotController(randomNumberProvider, guiHandle, mode, statusLabel);
         frame.add(dotController, BorderLayout.CENTER);
 
         // Панель статуса
@@ -85,6 +156,12 @@ public class App {
         rngLabel.setFont(new Font("SansSerif", Font.PLAIN, 11));
         statusPanel.add(rngLabel);
 
+        // Спарклайн качества последних квантовых партий (обновляется раз в секунду)
+        var qualityLabel = new JLabel();
+        qualityLabel.setFont(new Font("SansSerif", Font.PLAIN, 11));
+        statusPanel.add(qualityLabel);
+        new Timer(1000, _ -> updateBatchQualityLabel(qualityLabel, randomNumberProvider.getBatchQuality())).start();
+
         var testButton = new JButton("Проверить качество");
         testButton.setPreferredSize(new Dimension(160, 28));
         statusPanel.add(testButton);
@@ -101,6 +178,11 @@ public class App {
         frame.setVisible(true);
         LOGGER.info(LOG_GUI_STARTED);
 
+        // JMX: метрики провайдера и рендеринга для мониторинга (JConsole, VisualVM)
+        var providerMBean = JmxSupport.register(randomNumberProvider.getMetrics(), "type=RNProvider");
+        var rendererMBean = JmxSupport.register(dotController.getMetrics(), "type=Renderer,mode=" + mode.getId());
+        var ledgerMBean = JmxSupport.register(randomNumberProvider.getEntropyLedger(), "type=EntropyLedger");
+
         // Listener для Raw Data окна
         randomNumberProvider.addDataLoadListener(new RNLoadListenerImpl(dotController, frame, rngToggle));
 
@@ -135,50 +217,21 @@ public class App {
 
         // Проверить качество
         testButton.addActionListener(_ -> {
-            List<Long> numbers = dotController.getUsedRandomNumbers();
+            // Источники не смешиваются: квантовые числа проверяются отдельно от псевдослучайных
+            RNProvider.Mode source = RNProvider.Mode.QUANTUM;
+            Sample numbers = dotController.getUsedSample(source);
+            if (numbers.size() < 10) {
+                source = RNProvider.Mode.PSEUDO;
+                numbers = dotController.getUsedSample(source);
+            }
 
             if (numbers.size() < 10) {
                 statusLabel.setText("Нужно минимум 10 точек для тестов");
                 return;
             }
 
-            RandomnessTestSuite suite = new RandomnessTestSuite();
-            List<TestResult> results = suite.runAll(numbers, 0.05);
-
-            long passed = results.stream().filter(TestResult::passed).count();
-            statusLabel.setText("Тесты: " + passed + "/" + results.size()
-                    + " пройдено (" + numbers.size() + " точек)");
-
-            var panel = new JPanel();
-            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-            panel.setBorder(BorderFactory.createEmptyBorder(8, 4, 8, 4));
-
-            for (TestResult result : results) {
-                var row = getJPanel(result);
-
-                panel.add(row);
-            }
-
-            panel.add(Box.createVerticalStrut(8));
-            var summary = new JLabel("Итого: " + passed + "/" + results.size() + " тестов пройдено");
-            summary.setFont(new Font("SansSerif", Font.BOLD, 13));
-            summary.setAlignmentX(Component.LEFT_ALIGNMENT);
-            summary.setBorder(BorderFactory.createEmptyBorder(4, 8, 0, 0));
-            panel.add(summary);
-
-            var legend = new JLabel("<html><font color='#228B22'>● отлично</font>"
-                    + "   <font color='#CC9900'>● приемлемо</font>"
-                    + "   <font color='#CC0000'>● не пройден</font></html>");
-            legend.setFont(new Font("SansSerif", Font.PLAIN, 11));
-            legend.setBorder(BorderFactory.createEmptyBorder(6, 8, 0, 0));
-            legend.setAlignmentX(Component.LEFT_ALIGNMENT);
-            panel.add(legend);
-
-            JOptionPane.showMessageDialog(
-                    frame, panel,
-                    "Результаты тестов случайности (" + numbers.size() + " чисел)",
-                    passed == results.size() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE
-            );
+            new RandomnessTestDialog(frame, statusLabel)
+                    .show(numbers, source, randomNumberProvider.getSessionTests(source));
         });
 
         // Save PNG
@@ -234,36 +287,27 @@ public class App {
             public void windowClosing(java.awt.event.WindowEvent e) {
                 LOGGER.info(LOG_APP_SHUTTING_DOWN);
                 dotController.shutdown();
+                guiHandle.close();
                 randomNumberProvider.shutdown();
+                JmxSupport.unregister(rendererMBean);
+                JmxSupport.unregister(ledgerMBean);
+                JmxSupport.unregister(providerMBean);
                 super.windowClosing(e);
             }
         });
     }
 
-    private static JPanel getJPanel(TestResult result) {
-        var row = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 2));
-
-        var indicator = new JLabel("●");
-        indicator.setFont(new Font("SansSerif", Font.BOLD, 16));
-        indicator.setForeground(switch (result.quality()) {
-            case STRONG   -> new Color(34, 139, 34);
-            case MARGINAL -> new Color(204, 153, 0);
-            case FAIL     -> new Color(204, 0, 0);
-        });
-        row.add(indicator);
-
-        var mark = new JLabel(switch (result.quality()) {
-            case STRONG   -> "✓";
-            case MARGINAL -> "○";
-            case FAIL     -> "✗";
-        });
-        mark.setFont(new Font("SansSerif", Font.BOLD, 14));
-        mark.setForeground(indicator.getForeground());
-        row.add(mark);
-
-        var text = new JLabel(result.statistic() + "    " + result.testName());
-        text.setFont(new Font("Monospaced", Font.PLAIN, 13));
-        row.add(text);
-        return row;
+    private static void updateBatchQualityLabel(JLabel label, BatchQualityMonitor monitor) {
+        List<BatchQualityMonitor.BatchQuality> history = monitor.snapshot(RNProvider.Mode.QUANTUM);
+        if (history.isEmpty()) {
+            label.setText("");
+            return;
+        }
+        var recent = history.subList(Math.max(0, history.size() - SPARKLINE_BATCHES), history.size());
+        var last = recent.getLast();
+        label.setText(BatchQualityMonitor.sparkline(recent));
+        label.setForeground(last.quality() == TestResult.Quality.FAIL ? Color.RED : Color.DARK_GRAY);
+        label.setToolTipText(String.format("Последняя партия: %d чисел, Frequency p=%.3f, Runs p=%.3f, \u03c7\u00b2 p=%.3f",
+                last.size(), last.monobitP(), last.runsP(), last.chiSquareP()));
     }
 }
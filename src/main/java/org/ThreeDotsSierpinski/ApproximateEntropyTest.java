@@ -0,0 +1,57 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * NIST SP 800-22 Approximate Entropy Test (2.12).
+ *
+ * Сравнивает частоты перекрывающихся шаблонов соседних длин m и m + 1:
+ * ApEn = φ⁽ᵐ⁾ − φ⁽ᵐ⁺¹⁾, χ² = 2n·(ln 2 − ApEn), p = igamc(2^(m−1), χ²/2).
+ * Таблица m + 1 считается одним проходом, таблица m — её свёрткой
+ * ({@link PatternCounts}).
+ *
+ * m подбирается по длине потока: наибольшее m &lt; ⌊log₂ n⌋ − 5, но не больше
+ * {@link #MAX_M}.
+ */
+public class ApproximateEntropyTest implements RandomnessTest {
+
+    private static final String NAME = "Приблизительная энтропия (ApEn)";
+
+    /** Наибольшая длина шаблона (NIST рекомендует 10 для длинных потоков). */
+    static final int MAX_M = 10;
+
+    /** Длина шаблона для потока из {@code n} бит. */
+    static int patternLength(long n) {
+        return Math.clamp(PatternCounts.log2(n) - 6, 1, MAX_M);
+    }
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
+            throw new IllegalArgumentException("Требуется минимум 10 чисел");
+        }
+
+        long n = sample.bitLength();
+        int m = patternLength(n);
+        double pValue = pValue(sample.bits(), n, m);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p=%.4f (m=%d)", pValue, m);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * p-значение для шаблонов длины {@code m} ≥ 1 по потоку {@code bits} длины {@code n}.
+     */
+    static double pValue(long[] bits, long n, int m) {
+        int[] countsM1 = PatternCounts.count(bits, n, m + 1);
+        int[] countsM = PatternCounts.fold(countsM1);
+
+        double apEn = PatternCounts.phi(countsM, n) - PatternCounts.phi(countsM1, n);
+        double chiSquare = 2.0 * n * (Math.log(2) - apEn);
+        return MathUtils.igamc(Math.pow(2, m - 1), Math.max(0, chiSquare) / 2);
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
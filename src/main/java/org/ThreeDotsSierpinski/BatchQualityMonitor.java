@@ -0,0 +1,153 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Временной ряд качества партий: каждая загруженная партия сразу после
+ * поступления проходит лёгкий набор тестов (Frequency, Runs, χ²) прямо по
+ * массиву {@code short[]} на потоке загрузчика.
+ *
+ * Результаты хранятся в кольце фиксированного размера — последние
+ * {@code capacity} партий, старые вытесняются. Дрейф квантового источника
+ * виден уже по одной партии, без повторного прогона истории.
+ */
+public final class BatchQualityMonitor {
+
+    /** Размер кольца по умолчанию. */
+    static final int DEFAULT_CAPACITY = 256;
+
+    /** Уровень значимости для оценки одной партии. */
+    static final double ALPHA = 0.01;
+
+    /** Партии короче не оцениваются (как минимум тестов случайности). */
+    static final int MIN_BATCH_SIZE = 10;
+
+    /** Символы спарклайна от худшего p-значения к лучшему. */
+    private static final char[] SPARK_LEVELS = "▁▂▃▄▅▆▇█".toCharArray();
+
+    /**
+     * Оценка одной партии.
+     *
+     * @param timestampMillis время поступления партии
+     * @param source          происхождение партии
+     * @param size            число значений в партии
+     * @param quality         итог по худшему из трёх p-значений
+     */
+    public record BatchQuality(long timestampMillis, RNProvider.Mode source, int size,
+                               double monobitP, double runsP, double chiSquareP,
+                               TestResult.Quality quality) {
+
+        /** Худшее из трёх p-значений. */
+        public double minP() {
+            return Math.min(monobitP, Math.min(runsP, chiSquareP));
+        }
+    }
+
+    private final BatchQuality[] ring;
+    private final LongSupplier clock;
+
+    private final FrequencyBitTest.Online monobit = new FrequencyBitTest.Online();
+    private final RunsBitTest.Online runs = new RunsBitTest.Online();
+    private final ChiSquareUniformityTest.Online chiSquare = new ChiSquareUniformityTest.Online();
+
+    private int next = 0;
+    private long recorded = 0;
+    private long failed = 0;
+
+    public BatchQualityMonitor() {
+        this(DEFAULT_CAPACITY, System::currentTimeMillis);
+    }
+
+    BatchQualityMonitor(int capacity, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity должен быть положительным, получено " + capacity);
+        }
+        this.ring = new BatchQuality[capacity];
+        this.clock = clock;
+    }
+
+    /**
+     * Оценивает партию {@code batch[off..off+len)} и кладёт результат в кольцо.
+     *
+     * @return оценка партии или null, если партия короче {@link #MIN_BATCH_SIZE}
+     */
+    public synchronized BatchQuality record(short[] batch, int off, int len, RNProvider.Mode source) {
+        if (len < MIN_BATCH_SIZE) {
+            return null;
+        }
+        monobit.reset();
+        runs.reset();
+        chiSquare.reset();
+        monobit.acceptAll(batch, off, len);
+        runs.acceptAll(batch, off, len);
+        chiSquare.acceptAll(batch, off, len);
+
+        double monobitP = monobit.pValue();
+        double runsP = runs.pValue();
+        double chiSquareP = chiSquare.pValue();
+        double minP = Math.min(monobitP, Math.min(runsP, chiSquareP));
+
+        var quality = minP >= 2 * ALPHA ? TestResult.Quality.STRONG
+                    : minP >= ALPHA     ? TestResult.Quality.MARGINAL
+                    :                     TestResult.Quality.FAIL;
+
+        var entry = new BatchQuality(clock.getAsLong(), source, len, monobitP, runsP, chiSquareP, quality);
+        ring[next] = entry;
+        next = (next + 1) % ring.length;
+        recorded++;
+        if (quality == TestResult.Quality.FAIL) {
+            failed++;
+        }
+        return entry;
+    }
+
+    /** Оценки в кольце, от старой к новой. */
+    public synchronized List<BatchQuality> snapshot() {
+        int size = (int) Math.min(recorded, ring.length);
+        List<BatchQuality> result = new ArrayList<>(size);
+        int start = (next - size + ring.length) % ring.length;
+        for (int i = 0; i < size; i++) {
+            result.add(ring[(start + i) % ring.length]);
+        }
+        return result;
+    }
+
+    /** Оценки одного происхождения, от старой к новой. */
+    public List<BatchQuality> snapshot(RNProvider.Mode source) {
+        return snapshot().stream().filter(q -> q.source() == source).toList();
+    }
+
+    /** Последняя оценка или null, если партий ещё не было. */
+    public synchronized BatchQuality getLast() {
+        return recorded == 0 ? null : ring[(next - 1 + ring.length) % ring.length];
+    }
+
+    /** Сколько партий оценено за всё время. */
+    public synchronized long getRecorded() {
+        return recorded;
+    }
+
+    /** Сколько партий получили FAIL за всё время. */
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Текстовый спарклайн худших p-значений: символ на партию,
+     * ▁ — p около 0, █ — p около 1.
+     */
+    public static String sparkline(List<BatchQuality> history) {
+        var sb = new StringBuilder(history.size());
+        for (BatchQuality q : history) {
+            int level = (int) (q.minP() * SPARK_LEVELS.length);
+            sb.append(SPARK_LEVELS[Math.clamp(level, 0, SPARK_LEVELS.length - 1)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.stream.IntStream;
+
+/**
+ * NIST SP 800-22 Binary Matrix Rank Test (2.5), матрицы 32×32.
+ *
+ * Поток делится на N = ⌊n/1024⌋ матриц; ранги над GF(2) сравниваются с
+ * теоретическим распределением (полный ранг, ранг 31, не больше 30) по χ²
+ * с двумя степенями свободы: p = e^(−χ²/2). Проверяет линейную
+ * зависимость между соседними 32-битными отрезками потока.
+ *
+ * Строка матрицы — один {@code int}: половина слова {@link Sample}, и
+ * исключение Гаусса складывает строки целиком через XOR. Матрицы независимы,
+ * поэтому при большом N считаются параллельными кусками; между кусками
+ * проверяется отмена ({@link Cancellation}).
+ */
+public class BinaryMatrixRankTest implements RandomnessTest {
+
+    private static final String NAME = "Ранг матриц (Matrix Rank)";
+
+    /** Размер матрицы: 32 строки по 32 бита. */
+    static final int SIZE = 32;
+
+    /** Бит на матрицу и слов потока на матрицу. */
+    private static final int MATRIX_BITS = SIZE * SIZE;
+    private static final int MATRIX_WORDS = MATRIX_BITS / 64;
+
+    /** Минимум матриц по NIST. */
+    static final int MIN_MATRICES = 38;
+
+    /** Начиная с этого числа матриц ранги считаются параллельно. */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    /** Матриц в одном параллельном куске. */
+    private static final int CHUNK = 1024;
+
+    /**
+     * Вероятности рангов 32, 31 и ≤ 30 для случайной матрицы 32×32 (NIST 3.5:
+     * p_r = 2^(r(2·32−r)−32²) · Π_{i&lt;r} (1 − 2^(i−32))² / (1 − 2^(i−r))).
+     */
+    private static final double P_FULL = 0.2887880951538411;
+    private static final double P_FULL_MINUS_ONE = 0.5775761901732046;
+    private static final double P_LOWER = 1 - P_FULL - P_FULL_MINUS_ONE;
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        long matrices = sample == null ? 0 : sample.bitLength() / MATRIX_BITS;
+        if (matrices < MIN_MATRICES) {
+            throw new InsufficientDataException("Требуется минимум " + MIN_MATRICES + " матриц 32×32 ("
+                    + MIN_MATRICES * MATRIX_BITS / Sample.BITS_PER_VALUE + " чисел)");
+        }
+
+        long[] ranks = rankCounts(sample.bits(), (int) matrices);
+        double pValue = pValue(ranks);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p=%.4f (N=%d)", pValue, matrices);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * Сколько из первых {@code matrices} матриц потока имеют ранг 32, 31 и ≤ 30.
+     */
+    static long[] rankCounts(long[] bits, int matrices) {
+        var cancellation = Cancellation.ofCurrentThread();
+        if (matrices < PARALLEL_THRESHOLD) {
+            return rankCounts(bits, 0, matrices, cancellation);
+        }
+        int chunks = (matrices + CHUNK - 1) / CHUNK;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> rankCounts(bits, c * CHUNK, Math.min(matrices, (c + 1) * CHUNK), cancellation))
+                .reduce(new long[3], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
+    }
+
+    private static long[] rankCounts(long[] bits, int from, int to, Cancellation cancellation) {
+        long[] counts = new long[3];
+        int[] rows = new int[SIZE];
+        for (int m = from; m < to; m++) {
+            if ((m - from) % CHUNK == 0) {
+                cancellation.check();
+            }
+            int base = m * MATRIX_WORDS;
+            for (int w = 0; w < MATRIX_WORDS; w++) {
+                long word = bits[base + w];
+                rows[2 * w] = (int) word;
+                rows[2 * w + 1] = (int) (word >>> 32);
+            }
+            int rank = rank(rows);
+            counts[rank == SIZE ? 0 : rank == SIZE - 1 ? 1 : 2]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Ранг матрицы 32×32 над GF(2); строка — {@code int}, столбец — бит.
+     * Массив строк портится.
+     */
+    static int rank(int[] rows) {
+        int rank = 0;
+        for (int col = 0; col < SIZE && rank < SIZE; col++) {
+            int bit = 1 << col;
+            int pivot = rank;
+            while (pivot < SIZE && (rows[pivot] & bit) == 0) {
+                pivot++;
+            }
+            if (pivot == SIZE) {
+                continue;
+            }
+            int row = rows[pivot];
+            rows[pivot] = rows[rank];
+            rows[rank] = row;
+            for (int r = rank + 1; r < SIZE; r++) {
+                if ((rows[r] & bit) != 0) {
+                    rows[r] ^= row;
+                }
+            }
+            rank++;
+        }
+        return rank;
+    }
+
+    /** p-значение по числу матриц рангов 32, 31 и ≤ 30. */
+    static double pValue(long[] ranks) {
+        double n = ranks[0] + ranks[1] + ranks[2];
+        double chiSquare = square(ranks[0] - P_FULL * n) / (P_FULL * n)
+                + square(ranks[1] - P_FULL_MINUS_ONE * n) / (P_FULL_MINUS_ONE * n)
+                + square(ranks[2] - P_LOWER * n) / (P_LOWER * n);
+        return Math.exp(-chiSquare / 2);
+    }
+
+    private static double square(double x) {
+        return x * x;
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,94 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * NIST SP 800-22 Frequency Test within a Block (2.2).
+ *
+ * Делит битовый поток на N блоков по M бит и проверяет долю единиц в каждом:
+ * χ² = 4M · Σ (πᵢ − ½)², p = igamc(N/2, χ²/2).
+ *
+ * M кратно 64, поэтому единицы блока считаются {@link Long#bitCount} по целым
+ * словам потока {@link Sample}. M выбирается по рекомендации NIST (M ≥ 20,
+ * M &gt; 0.01·n, N &lt; 100), но не меньше {@link #MIN_BLOCK_BITS}.
+ */
+public class BlockFrequencyTest implements RandomnessTest {
+
+    private static final String NAME = "Блочный частотный (Block Frequency)";
+
+    /** Минимальный размер блока в битах. */
+    static final int MIN_BLOCK_BITS = 128;
+
+    /** Верхняя граница числа блоков по рекомендации NIST. */
+    static final int MAX_BLOCKS = 99;
+
+    private final int blockBits;
+
+    /** Размер блока подбирается по длине выборки. */
+    public BlockFrequencyTest() {
+        this.blockBits = 0;
+    }
+
+    /**
+     * Фиксированный размер блока.
+     *
+     * @param blockBits M — положительное число, кратное 64
+     */
+    public BlockFrequencyTest(int blockBits) {
+        if (blockBits <= 0 || blockBits % 64 != 0) {
+            throw new IllegalArgumentException("blockBits должен быть положительным и кратным 64, получено " + blockBits);
+        }
+        this.blockBits = blockBits;
+    }
+
+    /** M по длине потока: кратно 64, не меньше MIN_BLOCK_BITS, не больше MAX_BLOCKS блоков. */
+    static int blockBitsFor(long n) {
+        long words = (n + 64L * MAX_BLOCKS - 1) / (64L * MAX_BLOCKS);
+        return (int) Math.max(MIN_BLOCK_BITS, 64 * words);
+    }
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
+            throw new IllegalArgumentException("Требуется минимум 10 чисел");
+        }
+
+        long n = sample.bitLength();
+        int m = blockBits > 0 ? blockBits : blockBitsFor(n);
+        long blocks = n / m;
+        if (blocks == 0) {
+            throw new IllegalArgumentException("Выборка короче одного блока: " + n + " бит при M=" + m);
+        }
+
+        double pValue = pValue(sample.bits(), n, m);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p=%.4f (M=%d, N=%d)", pValue, m, blocks);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * p-значение по битовому потоку {@code bits} длины {@code n} и блокам по {@code m} бит
+     * (m кратно 64, хвост короче блока отбрасывается).
+     */
+    static double pValue(long[] bits, long n, int m) {
+        long blocks = n / m;
+        int wordsPerBlock = m >>> 6;
+        double sum = 0.0;
+        for (long b = 0; b < blocks; b++) {
+            int base = (int) (b * wordsPerBlock);
+            long ones = 0;
+            for (int w = 0; w < wordsPerBlock; w++) {
+                ones += Long.bitCount(bits[base + w]);
+            }
+            double deviation = (double) ones / m - 0.5;
+            sum += deviation * deviation;
+        }
+
+        double chiSquare = 4.0 * m * sum;
+        return MathUtils.igamc(blocks / 2.0, chiSquare / 2.0);
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
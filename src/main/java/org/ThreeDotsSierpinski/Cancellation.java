@@ -0,0 +1,35 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Проверка отмены для длинных тестов случайности.
+ *
+ * Отмена {@link RandomnessTestSuite.Run} прерывает поток теста, но тяжёлая
+ * работа идёт в параллельных потоках на общем ForkJoinPool, до которых
+ * прерывание не доходит. Поэтому поток-владелец запоминается при входе в
+ * вычисление, а {@link #check()} между блоками, этапами и шаблонами смотрит
+ * на его флаг прерывания — с любого потока.
+ */
+final class Cancellation {
+
+    private final Thread owner;
+
+    private Cancellation(Thread owner) {
+        this.owner = owner;
+    }
+
+    /** Отмена, привязанная к прерыванию текущего потока. */
+    static Cancellation ofCurrentThread() {
+        return new Cancellation(Thread.currentThread());
+    }
+
+    /**
+     * @throws CancellationException если поток-владелец прерван
+     */
+    void check() {
+        if (owner.isInterrupted()) {
+            throw new CancellationException("Вычисление прервано (" + owner.getName() + ")");
+        }
+    }
+}
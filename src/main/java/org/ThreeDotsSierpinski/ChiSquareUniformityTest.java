@@ -1,12 +1,13 @@
 package org.ThreeDotsSierpinski;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Тест хи-квадрат для проверки равномерности распределения.
  */
 public class ChiSquareUniformityTest implements RandomnessTest {
 
+    private static final String NAME = "Хи-квадрат (Chi-Square)";
     private static final int NUM_BINS = 16;
     private static final long MIN_RANGE = 0;
     private static final long MAX_RANGE = 65535;
@@ -18,26 +19,27 @@ public class ChiSquareUniformityTest implements RandomnessTest {
     }
 
     @Override
-    public TestResult testWithDetails(List<Long> numbers, double alpha) {
-        if (numbers == null || numbers.size() < 10) {
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
             throw new IllegalArgumentException("Требуется минимум 10 чисел");
         }
 
-        int[] bins = new int[NUM_BINS];
+        long[] bins = new long[NUM_BINS];
         long binSize = (MAX_RANGE - MIN_RANGE + 1) / NUM_BINS;
 
-        for (long number : numbers) {
+        for (long number : sample.values()) {
             int binIndex = (int) Math.min((number - MIN_RANGE) / binSize, NUM_BINS - 1);
             bins[binIndex]++;
         }
 
-        double expectedCount = (double) numbers.size() / NUM_BINS;
-        double chiSquare = 0.0;
-
-        for (int count : bins) {
-            chiSquare += Math.pow(count - expectedCount, 2) / expectedCount;
-        }
+        return evaluate(bins, sample.size(), alpha);
+    }
 
+    /**
+     * Результат по достаточной статистике: счётчики корзин.
+     */
+    static TestResult evaluate(long[] bins, long total, double alpha) {
+        double chiSquare = statistic(bins, total);
         double critical = getCriticalValue(alpha);
 
         var quality = chiSquare < critical * 0.6 ? TestResult.Quality.STRONG
@@ -45,12 +47,68 @@ public class ChiSquareUniformityTest implements RandomnessTest {
                     :                               TestResult.Quality.FAIL;
 
         String stat = String.format("\u03c7\u00b2=%.2f (crit=%.2f)", chiSquare, critical);
-        return new TestResult(getTestName(), quality != TestResult.Quality.FAIL, stat, quality);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /** Статистика χ² по счётчикам корзин. */
+    static double statistic(long[] bins, long total) {
+        double expectedCount = (double) total / NUM_BINS;
+        double chiSquare = 0.0;
+
+        for (long count : bins) {
+            chiSquare += Math.pow(count - expectedCount, 2) / expectedCount;
+        }
+        return chiSquare;
+    }
+
+    /** p-значение χ² с NUM_BINS − 1 степенями свободы: Q(k/2, χ²/2). */
+    static double pValue(long[] bins, long total) {
+        return MathUtils.igamc((NUM_BINS - 1) / 2.0, statistic(bins, total) / 2.0);
     }
 
     @Override
     public String getTestName() {
-        return "Хи-квадрат (Chi-Square)";
+        return NAME;
+    }
+
+    /**
+     * Инкрементальный вариант: хранит только счётчики корзин.
+     */
+    public static final class Online implements OnlineRandomnessTest {
+        /** 65536 / NUM_BINS = 4096 = 2^12 значений на корзину. */
+        private static final int BIN_SHIFT = 12;
+
+        private final long[] bins = new long[NUM_BINS];
+        private long count;
+
+        @Override
+        public void accept(int value) {
+            bins[(value & 0xFFFF) >>> BIN_SHIFT]++;
+            count++;
+        }
+
+        @Override
+        public long getCount() { return count; }
+
+        @Override
+        public TestResult result(double alpha) {
+            OnlineRandomnessTest.requireMinimum(count);
+            return evaluate(bins, count, alpha);
+        }
+
+        /** p-значение без порога и проверки размера. */
+        double pValue() {
+            return ChiSquareUniformityTest.pValue(bins, count);
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(bins, 0);
+            count = 0;
+        }
+
+        @Override
+        public String getTestName() { return NAME; }
     }
 
 }
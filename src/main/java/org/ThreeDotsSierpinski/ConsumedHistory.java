@@ -0,0 +1,101 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * История потреблённых чисел: кольцо из {@code capacity} последних uint16
+ * с битом происхождения. Без блокировок.
+ *
+ * Писатель резервирует позиции одним {@code getAndAdd} общего курсора и дальше
+ * пишет только свои ячейки. Ячейка — одно long-слово
+ * {@code (pos + 1) << 17 | quantum << 16 | value}: значение и его происхождение
+ * публикуются одной записью (release), а номер позиции позволяет читателю
+ * отличить ячейку текущего круга от ещё не записанной или уже перезаписанной
+ * и пропустить её. Отставший на круг писатель не затирает более новый номер.
+ * Снимок под нагрузкой может быть короче запрошенного на числа, которые
+ * пишутся в этот момент, — для истории UI и тестов это допустимо.
+ */
+final class ConsumedHistory {
+
+    private static final int SEQ_SHIFT = 17;
+    private static final long QUANTUM_BIT = 1L << 16;
+
+    private final int capacity;
+    private final AtomicLongArray slots;
+    /** Сколько позиций зарезервировано писателями за всё время. */
+    private final AtomicLong cursor = new AtomicLong();
+
+    ConsumedHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity должен быть положительным, получено " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicLongArray(capacity);
+    }
+
+    /** Сколько чисел добавлено за всё время (включая вытесненные из кольца). */
+    long total() {
+        return cursor.get();
+    }
+
+    void add(int value, boolean quantum) {
+        long pos = cursor.getAndIncrement();
+        write(pos, value, quantum);
+    }
+
+    /**
+     * Добавляет блок; происхождение {@code values[off + i]} — бит {@code i} карты
+     * {@code provenance}, либо {@code quantum} для всего блока, если карта null.
+     * Из блока длиннее кольца сохраняется только хвост.
+     */
+    void addAll(short[] values, int off, int len, long[] provenance, boolean quantum) {
+        if (len <= 0) return;
+        long start = cursor.getAndAdd(len);
+        for (int i = Math.max(0, len - capacity); i < len; i++) {
+            boolean q = provenance == null ? quantum : ProvenanceBits.get(provenance, i);
+            write(start + i, values[off + i] & 0xFFFF, q);
+        }
+    }
+
+    private void write(long pos, int value, boolean quantum) {
+        int index = (int) (pos % capacity);
+        long next = (pos + 1) << SEQ_SHIFT | (quantum ? QUANTUM_BIT : 0) | value;
+        long current;
+        do {
+            current = slots.getAcquire(index);
+            if (current >>> SEQ_SHIFT > pos + 1) {
+                return;  // писатель отстал на круг: ячейку уже занял более новый номер
+            }
+        } while (!slots.weakCompareAndSetRelease(index, current, next));
+    }
+
+    /** До {@code limit} последних чисел, от старых к новым. */
+    long[] last(int limit) {
+        return snapshot(limit, false, false);
+    }
+
+    /** Числа истории с заданным происхождением, от старых к новым. */
+    long[] select(boolean quantum) {
+        return snapshot(capacity, true, quantum);
+    }
+
+    private long[] snapshot(int limit, boolean filter, boolean quantum) {
+        long end = cursor.get();
+        long begin = Math.max(0, end - Math.min(limit, capacity));
+        long[] result = new long[(int) (end - begin)];
+        int count = 0;
+        for (long pos = begin; pos < end; pos++) {
+            long slot = slots.getAcquire((int) (pos % capacity));
+            if (slot >>> SEQ_SHIFT != pos + 1) {
+                continue;  // ещё пишется или уже перезаписана
+            }
+            if (filter && ((slot & QUANTUM_BIT) != 0) != quantum) {
+                continue;
+            }
+            result[count++] = slot & 0xFFFF;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,103 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * NIST SP 800-22 Cumulative Sums (Cusum) Test (2.13), прямой и обратный проход.
+ *
+ * Биты переводятся в ±1, z — максимум |Sₖ| частичных сумм. Обратный проход
+ * (суммы с конца) выражается через те же префиксы: Sₙ − Sⱼ, поэтому оба
+ * прохода считаются за один просмотр потока.
+ *
+ * Поток {@link Sample} обрабатывается по байтам: для каждого из 256 байтов
+ * заранее известны сумма ±1 и минимум/максимум частичных сумм внутри байта,
+ * так что на байт приходится три обращения к таблице вместо восьми шагов.
+ * Итог — худшее из двух p-значений.
+ */
+public class CumulativeSumsTest implements RandomnessTest {
+
+    private static final String NAME = "Кумулятивные суммы (Cusum)";
+
+    /** Сумма ±1 по байту. */
+    private static final byte[] BYTE_SUM = new byte[256];
+    /** Максимум частичной суммы внутри байта (по 1…8 битам). */
+    private static final byte[] BYTE_MAX = new byte[256];
+    /** Минимум частичной суммы внутри байта (по 1…8 битам). */
+    private static final byte[] BYTE_MIN = new byte[256];
+
+    static {
+        for (int v = 0; v < 256; v++) {
+            int s = 0;
+            int max = Integer.MIN_VALUE;
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < 8; i++) {
+                s += ((v >>> i) & 1) == 1 ? 1 : -1;
+                max = Math.max(max, s);
+                min = Math.min(min, s);
+            }
+            BYTE_SUM[v] = (byte) s;
+            BYTE_MAX[v] = (byte) max;
+            BYTE_MIN[v] = (byte) min;
+        }
+    }
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
+            throw new IllegalArgumentException("Требуется минимум 10 чисел");
+        }
+
+        double[] pValues = pValues(sample.bits(), sample.bitLength());
+        double pValue = Math.min(pValues[0], pValues[1]);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p→=%.4f p←=%.4f", pValues[0], pValues[1]);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * p-значения прямого и обратного прохода по потоку {@code bits}
+     * длины {@code n} (n кратно 8).
+     */
+    static double[] pValues(long[] bits, long n) {
+        long bytes = n >>> 3;
+
+        // Экстремумы префиксов S₀ = 0 … Sₙ
+        long s = 0;
+        long max = 0;
+        long min = 0;
+        for (long i = 0; i < bytes; i++) {
+            int b = Sample.byteAt(bits, i);
+            max = Math.max(max, s + BYTE_MAX[b]);
+            min = Math.min(min, s + BYTE_MIN[b]);
+            s += BYTE_SUM[b];
+        }
+
+        long forwardZ = Math.max(max, -min);
+        long backwardZ = Math.max(s - min, max - s);
+
+        return new double[]{pValue(n, forwardZ), pValue(n, backwardZ)};
+    }
+
+    /**
+     * p-значение для максимального отклонения {@code z} на {@code n} битах
+     * (границы суммирования — целочисленные, как в эталонной реализации NIST).
+     */
+    static double pValue(long n, long z) {
+        double sqrtN = Math.sqrt(n);
+        double sum1 = 0.0;
+        for (long k = (-n / z + 1) / 4; k <= (n / z - 1) / 4; k++) {
+            sum1 += MathUtils.normalCdf((4 * k + 1) * z / sqrtN)
+                  - MathUtils.normalCdf((4 * k - 1) * z / sqrtN);
+        }
+        double sum2 = 0.0;
+        for (long k = (-n / z - 3) / 4; k <= (n / z - 1) / 4; k++) {
+            sum2 += MathUtils.normalCdf((4 * k + 3) * z / sqrtN)
+                  - MathUtils.normalCdf((4 * k + 1) * z / sqrtN);
+        }
+        return Math.clamp(1.0 - sum1 + sum2, 0.0, 1.0);
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
@@ -49,6 +49,11 @@ public class DLAMode implements VisualizationMode {
     // 4 направления + 4 диагонали = 8 (для блуждания используем 4, для касания — 8)
     private static final int[][] WALK_DIRS = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
 
+    // Назначения чисел для EntropyLedger
+    private static final EntropyLedger.Purpose WALK = new EntropyLedger.Purpose("dla", "walk", 4);
+    private static final EntropyLedger.Purpose SPAWN = new EntropyLedger.Purpose("dla", "spawn", 360);
+    private static final EntropyLedger.Purpose TELEPORT = new EntropyLedger.Purpose("dla", "teleport", 360);
+
     @Override
     public String getId() { return "dla"; }
 
@@ -103,7 +108,7 @@ public class DLAMode implements VisualizationMode {
     }
 
     @Override
-    public List<Point> step(RNProvider provider, BufferedImage canvas, int dotSize) {
+    public List<Point> step(EntropySource provider, BufferedImage canvas, int dotSize) {
         this.baseDotSize = dotSize;
         var newPoints = new ArrayList<Point>();
 
@@ -127,7 +132,7 @@ public class DLAMode implements VisualizationMode {
                 }
 
                 // Один шаг блуждания
-                OptionalInt dirOpt = provider.getNextRandomNumber();
+                OptionalInt dirOpt = provider.getNextRandomNumber(WALK);
                 if (dirOpt.isEmpty()) {
                     bufferEmpty = true;
                     break;
@@ -245,8 +250,8 @@ public class DLAMode implements VisualizationMode {
     // Частицы
     // ========================================================================
 
-    private boolean spawnWalker(RNProvider provider, int index) {
-        OptionalInt angleOpt = provider.getNextRandomNumber();
+    private boolean spawnWalker(EntropySource provider, int index) {
+        OptionalInt angleOpt = provider.getNextRandomNumber(SPAWN);
         if (angleOpt.isEmpty()) {
             walkerAlive[index] = false;
             return false; // Сигнализируем наверх, что чисел нет
@@ -273,8 +278,8 @@ public class DLAMode implements VisualizationMode {
      * Телепортирует блуждающую частицу обратно на границу спавна.
      * Экономит 1 случайное число по сравнению с убийством и созданием новой.
      */
-    private void teleportWalkerToBorder(RNProvider provider, int index) {
-        OptionalInt angleOpt = provider.getNextRandomNumber();
+    private void teleportWalkerToBorder(EntropySource provider, int index) {
+        OptionalInt angleOpt = provider.getNextRandomNumber(TELEPORT);
         if (angleOpt.isEmpty()) {
             walkerAlive[index] = false;
             return;
@@ -0,0 +1,81 @@
+package org.ThreeDotsSierpinski;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * Клиент {@link EntropyDaemon}: {@link EntropySource} поверх Unix-domain сокета.
+ *
+ * Один {@link #read} — один запрос к демону (до {@value EntropyDaemon#MAX_REQUEST_WORDS}
+ * значений); ответ копируется в {@code dst} одним блоком. Если пул демона временно
+ * пуст, возвращается 0, как и у {@link RNProvider}, поэтому клиент подходит для
+ * {@link QuantumRandomGenerator}, {@link EntropyChannel} и других адаптеров.
+ *
+ * Ошибка соединения — {@link UncheckedIOException} (интерфейс EntropySource
+ * не объявляет проверяемых исключений).
+ */
+public class DaemonEntropySource implements EntropySource, AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer body = ByteBuffer.allocateDirect(2 * EntropyDaemon.MAX_REQUEST_WORDS)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+    public DaemonEntropySource(Path socketPath) throws IOException {
+        this.channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+    }
+
+    /** Подключение к демону по {@code daemon.socket.path}. */
+    public static DaemonEntropySource fromConfig() throws IOException {
+        return new DaemonEntropySource(Path.of(Config.getString("daemon.socket.path")));
+    }
+
+    @Override
+    public synchronized int read(short[] dst, int off, int len) {
+        if (len <= 0) {
+            return 0;
+        }
+        int requested = Math.min(len, EntropyDaemon.MAX_REQUEST_WORDS);
+
+        try {
+            header.clear();
+            header.putInt(requested).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+
+            header.clear();
+            readFully(header);
+            int count = header.flip().getInt();
+            if (count < 0 || count > requested) {
+                throw new IOException("Invalid response length from entropy daemon: " + count);
+            }
+
+            body.clear().limit(2 * count);
+            readFully(body);
+            body.flip().asShortBuffer().get(dst, off, count);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Entropy daemon connection failed", e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Entropy daemon closed the connection");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
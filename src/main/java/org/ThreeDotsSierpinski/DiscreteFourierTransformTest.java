@@ -0,0 +1,79 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * NIST SP 800-22 Discrete Fourier Transform (Spectral) Test (2.6).
+ *
+ * Ищет периодические составляющие, которых не видят частотный тест и тест
+ * серий: биты переводятся в ±1, по модулям первой половины спектра считается
+ * доля пиков ниже порога T = √(n·ln(1/0.05)); у случайной последовательности
+ * их около 95 %.
+ *
+ * Спектр считает {@link RealFft}, поэтому длина n — наибольшая степень двойки,
+ * не превосходящая длину потока (не больше {@link #MAX_BITS}); остаток
+ * потока отбрасывается.
+ */
+public class DiscreteFourierTransformTest implements RandomnessTest {
+
+    private static final String NAME = "Спектральный (DFT)";
+
+    /** Минимальная длина преобразования по рекомендации NIST (n ≥ 1000). */
+    static final int MIN_BITS = 1024;
+
+    /** Верхняя граница длины преобразования: 2^22 бит — 32 МБ на спектр. */
+    static final int MAX_BITS = 1 << 22;
+
+    /** Минимальный размер выборки: 64 числа по 16 бит. */
+    private static final int MIN_VALUES = MIN_BITS / Sample.BITS_PER_VALUE;
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < MIN_VALUES) {
+            throw new IllegalArgumentException("Требуется минимум " + MIN_VALUES + " чисел");
+        }
+
+        int n = transformLength(sample.bitLength());
+        double pValue = pValue(sample.bits(), n);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p=%.4f (n=%d)", pValue, n);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /** Наибольшая степень двойки ≤ bitLength, не больше MAX_BITS. */
+    static int transformLength(long bitLength) {
+        return (int) Long.highestOneBit(Math.min(bitLength, MAX_BITS));
+    }
+
+    /**
+     * p-значение по первым {@code n} битам потока (n — степень двойки).
+     */
+    static double pValue(long[] bits, int n) {
+        double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = ((bits[i >>> 6] >>> i) & 1) == 1 ? 1.0 : -1.0;
+        }
+
+        var fft = RealFft.forSize(n);
+        fft.transform(data);
+
+        // Модули пишутся в начало того же массива: |X_k| читает только индексы ≥ k
+        fft.magnitudes(data, data);
+
+        double threshold = Math.sqrt(Math.log(1 / 0.05) * n);
+        long below = 0;
+        for (int k = 0; k < n / 2; k++) {
+            if (data[k] < threshold) {
+                below++;
+            }
+        }
+
+        double expected = 0.95 * n / 2;
+        double d = (below - expected) / Math.sqrt(n * 0.95 * 0.05 / 4);
+        return MathUtils.erfc(Math.abs(d) / Math.sqrt(2));
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
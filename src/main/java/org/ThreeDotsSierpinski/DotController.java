@@ -5,6 +5,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 /**
@@ -33,20 +34,31 @@ public class DotController extends JPanel {
 
     private final VisualizationMode mode;
     private final RNProvider randomNumberProvider;
+    private final EntropySource drawSource;
     private final String errorMessage;
     private final BufferedImage offscreenImage;
     private final JLabel statusLabel;
+    private final RendererMetrics metrics;
 
     private Timer animationTimer;
-    private volatile boolean isRunning = false;
+    /** Флаг анимации; метрики читают его через running::get, не захватывая this в конструкторе */
+    private final AtomicBoolean running = new AtomicBoolean(false);
 
     private final List<Point> pendingRecolorPoints = new ArrayList<>();
     private final Timer recolorTimer;
 
-    public DotController(RNProvider randomNumberProvider, VisualizationMode mode, JLabel statusLabel) {
+    /**
+     * @param randomNumberProvider провайдер — режим, журнал и история потреблённых чисел
+     * @param drawSource           откуда берутся числа для рисования (дескриптор
+     *                             {@link SharedProviderCore} с классом INTERACTIVE)
+     */
+    public DotController(RNProvider randomNumberProvider, EntropySource drawSource,
+                         VisualizationMode mode, JLabel statusLabel) {
         this.statusLabel = statusLabel;
         this.mode = mode;
         this.randomNumberProvider = randomNumberProvider;
+        this.drawSource = drawSource;
+        this.metrics = new RendererMetrics(mode.getId(), running::get);
         setPreferredSize(new Dimension(SIZE_WIDTH + 300, SIZE_HEIGHT));
         setBackground(mode.usesDarkBackground() ? Color.BLACK : Color.WHITE);
         errorMessage = null;
@@ -81,7 +93,10 @@ public class DotController extends JPanel {
             if (errorMessage == null) {
                 // Делегируем шаг визуализации выбранному режиму
                 // Если буфер пуст, mode.step() просто вернет пустой список newPoints
-                var newPoints = mode.step(randomNumberProvider, offscreenImage, DOT_SIZE);
+                long stepStart = System.nanoTime();
+                var newPoints = mode.step(drawSource, offscreenImage, DOT_SIZE);
+                metrics.recordStep(System.nanoTime() - stepStart, newPoints.size());
+                randomNumberProvider.getEntropyLedger().recordPoints(mode.getId(), newPoints.size());
 
                 repaint();
 
@@ -107,33 +122,39 @@ public class DotController extends JPanel {
     }
 
     public void start() {
-        if (!isRunning && errorMessage == null) {
+        if (!running.get() && errorMessage == null) {
             animationTimer.start();
-            isRunning = true;
+            running.set(true);
             LOGGER.info("Animation started: " + mode.getName());
         }
     }
 
     public void stop() {
-        if (isRunning) {
+        if (running.get()) {
             animationTimer.stop();
-            isRunning = false;
+            running.set(false);
             LOGGER.info("Animation stopped.");
         }
     }
 
     public boolean toggle() {
-        if (isRunning) stop();
+        if (running.get()) stop();
         else start();
-        return isRunning;
+        return running.get();
     }
 
     public boolean isRunning() {
-        return isRunning;
+        return running.get();
+    }
+
+    /** Метрики рендеринга (для регистрации в JMX). */
+    RendererMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        long frameStart = System.nanoTime();
         super.paintComponent(g);
         g.drawImage(offscreenImage, 0, 0, null);
 
@@ -173,6 +194,8 @@ public class DotController extends JPanel {
         if (!dark) {
             drawRandomNumbersStack(g);
         }
+
+        metrics.recordFrame(System.nanoTime() - frameStart);
     }
 
     private void drawRandomNumbersStack(Graphics g) {
@@ -260,6 +283,16 @@ public class DotController extends JPanel {
         return randomNumberProvider.getConsumedNumbers();
     }
 
+    /** Использованные числа только одного происхождения (QUANTUM или PSEUDO). */
+    public List<Long> getUsedRandomNumbers(RNProvider.Mode source) {
+        return randomNumberProvider.getConsumedNumbers(source);
+    }
+
+    /** Использованные числа одного происхождения как {@link Sample} для тестов случайности. */
+    public Sample getUsedSample(RNProvider.Mode source) {
+        return randomNumberProvider.getConsumedSample(source);
+    }
+
     public void shutdown() {
         stop();
         if (recolorTimer != null) {
@@ -0,0 +1,166 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * Буфер случайных uint16-чисел на примитивном кольцевом массиве.
+ *
+ * Заменяет {@code LinkedBlockingQueue<Integer>}: значения хранятся как {@code short}
+ * (2 байта вместо ~16 байт на boxed Integer + узел очереди), добавление и выборка
+ * блоками — одним {@link System#arraycopy} под одной блокировкой.
+ *
+ * Ёмкость растёт по мере необходимости (буфер не ограничен, как и прежняя очередь).
+ * Все методы потокобезопасны.
+ *
+ * Параллельно значениям хранится битовая карта происхождения ({@link ProvenanceBits}):
+ * после возврата из PSEUDO в буфере могут оставаться псевдослучайные числа
+ * перед квантовыми, и наоборот.
+ */
+final class EntropyBuffer {
+
+    private static final int DEFAULT_CAPACITY = 2048;
+
+    /** Флаг квантового происхождения в результате {@link #pollTagged()}. */
+    static final int QUANTUM_TAG = 1 << 16;
+
+    private short[] ring;
+    /** Бит на ячейку ring: 1 — квантовое число. */
+    private long[] provenance;
+    private int head = 0;
+    private int size = 0;
+
+    EntropyBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    EntropyBuffer(int initialCapacity) {
+        ring = new short[Math.max(16, initialCapacity)];
+        provenance = new long[ProvenanceBits.words(ring.length)];
+    }
+
+    /** Добавляет одно псевдослучайное значение (используются младшие 16 бит). */
+    synchronized void add(int value) {
+        add(value, false);
+    }
+
+    /** Добавляет одно значение с указанием происхождения. */
+    synchronized void add(int value, boolean quantum) {
+        ensureCapacity(size + 1);
+        int tail = (head + size) % ring.length;
+        ring[tail] = (short) value;
+        ProvenanceBits.set(provenance, tail, quantum);
+        size++;
+    }
+
+    /** Добавляет блок псевдослучайных значений. */
+    synchronized void addAll(short[] src, int off, int len) {
+        addAll(src, off, len, false);
+    }
+
+    /**
+     * Добавляет блок значений одного происхождения.
+     *
+     * @param src     источник uint16-значений
+     * @param off     смещение в источнике
+     * @param len     количество значений
+     * @param quantum true — числа от ANU API
+     */
+    synchronized void addAll(short[] src, int off, int len, boolean quantum) {
+        if (len <= 0) return;
+        ensureCapacity(size + len);
+
+        int tail = (head + size) % ring.length;
+        int firstPart = Math.min(len, ring.length - tail);
+        System.arraycopy(src, off, ring, tail, firstPart);
+        System.arraycopy(src, off + firstPart, ring, 0, len - firstPart);
+        ProvenanceBits.fill(provenance, tail, firstPart, quantum);
+        ProvenanceBits.fill(provenance, 0, len - firstPart, quantum);
+        size += len;
+    }
+
+    /**
+     * Извлекает одно значение.
+     *
+     * @return значение в диапазоне [0, 65535] или -1, если буфер пуст
+     */
+    synchronized int poll() {
+        if (size == 0) return -1;
+        int value = ring[head] & 0xFFFF;
+        head = (head + 1) % ring.length;
+        size--;
+        return value;
+    }
+
+    /**
+     * Извлекает одно значение вместе с происхождением.
+     *
+     * @return значение [0, 65535], к которому для квантовых чисел добавлен
+     *         {@link #QUANTUM_TAG}, или -1, если буфер пуст
+     */
+    synchronized int pollTagged() {
+        if (size == 0) return -1;
+        boolean quantum = ProvenanceBits.get(provenance, head);
+        return poll() | (quantum ? QUANTUM_TAG : 0);
+    }
+
+    /**
+     * Извлекает до {@code len} значений в {@code dst}.
+     *
+     * @return сколько значений скопировано (0, если буфер пуст)
+     */
+    synchronized int drainTo(short[] dst, int off, int len) {
+        return drainTo(dst, off, len, null);
+    }
+
+    /**
+     * Извлекает до {@code len} значений в {@code dst}, а их биты происхождения —
+     * в биты {@code [0, count)} карты {@code provenanceOut} (если не null).
+     *
+     * @return сколько значений скопировано (0, если буфер пуст)
+     */
+    synchronized int drainTo(short[] dst, int off, int len, long[] provenanceOut) {
+        int count = Math.min(len, size);
+        if (count <= 0) return 0;
+
+        int firstPart = Math.min(count, ring.length - head);
+        System.arraycopy(ring, head, dst, off, firstPart);
+        System.arraycopy(ring, 0, dst, off + firstPart, count - firstPart);
+        if (provenanceOut != null) {
+            ProvenanceBits.copy(provenance, head, provenanceOut, 0, firstPart);
+            ProvenanceBits.copy(provenance, 0, provenanceOut, firstPart, count - firstPart);
+        }
+        head = (head + count) % ring.length;
+        size -= count;
+        return count;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ring.length) return;
+
+        int newCapacity = ring.length;
+        while (newCapacity < required) {
+            newCapacity <<= 1;
+        }
+        short[] grown = new short[newCapacity];
+        long[] grownProvenance = new long[ProvenanceBits.words(newCapacity)];
+        int firstPart = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, grown, 0, firstPart);
+        System.arraycopy(ring, 0, grown, firstPart, size - firstPart);
+        ProvenanceBits.copy(provenance, head, grownProvenance, 0, firstPart);
+        ProvenanceBits.copy(provenance, 0, grownProvenance, firstPart, size - firstPart);
+        ring = grown;
+        provenance = grownProvenance;
+        head = 0;
+    }
+}
@@ -0,0 +1,137 @@
+package org.ThreeDotsSierpinski;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Байтовый канал поверх {@link EntropySource} (буфера {@link RNProvider}).
+ *
+ * {@link #read(ByteBuffer)} забирает из источника блок uint16 и копирует его в
+ * буфер назначения одной bulk-операцией ({@code asShortBuffer().put}), без
+ * поштучного преобразования значений. Порядок байтов — little-endian:
+ * младший байт слова первым (как в {@link QuantumRandomGenerator#nextBytes}).
+ * Если в буфере назначения осталось место только под половину слова,
+ * старший байт сохраняется и выдаётся первым при следующем чтении.
+ *
+ * Поведение при нехватке данных задаётся {@link UnderflowPolicy}.
+ * Канал никогда не возвращает -1: поток энтропии бесконечен.
+ */
+public class EntropyChannel implements ReadableByteChannel {
+
+    /**
+     * Что делать, если источник временно пуст (QUANTUM буфер ждёт загрузки).
+     */
+    public enum UnderflowPolicy {
+        /** Ждать данных, пока буфер назначения не заполнен целиком (не дольше таймаута). */
+        BLOCK,
+        /** Вернуть столько байт, сколько есть прямо сейчас (возможно 0). */
+        SHORT_COUNT
+    }
+
+    /** Сколько uint16 забирается из источника за одно обращение. */
+    static final int BLOCK_WORDS = 4096;
+
+    private final EntropySource source;
+    private final UnderflowPolicy policy;
+    private final long timeoutNanos;
+    private final short[] words = new short[BLOCK_WORDS];
+
+    /** Старший байт слова, не поместившийся в предыдущий буфер назначения, или -1. */
+    private int pendingByte = -1;
+    private volatile boolean open = true;
+
+    public EntropyChannel(EntropySource source) {
+        this(source, UnderflowPolicy.BLOCK, QuantumRandomGenerator.DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * @param source    источник uint16
+     * @param policy    поведение при нехватке данных
+     * @param timeoutMs сколько ждать данных в режиме BLOCK
+     */
+    public EntropyChannel(EntropySource source, UnderflowPolicy policy, long timeoutMs) {
+        if (source == null) {
+            throw new IllegalArgumentException("source не может быть null");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy не может быть null");
+        }
+        this.source = source;
+        this.policy = policy;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    public UnderflowPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        return read(dst, false);
+    }
+
+    /**
+     * @param atLeastOne ждать хотя бы одного байта даже в режиме SHORT_COUNT
+     *                   (контракт {@link java.io.InputStream#read(byte[], int, int)})
+     */
+    synchronized int read(ByteBuffer dst, boolean atLeastOne) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        int start = dst.position();
+
+        if (pendingByte >= 0 && dst.hasRemaining()) {
+            dst.put((byte) pendingByte);
+            pendingByte = -1;
+        }
+
+        while (dst.hasRemaining()) {
+            int wanted = Math.min(words.length, (dst.remaining() + 1) >>> 1);
+            int count = source.read(words, 0, wanted);
+            if (count == 0) {
+                boolean mustWait = policy == UnderflowPolicy.BLOCK || (atLeastOne && dst.position() == start);
+                if (!mustWait) {
+                    break;
+                }
+                count = await(wanted);
+            }
+            copyWords(dst, count);
+        }
+        return dst.position() - start;
+    }
+
+    /** Копирует {@code count} слов в dst одним блоком; последнее слово может разделиться. */
+    private void copyWords(ByteBuffer dst, int count) {
+        int whole = Math.min(count, dst.remaining() >>> 1);
+        dst.slice().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().put(words, 0, whole);
+        dst.position(dst.position() + 2 * whole);
+
+        if (whole < count) {
+            short word = words[whole];
+            dst.put((byte) word);
+            pendingByte = (word >>> 8) & 0xFF;
+        }
+    }
+
+    private int await(int wanted) throws IOException {
+        try {
+            return QuantumRandomGenerator.awaitRead(source, words, 0, wanted, timeoutNanos);
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+}
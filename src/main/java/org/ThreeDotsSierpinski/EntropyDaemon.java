@@ -0,0 +1,384 @@
+package org.ThreeDotsSierpinski;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Локальный демон энтропии: один {@link RNProvider} (одна квота API, один прогрев)
+ * раздаёт числа всем процессам хоста.
+ *
+ * <b>Unix-domain сокет</b> ({@code daemon.socket.path}). Протокол, все целые little-endian:
+ * <pre>
+ *   запрос:  int32 N              — сколько uint16 нужно, 1..{@value #MAX_REQUEST_WORDS}
+ *   ответ:   int32 M, M × uint16  — M от 0 до N (0 = пул временно пуст)
+ * </pre>
+ * Клиент может отправлять запросы подряд, не дожидаясь ответов: за одно чтение
+ * из сокета обрабатывается вся пачка. Пока ответ не отправлен целиком, новые
+ * запросы соединения не читаются. Все соединения обслуживает один поток
+ * с {@link Selector}. Клиент — {@link DaemonEntropySource}.
+ *
+ * <b>HTTP</b> (необязательно, {@code daemon.http.port}, только localhost):
+ * {@code GET /?length=N&type=uint16} отвечает JSON в формате ANU API, поэтому
+ * другой {@link RNProvider} может использовать демон вместо ANU через {@code api.url}.
+ */
+public class EntropyDaemon implements AutoCloseable {
+    private static final Logger LOGGER = LoggerConfig.getLogger();
+
+    /** Максимальное количество uint16 в одном запросе. */
+    static final int MAX_REQUEST_WORDS = 1 << 15;
+
+    /** Ограничение длины как у ANU API. */
+    static final int MAX_HTTP_LENGTH = 1024;
+
+    /** Сколько запросов помещается в буфер чтения соединения. */
+    private static final int REQUESTS_PER_READ = 64;
+
+    private final EntropySource source;
+    private final Path socketPath;
+    private final int httpPort;
+
+    /** Буфер для чтения из источника — используется только потоком селектора. */
+    private final short[] words = new short[MAX_REQUEST_WORDS];
+
+    private final AtomicLong requestsServed = new AtomicLong();
+    private final AtomicLong wordsServed = new AtomicLong();
+
+    private Selector selector;
+    private ServerSocketChannel server;
+    private HttpServer httpServer;
+    private Thread selectorThread;
+    private volatile boolean running = false;
+
+    /**
+     * @param source     источник (обычно RNProvider)
+     * @param socketPath путь Unix-domain сокета
+     * @param httpPort   порт HTTP на localhost; 0 — любой свободный, отрицательный — HTTP выключен
+     */
+    public EntropyDaemon(EntropySource source, Path socketPath, int httpPort) {
+        if (source == null) {
+            throw new IllegalArgumentException("source не может быть null");
+        }
+        if (socketPath == null) {
+            throw new IllegalArgumentException("socketPath не может быть null");
+        }
+        this.source = source;
+        this.socketPath = socketPath;
+        this.httpPort = httpPort;
+    }
+
+    public static EntropyDaemon fromConfig(EntropySource source) {
+        return new EntropyDaemon(source,
+                Path.of(Config.getString("daemon.socket.path")),
+                Config.getInt("daemon.http.port"));
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+
+        // Файл сокета от прошлого запуска мешает bind()
+        Files.deleteIfExists(socketPath);
+
+        selector = Selector.open();
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        if (httpPort >= 0) {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), httpPort), 0);
+            httpServer.createContext("/", this::handleHttp);
+            httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            httpServer.start();
+        }
+
+        running = true;
+        selectorThread = new Thread(this::selectLoop, "entropy-daemon");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+
+        LOGGER.info("Entropy daemon listening on " + socketPath
+                + (httpServer != null ? ", HTTP port " + getHttpPort() : ""));
+    }
+
+    /** Фактический порт HTTP или -1, если HTTP выключен. */
+    public int getHttpPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : -1;
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    long getRequestsServed() { return requestsServed.get(); }
+    long getWordsServed() { return wordsServed.get(); }
+
+    /** Ждёт завершения потока селектора (для режима {@code --daemon}). */
+    public void awaitTermination() throws InterruptedException {
+        Thread thread = selectorThread;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        selector.wakeup();
+        try {
+            selectorThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error while closing entropy daemon", e);
+        }
+        LOGGER.info("Entropy daemon stopped. Requests: " + requestsServed.get()
+                + ", numbers served: " + wordsServed.get());
+    }
+
+    // ========================================================================
+    // Unix-domain сокет
+    // ========================================================================
+
+    private void selectLoop() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Selector failed, stopping entropy daemon", e);
+                return;
+            }
+            if (!running) {
+                return;
+            }
+
+            var iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                SelectionKey key = iterator.next();
+                iterator.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    var connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        connection.onReadable();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.onWritable();
+                    }
+                } catch (IOException e) {
+                    LOGGER.fine("Entropy client disconnected: " + e.getMessage());
+                    closeQuietly(key);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        var key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // соединение уже разорвано
+        }
+    }
+
+    /**
+     * Состояние одного клиента. {@code out} хранится в режиме чтения:
+     * remaining() — ещё не отправленная часть ответа.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(4 * REQUESTS_PER_READ).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(4 + 2 * MAX_REQUEST_WORDS)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .limit(0);
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void onReadable() throws IOException {
+            if (channel.read(in) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            process();
+        }
+
+        void onWritable() throws IOException {
+            channel.write(out);
+            if (!out.hasRemaining()) {
+                process();
+            }
+        }
+
+        /** Отвечает на накопленные запросы, пока ответ уходит в сокет целиком. */
+        private void process() throws IOException {
+            in.flip();
+            try {
+                while (!out.hasRemaining() && in.remaining() >= 4) {
+                    int requested = in.getInt();
+                    if (requested <= 0 || requested > MAX_REQUEST_WORDS) {
+                        LOGGER.warning("Invalid entropy request size " + requested + ", closing connection");
+                        closeQuietly(key);
+                        return;
+                    }
+                    serve(requested);
+                    channel.write(out);
+                }
+            } finally {
+                in.compact();
+            }
+
+            // Пока ответ не отправлен, новые запросы не читаем
+            if (key.isValid()) {
+                key.interestOps(out.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        }
+
+        private void serve(int requested) {
+            int count = source.read(words, 0, requested);
+
+            out.clear();
+            out.putInt(count);
+            out.asShortBuffer().put(words, 0, count);
+            out.position(4 + 2 * count);
+            out.flip();
+
+            requestsServed.incrementAndGet();
+            wordsServed.addAndGet(count);
+        }
+    }
+
+    // ========================================================================
+    // HTTP (формат ANU API)
+    // ========================================================================
+
+    private void handleHttp(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String type = params.getOrDefault("type", "uint16");
+
+            int length;
+            try {
+                length = Integer.parseInt(params.getOrDefault("length", "1"));
+            } catch (NumberFormatException e) {
+                length = -1;
+            }
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, errorJson("Only GET is supported"));
+                return;
+            }
+            if (!"uint16".equals(type)) {
+                sendJson(exchange, 400, errorJson("Only type=uint16 is supported"));
+                return;
+            }
+            if (length < 1 || length > MAX_HTTP_LENGTH) {
+                sendJson(exchange, 400, errorJson("length must be between 1 and " + MAX_HTTP_LENGTH));
+                return;
+            }
+
+            short[] buffer = new short[length];
+            int count = source.read(buffer, 0, length);
+            if (count == 0) {
+                sendJson(exchange, 503, errorJson("Entropy pool is empty, retry later"));
+                return;
+            }
+            requestsServed.incrementAndGet();
+            wordsServed.addAndGet(count);
+
+            var json = new StringBuilder(32 + count * 6);
+            json.append("{\"success\":true,\"type\":\"uint16\",\"length\":").append(count).append(",\"data\":[");
+            for (int i = 0; i < count; i++) {
+                if (i > 0) json.append(',');
+                json.append(buffer[i] & 0xFFFF);
+            }
+            json.append("]}");
+            sendJson(exchange, 200, json.toString());
+        }
+    }
+
+    private static String errorJson(String message) {
+        return "{\"success\":false,\"message\":\"" + message + "\"}";
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,54 @@
+package org.ThreeDotsSierpinski;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * {@link InputStream} поверх {@link EntropySource} — для генерации ключей,
+ * передачи энтропии во внешние утилиты ({@code transferTo}) и т.п.
+ *
+ * Чтение идёт через {@link EntropyChannel}, то есть блоками uint16 без
+ * поштучного преобразования. По контракту InputStream {@code read(byte[])}
+ * всегда ждёт хотя бы одного байта; политика {@link EntropyChannel.UnderflowPolicy}
+ * определяет, ждать ли заполнения всего массива (BLOCK) или вернуть
+ * столько, сколько есть (SHORT_COUNT).
+ */
+public class EntropyInputStream extends InputStream {
+
+    private final EntropyChannel channel;
+    private final byte[] single = new byte[1];
+
+    public EntropyInputStream(EntropySource source) {
+        this(source, EntropyChannel.UnderflowPolicy.BLOCK, QuantumRandomGenerator.DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * @param source    источник uint16
+     * @param policy    поведение при нехватке данных
+     * @param timeoutMs сколько ждать данных
+     */
+    public EntropyInputStream(EntropySource source, EntropyChannel.UnderflowPolicy policy, long timeoutMs) {
+        this.channel = new EntropyChannel(source, policy, timeoutMs);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        return channel.read(ByteBuffer.wrap(b, off, len), true);
+    }
+
+    @Override
+    public void close() {
+        channel.close();
+    }
+}
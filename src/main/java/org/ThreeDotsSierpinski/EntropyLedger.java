@@ -0,0 +1,194 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Учёт расхода энтропии по режимам и назначениям.
+ *
+ * Каждое число, взятое через {@link RNProvider#getNextRandomNumber(Purpose)},
+ * приписывается паре «режим / назначение» ({@link Purpose}). Выдаётся всегда
+ * 16 бит, а решению с {@code n} исходами нужно только {@code log2(n)}:
+ * {@code % 4} тратит 16 бит на 2 полезных. Разница — потерянные биты.
+ *
+ * Счётчики — LongAdder на назначение и на режим, горячий путь — один
+ * поиск в ConcurrentHashMap и один increment. Биты считаются при чтении.
+ */
+public class EntropyLedger implements EntropyLedgerMXBean {
+
+    /** Бит в одном числе от ANU API (uint16). */
+    static final int BITS_PER_DRAW = 16;
+
+    /**
+     * Назначение числа.
+     *
+     * @param mode     идентификатор режима ({@link VisualizationMode#getId()})
+     * @param purpose  на что тратится число: walk, spawn, vertex…
+     * @param outcomes сколько равновероятных исходов у решения (нужно log2 бит)
+     */
+    public record Purpose(String mode, String purpose, int outcomes) {
+        public Purpose {
+            if (outcomes < 1) {
+                throw new IllegalArgumentException("outcomes должно быть не меньше 1, получено " + outcomes);
+            }
+        }
+
+        /** Бит, действительно нужных одному решению. */
+        double bitsNeeded() {
+            return Math.log(outcomes) / Math.log(2);
+        }
+
+        String key() {
+            return mode + "/" + purpose;
+        }
+    }
+
+    /** Счётчики одного назначения. */
+    private static final class Account {
+        final LongAdder quantumDraws = new LongAdder();
+        final LongAdder pseudoDraws = new LongAdder();
+
+        long draws() {
+            return quantumDraws.sum() + pseudoDraws.sum();
+        }
+    }
+
+    private final Map<Purpose, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pointsByMode = new ConcurrentHashMap<>();
+    private final LongAdder quantumNumbersFetched = new LongAdder();
+
+    // ========================================================================
+    // Запись
+    // ========================================================================
+
+    /** Одно число выдано на {@code purpose} из источника {@code source}. */
+    void recordDraw(Purpose purpose, RNProvider.Mode source) {
+        Account account = accounts.computeIfAbsent(purpose, ignored -> new Account());
+        if (source == RNProvider.Mode.QUANTUM) {
+            account.quantumDraws.increment();
+        } else {
+            account.pseudoDraws.increment();
+        }
+    }
+
+    /** Режим нарисовал {@code count} точек. */
+    void recordPoints(String mode, int count) {
+        if (count > 0) {
+            pointsByMode.computeIfAbsent(mode, ignored -> new LongAdder()).add(count);
+        }
+    }
+
+    /** Из API принята партия из {@code count} чисел. */
+    void recordFetched(int count) {
+        quantumNumbersFetched.add(count);
+    }
+
+    // ========================================================================
+    // Чтение
+    // ========================================================================
+
+    @Override
+    public long getQuantumBitsFetched() {
+        return quantumNumbersFetched.sum() * BITS_PER_DRAW;
+    }
+
+    @Override
+    public long getQuantumBitsConsumed() {
+        long draws = 0;
+        for (Account account : accounts.values()) {
+            draws += account.quantumDraws.sum();
+        }
+        return draws * BITS_PER_DRAW;
+    }
+
+    @Override
+    public long getBitsRequested() {
+        long draws = 0;
+        for (Account account : accounts.values()) {
+            draws += account.draws();
+        }
+        return draws * BITS_PER_DRAW;
+    }
+
+    @Override
+    public double getBitsNeeded() {
+        double needed = 0;
+        for (var entry : accounts.entrySet()) {
+            needed += entry.getValue().draws() * entry.getKey().bitsNeeded();
+        }
+        return needed;
+    }
+
+    @Override
+    public double getBitsWasted() {
+        return getBitsRequested() - getBitsNeeded();
+    }
+
+    @Override
+    public double getEfficiency() {
+        long requested = getBitsRequested();
+        return requested == 0 ? 0 : getBitsNeeded() / requested;
+    }
+
+    @Override
+    public long getPointsRendered() {
+        long points = 0;
+        for (LongAdder adder : pointsByMode.values()) {
+            points += adder.sum();
+        }
+        return points;
+    }
+
+    @Override
+    public double getBitsPerPoint() {
+        long points = getPointsRendered();
+        return points == 0 ? 0 : (double) getBitsRequested() / points;
+    }
+
+    @Override
+    public Map<String, Double> getBitsPerPointByMode() {
+        Map<String, Long> requestedByMode = new TreeMap<>();
+        for (var entry : accounts.entrySet()) {
+            requestedByMode.merge(entry.getKey().mode(), entry.getValue().draws() * BITS_PER_DRAW, Long::sum);
+        }
+        Map<String, Double> result = new TreeMap<>();
+        requestedByMode.forEach((mode, bits) -> {
+            LongAdder points = pointsByMode.get(mode);
+            long count = points == null ? 0 : points.sum();
+            result.put(mode, count == 0 ? 0 : (double) bits / count);
+        });
+        return result;
+    }
+
+    /** Бит, запрошенных назначением (для тестов и отчёта). */
+    long getBitsRequested(Purpose purpose) {
+        Account account = accounts.get(purpose);
+        return account == null ? 0 : account.draws() * BITS_PER_DRAW;
+    }
+
+    @Override
+    public List<String> getBreakdown() {
+        var sorted = new ArrayList<>(accounts.entrySet());
+        // Самые расточительные назначения — первыми
+        sorted.sort((a, b) -> Double.compare(wasted(b.getKey(), b.getValue()), wasted(a.getKey(), a.getValue())));
+
+        List<String> lines = new ArrayList<>(sorted.size());
+        for (var entry : sorted) {
+            Purpose purpose = entry.getKey();
+            Account account = entry.getValue();
+            long draws = account.draws();
+            lines.add(String.format("%s: draws=%d (quantum %d), requested=%d bits, needed=%.1f bits, wasted=%.1f bits",
+                    purpose.key(), draws, account.quantumDraws.sum(),
+                    draws * BITS_PER_DRAW, draws * purpose.bitsNeeded(), wasted(purpose, account)));
+        }
+        return lines;
+    }
+
+    private static double wasted(Purpose purpose, Account account) {
+        return account.draws() * (BITS_PER_DRAW - purpose.bitsNeeded());
+    }
+}
@@ -0,0 +1,48 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX-интерфейс учёта энтропии {@link EntropyLedger}.
+ *
+ * Регистрируется как {@code org.ThreeDotsSierpinski:type=EntropyLedger}.
+ */
+public interface EntropyLedgerMXBean {
+
+    // ---- Источник ----
+
+    /** Бит, принятых из ANU API (партии, прошедшие тесты здоровья). */
+    long getQuantumBitsFetched();
+
+    /** Квантовых бит, выданных режимам. */
+    long getQuantumBitsConsumed();
+
+    // ---- Расход ----
+
+    /** Бит, запрошенных режимами (16 на каждое число). */
+    long getBitsRequested();
+
+    /** Бит, действительно нужных решениям режимов (log2 числа исходов). */
+    double getBitsNeeded();
+
+    /** Запрошено минус нужно. */
+    double getBitsWasted();
+
+    /** Доля полезных бит: нужно / запрошено. */
+    double getEfficiency();
+
+    // ---- На точку ----
+
+    /** Точек, нарисованных всеми режимами. */
+    long getPointsRendered();
+
+    /** Запрошенных бит на одну нарисованную точку. */
+    double getBitsPerPoint();
+
+    /** Запрошенных бит на точку по режимам. */
+    Map<String, Double> getBitsPerPointByMode();
+
+    /** Расход по назначениям, самые расточительные первыми. */
+    List<String> getBreakdown();
+}
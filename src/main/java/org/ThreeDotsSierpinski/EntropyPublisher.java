@@ -0,0 +1,241 @@
+package org.ThreeDotsSierpinski;
+
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Реактивный поток энтропии: {@link Flow.Publisher} блоков uint16 ({@link IntBuffer}).
+ *
+ * Каждый {@code onNext} — один блок до {@code chunkSize} значений, прочитанный из
+ * буфера провайдера. Подписчик получает ровно столько блоков, сколько запросил
+ * через {@code request(n)}:
+ * <ul>
+ *   <li>есть спрос и данные — блок отправляется сразу;</li>
+ *   <li>есть спрос, буфер пуст — провайдер получает {@code requestRefill()},
+ *       а блок уходит подписчику, как только загрузка добавит данные
+ *       ({@link RNLoadListener#onDataAdded(int)}), без опроса;</li>
+ *   <li>спроса нет — из буфера ничего не читается, и медленный подписчик
+ *       не провоцирует новые запросы к API.</li>
+ * </ul>
+ *
+ * Сигналы одной подписки выдаются последовательно (цикл drain на {@code executor}),
+ * разные подписки читают из общего буфера непересекающиеся блоки.
+ */
+public class EntropyPublisher implements Flow.Publisher<IntBuffer>, AutoCloseable {
+    private static final Logger LOGGER = LoggerConfig.getLogger();
+
+    /** Максимальный размер блока в одном onNext. */
+    static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final EntropySource source;
+    private final int chunkSize;
+    private final Executor executor;
+    private final List<EntropySubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** Провайдер, на загрузки которого подписан издатель; null для источника без уведомлений. */
+    private final RNProvider provider;
+    private final RNLoadListener dataListener;
+    private volatile boolean closed = false;
+
+    public EntropyPublisher(RNProvider provider) {
+        this(provider, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param provider  провайдер, из буфера которого читаются блоки
+     * @param chunkSize максимальное количество значений в одном onNext
+     */
+    public EntropyPublisher(RNProvider provider, int chunkSize) {
+        this(provider, provider, chunkSize, Thread::startVirtualThread);
+    }
+
+    /**
+     * Источник без уведомлений о загрузке: о новых данных сообщает {@link #dataAvailable()}.
+     */
+    EntropyPublisher(EntropySource source, int chunkSize, Executor executor) {
+        this(source, null, chunkSize, executor);
+    }
+
+    private EntropyPublisher(EntropySource source, RNProvider provider, int chunkSize, Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("source не может быть null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize должен быть положительным");
+        }
+        this.source = source;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.provider = provider;
+        if (provider == null) {
+            this.dataListener = null;
+            return;
+        }
+        this.dataListener = new RNLoadListener() {
+            @Override public void onLoadingStarted() {}
+            @Override public void onLoadingCompleted() {}
+            @Override public void onError(String errorMessage) {}
+            @Override public void onRawDataReceived(String rawData) {}
+
+            @Override
+            public void onDataAdded(int count) {
+                dataAvailable();
+            }
+        };
+        provider.addDataLoadListener(dataListener);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super IntBuffer> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        var subscription = new EntropySubscription(subscriber);
+        if (!closed) {
+            subscriptions.add(subscription);
+        }
+        subscriber.onSubscribe(subscription);
+
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * В буфер добавлены данные: подписки с ненулевым спросом продолжают выдачу.
+     */
+    void dataAvailable() {
+        for (EntropySubscription subscription : subscriptions) {
+            if (subscription.demand.get() > 0) {
+                subscription.signal();
+            }
+        }
+    }
+
+    /** Количество активных подписок. */
+    int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Завершает все подписки ({@code onComplete}) и отписывается от провайдера.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (provider != null) {
+            provider.removeDataLoadListener(dataListener);
+        }
+        for (EntropySubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+        subscriptions.clear();
+    }
+
+    // ========================================================================
+    // Подписка
+    // ========================================================================
+
+    private final class EntropySubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super IntBuffer> subscriber;
+        private final short[] words = new short[chunkSize];
+
+        final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+        private volatile boolean completeRequested = false;
+        private volatile Throwable pendingError = null;
+
+        EntropySubscription(Flow.Subscriber<? super IntBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("request(n): n должно быть положительным, получено " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void complete() {
+            completeRequested = true;
+            signal();
+        }
+
+        void signal() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /** Последовательная выдача: одновременно работает не более одного drain на подписку. */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!cancelled) {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            Throwable error = pendingError;
+            if (error != null) {
+                cancel();
+                subscriber.onError(error);
+                return;
+            }
+
+            while (!cancelled && !completeRequested && demand.get() > 0) {
+                int count = source.read(words, 0, chunkSize);
+                if (count == 0) {
+                    // Ждём onDataAdded — подписка будет вызвана снова
+                    source.requestRefill();
+                    break;
+                }
+
+                int[] values = new int[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = words[i] & 0xFFFF;
+                }
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+
+                try {
+                    subscriber.onNext(IntBuffer.wrap(values));
+                } catch (Throwable t) {
+                    LOGGER.log(Level.WARNING, "Subscriber failed in onNext, cancelling subscription", t);
+                    cancel();
+                    return;
+                }
+            }
+
+            if (completeRequested && !cancelled) {
+                cancel();
+                subscriber.onComplete();
+            }
+        }
+    }
+}
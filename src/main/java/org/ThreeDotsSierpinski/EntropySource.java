@@ -0,0 +1,56 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.OptionalInt;
+
+/**
+ * Источник случайных uint16-чисел с блочным чтением.
+ *
+ * Реализуется {@link RNProvider}; используется адаптерами
+ * ({@link QuantumRandomGenerator} и др.), которым нужен не поштучный,
+ * а блочный доступ к буферу.
+ */
+public interface EntropySource {
+
+    /**
+     * Копирует до {@code len} значений uint16 в {@code dst[off, off + len)}.
+     * НЕБЛОКИРУЮЩИЙ: если данных пока нет, возвращает 0.
+     *
+     * @param dst приёмник (значения хранятся как short, читать через {@code & 0xFFFF})
+     * @param off смещение в приёмнике
+     * @param len максимальное количество значений
+     * @return сколько значений скопировано, от 0 до len
+     */
+    int read(short[] dst, int off, int len);
+
+    /**
+     * Как {@link #read(short[], int, int)}, плюс происхождение каждого числа:
+     * бит {@code i} карты {@code provenance} ({@link ProvenanceBits}) — 1, если
+     * {@code dst[off + i]} получено от ANU API. Реализация по умолчанию
+     * происхождения не знает и помечает все числа как псевдослучайные.
+     *
+     * @param provenance карта не короче {@code ProvenanceBits.words(len)}
+     */
+    default int read(short[] dst, int off, int len, long[] provenance) {
+        int count = read(dst, off, len);
+        ProvenanceBits.fill(provenance, 0, count, false);
+        return count;
+    }
+
+    /**
+     * Одно число для назначения {@code purpose} (НЕБЛОКИРУЮЩИЙ), или Empty,
+     * если данных пока нет. Реализация по умолчанию читает одно значение
+     * через {@link #read(short[], int, int)} и назначение не учитывает;
+     * {@link RNProvider} и дескрипторы {@link SharedProviderCore} ведут учёт
+     * в {@link EntropyLedger}.
+     */
+    default OptionalInt getNextRandomNumber(EntropyLedger.Purpose purpose) {
+        short[] one = new short[1];
+        return read(one, 0, 1) == 1 ? OptionalInt.of(one[0] & 0xFFFF) : OptionalInt.empty();
+    }
+
+    /**
+     * Просит источник пополнить буфер (если это возможно).
+     * Реализация по умолчанию ничего не делает.
+     */
+    default void requestRefill() {}
+}
@@ -1,44 +1,91 @@
 package org.ThreeDotsSierpinski;
 
-import java.util.List;
-
 /**
  * NIST Frequency (Monobit) Test.
  *
- * Проверяет баланс нулей и единиц в битовом представлении чисел.
+ * Проверяет баланс нулей и единиц в битовом представлении чисел
+ * (младшие 16 бит каждого значения). Единицы считаются по словам
+ * битового потока {@link Sample}.
  */
 public class FrequencyBitTest implements RandomnessTest {
 
+    private static final String NAME = "Частотный (Frequency)";
+
     @Override
-    public TestResult testWithDetails(List<Long> numbers, double alpha) {
-        if (numbers == null || numbers.size() < 10) {
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
             throw new IllegalArgumentException("Требуется минимум 10 чисел");
         }
 
-        long sum = 0;
-        int totalBits = 0;
-
-        for (long number : numbers) {
-            for (int bit = 0; bit < 16; bit++) {
-                sum += ((number >> bit) & 1) == 1 ? 1 : -1;
-                totalBits++;
-            }
+        long ones = 0;
+        for (long word : sample.bits()) {
+            ones += Long.bitCount(word);
         }
+        long totalBits = sample.bitLength();
 
-        double sObs = Math.abs(sum) / Math.sqrt(totalBits);
-        double pValue = MathUtils.erfc(sObs / Math.sqrt(2));
+        return evaluate(2 * ones - totalBits, totalBits, alpha);
+    }
+
+    /**
+     * Результат по достаточной статистике: сумма ±1 по всем битам.
+     */
+    static TestResult evaluate(long sum, long totalBits, double alpha) {
+        double pValue = pValue(sum, totalBits);
 
         var quality = pValue >= 2 * alpha ? TestResult.Quality.STRONG
                     : pValue >= alpha     ? TestResult.Quality.MARGINAL
                     :                       TestResult.Quality.FAIL;
 
         String stat = String.format("p=%.4f", pValue);
-        return new TestResult(getTestName(), quality != TestResult.Quality.FAIL, stat, quality);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /** p-значение по сумме ±1: erfc(|S| / √(2n)). */
+    static double pValue(long sum, long totalBits) {
+        double sObs = Math.abs(sum) / Math.sqrt(totalBits);
+        return MathUtils.erfc(sObs / Math.sqrt(2));
     }
 
     @Override
     public String getTestName() {
-        return "Частотный (Frequency)";
+        return NAME;
+    }
+
+    /**
+     * Инкрементальный вариант: хранит только сумму ±1 и число бит.
+     */
+    public static final class Online implements OnlineRandomnessTest {
+        private long sum;
+        private long count;
+
+        @Override
+        public void accept(int value) {
+            sum += 2L * Integer.bitCount(value & 0xFFFF) - 16;
+            count++;
+        }
+
+        @Override
+        public long getCount() { return count; }
+
+        @Override
+        public TestResult result(double alpha) {
+            OnlineRandomnessTest.requireMinimum(count);
+            return evaluate(sum, 16 * count, alpha);
+        }
+
+        /** p-значение без порога и проверки размера. */
+        double pValue() {
+            return FrequencyBitTest.pValue(sum, 16 * count);
+        }
+
+        @Override
+        public void reset() {
+            sum = 0;
+            count = 0;
+        }
+
+        @Override
+        public String getTestName() { return NAME; }
     }
 
 }
@@ -0,0 +1,127 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * Непрерывные тесты здоровья источника по NIST SP 800-90B (раздел 4.4).
+ *
+ * <ul>
+ *   <li><b>Repetition Count Test (RCT)</b> — одно и то же значение подряд
+ *       {@code C = 1 + ⌈20 / H⌉} раз и более → отказ;</li>
+ *   <li><b>Adaptive Proportion Test (APT)</b> — в окне из {@value #APT_WINDOW}
+ *       значений первое значение окна встречается {@code C} раз и более → отказ,
+ *       {@code C = 1 + CRITBINOM(W, 2^-H, 1 - α)}.</li>
+ * </ul>
+ * Вероятность ложного срабатывания α = 2⁻²⁰, H — заявленная мин-энтропия
+ * на одно uint16 ({@code health.min.entropy}). Пороги считаются один раз
+ * в конструкторе, проверка партии не выделяет память.
+ *
+ * Каждая партия ANU API — независимый ответ, поэтому состояние тестов
+ * сбрасывается в начале партии. Экземпляр НЕ потокобезопасен:
+ * используется потоком загрузки.
+ */
+final class HealthTests {
+
+    /** log2(1/α): α = 2⁻²⁰, рекомендация SP 800-90B. */
+    static final int ALPHA_EXPONENT = 20;
+
+    /** Размер окна APT для небинарных источников. */
+    static final int APT_WINDOW = 512;
+
+    /** Мин-энтропия по умолчанию, если {@code health.min.entropy} не задан. */
+    static final double DEFAULT_MIN_ENTROPY = 8.0;
+
+    private final double minEntropy;
+    private final int rctCutoff;
+    private final int aptCutoff;
+
+    private String lastFailure = null;
+
+    /**
+     * @param minEntropy заявленная мин-энтропия H на одно значение, (0, 16]
+     */
+    HealthTests(double minEntropy) {
+        if (!(minEntropy > 0 && minEntropy <= 16)) {
+            throw new IllegalArgumentException("Мин-энтропия должна быть в (0, 16], получено " + minEntropy);
+        }
+        this.minEntropy = minEntropy;
+        this.rctCutoff = 1 + (int) Math.ceil(ALPHA_EXPONENT / minEntropy);
+        this.aptCutoff = 1 + critBinom(APT_WINDOW, Math.pow(2, -minEntropy), Math.scalb(1.0, -ALPHA_EXPONENT));
+    }
+
+    static HealthTests fromConfig() {
+        String value = Config.getString("health.min.entropy");
+        return new HealthTests(value != null ? Double.parseDouble(value) : DEFAULT_MIN_ENTROPY);
+    }
+
+    /**
+     * Наименьшее k, при котором P(X ≤ k) ≥ 1 - α для X ~ Binomial(n, p).
+     * Хвост считается напрямую, чтобы не терять точность при 1 - α ≈ 1.
+     */
+    static int critBinom(int n, double p, double alpha) {
+        // P(X = k) итеративно: P(k+1) = P(k) · (n-k)/(k+1) · p/(1-p)
+        double[] pmf = new double[n + 1];
+        pmf[0] = Math.exp(n * Math.log1p(-p));
+        for (int k = 0; k < n; k++) {
+            pmf[k + 1] = pmf[k] * (n - k) / (k + 1) * p / (1 - p);
+        }
+
+        double tail = 0;  // P(X > k)
+        for (int k = n; k >= 0; k--) {
+            if (tail + pmf[k] > alpha) {
+                return k;
+            }
+            tail += pmf[k];
+        }
+        return 0;
+    }
+
+    /**
+     * Проверяет партию значений.
+     *
+     * @return true, если партия прошла оба теста
+     */
+    boolean testBatch(short[] batch, int off, int len) {
+        int rctValue = -1;
+        int rctCount = 0;
+        int aptValue = -1;
+        int aptCount = 0;
+        int aptIndex = 0;
+
+        for (int i = off, end = off + len; i < end; i++) {
+            int value = batch[i] & 0xFFFF;
+
+            // RCT
+            if (value == rctValue) {
+                if (++rctCount >= rctCutoff) {
+                    lastFailure = "Repetition Count Test: value " + value
+                            + " repeated " + rctCount + " times (cutoff " + rctCutoff + ")";
+                    return false;
+                }
+            } else {
+                rctValue = value;
+                rctCount = 1;
+            }
+
+            // APT
+            if (aptIndex == 0) {
+                aptValue = value;
+                aptCount = 1;
+            } else if (value == aptValue && ++aptCount >= aptCutoff) {
+                lastFailure = "Adaptive Proportion Test: value " + value
+                        + " occurred " + aptCount + " times in window of " + APT_WINDOW
+                        + " (cutoff " + aptCutoff + ")";
+                return false;
+            }
+            if (++aptIndex == APT_WINDOW) {
+                aptIndex = 0;
+            }
+        }
+        return true;
+    }
+
+    /** Описание последнего отказа или null. */
+    String getLastFailure() { return lastFailure; }
+
+    double getMinEntropy() { return minEntropy; }
+    int getRctCutoff() { return rctCutoff; }
+    int getAptCutoff() { return aptCutoff; }
+}
@@ -0,0 +1,154 @@
+package org.ThreeDotsSierpinski;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Декодер hex16 (ASCII) в uint16 по 8 символов за шаг (SWAR — SIMD в регистре long).
+ *
+ * Восемь символов читаются одним {@code long}, за несколько побитовых операций
+ * проверяются (0-9, A-F, a-f), переводятся в полубайты и упаковываются в два uint16.
+ * Хвост короче 8 символов декодируется посимвольно.
+ *
+ * Семантика как у прежнего {@code processHexToNumbers}: каждые 4 символа — одно
+ * число (старший байт первым), нечётная длина и любой не-hex символ (включая символы
+ * неполного последнего числа) — {@link IllegalArgumentException}. Неполное последнее
+ * число (2 символа) отбрасывается.
+ */
+final class HexDecoder {
+
+    private static final VarHandle LONG_BE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /** 0x01 в каждом байте. */
+    private static final long ONES = 0x0101010101010101L;
+    /** 0x80 в каждом байте. */
+    private static final long HIGH = 0x8080808080808080L;
+
+    static final String INVALID_LENGTH = "Invalid HEX string length.";
+    static final String INVALID_CHARACTER = "Invalid character in HEX string.";
+
+    private HexDecoder() {
+    }
+
+    /** Сколько uint16 получится из {@code hexLength} символов. */
+    static int decodedLength(int hexLength) {
+        return hexLength >>> 2;
+    }
+
+    /**
+     * Декодирует {@code len} ASCII-символов в {@code dst}.
+     *
+     * @return количество записанных uint16 ({@code len / 4})
+     * @throws IllegalArgumentException при нечётной длине или не-hex символе
+     */
+    static int decode(byte[] src, int off, int len, short[] dst, int dstOff) {
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException(INVALID_LENGTH);
+        }
+        int words = decodedLength(len);
+        int i = 0;
+        int w = dstOff;
+
+        for (; i + 8 <= len; i += 8) {
+            int packed = decode8((long) LONG_BE.get(src, off + i));
+            dst[w++] = (short) (packed >>> 16);
+            dst[w++] = (short) packed;
+        }
+        for (; i + 4 <= len; i += 4) {
+            dst[w++] = (short) ((nibble(src[off + i]) << 12) | (nibble(src[off + i + 1]) << 8)
+                    | (nibble(src[off + i + 2]) << 4) | nibble(src[off + i + 3]));
+        }
+        for (; i < len; i++) {
+            nibble(src[off + i]);  // неполное число не выдаётся, но проверяется
+        }
+        return words;
+    }
+
+    /**
+     * Декодирует все оставшиеся символы {@code src} в {@code dst} (значения 0..65535).
+     * Позиции обоих буферов сдвигаются. При ошибке в {@code dst} может остаться
+     * часть уже декодированных чисел.
+     *
+     * @return количество записанных чисел
+     * @throws BufferOverflowException если в {@code dst} не хватает места
+     */
+    static int decode(ByteBuffer src, IntBuffer dst) {
+        int len = src.remaining();
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException(INVALID_LENGTH);
+        }
+        int words = decodedLength(len);
+        if (dst.remaining() < words) {
+            throw new BufferOverflowException();
+        }
+
+        ByteBuffer chars = src.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int base = src.position();
+        int i = 0;
+        for (; i + 8 <= len; i += 8) {
+            int packed = decode8(chars.getLong(base + i));
+            dst.put(packed >>> 16);
+            dst.put(packed & 0xFFFF);
+        }
+        for (; i + 4 <= len; i += 4) {
+            dst.put((nibble(chars.get(base + i)) << 12) | (nibble(chars.get(base + i + 1)) << 8)
+                    | (nibble(chars.get(base + i + 2)) << 4) | nibble(chars.get(base + i + 3)));
+        }
+        for (; i < len; i++) {
+            nibble(chars.get(base + i));
+        }
+        src.position(base + len);
+        return words;
+    }
+
+    /**
+     * Восемь ASCII-символов (первый — в старшем байте) → два uint16 в одном int.
+     */
+    static int decode8(long chars) {
+        // Символы вне 7-битного ASCII — сразу ошибка; дальше суммы байтов не переносятся
+        if ((chars & HIGH) != 0) {
+            throw new IllegalArgumentException(INVALID_CHARACTER);
+        }
+        long folded = chars | 0x2020202020202020L;  // 'A'-'F' → 'a'-'f'
+
+        long digit = atLeast(chars, '0') & atMost(chars, '9');
+        long letter = atLeast(folded, 'a') & atMost(folded, 'f');
+        if ((digit | letter) != HIGH) {
+            throw new IllegalArgumentException(INVALID_CHARACTER);
+        }
+
+        // '0'-'9' → младшие 4 бита; 'a'-'f' → младшие 4 бита (1..6) + 9
+        long nibbles = (chars & 0x0F0F0F0F0F0F0F0FL) + (letter >>> 7) * 9;
+
+        // Упаковка: 8 полубайтов в 8 байтах → 4 байта → 2 uint16
+        long bytes = (nibbles | (nibbles >>> 4)) & 0x00FF00FF00FF00FFL;
+        long words = (bytes | (bytes >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (int) ((words >>> 16) | words);
+    }
+
+    /** Старший бит каждого байта = (байт ≥ lo). Байты 7-битные. */
+    private static long atLeast(long x, int lo) {
+        return (x + (0x80 - lo) * ONES) & HIGH;
+    }
+
+    /** Старший бит каждого байта = (байт ≤ hi). Байты 7-битные. */
+    private static long atMost(long x, int hi) {
+        return ~(x + (0x7F - hi) * ONES) & HIGH;
+    }
+
+    private static int nibble(byte c) {
+        int folded = c | 0x20;
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (folded >= 'a' && folded <= 'f') {
+            return folded - 'a' + 10;
+        }
+        throw new IllegalArgumentException(INVALID_CHARACTER);
+    }
+}
@@ -0,0 +1,15 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * Выборка слишком мала для теста: тест не выполнен, а не провален.
+ *
+ * {@link RandomnessTestSuite} превращает её в результат {@link TestResult.Quality#SKIPPED},
+ * который не входит в счёт пройденных. Подкласс {@link IllegalArgumentException},
+ * поэтому прямые вызовы теста ведут себя как прежде.
+ */
+public class InsufficientDataException extends IllegalArgumentException {
+
+    public InsufficientDataException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,62 @@
+package org.ThreeDotsSierpinski;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
+
+/**
+ * Регистрация MBean-ов приложения в platform MBeanServer.
+ *
+ * Ошибки JMX не должны ронять приложение: при неудаче пишется предупреждение
+ * в лог, а визуализация продолжает работать без мониторинга.
+ */
+final class JmxSupport {
+    private static final Logger LOGGER = LoggerConfig.getLogger();
+
+    /** JMX-домен всех MBean-ов приложения. */
+    static final String DOMAIN = "org.ThreeDotsSierpinski";
+
+    private JmxSupport() {
+        // Utility class — не инстанцируется
+    }
+
+    /**
+     * Регистрирует MBean. Ранее зарегистрированный объект с тем же именем заменяется.
+     *
+     * @param mbean      объект, реализующий *MXBean интерфейс
+     * @param properties ключевые свойства ObjectName, например {@code "type=RNProvider"}
+     * @return имя зарегистрированного MBean или null при ошибке
+     */
+    static ObjectName register(Object mbean, String properties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            LOGGER.info("JMX MBean registered: " + name);
+            return name;
+        } catch (JMException e) {
+            LOGGER.warning("Failed to register JMX MBean (" + properties + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Снимает MBean с регистрации. null и уже снятые имена игнорируются.
+     */
+    static void unregister(ObjectName name) {
+        if (name == null) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.warning("Failed to unregister JMX MBean " + name + ": " + e.getMessage());
+        }
+    }
+}
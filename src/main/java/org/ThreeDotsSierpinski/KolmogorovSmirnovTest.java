@@ -1,13 +1,29 @@
 package org.ThreeDotsSierpinski;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * Реализация теста Колмогорова-Смирнова для проверки равномерности распределения.
+ *
+ * Значения ограничены диапазоном [minRange, maxRange], поэтому вместо сортировки
+ * строится гистограмма за один проход — O(n + range) вместо O(n log n).
+ * Большие выборки делятся на куски по ядрам, гистограммы кусков складываются.
+ * Если диапазон слишком широк или есть значения вне диапазона, используется сортировка.
  */
 public class KolmogorovSmirnovTest implements RandomnessTest {
 
+    private static final String NAME = "Тест Колмогорова-Смирнова";
+
+    /** Наибольший диапазон для гистограммы: int[2^20] = 4 МБ на кусок. */
+    static final long MAX_HISTOGRAM_RANGE = 1L << 20;
+
+    /** С какого размера выборки гистограмма строится параллельно. */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
     private final long minRange;
     private final long maxRange;
 
@@ -24,7 +40,7 @@ public class KolmogorovSmirnovTest implements RandomnessTest {
     }
 
     @Override
-    public TestResult testWithDetails(List<Long> numbers, double alpha) {
+    public TestResult testSample(Sample numbers, double alpha) {
         Objects.requireNonNull(numbers, "Список чисел не может быть null");
         if (numbers.isEmpty()) {
             throw new IllegalArgumentException("Список чисел не может быть пустым");
@@ -36,17 +52,33 @@ public class KolmogorovSmirnovTest implements RandomnessTest {
             throw new IllegalArgumentException("alpha должен быть в диапазоне (0, 1)");
         }
 
-        long[] sample = numbers.stream().mapToLong(Long::longValue).sorted().toArray();
-        int n = sample.length;
+        int n = numbers.size();
+        long range = maxRange - minRange + 1;
+        if (range > 0 && range <= MAX_HISTOGRAM_RANGE && range <= Math.max(65536L, 4L * n)) {
+            long[] histogram = histogram(numbers.values(), minRange, (int) range);
+            if (histogram != null) {
+                return evaluate(maxDeviation(histogram, n, maxRange - minRange), n, alpha);
+            }
+        }
+
+        long[] sorted = numbers.values().clone();
+        Arrays.sort(sorted);
 
         double maxDeviation = 0.0;
         for (int i = 0; i < n; i++) {
             double empiricalCDF = (double) (i + 1) / n;
-            double theoreticalCDF = (double) (sample[i] - minRange) / (maxRange - minRange);
+            double theoreticalCDF = (double) (sorted[i] - minRange) / (maxRange - minRange);
             theoreticalCDF = Math.max(0.0, Math.min(1.0, theoreticalCDF));
             maxDeviation = Math.max(maxDeviation, Math.abs(empiricalCDF - theoreticalCDF));
         }
 
+        return evaluate(maxDeviation, n, alpha);
+    }
+
+    /**
+     * Результат по статистике D и размеру выборки.
+     */
+    static TestResult evaluate(double maxDeviation, long n, double alpha) {
         double criticalValue = Math.sqrt(-0.5 * Math.log(alpha / 2)) / Math.sqrt(n);
 
         var quality = maxDeviation < criticalValue * 0.6 ? TestResult.Quality.STRONG
@@ -54,12 +86,113 @@ public class KolmogorovSmirnovTest implements RandomnessTest {
                     :                                       TestResult.Quality.FAIL;
 
         String stat = String.format("D=%.4f (crit=%.4f)", maxDeviation, criticalValue);
-        return new TestResult(getTestName(), quality != TestResult.Quality.FAIL, stat, quality);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
     }
 
     @Override
     public String getTestName() {
-        return "Тест Колмогорова-Смирнова";
+        return NAME;
+    }
+
+    /**
+     * Гистограмма значений {@code values} относительно {@code min}.
+     * Начиная с {@link #PARALLEL_THRESHOLD} значений — по куску на ядро.
+     *
+     * @return счётчики или null, если какое-то значение вне [min, min + range)
+     */
+    static long[] histogram(long[] values, long min, int range) {
+        int chunks = values.length >= PARALLEL_THRESHOLD
+                ? Math.max(1, ForkJoinPool.getCommonPoolParallelism())
+                : 1;
+        int chunkSize = (values.length + chunks - 1) / chunks;
+
+        List<int[]> partial = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(c -> chunkHistogram(values, c * chunkSize,
+                        Math.min(values.length, (c + 1) * chunkSize), min, range))
+                .toList();
+
+        long[] merged = new long[range];
+        for (int[] chunk : partial) {
+            if (chunk == null) return null;
+            for (int v = 0; v < range; v++) {
+                merged[v] += chunk[v];
+            }
+        }
+        return merged;
+    }
+
+    /** Гистограмма куска {@code values[from, to)} или null при значении вне диапазона. */
+    private static int[] chunkHistogram(long[] values, int from, int to, long min, int range) {
+        int[] counts = new int[range];
+        for (int i = from; i < to; i++) {
+            long offset = values[i] - min;
+            if (offset < 0 || offset >= range) return null;
+            counts[(int) offset]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Статистика D по гистограмме значений относительно начала диапазона.
+     *
+     * Совпадает с результатом сортировки: для значения v с c повторами
+     * эмпирическая функция в точках выборки принимает значения от
+     * (cumBefore + 1) / n до cum / n, и максимум отклонения достигается
+     * на одном из концов.
+     *
+     * @param span maxRange - minRange (теоретическая CDF значения v равна v / span)
+     */
+    static double maxDeviation(long[] histogram, long n, long span) {
+        double maxDeviation = 0.0;
+        long cumulative = 0;
+        for (int v = 0; v < histogram.length; v++) {
+            long c = histogram[v];
+            if (c == 0) continue;
+            double theoreticalCDF = (double) v / span;
+            double first = (double) (cumulative + 1) / n;
+            cumulative += c;
+            double last = (double) cumulative / n;
+            maxDeviation = Math.max(maxDeviation,
+                    Math.max(Math.abs(first - theoreticalCDF), Math.abs(last - theoreticalCDF)));
+        }
+        return maxDeviation;
+    }
+
+    /**
+     * Инкрементальный вариант для uint16: гистограмма на 65536 корзин
+     * вместо сортировки выборки.
+     */
+    public static final class Online implements OnlineRandomnessTest {
+        private final long[] histogram = new long[65536];
+        private long count;
+
+        @Override
+        public void accept(int value) {
+            histogram[value & 0xFFFF]++;
+            count++;
+        }
+
+        @Override
+        public long getCount() { return count; }
+
+        @Override
+        public TestResult result(double alpha) {
+            OnlineRandomnessTest.requireMinimum(count);
+            if (alpha <= 0 || alpha >= 1) {
+                throw new IllegalArgumentException("alpha должен быть в диапазоне (0, 1)");
+            }
+            return evaluate(maxDeviation(histogram, count, 65535), count, alpha);
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(histogram, 0);
+            count = 0;
+        }
+
+        @Override
+        public String getTestName() { return NAME; }
     }
 
     public long getMinRange() { return minRange; }
@@ -0,0 +1,75 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма задержек с фиксированными границами корзин (в миллисекундах).
+ *
+ * Запись — lock-free (одно атомарное увеличение счётчика корзины),
+ * перцентиль возвращается как верхняя граница корзины, в которую он попал.
+ * Точности до корзины достаточно для мониторинга через JMX.
+ */
+final class LatencyHistogram {
+
+    /** Верхние границы корзин (включительно), мс. Последняя корзина — «всё, что больше». */
+    private static final long[] BUCKET_BOUNDS_MS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500,
+            1_000, 2_000, 5_000, 10_000, 20_000, 30_000, 60_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    /**
+     * Регистрирует одно измерение.
+     *
+     * @param latencyMs задержка в миллисекундах (отрицательные значения считаются нулём)
+     */
+    void record(long latencyMs) {
+        long value = Math.max(0, latencyMs);
+        counts.incrementAndGet(bucketIndex(value));
+        total.incrementAndGet();
+        maxMs.accumulateAndGet(value, Math::max);
+    }
+
+    /** Количество измерений. */
+    long count() {
+        return total.get();
+    }
+
+    /** Максимальная зарегистрированная задержка, мс. */
+    long max() {
+        return maxMs.get();
+    }
+
+    /**
+     * Оценка перцентиля.
+     *
+     * @param percentile значение в диапазоне (0, 100]
+     * @return верхняя граница корзины, содержащей перцентиль, или 0 если измерений нет.
+     *         Для последней (открытой) корзины возвращается максимум.
+     */
+    long percentile(double percentile) {
+        long n = total.get();
+        if (n == 0) return 0;
+
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : maxMs.get();
+            }
+        }
+        return maxMs.get();
+    }
+
+    private static int bucketIndex(long valueMs) {
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (valueMs <= BUCKET_BOUNDS_MS[i]) return i;
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+}
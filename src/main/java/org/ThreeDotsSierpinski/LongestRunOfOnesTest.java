@@ -0,0 +1,124 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * NIST SP 800-22 Test for the Longest Run of Ones in a Block (2.4).
+ *
+ * Поток делится на N блоков по M бит; самая длинная серия единиц каждого блока
+ * попадает в одну из K + 1 категорий, распределение категорий сравнивается
+ * с теоретическим по χ², p = igamc(K/2, χ²/2). M и вероятности категорий —
+ * по таблице NIST для длины потока: 8, 128 или 10 000 бит.
+ *
+ * Все M кратны 8, поэтому блок просматривается по байтам {@link Sample}:
+ * для каждого байта заранее известны начальная и конечная серии единиц и
+ * самая длинная серия внутри него. Байт 0xFF просто продлевает текущую серию.
+ */
+public class LongestRunOfOnesTest implements RandomnessTest {
+
+    private static final String NAME = "Длиннейшая серия единиц (Longest Run)";
+
+    /** Минимальная длина потока по NIST. */
+    static final long MIN_BITS = 128;
+
+    /**
+     * Параметры теста для диапазона длин потока.
+     *
+     * @param blockBits M
+     * @param lowest    верхняя граница первой категории (v ≤ lowest)
+     * @param pi        вероятности категорий; последняя — v ≥ lowest + K
+     */
+    record Params(int blockBits, int lowest, double[] pi) {
+    }
+
+    static final Params SMALL = new Params(8, 1,
+            new double[]{0.2148, 0.3672, 0.2305, 0.1875});
+    static final Params MEDIUM = new Params(128, 4,
+            new double[]{0.1174, 0.2430, 0.2493, 0.1752, 0.1027, 0.1124});
+    static final Params LARGE = new Params(10_000, 10,
+            new double[]{0.0882, 0.2092, 0.2483, 0.1933, 0.1208, 0.0675, 0.0727});
+
+    /** Серия единиц с младшего бита байта (начало байта в потоке). */
+    private static final byte[] LEADING_ONES = new byte[256];
+    /** Серия единиц, заканчивающаяся старшим битом байта. */
+    private static final byte[] TRAILING_ONES = new byte[256];
+    /** Самая длинная серия единиц внутри байта. */
+    private static final byte[] LONGEST_ONES = new byte[256];
+
+    static {
+        for (int v = 0; v < 256; v++) {
+            LEADING_ONES[v] = (byte) Integer.numberOfTrailingZeros(~v);
+            TRAILING_ONES[v] = (byte) Integer.numberOfLeadingZeros(~(v << 24));
+            int run = 0;
+            int longest = 0;
+            for (int i = 0; i < 8; i++) {
+                run = ((v >>> i) & 1) == 1 ? run + 1 : 0;
+                longest = Math.max(longest, run);
+            }
+            LONGEST_ONES[v] = (byte) longest;
+        }
+    }
+
+    /** Параметры NIST для потока из {@code n} бит. */
+    static Params paramsFor(long n) {
+        if (n < 6272) return SMALL;
+        if (n < 750_000) return MEDIUM;
+        return LARGE;
+    }
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
+            throw new IllegalArgumentException("Требуется минимум 10 чисел");
+        }
+        long n = sample.bitLength();
+        if (n < MIN_BITS) {
+            throw new IllegalArgumentException("Требуется минимум " + MIN_BITS + " бит, получено " + n);
+        }
+
+        Params params = paramsFor(n);
+        double pValue = pValue(sample.bits(), n);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p=%.4f (M=%d, N=%d)", pValue, params.blockBits(), n / params.blockBits());
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * p-значение по потоку {@code bits} длины {@code n} (n ≥ {@link #MIN_BITS}, кратно 8).
+     */
+    static double pValue(long[] bits, long n) {
+        Params params = paramsFor(n);
+        int bytesPerBlock = params.blockBits() >>> 3;
+        long blocks = n / params.blockBits();
+        int categories = params.pi().length;
+        long[] counts = new long[categories];
+
+        for (long block = 0; block < blocks; block++) {
+            long offset = block * bytesPerBlock;
+            int run = 0;
+            int longest = 0;
+            for (int i = 0; i < bytesPerBlock; i++) {
+                int b = Sample.byteAt(bits, offset + i);
+                if (b == 0xFF) {
+                    run += 8;
+                } else {
+                    longest = Math.max(longest, Math.max(run + LEADING_ONES[b], LONGEST_ONES[b]));
+                    run = TRAILING_ONES[b];
+                }
+            }
+            longest = Math.max(longest, run);
+            counts[Math.clamp(longest - params.lowest(), 0, categories - 1)]++;
+        }
+
+        double chiSquare = 0.0;
+        for (int i = 0; i < categories; i++) {
+            double expected = blocks * params.pi()[i];
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+        }
+        return MathUtils.igamc((categories - 1) / 2.0, chiSquare / 2.0);
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
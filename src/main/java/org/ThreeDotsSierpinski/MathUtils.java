@@ -42,4 +42,93 @@ final class MathUtils {
                 + 0.17087277 * t * t * t * t * t * t * t * t * t);
         return x >= 0 ? 1 - tau : tau - 1;
     }
+
+    /**
+     * Функция распределения стандартного нормального закона: Φ(x) = erfc(−x/√2) / 2.
+     *
+     * @param x аргумент
+     * @return Φ(x)
+     */
+    static double normalCdf(double x) {
+        return 0.5 * erfc(-x / Math.sqrt(2));
+    }
+
+    /** Коэффициенты аппроксимации Ланцоша (g = 5, n = 6). */
+    private static final double[] LANCZOS = {
+            76.18009172947146, -86.50532032941677, 24.01409824083091,
+            -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5
+    };
+
+    /** Точность и предел итераций для неполной гамма-функции. */
+    private static final double GAMMA_EPS = 1e-14;
+    private static final int GAMMA_MAX_ITERATIONS = 1000;
+
+    /**
+     * Натуральный логарифм гамма-функции (аппроксимация Ланцоша), x > 0.
+     *
+     * @param x аргумент
+     * @return ln Γ(x)
+     */
+    static double lgamma(double x) {
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double c : LANCZOS) {
+            series += c / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * Верхняя регуляризованная неполная гамма-функция Q(a, x) = Γ(a, x) / Γ(a),
+     * через неё считаются p-значения χ² (как igamc в NIST SP 800-22).
+     * При x &lt; a + 1 — ряд для P(a, x), иначе — цепная дробь Лентца для Q.
+     *
+     * @param a параметр формы, a &gt; 0
+     * @param x аргумент, x ≥ 0
+     * @return Q(a, x)
+     */
+    static double igamc(double a, double x) {
+        if (a <= 0 || x < 0) {
+            throw new IllegalArgumentException("igamc: требуется a > 0 и x >= 0, получено a=" + a + ", x=" + x);
+        }
+        if (x == 0) {
+            return 1.0;
+        }
+        double logPrefix = a * Math.log(x) - x - lgamma(a);
+        if (x < a + 1) {
+            double term = 1.0 / a;
+            double sum = term;
+            for (int n = 1; n < GAMMA_MAX_ITERATIONS; n++) {
+                term *= x / (a + n);
+                sum += term;
+                if (Math.abs(term) < Math.abs(sum) * GAMMA_EPS) {
+                    break;
+                }
+            }
+            return Math.max(0.0, 1.0 - sum * Math.exp(logPrefix));
+        }
+
+        double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+        for (int i = 1; i < GAMMA_MAX_ITERATIONS; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = b + an / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < GAMMA_EPS) {
+                break;
+            }
+        }
+        return Math.exp(logPrefix) * h;
+    }
 }
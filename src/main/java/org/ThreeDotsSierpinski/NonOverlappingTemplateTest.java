@@ -0,0 +1,108 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.stream.IntStream;
+
+/**
+ * NIST SP 800-22 Non-overlapping Template Matching Test (2.7) по всем
+ * 148 апериодическим 9-битным шаблонам.
+ *
+ * Поток делится на N = 8 блоков по M бит; в каждом блоке вхождения шаблона
+ * считаются без перекрытия (после совпадения поиск продолжается через m бит).
+ * Для каждого шаблона χ² = Σ (Wⱼ − μ)² / σ², p = igamc(N/2, χ²/2).
+ *
+ * Совпадения ищет {@link TemplateMatcher} — 64 позиции за раз; шаблоны
+ * независимы и считаются параллельно, перед каждым шаблоном проверяется
+ * отмена ({@link Cancellation}). Итог — доля шаблонов с p ≥ α:
+ * тест не пройден, если она ниже (1 − α) − 3·√(α(1 − α)/148), как в
+ * правиле пропорции NIST.
+ */
+public class NonOverlappingTemplateTest implements RandomnessTest {
+
+    private static final String NAME = "Непересекающиеся шаблоны (Non-overlapping Template)";
+
+    /** Длина шаблона. */
+    static final int M_BITS = 9;
+
+    /** Число блоков по NIST. */
+    static final int BLOCKS = 8;
+
+    /** Минимальная длина блока: ожидаемое число вхождений μ ≈ 2. */
+    static final int MIN_BLOCK_BITS = 1024;
+
+    private static final int[] TEMPLATES = TemplateMatcher.aperiodicTemplates(M_BITS);
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        long n = sample == null ? 0 : sample.bitLength();
+        if (n < (long) BLOCKS * MIN_BLOCK_BITS) {
+            throw new InsufficientDataException("Требуется минимум "
+                    + BLOCKS * MIN_BLOCK_BITS / Sample.BITS_PER_VALUE + " чисел");
+        }
+
+        double[] pValues = pValues(sample.bits(), n);
+        int passing = 0;
+        double minP = 1.0;
+        for (double p : pValues) {
+            if (p >= alpha) passing++;
+            minP = Math.min(minP, p);
+        }
+
+        double expected = 1 - alpha;
+        double sigma = Math.sqrt(alpha * (1 - alpha) / pValues.length);
+        double proportion = (double) passing / pValues.length;
+
+        var quality = proportion >= expected - 2 * sigma ? TestResult.Quality.STRONG
+                    : proportion >= expected - 3 * sigma ? TestResult.Quality.MARGINAL
+                    :                                      TestResult.Quality.FAIL;
+
+        String stat = String.format("%d/%d p≥α, min p=%.4f", passing, pValues.length, minP);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /** Все апериодические 9-битные шаблоны (битовая запись, см. {@link TemplateMatcher}). */
+    static int[] templates() {
+        return TEMPLATES.clone();
+    }
+
+    /**
+     * p-значения всех шаблонов по потоку {@code bits} длины {@code n}, в порядке {@link #templates()}.
+     */
+    static double[] pValues(long[] bits, long n) {
+        long blockBits = n / BLOCKS;
+        long[][] shifted = TemplateMatcher.shiftedStreams(bits, M_BITS);
+
+        double mu = (blockBits - M_BITS + 1) / Math.pow(2, M_BITS);
+        double variance = blockBits * (1 / Math.pow(2, M_BITS)
+                - (2.0 * M_BITS - 1) / Math.pow(2, 2 * M_BITS));
+        var cancellation = Cancellation.ofCurrentThread();
+
+        return IntStream.range(0, TEMPLATES.length).parallel()
+                .mapToDouble(t -> {
+                    cancellation.check();
+                    long[] bitmap = TemplateMatcher.matches(shifted, TEMPLATES[t]);
+                    double chiSquare = 0;
+                    for (int b = 0; b < BLOCKS; b++) {
+                        long w = countNonOverlapping(bitmap, b * blockBits, (b + 1) * blockBits - M_BITS + 1);
+                        chiSquare += (w - mu) * (w - mu) / variance;
+                    }
+                    return MathUtils.igamc(BLOCKS / 2.0, chiSquare / 2);
+                })
+                .toArray();
+    }
+
+    /** Вхождения без перекрытия среди начал [from, to). */
+    private static long countNonOverlapping(long[] bitmap, long from, long to) {
+        long count = 0;
+        long p = TemplateMatcher.nextMatch(bitmap, from, to);
+        while (p >= 0) {
+            count++;
+            p = TemplateMatcher.nextMatch(bitmap, p + M_BITS, to);
+        }
+        return count;
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,60 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * Тест случайности с инкрементальной статистикой.
+ *
+ * В отличие от {@link RandomnessTest}, не получает выборку целиком:
+ * каждое потреблённое число учитывается за O(1) в достаточных статистиках
+ * теста (суммы бит, счётчики серий, корзины, гистограмма), и результат
+ * доступен в любой момент по всем числам сессии, а не только по последним
+ * 100 000 из истории провайдера.
+ *
+ * Реализации не потокобезопасны; синхронизацию обеспечивает владелец
+ * (см. {@link RandomnessTestSuite.Session}).
+ */
+public interface OnlineRandomnessTest {
+
+    /**
+     * Учитывает очередное число (используются младшие 16 бит).
+     */
+    void accept(int value);
+
+    /**
+     * Учитывает блок uint16-значений.
+     */
+    default void acceptAll(short[] values, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            accept(values[i] & 0xFFFF);
+        }
+    }
+
+    /**
+     * Сколько чисел учтено с момента создания или {@link #reset()}.
+     */
+    long getCount();
+
+    /**
+     * Результат по всем учтённым числам.
+     *
+     * @param alpha уровень значимости (0.01, 0.05, 0.1)
+     * @throws IllegalArgumentException если учтено меньше 10 чисел
+     */
+    TestResult result(double alpha);
+
+    /**
+     * Сбрасывает накопленную статистику.
+     */
+    void reset();
+
+    /**
+     * Возвращает имя теста.
+     */
+    String getTestName();
+
+    /** Общая проверка для {@link #result(double)}. */
+    static void requireMinimum(long count) {
+        if (count < 10) {
+            throw new IllegalArgumentException("Требуется минимум 10 чисел");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.stream.IntStream;
+
+/**
+ * NIST SP 800-22 Overlapping Template Matching Test (2.8): шаблон из 9 единиц.
+ *
+ * Поток делится на N блоков по M = 1032 бит; число вхождений шаблона в блоке
+ * (с перекрытием) попадает в категории 0, 1, 2, 3, 4, ≥ 5, распределение
+ * сравнивается с теоретическим по χ², p = igamc(5/2, χ²/2).
+ *
+ * Вхождения ищет {@link TemplateMatcher}; раз перекрытия разрешены, число
+ * вхождений в блоке — {@link Long#bitCount} по карте совпадений. Блоки
+ * считаются параллельно, с проверкой отмены ({@link Cancellation}).
+ */
+public class OverlappingTemplateTest implements RandomnessTest {
+
+    private static final String NAME = "Пересекающиеся шаблоны (Overlapping Template)";
+
+    /** Длина шаблона и сам шаблон — m единиц. */
+    static final int M_BITS = 9;
+    private static final int TEMPLATE = (1 << M_BITS) - 1;
+
+    /** Длина блока по NIST. */
+    static final int BLOCK_BITS = 1032;
+
+    /** Вероятности категорий 0 … 4 и ≥ 5 вхождений (NIST, M = 1032, m = 9). */
+    private static final double[] PI = {0.364091, 0.185659, 0.139381, 0.100571, 0.0704323, 0.139865};
+
+    /** Минимум блоков: N·min π ≥ 5. */
+    static final int MIN_BLOCKS = 72;
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        long blocks = sample == null ? 0 : sample.bitLength() / BLOCK_BITS;
+        if (blocks < MIN_BLOCKS) {
+            throw new InsufficientDataException("Требуется минимум "
+                    + (MIN_BLOCKS * BLOCK_BITS + Sample.BITS_PER_VALUE - 1) / Sample.BITS_PER_VALUE + " чисел");
+        }
+
+        double pValue = pValue(sample.bits(), (int) blocks);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p=%.4f (N=%d)", pValue, blocks);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /** Число блоков с 0 … 4 и ≥ 5 вхождениями по первым {@code blocks} блокам потока. */
+    static long[] categoryCounts(long[] bits, int blocks) {
+        var cancellation = Cancellation.ofCurrentThread();
+        long[] bitmap = TemplateMatcher.matches(TemplateMatcher.shiftedStreams(bits, M_BITS), TEMPLATE);
+        cancellation.check();
+        return IntStream.range(0, blocks).parallel()
+                .map(b -> {
+                    cancellation.check();
+                    return (int) Math.min(PI.length - 1, TemplateMatcher.countRange(bitmap,
+                            (long) b * BLOCK_BITS, (long) (b + 1) * BLOCK_BITS - M_BITS + 1));
+                })
+                .collect(() -> new long[PI.length], (counts, category) -> counts[category]++, (a, b) -> {
+                    for (int i = 0; i < a.length; i++) a[i] += b[i];
+                });
+    }
+
+    /** p-значение по первым {@code blocks} блокам потока. */
+    static double pValue(long[] bits, int blocks) {
+        long[] counts = categoryCounts(bits, blocks);
+        double chiSquare = 0;
+        for (int i = 0; i < PI.length; i++) {
+            double expected = blocks * PI[i];
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+        }
+        return MathUtils.igamc((PI.length - 1) / 2.0, chiSquare / 2);
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
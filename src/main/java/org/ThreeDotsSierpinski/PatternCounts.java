@@ -0,0 +1,93 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * Частоты перекрывающихся m-битных шаблонов битового потока — общая основа
+ * тестов Serial и Approximate Entropy (NIST SP 800-22, 2.11 и 2.12).
+ *
+ * Поток считается циклическим: к концу дописываются первые m − 1 бит, поэтому
+ * шаблонов ровно n. Окно m бит сдвигается по словам упакованного потока и
+ * индексирует таблицу {@code int[1 << m]}; первый бит шаблона — старший бит
+ * индекса. Частоты для m − 1 получаются из таблицы m сложением соседних
+ * ячеек ({@link #fold}), без второго прохода по потоку.
+ */
+final class PatternCounts {
+
+    /** Наибольшая длина шаблона: таблица 2^20 int — 4 МБ. */
+    static final int MAX_M = 20;
+
+    private PatternCounts() {
+        // Utility class — не инстанцируется
+    }
+
+    /**
+     * Частоты всех m-битных шаблонов по циклическому потоку {@code bits} длины {@code n}.
+     */
+    static int[] count(long[] bits, long n, int m) {
+        if (m < 1 || m > MAX_M) {
+            throw new IllegalArgumentException("Длина шаблона должна быть в [1, " + MAX_M + "], получено " + m);
+        }
+        if (n < m || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Длина потока должна быть в [m, 2^31), получено " + n);
+        }
+        int[] counts = new int[1 << m];
+        int mask = (1 << m) - 1;
+        int window = 0;
+        long position = 0;
+
+        int words = (int) ((n + 63) >>> 6);
+        for (int k = 0; k < words; k++) {
+            long word = bits[k];
+            int limit = (int) Math.min(64, n - 64L * k);
+            for (int b = 0; b < limit; b++) {
+                window = ((window << 1) | (int) ((word >>> b) & 1)) & mask;
+                if (++position >= m) {
+                    counts[window]++;
+                }
+            }
+        }
+        // Циклическое продолжение: первые m − 1 бит потока
+        for (int j = 0; j < m - 1; j++) {
+            window = ((window << 1) | (int) ((bits[j >>> 6] >>> j) & 1)) & mask;
+            counts[window]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Частоты (m − 1)-битных шаблонов из частот m-битных: шаблон p — начало
+     * шаблонов 2p и 2p + 1. Для циклического потока результат точный.
+     */
+    static int[] fold(int[] counts) {
+        int[] folded = new int[counts.length >>> 1];
+        for (int p = 0; p < folded.length; p++) {
+            folded[p] = counts[2 * p] + counts[2 * p + 1];
+        }
+        return folded;
+    }
+
+    /** Σ v² по таблице частот. */
+    static double sumOfSquares(int[] counts) {
+        double sum = 0;
+        for (int v : counts) {
+            sum += (double) v * v;
+        }
+        return sum;
+    }
+
+    /** Σ (v/n)·ln(v/n) по ненулевым частотам — φ для Approximate Entropy. */
+    static double phi(int[] counts, long n) {
+        double sum = 0;
+        for (int v : counts) {
+            if (v > 0) {
+                double p = (double) v / n;
+                sum += p * Math.log(p);
+            }
+        }
+        return sum;
+    }
+
+    /** Наибольшее k, для которого 2^k ≤ n. */
+    static int log2(long n) {
+        return 63 - Long.numberOfLeadingZeros(n);
+    }
+}
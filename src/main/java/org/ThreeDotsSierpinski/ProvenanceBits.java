@@ -0,0 +1,115 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * Операции над битовой картой происхождения чисел: один бит на ячейку
+ * кольца, 1 — квантовое число (ANU API), 0 — псевдослучайное.
+ *
+ * Все диапазонные операции работают словами по 64 бита; выборка по карте
+ * ({@link #select}) перебирает только установленные биты через
+ * {@link Long#numberOfTrailingZeros}, не проверяя каждый элемент.
+ */
+final class ProvenanceBits {
+
+    private ProvenanceBits() {
+        // Utility class — не инстанцируется
+    }
+
+    /** Сколько long нужно для {@code bits} бит. */
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    static void set(long[] bits, int index, boolean quantum) {
+        if (quantum) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /** Маска из {@code n} младших бит, 1 ≤ n ≤ 64. */
+    private static long lowMask(int n) {
+        return n == 64 ? -1L : (1L << n) - 1;
+    }
+
+    /** Устанавливает биты [from, from + len) в {@code quantum}. */
+    static void fill(long[] bits, int from, int len, boolean quantum) {
+        while (len > 0) {
+            int shift = from & 63;
+            int n = Math.min(len, 64 - shift);
+            long mask = lowMask(n) << shift;
+            if (quantum) {
+                bits[from >>> 6] |= mask;
+            } else {
+                bits[from >>> 6] &= ~mask;
+            }
+            from += n;
+            len -= n;
+        }
+    }
+
+    /** Копирует {@code len} бит из {@code src[srcPos..]} в {@code dst[dstPos..]}. */
+    static void copy(long[] src, int srcPos, long[] dst, int dstPos, int len) {
+        while (len > 0) {
+            int srcShift = srcPos & 63;
+            int dstShift = dstPos & 63;
+            int n = Math.min(len, Math.min(64 - srcShift, 64 - dstShift));
+            long chunk = (src[srcPos >>> 6] >>> srcShift) & lowMask(n);
+            int w = dstPos >>> 6;
+            dst[w] = (dst[w] & ~(lowMask(n) << dstShift)) | (chunk << dstShift);
+            srcPos += n;
+            dstPos += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Дописывает в {@code out} значения {@code values[i]}, i ∈ [from, to),
+     * у которых бит происхождения равен {@code quantum}, в порядке индексов.
+     *
+     * @return новая позиция записи в {@code out}
+     */
+    static int select(long[] bits, long[] values, int from, int to, boolean quantum, long[] out, int outPos) {
+        int i = from;
+        while (i < to) {
+            int base = i & ~63;
+            long word = bits[i >>> 6];
+            if (!quantum) {
+                word = ~word;
+            }
+            word &= -1L << (i & 63);          // биты до from
+            int end = Math.min(to, base + 64);
+            if (end - base < 64) {
+                word &= lowMask(end - base);  // биты после to
+            }
+            while (word != 0) {
+                out[outPos++] = values[base + Long.numberOfTrailingZeros(word)];
+                word &= word - 1;
+            }
+            i = end;
+        }
+        return outPos;
+    }
+
+    /** Сколько бит в [from, to) равно {@code quantum}. */
+    static int count(long[] bits, int from, int to, boolean quantum) {
+        int total = 0;
+        int i = from;
+        while (i < to) {
+            int base = i & ~63;
+            int end = Math.min(to, base + 64);
+            long mask = -1L << (i & 63);
+            if (end - base < 64) {
+                mask &= lowMask(end - base);
+            }
+            long word = quantum ? bits[i >>> 6] : ~bits[i >>> 6];
+            total += Long.bitCount(word & mask);
+            i = end;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,158 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Живые метрики {@link RNProvider}, доступные через JMX.
+ *
+ * Счётчики обновляются провайдером на горячем пути (LongAdder — без contention),
+ * состояние (режим, глубина буфера, ошибки) читается у провайдера в момент запроса.
+ */
+public class ProviderMetrics implements ProviderMetricsMXBean {
+
+    private final RNProvider provider;
+
+    private final LongAdder quantumServed = new LongAdder();
+    private final LongAdder pseudoServed = new LongAdder();
+    private final RateMeter quantumRate = new RateMeter();
+    private final RateMeter pseudoRate = new RateMeter();
+    private final LongAdder underflows = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LatencyHistogram fetchLatency = new LatencyHistogram();
+    private final LongAdder healthFailures = new LongAdder();
+    private volatile String lastHealthFailure = null;
+
+    ProviderMetrics(RNProvider provider) {
+        this.provider = provider;
+    }
+
+    // ========================================================================
+    // Запись (вызывается провайдером)
+    // ========================================================================
+
+    void recordServed(RNProvider.Mode source, int count) {
+        if (source == RNProvider.Mode.QUANTUM) {
+            quantumServed.add(count);
+            quantumRate.record(count);
+        } else {
+            pseudoServed.add(count);
+            pseudoRate.record(count);
+        }
+    }
+
+    void recordUnderflow() {
+        underflows.increment();
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordFallback() {
+        fallbacks.increment();
+    }
+
+    void recordFetchLatency(long latencyMs) {
+        fetchLatency.record(latencyMs);
+    }
+
+    void recordHealthFailure(String reason) {
+        healthFailures.increment();
+        lastHealthFailure = reason;
+    }
+
+    // ========================================================================
+    // ProviderMetricsMXBean
+    // ========================================================================
+
+    @Override
+    public long getQuantumNumbersServed() { return quantumServed.sum(); }
+
+    @Override
+    public long getPseudoNumbersServed() { return pseudoServed.sum(); }
+
+    @Override
+    public double getQuantumNumbersPerSecond() { return quantumRate.perSecond(); }
+
+    @Override
+    public double getPseudoNumbersPerSecond() { return pseudoRate.perSecond(); }
+
+    @Override
+    public int getQueueDepth() { return provider.getQueueSize(); }
+
+    @Override
+    public long getUnderflows() { return underflows.sum(); }
+
+    @Override
+    public int getApiRequestCount() { return provider.getApiRequestCount(); }
+
+    @Override
+    public long getFetchCount() { return fetchLatency.count(); }
+
+    @Override
+    public long getFetchLatencyP50Ms() { return fetchLatency.percentile(50); }
+
+    @Override
+    public long getFetchLatencyP90Ms() { return fetchLatency.percentile(90); }
+
+    @Override
+    public long getFetchLatencyP99Ms() { return fetchLatency.percentile(99); }
+
+    @Override
+    public long getFetchLatencyMaxMs() { return fetchLatency.max(); }
+
+    @Override
+    public long getRetries() { return retries.sum(); }
+
+    @Override
+    public long getFallbacks() { return fallbacks.sum(); }
+
+    @Override
+    public long getHealthTestFailures() { return healthFailures.sum(); }
+
+    @Override
+    public String getLastHealthFailure() { return lastHealthFailure; }
+
+    @Override
+    public long getBatchesAssessed() { return provider.getBatchQuality().getRecorded(); }
+
+    @Override
+    public long getBatchQualityFailures() { return provider.getBatchQuality().getFailed(); }
+
+    @Override
+    public double getLastBatchMinPValue() {
+        var last = provider.getBatchQuality().getLast();
+        return last != null ? last.minP() : Double.NaN;
+    }
+
+    @Override
+    public String getQuantumBatchSparkline() {
+        var monitor = provider.getBatchQuality();
+        return BatchQualityMonitor.sparkline(monitor.snapshot(RNProvider.Mode.QUANTUM));
+    }
+
+    @Override
+    public int getConsecutiveFailures() { return provider.getConsecutiveFailures(); }
+
+    @Override
+    public String getMode() { return provider.getMode().name(); }
+
+    @Override
+    public boolean isForcedPseudo() { return provider.isForcedPseudo(); }
+
+    @Override
+    public String getFallbackReason() { return provider.getFallbackReason(); }
+
+    @Override
+    public void forceRefill() {
+        provider.triggerLoad();
+    }
+
+    @Override
+    public boolean toggleForcedPseudo() {
+        boolean forced = !provider.isForcedPseudo();
+        provider.setForcedPseudo(forced);
+        return forced;
+    }
+}
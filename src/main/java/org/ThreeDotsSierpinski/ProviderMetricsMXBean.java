@@ -0,0 +1,104 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * JMX-интерфейс живых метрик {@link RNProvider}.
+ *
+ * Регистрируется как {@code org.ThreeDotsSierpinski:type=RNProvider}
+ * и доступен в JConsole / VisualVM / любом JMX-клиенте.
+ */
+public interface ProviderMetricsMXBean {
+
+    // ---- Выдача чисел ----
+
+    /** Всего выдано квантовых чисел. */
+    long getQuantumNumbersServed();
+
+    /** Всего выдано псевдослучайных чисел. */
+    long getPseudoNumbersServed();
+
+    /** Квантовых чисел в секунду (скользящее окно). */
+    double getQuantumNumbersPerSecond();
+
+    /** Псевдослучайных чисел в секунду (скользящее окно). */
+    double getPseudoNumbersPerSecond();
+
+    /** Текущий размер буфера. */
+    int getQueueDepth();
+
+    /** Сколько раз потребитель нашёл буфер пустым. */
+    long getUnderflows();
+
+    // ---- Загрузка из API ----
+
+    /**
+     * Число запросов к API за сессию, вернувших данные, — счётчик лимита
+     * maxApiRequests. Включает партии, отбракованные тестами здоровья
+     * ({@link #getHealthTestFailures()}): квота на них тоже израсходована.
+     */
+    int getApiRequestCount();
+
+    /** Число HTTP-запросов (включая неуспешные), по которым измерена задержка. */
+    long getFetchCount();
+
+    /** Медиана задержки запроса к API, мс. */
+    long getFetchLatencyP50Ms();
+
+    /** 90-й перцентиль задержки запроса к API, мс. */
+    long getFetchLatencyP90Ms();
+
+    /** 99-й перцентиль задержки запроса к API, мс. */
+    long getFetchLatencyP99Ms();
+
+    /** Максимальная задержка запроса к API, мс. */
+    long getFetchLatencyMaxMs();
+
+    /** Число повторных попыток (retry) после ошибок API. */
+    long getRetries();
+
+    /** Число переключений QUANTUM → PSEUDO. */
+    long getFallbacks();
+
+    /** Число партий, отбракованных тестами здоровья SP 800-90B. */
+    long getHealthTestFailures();
+
+    /** Описание последнего отказа теста здоровья (или null). */
+    String getLastHealthFailure();
+
+    /** Число партий, оценённых монитором качества (Frequency, Runs, χ²). */
+    long getBatchesAssessed();
+
+    /** Число партий с итогом FAIL у монитора качества. */
+    long getBatchQualityFailures();
+
+    /** Худшее p-значение последней партии (NaN, если партий не было). */
+    double getLastBatchMinPValue();
+
+    /** Спарклайн худших p-значений последних квантовых партий. */
+    String getQuantumBatchSparkline();
+
+    /** Текущая серия неудачных попыток подряд. */
+    int getConsecutiveFailures();
+
+    // ---- Состояние ----
+
+    /** Текущий режим: QUANTUM или PSEUDO. */
+    String getMode();
+
+    /** Включён ли принудительный PSEUDO режим. */
+    boolean isForcedPseudo();
+
+    /** Причина последнего переключения в PSEUDO (или null). */
+    String getFallbackReason();
+
+    // ---- Операции ----
+
+    /** Принудительно запускает дозагрузку буфера. */
+    void forceRefill();
+
+    /**
+     * Переключает принудительный PSEUDO режим.
+     *
+     * @return новое значение флага
+     */
+    boolean toggleForcedPseudo();
+}
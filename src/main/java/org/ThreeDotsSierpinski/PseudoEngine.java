@@ -0,0 +1,148 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.IntStream;
+
+/**
+ * Генератор псевдослучайных uint16-чисел для PSEUDO режима.
+ *
+ * Основан на L128X256MixRandom (LXM family, период 2³⁸⁴).
+ * В отличие от {@code nextInt(65536)} по одному числу, извлекает
+ * <b>четыре</b> uint16 из каждого {@code nextLong()} и заполняет
+ * примитивные блоки {@code short[]} целиком.
+ *
+ * Большие блоки (от {@value #PARALLEL_THRESHOLD} значений) делятся на части,
+ * каждая часть заполняется собственным независимым потоком {@code split()}
+ * в ForkJoinPool — все ядра, без общей блокировки.
+ */
+final class PseudoEngine {
+
+    /** Алгоритм fallback-генератора. */
+    static final String ALGORITHM = "L128X256MixRandom";
+
+    /** Размер блока, начиная с которого заполнение распараллеливается. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Размер части блока для одного sub-stream при параллельном заполнении. */
+    private static final int CHUNK_SIZE = 1 << 15;
+
+    /** Родительский генератор; доступ только под монитором this. */
+    private final RandomGenerator.SplittableGenerator generator;
+
+    /** Остаток последнего nextLong() для поштучной выдачи. */
+    private long pendingWord;
+    private int pendingLanes = 0;
+
+    PseudoEngine() {
+        this(RandomGeneratorFactory.<RandomGenerator.SplittableGenerator>of(ALGORITHM).create());
+    }
+
+    /** Детерминированный генератор (для тестов). */
+    PseudoEngine(long seed) {
+        this(RandomGeneratorFactory.<RandomGenerator.SplittableGenerator>of(ALGORITHM).create(seed));
+    }
+
+    private PseudoEngine(RandomGenerator.SplittableGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Одно uint16-значение. Один nextLong() обслуживает четыре вызова.
+     *
+     * @return число в диапазоне [0, 65535]
+     */
+    synchronized int next() {
+        if (pendingLanes == 0) {
+            pendingWord = generator.nextLong();
+            pendingLanes = 4;
+        }
+        int value = (int) (pendingWord & 0xFFFF);
+        pendingWord >>>= 16;
+        pendingLanes--;
+        return value;
+    }
+
+    /**
+     * Заполняет {@code dst[off, off + len)} uint16-значениями.
+     * Большие блоки заполняются параллельно.
+     */
+    void fill(short[] dst, int off, int len) {
+        if (len >= PARALLEL_THRESHOLD) {
+            fillParallel(dst, off, len);
+        } else {
+            synchronized (this) {
+                fillFrom(generator, dst, off, len);
+            }
+        }
+    }
+
+    /** Новый блок из {@code len} значений. */
+    short[] generate(int len) {
+        short[] block = new short[len];
+        fill(block, 0, len);
+        return block;
+    }
+
+    /**
+     * Генерирует блок вне вызывающего потока (например, не на EDT).
+     *
+     * @param len      количество значений
+     * @param executor где выполнять генерацию
+     */
+    CompletableFuture<short[]> generateAsync(int len, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> generate(len), executor);
+    }
+
+    /** {@link #generateAsync(int, Executor)} в общем ForkJoinPool. */
+    CompletableFuture<short[]> generateAsync(int len) {
+        return generateAsync(len, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Делит блок на части и заполняет каждую независимым sub-stream.
+     * Родительский генератор блокируется только на время split().
+     */
+    private void fillParallel(short[] dst, int off, int len) {
+        int chunks = (len + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        var streams = new RandomGenerator[chunks];
+        synchronized (this) {
+            for (int i = 0; i < chunks; i++) {
+                streams[i] = generator.split();
+            }
+        }
+
+        IntStream.range(0, chunks).parallel().forEach(i -> {
+            int start = off + i * CHUNK_SIZE;
+            int count = Math.min(CHUNK_SIZE, off + len - start);
+            fillFrom(streams[i], dst, start, count);
+        });
+    }
+
+    /**
+     * Заполняет блок из генератора: 4 значения uint16 из каждого nextLong().
+     */
+    static void fillFrom(RandomGenerator rng, short[] dst, int off, int len) {
+        int i = off;
+        int end = off + len;
+
+        for (; i + 4 <= end; i += 4) {
+            long word = rng.nextLong();
+            dst[i] = (short) word;
+            dst[i + 1] = (short) (word >>> 16);
+            dst[i + 2] = (short) (word >>> 32);
+            dst[i + 3] = (short) (word >>> 48);
+        }
+
+        if (i < end) {
+            long word = rng.nextLong();
+            for (; i < end; i++) {
+                dst[i] = (short) word;
+                word >>>= 16;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link RandomGenerator} поверх буфера {@link RNProvider} (или любого {@link EntropySource}).
+ *
+ * Позволяет другим компонентам JVM использовать квантовую энтропию через стандартный
+ * JDK API: {@code ints()}, {@code doubles()}, {@code nextInt(bound)} и т.д.
+ *
+ * Числа забираются из источника блоками по {@value #DEFAULT_BLOCK_SIZE} uint16 во внутренний
+ * буфер, поэтому обращение к общему буферу провайдера (и его блокировке) происходит
+ * один раз на блок, а не на каждое значение.
+ * <ul>
+ *   <li>{@code nextLong()} — четыре uint16</li>
+ *   <li>{@code nextInt()} — два uint16</li>
+ *   <li>{@code nextDouble()} — 53 бита из {@code nextLong()}</li>
+ *   <li>{@code nextBytes()} — блочное копирование, 2 байта на uint16</li>
+ *   <li>{@code nextInt(bound)} — метод Лемира без смещения; для {@code bound ≤ 65536}
+ *       тратится одно uint16 вместо двух</li>
+ * </ul>
+ *
+ * Если источник пуст (QUANTUM буфер ждёт загрузки), вызов ждёт данных не дольше
+ * таймаута и бросает {@link IllegalStateException}. Поэтому генератор нельзя
+ * использовать из EDT.
+ *
+ * Экземпляр НЕ потокобезопасен (как {@code SplittableRandom}): один генератор на поток.
+ */
+public class QuantumRandomGenerator implements RandomGenerator {
+
+    /** Сколько uint16 забирается из источника за одно обращение. */
+    static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /** Сколько ждать данных от пустого источника по умолчанию. */
+    static final long DEFAULT_TIMEOUT_MS = 30_000;
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    final EntropySource source;
+    final long timeoutNanos;
+
+    /** Внутренний буфер слов uint16 и окно непрочитанных значений [position, limit). */
+    short[] words;
+    int position = 0;
+    int limit = 0;
+
+    public QuantumRandomGenerator(EntropySource source) {
+        this(source, DEFAULT_BLOCK_SIZE, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * @param source    источник uint16
+     * @param blockSize размер внутреннего буфера (значений за одно обращение к источнику)
+     * @param timeoutMs сколько ждать данных от пустого источника
+     */
+    public QuantumRandomGenerator(EntropySource source, int blockSize, long timeoutMs) {
+        if (source == null) {
+            throw new IllegalArgumentException("source не может быть null");
+        }
+        if (blockSize < 4) {
+            throw new IllegalArgumentException("blockSize должен быть не меньше 4");
+        }
+        this.source = source;
+        this.words = new short[blockSize];
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    // ========================================================================
+    // RandomGenerator
+    // ========================================================================
+
+    @Override
+    public long nextLong() {
+        if (limit - position < 4) {
+            return (long) nextWord()
+                    | (long) nextWord() << 16
+                    | (long) nextWord() << 32
+                    | (long) nextWord() << 48;
+        }
+        int p = position;
+        position = p + 4;
+        return (words[p] & 0xFFFFL)
+                | (words[p + 1] & 0xFFFFL) << 16
+                | (words[p + 2] & 0xFFFFL) << 32
+                | (words[p + 3] & 0xFFFFL) << 48;
+    }
+
+    @Override
+    public int nextInt() {
+        return nextWord() | nextWord() << 16;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        int i = 0;
+        int n = bytes.length;
+        while (i < n) {
+            if (position == limit) {
+                refill();
+            }
+            int pairs = Math.min(limit - position, (n - i) >>> 1);
+            for (int end = position + pairs; position < end; position++) {
+                short word = words[position];
+                bytes[i++] = (byte) word;
+                bytes[i++] = (byte) (word >>> 8);
+            }
+            if (n - i == 1) {
+                bytes[i++] = (byte) nextWord();
+            }
+        }
+    }
+
+    /**
+     * Равномерное число в [0, bound) без смещения (метод Лемира).
+     * Для {@code bound ≤ 65536} используется одно uint16.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        if (bound <= 1 << 16) {
+            long m = (long) nextWord() * bound;
+            long low = m & 0xFFFF;
+            if (low < bound) {
+                long threshold = ((1 << 16) - bound) % bound;
+                while (low < threshold) {
+                    m = (long) nextWord() * bound;
+                    low = m & 0xFFFF;
+                }
+            }
+            return (int) (m >>> 16);
+        }
+
+        long m = (nextInt() & 0xFFFFFFFFL) * bound;
+        long low = m & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = ((1L << 32) - bound) % bound;
+            while (low < threshold) {
+                m = (nextInt() & 0xFFFFFFFFL) * bound;
+                low = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >>> 32);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+        int n = bound - origin;
+        if (n > 0) {
+            return origin + nextInt(n);
+        }
+        // Диапазон шире Integer.MAX_VALUE — отбрасываем значения вне [origin, bound)
+        int r;
+        do {
+            r = nextInt();
+        } while (r < origin || r >= bound);
+        return r;
+    }
+
+    // nextLong(bound), nextLong(origin, bound), nextDouble(bound) и т.д. —
+    // реализации по умолчанию RandomGenerator (без смещения) поверх nextLong()/nextDouble().
+
+    // ========================================================================
+    // Внутренний буфер
+    // ========================================================================
+
+    /** Одно uint16 из внутреннего буфера. */
+    int nextWord() {
+        if (position == limit) {
+            refill();
+        }
+        return words[position++] & 0xFFFF;
+    }
+
+    /**
+     * Заполняет внутренний буфер из источника.
+     * Ждёт с нарастающей паузой, пока источник не отдаст хотя бы одно значение.
+     */
+    void refill() {
+        refill(words.length);
+    }
+
+    /** Заполняет первые {@code len} слов внутреннего буфера; возвращает число прочитанных. */
+    final int refill(int len) {
+        int count = source.read(words, 0, len);
+        if (count == 0) {
+            count = awaitRead(source, words, 0, len, timeoutNanos);
+        }
+        position = 0;
+        limit = count;
+        return count;
+    }
+
+    /**
+     * Ждёт с нарастающей паузой (50 мкс … 10 мс), пока источник не отдаст хотя бы одно значение.
+     * Перед ожиданием один раз просит источник о дозагрузке.
+     *
+     * @return сколько значений прочитано (больше 0)
+     * @throws IllegalStateException при таймауте или прерывании потока
+     */
+    static int awaitRead(EntropySource source, short[] dst, int off, int len, long timeoutNanos) {
+        source.requestRefill();
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        long parkNanos = MIN_PARK_NANOS;
+        while (true) {
+            LockSupport.parkNanos(parkNanos);
+            int count = source.read(dst, off, len);
+            if (count > 0) {
+                return count;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted while waiting for entropy");
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException(
+                        "Entropy source did not deliver data within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+            }
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link RandomGenerator.SplittableGenerator} поверх {@link EntropySource}.
+ *
+ * Каждый генератор владеет непрерывным диапазоном квантовых данных —
+ * окном [position, limit) своего блока. {@link #split()} отдаёт дочернему
+ * генератору верхнюю половину этого окна: родитель и потомок читают
+ * непересекающиеся участки одного массива без какой-либо синхронизации.
+ * Когда окно исчерпано, генератор резервирует у источника новый блок
+ * в {@value #DEFAULT_CHUNK_SIZE} uint16 (одно обращение к общему буферу на блок).
+ *
+ * Потоки {@code ints()}, {@code longs()}, {@code doubles()} делятся через
+ * {@code split()}, поэтому {@code ints().parallel()} и задачи fork-join
+ * потребляют непересекающиеся данные, не конкурируя за один буфер.
+ * У потока известен размер, поэтому каждый его генератор знает, сколько слов
+ * ему ещё нужно: при делении потомок забирает из окна только свою долю, а
+ * блок у источника резервируется не больше оставшейся потребности. Так
+ * {@code ints(1000).parallel()} читает из общего буфера около 2000 uint16,
+ * а не по блоку на каждый лист; остаток окна, не нужный потоку, остаётся
+ * у исходного генератора.
+ *
+ * Граница половины выравнивается на 4 слова, чтобы {@code nextLong()}
+ * не собирался из хвостов двух разных диапазонов.
+ *
+ * Как и {@link QuantumRandomGenerator}, отдельный экземпляр НЕ потокобезопасен:
+ * в каждый поток передаётся свой генератор, полученный через split().
+ */
+public class QuantumSplittableGenerator extends QuantumRandomGenerator
+        implements RandomGenerator.SplittableGenerator {
+
+    /** Размер блока, резервируемого у источника одним обращением. */
+    static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+    /** Массив минимального размера для потомка: его окно всё равно указывает в блок родителя. */
+    private static final int SPLIT_PLACEHOLDER_SIZE = 4;
+
+    /** Сколько слов резервировать, когда ожидаемая потребность исчерпана (отбраковка в nextInt(bound)). */
+    static final int OVERFLOW_RESERVE = 16;
+
+    /** Потребность не известна: блоки по {@code chunkSize}. */
+    private static final long UNKNOWN_DEMAND = -1;
+
+    private final int chunkSize;
+
+    /** Сколько слов ещё понадобится сверх текущего окна, или {@link #UNKNOWN_DEMAND}. */
+    private long pendingWords = UNKNOWN_DEMAND;
+
+    /** Блок {@code words} разделён с другим генератором — перезаписывать его нельзя. */
+    private boolean shared = false;
+
+    public QuantumSplittableGenerator(EntropySource source) {
+        this(source, DEFAULT_CHUNK_SIZE, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * @param source    источник uint16
+     * @param chunkSize размер блока, резервируемого у источника (кратен 4)
+     * @param timeoutMs сколько ждать данных от пустого источника
+     */
+    public QuantumSplittableGenerator(EntropySource source, int chunkSize, long timeoutMs) {
+        super(source, chunkSize, timeoutMs);
+        if (chunkSize % 4 != 0) {
+            throw new IllegalArgumentException("chunkSize должен быть кратен 4");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    private QuantumSplittableGenerator(QuantumSplittableGenerator parent) {
+        super(parent.source, SPLIT_PLACEHOLDER_SIZE, TimeUnit.NANOSECONDS.toMillis(parent.timeoutNanos));
+        this.chunkSize = parent.chunkSize;
+    }
+
+    // ========================================================================
+    // SplittableGenerator
+    // ========================================================================
+
+    /**
+     * Новый генератор, владеющий верхней половиной оставшегося окна.
+     * Если окно почти пустое, потомок зарезервирует свой блок при первом обращении.
+     */
+    @Override
+    public QuantumSplittableGenerator split() {
+        var child = new QuantumSplittableGenerator(this);
+
+        int half = ((limit - position) >>> 1) & ~3;
+        child.words = words;
+        child.position = limit - half;
+        child.limit = limit;
+        limit -= half;
+
+        shared = true;
+        child.shared = true;
+        return child;
+    }
+
+    /**
+     * Потомок, которому понадобится около {@code demand} слов: из окна ему
+     * отдаётся не больше этого (с верхнего края), недостающее он резервирует
+     * у источника блоками по своей потребности.
+     */
+    QuantumSplittableGenerator split(long demand) {
+        var child = new QuantumSplittableGenerator(this);
+
+        int taken = (int) Math.min((limit - position) & ~3, roundUp4(demand));
+        child.words = words;
+        child.position = limit - taken;
+        child.limit = limit;
+        limit -= taken;
+
+        shared = true;
+        child.shared = true;
+        child.expect(demand);
+        return child;
+    }
+
+    /** Сколько слов понадобится этому генератору с текущего момента. */
+    void expect(long demand) {
+        pendingWords = Math.max(0, demand - (limit - position));
+    }
+
+    /**
+     * Данные берутся из общего пула, поэтому {@code source} не используется.
+     */
+    @Override
+    public QuantumSplittableGenerator split(SplittableGenerator source) {
+        return split();
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return splits(streamSize, this);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator source) {
+        return splits(Long.MAX_VALUE, source);
+    }
+
+    /**
+     * Последовательный поток потомков; каждый получает половину текущего окна.
+     */
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator source) {
+        checkStreamSize(streamSize);
+        return Stream.<SplittableGenerator>generate(this::split).limit(streamSize);
+    }
+
+    // ========================================================================
+    // Потоки, делящиеся через split()
+    // ========================================================================
+
+    @Override
+    public IntStream ints() {
+        return intStream(Long.MAX_VALUE, Integer.MAX_VALUE, 0);
+    }
+
+    @Override
+    public IntStream ints(long streamSize) {
+        checkStreamSize(streamSize);
+        return intStream(streamSize, Integer.MAX_VALUE, 0);
+    }
+
+    @Override
+    public IntStream ints(int origin, int bound) {
+        checkRange(origin, bound);
+        return intStream(Long.MAX_VALUE, origin, bound);
+    }
+
+    @Override
+    public IntStream ints(long streamSize, int origin, int bound) {
+        checkStreamSize(streamSize);
+        checkRange(origin, bound);
+        return intStream(streamSize, origin, bound);
+    }
+
+    @Override
+    public LongStream longs() {
+        return longStream(Long.MAX_VALUE, Long.MAX_VALUE, 0L);
+    }
+
+    @Override
+    public LongStream longs(long streamSize) {
+        checkStreamSize(streamSize);
+        return longStream(streamSize, Long.MAX_VALUE, 0L);
+    }
+
+    @Override
+    public LongStream longs(long origin, long bound) {
+        checkRange(origin, bound);
+        return longStream(Long.MAX_VALUE, origin, bound);
+    }
+
+    @Override
+    public LongStream longs(long streamSize, long origin, long bound) {
+        checkStreamSize(streamSize);
+        checkRange(origin, bound);
+        return longStream(streamSize, origin, bound);
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        return doubleStream(Long.MAX_VALUE, Double.MAX_VALUE, 0.0);
+    }
+
+    @Override
+    public DoubleStream doubles(long streamSize) {
+        checkStreamSize(streamSize);
+        return doubleStream(streamSize, Double.MAX_VALUE, 0.0);
+    }
+
+    @Override
+    public DoubleStream doubles(double origin, double bound) {
+        checkRange(origin, bound);
+        return doubleStream(Long.MAX_VALUE, origin, bound);
+    }
+
+    @Override
+    public DoubleStream doubles(long streamSize, double origin, double bound) {
+        checkStreamSize(streamSize);
+        checkRange(origin, bound);
+        return doubleStream(streamSize, origin, bound);
+    }
+
+    // origin >= bound означает «без границ» (как в RandomSupport JDK).
+    // Поток работает на потомке с известной потребностью: сам генератор отдаёт
+    // ему из окна только нужное и дальше используется как обычно.
+
+    private IntStream intStream(long size, int origin, int bound) {
+        double perValue = wordsPerInt(origin, bound);
+        return StreamSupport.intStream(
+                new IntsSpliterator(split(demand(size, perValue)), 0, size, origin, bound, perValue), false);
+    }
+
+    private LongStream longStream(long size, long origin, long bound) {
+        return StreamSupport.longStream(
+                new LongsSpliterator(split(demand(size, 4)), 0, size, origin, bound), false);
+    }
+
+    private DoubleStream doubleStream(long size, double origin, double bound) {
+        return StreamSupport.doubleStream(
+                new DoublesSpliterator(split(demand(size, 4)), 0, size, origin, bound), false);
+    }
+
+    /** Ожидаемое число слов на {@code count} значений (с насыщением для бесконечных потоков). */
+    static long demand(long count, double wordsPerValue) {
+        return (long) Math.ceil(count * wordsPerValue);
+    }
+
+    /**
+     * Ожидаемое число uint16 на одно {@code nextInt} с учётом отбраковки Лемира:
+     * для диапазона n ≤ 65536 отбрасывается доля ((65536 − n) mod n) / 65536.
+     */
+    static double wordsPerInt(int origin, int bound) {
+        if (origin >= bound) {
+            return 2;
+        }
+        long n = (long) bound - origin;
+        if (n <= 1 << 16) {
+            return 65536.0 / (65536 - (65536 - n) % n);
+        }
+        if (n <= Integer.MAX_VALUE) {
+            return 2 * 0x1p32 / (0x1p32 - (0x1p32 - n) % n);
+        }
+        return 2 * 0x1p32 / n;      // отбор nextInt() в [origin, bound)
+    }
+
+    /** Округление вверх до кратного 4, не больше максимального размера массива. */
+    private static long roundUp4(long words) {
+        return (Math.min(words, Integer.MAX_VALUE - 3) + 3) & ~3L;
+    }
+
+    private static void checkStreamSize(long streamSize) {
+        if (streamSize < 0) {
+            throw new IllegalArgumentException("size must be non-negative");
+        }
+    }
+
+    private static void checkRange(long origin, long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+    }
+
+    private static void checkRange(double origin, double bound) {
+        if (!(origin < bound && bound - origin < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+    }
+
+    // ========================================================================
+    // Внутренний буфер
+    // ========================================================================
+
+    /**
+     * Резервирует новый блок у источника: {@code chunkSize} слов, если потребность
+     * не известна, иначе не больше её. Разделённый блок не перезаписывается —
+     * в нём может читать другой генератор, поэтому выделяется новый массив.
+     */
+    @Override
+    void refill() {
+        long need = pendingWords == UNKNOWN_DEMAND ? chunkSize
+                  : pendingWords > 0             ? roundUp4(pendingWords)
+                  :                                OVERFLOW_RESERVE;
+        int size = (int) Math.min(chunkSize, need);
+        if (shared || words.length < size) {
+            words = new short[pendingWords == UNKNOWN_DEMAND ? chunkSize : size];
+            shared = false;
+        }
+        int count = refill(size);
+        if (pendingWords > 0) {
+            pendingWords = Math.max(0, pendingWords - count);
+        }
+    }
+
+    // ========================================================================
+    // Spliterator'ы: префикс [index, m) уходит потомку от split()
+    // ========================================================================
+
+    private static final int CHARACTERISTICS =
+            Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private static final class IntsSpliterator implements Spliterator.OfInt {
+        private final QuantumSplittableGenerator generator;
+        private long index;
+        private final long fence;
+        private final int origin;
+        private final int bound;
+        private final double wordsPerValue;
+
+        IntsSpliterator(QuantumSplittableGenerator generator, long index, long fence,
+                        int origin, int bound, double wordsPerValue) {
+            this.generator = generator;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+            this.wordsPerValue = wordsPerValue;
+        }
+
+        @Override
+        public IntsSpliterator trySplit() {
+            long i = index;
+            long m = (i + fence) >>> 1;
+            if (m <= i) {
+                return null;
+            }
+            index = m;
+            var child = generator.split(demand(m - i, wordsPerValue));
+            generator.expect(demand(fence - m, wordsPerValue));
+            return new IntsSpliterator(child, i, m, origin, bound, wordsPerValue);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(next());
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (long i = index, f = fence; i < f; i++) {
+                action.accept(next());
+            }
+            index = fence;
+        }
+
+        private int next() {
+            return origin < bound ? generator.nextInt(origin, bound) : generator.nextInt();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class LongsSpliterator implements Spliterator.OfLong {
+        private final QuantumSplittableGenerator generator;
+        private long index;
+        private final long fence;
+        private final long origin;
+        private final long bound;
+
+        LongsSpliterator(QuantumSplittableGenerator generator, long index, long fence, long origin, long bound) {
+            this.generator = generator;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public LongsSpliterator trySplit() {
+            long i = index;
+            long m = (i + fence) >>> 1;
+            if (m <= i) {
+                return null;
+            }
+            index = m;
+            var child = generator.split(demand(m - i, 4));
+            generator.expect(demand(fence - m, 4));
+            return new LongsSpliterator(child, i, m, origin, bound);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(next());
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            for (long i = index, f = fence; i < f; i++) {
+                action.accept(next());
+            }
+            index = fence;
+        }
+
+        private long next() {
+            return origin < bound ? generator.nextLong(origin, bound) : generator.nextLong();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class DoublesSpliterator implements Spliterator.OfDouble {
+        private final QuantumSplittableGenerator generator;
+        private long index;
+        private final long fence;
+        private final double origin;
+        private final double bound;
+
+        DoublesSpliterator(QuantumSplittableGenerator generator, long index, long fence, double origin, double bound) {
+            this.generator = generator;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public DoublesSpliterator trySplit() {
+            long i = index;
+            long m = (i + fence) >>> 1;
+            if (m <= i) {
+                return null;
+            }
+            index = m;
+            var child = generator.split(demand(m - i, 4));
+            generator.expect(demand(fence - m, 4));
+            return new DoublesSpliterator(child, i, m, origin, bound);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(next());
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            for (long i = index, f = fence; i < f; i++) {
+                action.accept(next());
+            }
+            index = fence;
+        }
+
+        private double next() {
+            return origin < bound ? generator.nextDouble(origin, bound) : generator.nextDouble();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
@@ -26,4 +26,12 @@ public interface RNLoadListener {
     default void onModeChanged(RNProvider.Mode mode) {}
 
     default void onApiAvailabilityChanged(boolean isAvailable) {}
+
+    /**
+     * Called after a block of numbers has been added to the buffer
+     * (quantum batch or pseudo refill). Called on the loader thread.
+     *
+     * @param count number of values added
+     */
+    default void onDataAdded(int count) {}
 }
@@ -10,15 +10,18 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.ArrayList; // <-- ДОБАВЛЕНО
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.random.RandomGenerator;
 
 /**
  * Класс для загрузки случайных чисел из ANU Quantum Numbers API.
@@ -32,9 +35,11 @@ import java.util.random.RandomGenerator;
  * - Exponential backoff при ошибках API
  * - Graceful degradation: QUANTUM → PSEUDO → QUANTUM
  * - Фоновая предзагрузка при снижении буфера ниже порога
+ * - Буфер на примитивном массиве (short[]), PSEUDO-дозагрузка блоками вне EDT
  * - Кольцевой буфер (Ring Buffer) для истории потребленных чисел (фиксированный расход памяти)
+ * - Состояние — один неизменяемый {@link ProviderState}, переходы через CAS без synchronized
  */
-public class RNProvider {
+public class RNProvider implements EntropySource {
     private static final Logger LOGGER = LoggerConfig.getLogger();
 
     /**
@@ -44,6 +49,14 @@ public class RNProvider {
         RateLimitException(String message) { super(message); }
     }
 
+    /**
+     * Исключение-маркер: партия не прошла тесты здоровья SP 800-90B.
+     * Повтор запроса не поможет — сразу переключаемся в PSEUDO.
+     */
+    private static class HealthTestException extends RuntimeException {
+        HealthTestException(String message) { super(message); }
+    }
+
     // ========================================================================
     // Режим работы
     // ========================================================================
@@ -58,6 +71,101 @@ public class RNProvider {
         PSEUDO
     }
 
+    // ========================================================================
+    // Состояние провайдера
+    // ========================================================================
+
+    /**
+     * Неизменяемый снимок состояния провайдера.
+     *
+     * Хранится в {@link AtomicReference} и меняется только переходами ниже:
+     * каждый переход — чистая функция старого состояния, применяемая через CAS.
+     * Если переход неприменим, он возвращает {@code this}, и CAS не выполняется.
+     * Поэтому чтение на горячем пути — одна volatile-загрузка, а одновременные
+     * переходы (например, снятие ручного PSEUDO и fallback из загрузчика)
+     * не могут оставить состояние наполовину обновлённым.
+     *
+     * @param mode                источник чисел
+     * @param forcedPseudo        PSEUDO включён вручную
+     * @param loading             идёт загрузка из API
+     * @param initialLoadComplete данные впервые получены (из API или PSEUDO)
+     * @param apiRequestCount     сколько запросов к API выполнено
+     * @param lastError           последняя ошибка загрузки (или null)
+     * @param fallbackReason      причина последнего перехода в PSEUDO (или null)
+     */
+    record ProviderState(
+            Mode mode, boolean forcedPseudo, boolean loading, boolean initialLoadComplete,
+            int apiRequestCount, String lastError, String fallbackReason
+    ) {
+        static final String FORCED_REASON = "Manually forced to PSEUDO";
+
+        static final ProviderState INITIAL =
+                new ProviderState(Mode.QUANTUM, false, false, false, 0, null, null);
+
+        /** Ручное включение PSEUDO. Причина уже случившегося fallback сохраняется. */
+        ProviderState forcePseudo() {
+            if (forcedPseudo) return this;
+            return new ProviderState(Mode.PSEUDO, true, loading, initialLoadComplete, apiRequestCount,
+                    lastError, mode == Mode.PSEUDO ? fallbackReason : FORCED_REASON);
+        }
+
+        /**
+         * Снятие ручного PSEUDO. Если PSEUDO был только ручным, режим
+         * возвращается в QUANTUM (при наличии API ключа).
+         */
+        ProviderState releaseForcedPseudo(boolean apiAvailable) {
+            if (!forcedPseudo) return this;
+            if (FORCED_REASON.equals(fallbackReason) && apiAvailable) {
+                return new ProviderState(Mode.QUANTUM, false, loading, initialLoadComplete,
+                        apiRequestCount, lastError, null);
+            }
+            return new ProviderState(mode, false, loading, initialLoadComplete,
+                    apiRequestCount, lastError, fallbackReason);
+        }
+
+        /** Переход в PSEUDO из-за сбоя API. */
+        ProviderState fallBack(String reason) {
+            if (mode == Mode.PSEUDO) return this;
+            return new ProviderState(Mode.PSEUDO, forcedPseudo, loading, true,
+                    apiRequestCount, null, reason);
+        }
+
+        /** Возврат в QUANTUM после успешной загрузки (не при ручном PSEUDO). */
+        ProviderState recoverQuantum() {
+            if (mode == Mode.QUANTUM || forcedPseudo) return this;
+            return new ProviderState(Mode.QUANTUM, false, loading, initialLoadComplete,
+                    apiRequestCount, lastError, fallbackReason);
+        }
+
+        /** Начало загрузки: только в QUANTUM, без ручного PSEUDO, одна за раз, в пределах лимита. */
+        ProviderState startLoading(int maxApiRequests) {
+            if (forcedPseudo || loading || mode == Mode.PSEUDO || apiRequestCount >= maxApiRequests) {
+                return this;
+            }
+            return new ProviderState(mode, false, true, initialLoadComplete,
+                    apiRequestCount, lastError, fallbackReason);
+        }
+
+        ProviderState finishLoading() {
+            if (!loading) return this;
+            return new ProviderState(mode, forcedPseudo, false, initialLoadComplete,
+                    apiRequestCount, lastError, fallbackReason);
+        }
+
+        /** Учёт выполненного запроса; успешный — данные получены, ошибка сброшена. */
+        ProviderState countRequest(boolean loaded) {
+            return new ProviderState(mode, forcedPseudo, loading, initialLoadComplete || loaded,
+                    apiRequestCount + 1, loaded ? null : lastError, fallbackReason);
+        }
+    }
+
+    /** Результат CAS-перехода: состояние до и после. */
+    private record Transition(ProviderState from, ProviderState to) {
+        boolean changed() {
+            return from != to;
+        }
+    }
+
     // ========================================================================
     // Настройки экземпляра
     // ========================================================================
@@ -81,13 +189,19 @@ public class RNProvider {
     // ========================================================================
 
     private final HttpClient httpClient;
-    private final RandomGenerator fallbackRng;
-    private final BlockingQueue<Integer> randomNumbersQueue;
+    private final ApiRateLimiter rateLimiter;
+    private final PseudoEngine pseudoEngine;
+    private final EntropyBuffer randomNumbersQueue;
+    private final AtomicBoolean pseudoRefillPending = new AtomicBoolean(false);
     private final ObjectMapper objectMapper;
     private final RandomNumberProcessor numberProcessor;
-    private int apiRequestCount = 0;
+    private final ProviderMetrics metrics = new ProviderMetrics(this);
+    private final EntropyLedger ledger = new EntropyLedger();
+    private final HealthTests healthTests;
+    private final BatchQualityMonitor batchQuality = new BatchQualityMonitor();
+    private volatile short[] lastQuarantinedBatch = null;
     private final List<RNLoadListener> listeners = new CopyOnWriteArrayList<>();
-    private volatile boolean isLoading = false;
+    private final AtomicReference<ProviderState> state = new AtomicReference<>(ProviderState.INITIAL);
 
     // ========================================================================
     // RING BUFFER ДЛЯ ИСТОРИИ (Вместо List<Long>)
@@ -96,21 +210,17 @@ public class RNProvider {
     /** Максимальный размер истории потребленных чисел (~0.8 МБ памяти) */
     private static final int HISTORY_MAX_SIZE = 100_000;
 
-    /** Сам массив-буфер */
-    private final long[] consumedNumbersRing = new long[HISTORY_MAX_SIZE];
+    /** Последние числа с битом происхождения; без блокировок */
+    private final ConsumedHistory consumedHistory = new ConsumedHistory(HISTORY_MAX_SIZE);
 
-    /** Указатель, куда писать следующее число */
-    private volatile int ringWriteIndex = 0;
-
-    /** Счетчик реально сгенерированных чисел (чтобы не возвращать пустые нули из массива) */
-    private volatile int totalConsumed = 0;
+    /**
+     * Инкрементальные тесты случайности по всем потреблённым числам сессии
+     * (не только по истории), раздельно по происхождению.
+     */
+    private final RandomnessTestSuite.Session quantumSession = new RandomnessTestSuite.Session();
+    private final RandomnessTestSuite.Session pseudoSession = new RandomnessTestSuite.Session();
 
-    private volatile boolean initialLoadComplete = false;
-    private volatile String lastError = null;
-    private volatile String fallbackReason = null;
     private volatile int consecutiveFailures = 0;
-    private volatile Mode currentMode = Mode.QUANTUM;
-    private volatile boolean isForcedPseudo = false;
     private volatile boolean apiKeyConfigured = true;
 
     /** Сколько pseudo-чисел генерировать за одну «подгрузку» */
@@ -124,20 +234,37 @@ public class RNProvider {
      * Принудительно переключает в локальный режим (без запросов к API).
      */
     public void setForcedPseudo(boolean forced) {
-        this.isForcedPseudo = forced;
         if (forced) {
-            currentMode = Mode.PSEUDO;
-            fallbackReason = "Manually forced to PSEUDO";
-            notifyModeChanged(Mode.PSEUDO);
+            Transition t = transition(ProviderState::forcePseudo);
+            if (t.changed() && t.from().mode() == Mode.QUANTUM) {
+                notifyModeChanged(Mode.PSEUDO);
+            }
         } else {
             // При отключении принудительного режима - пробуем снова подключиться к API
-            fallbackReason = null;
+            Transition t = transition(s -> s.releaseForcedPseudo(apiKeyConfigured));
+            if (t.changed() && t.to().mode() == Mode.QUANTUM && t.from().mode() == Mode.PSEUDO) {
+                notifyModeChanged(Mode.QUANTUM);
+            }
             loadInitialDataAsync();
         }
     }
 
     public boolean isForcedPseudo() {
-        return isForcedPseudo;
+        return state.get().forcedPseudo();
+    }
+
+    /**
+     * Применяет переход к текущему состоянию через CAS, повторяя при гонке.
+     * Переход должен быть чистой функцией: при повторе он вызывается снова.
+     */
+    private Transition transition(UnaryOperator<ProviderState> step) {
+        while (true) {
+            ProviderState from = state.get();
+            ProviderState to = step.apply(from);
+            if (to == from || state.compareAndSet(from, to)) {
+                return new Transition(from, to);
+            }
+        }
     }
 
     // ========================================================================
@@ -175,11 +302,25 @@ public class RNProvider {
     // Конструкторы
     // ========================================================================
 
+    /**
+     * Общие HttpClient по connectTimeout: все провайдеры JVM используют
+     * один пул соединений вместо собственного клиента на экземпляр.
+     */
+    private static final Map<Integer, HttpClient> SHARED_HTTP_CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * Провайдер из конфигурации. Использует общий для JVM ограничитель
+     * частоты запросов ({@link ApiRateLimiter#global()}).
+     */
     public RNProvider() {
-        this(ProviderSettings.fromConfig(), true, Thread::sleep);
+        this(ProviderSettings.fromConfig(), true, Thread::sleep, ApiRateLimiter.global());
     }
 
     RNProvider(ProviderSettings settings, boolean autoLoadOnStart, Sleeper sleeper) {
+        this(settings, autoLoadOnStart, sleeper, ApiRateLimiter.unlimited());
+    }
+
+    RNProvider(ProviderSettings settings, boolean autoLoadOnStart, Sleeper sleeper, ApiRateLimiter rateLimiter) {
         this.apiUrl = settings.apiUrl();
         this.apiKey = settings.apiKey();
         this.dataType = settings.dataType();
@@ -194,17 +335,19 @@ public class RNProvider {
         this.maxBackoffMs = settings.maxBackoffMs();
         this.sleeper = sleeper;
 
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofMillis(connectTimeout))
-                .build();
+        this.rateLimiter = rateLimiter;
+        this.httpClient = SHARED_HTTP_CLIENTS.computeIfAbsent(connectTimeout, timeout -> HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeout))
+                .build());
 
         // L128X256MixRandom: LXM family, период 2^384, 4-equidistributed
         // Самый качественный PRNG в стандартной Java (JEP 356)
-        this.fallbackRng = RandomGenerator.of("L128X256MixRandom");
+        this.pseudoEngine = new PseudoEngine();
 
-        randomNumbersQueue = new LinkedBlockingQueue<>();
+        randomNumbersQueue = new EntropyBuffer();
         objectMapper = new ObjectMapper();
         numberProcessor = new RandomNumberProcessor();
+        healthTests = HealthTests.fromConfig();
 
         // Проверка наличия API ключа
         if (apiKey == null || apiKey.isEmpty() || apiKey.startsWith("YOUR_")) {
@@ -222,7 +365,8 @@ public class RNProvider {
 
     public boolean waitForInitialData(long timeoutMs) {
         long start = System.currentTimeMillis();
-        while (!initialLoadComplete && lastError == null &&
+        ProviderState s = state.get();
+        while (!s.initialLoadComplete() && s.lastError() == null &&
                 (System.currentTimeMillis() - start) < timeoutMs) {
             try {
                 Thread.sleep(100);
@@ -230,8 +374,9 @@ public class RNProvider {
                 Thread.currentThread().interrupt();
                 return false;
             }
+            s = state.get();
         }
-        return initialLoadComplete;
+        return s.initialLoadComplete();
     }
 
     /** Проверяет, был ли изначально сконфигурирован API ключ */
@@ -240,7 +385,7 @@ public class RNProvider {
     }
 
     public String getLastError() {
-        return lastError;
+        return state.get().lastError();
     }
 
     public int getQueueSize() {
@@ -249,12 +394,12 @@ public class RNProvider {
 
     /** Текущий режим работы: QUANTUM или PSEUDO */
     public Mode getMode() {
-        return currentMode;
+        return state.get().mode();
     }
 
     /** Возвращает причину последнего переключения в PSEUDO режим */
     public String getFallbackReason() {
-        return fallbackReason;
+        return state.get().fallbackReason();
     }
 
     /** Возвращает неизменяемую копию всех доступных потребленных чисел (до HISTORY_MAX_SIZE). */
@@ -262,40 +407,66 @@ public class RNProvider {
         return getLastConsumedNumbers(HISTORY_MAX_SIZE);
     }
 
-    /** Возвращает последние N потребленных чисел (для UI без лагов). */
-    public List<Long> getLastConsumedNumbers(int limit) {
-        int actualSize = Math.min(limit, Math.min(totalConsumed, HISTORY_MAX_SIZE));
-        if (actualSize <= 0) return List.of();
-
-        long[] result = new long[actualSize];
-
-        // Читаем буфер в обратном порядке (от самых новых к старым)
-        int currentIdx = ringWriteIndex == 0 ? HISTORY_MAX_SIZE - 1 : ringWriteIndex - 1;
+    /**
+     * Инкрементальные тесты случайности по всем числам сессии одного происхождения.
+     */
+    public RandomnessTestSuite.Session getSessionTests(Mode source) {
+        return source == Mode.QUANTUM ? quantumSession : pseudoSession;
+    }
 
-        for (int i = 0; i < actualSize; i++) {
-            result[i] = consumedNumbersRing[currentIdx];
-            currentIdx = currentIdx == 0 ? HISTORY_MAX_SIZE - 1 : currentIdx - 1;
-        }
+    /**
+     * Временной ряд качества загруженных партий (Frequency, Runs, χ² по каждой партии).
+     */
+    public BatchQualityMonitor getBatchQuality() {
+        return batchQuality;
+    }
 
-        // Разворачиваем массив, чтобы индекс 0 был самым старым из выборки
-        for (int i = 0; i < actualSize / 2; i++) {
-            long temp = result[i];
-            result[i] = result[actualSize - 1 - i];
-            result[actualSize - 1 - i] = temp;
-        }
+    /** Возвращает последние N потребленных чисел (для UI без лагов). */
+    public List<Long> getLastConsumedNumbers(int limit) {
+        if (limit <= 0) return List.of();
+        // Индекс 0 — самое старое число выборки
+        long[] result = consumedHistory.last(limit);
 
         // Конвертируем в List<Long> для совместимости с остальным кодом
-        List<Long> list = new ArrayList<>(actualSize);
+        List<Long> list = new ArrayList<>(result.length);
         for (long num : result) {
             list.add(num);
         }
         return list;
     }
 
+    /**
+     * Возвращает потреблённые числа только одного происхождения, от старых к новым.
+     * Нужен тестам случайности: после перехода в PSEUDO посреди сессии история
+     * содержит оба источника, а проверять имеет смысл каждый отдельно.
+     *
+     * @param source QUANTUM — числа от ANU API, PSEUDO — от PseudoRandomEngine
+     */
+    public List<Long> getConsumedNumbers(Mode source) {
+        long[] selected = consumedHistory.select(source == Mode.QUANTUM);
+        List<Long> list = new ArrayList<>(selected.length);
+        for (long num : selected) {
+            list.add(num);
+        }
+        return list;
+    }
+
+    /**
+     * То же, что {@link #getConsumedNumbers(Mode)}, но без упаковки в {@code List<Long>} —
+     * для тестов случайности.
+     */
+    public Sample getConsumedSample(Mode source) {
+        return Sample.wrap(consumedHistory.select(source == Mode.QUANTUM));
+    }
+
     public void addDataLoadListener(RNLoadListener listener) {
         listeners.add(listener);
     }
 
+    public void removeDataLoadListener(RNLoadListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * Возвращает следующее случайное число.
      * НЕБЛОКИРУЮЩИЙ - безопасен для вызова из EDT.
@@ -303,41 +474,149 @@ public class RNProvider {
      * @return OptionalInt: число готово, или Empty (если QUANTUM буфер пуст и идет загрузка).
      */
     public OptionalInt getNextRandomNumber() {
-        if (isForcedPseudo) {
-            int pseudoNum = fallbackRng.nextInt(65536);
-            addConsumedNumber(pseudoNum);
-            return OptionalInt.of(pseudoNum);
-        }
-
-        Integer nextNumber = randomNumbersQueue.poll();
-        if (nextNumber == null) {
-            if (currentMode == Mode.PSEUDO) {
-                fillQueueWithPseudo();
-                int pseudoNum = fallbackRng.nextInt(65536);
-                addConsumedNumber(pseudoNum);
-                return OptionalInt.of(pseudoNum);
+        int tagged = nextTagged();
+        return tagged < 0 ? OptionalInt.empty() : OptionalInt.of(tagged & 0xFFFF);
+    }
+
+    /**
+     * Следующее число с битом происхождения {@link EntropyBuffer#QUANTUM_TAG}
+     * (как у {@link EntropyBuffer#pollTagged()}), или -1, если QUANTUM буфер пуст.
+     */
+    private int nextTagged() {
+        ProviderState s = state.get();
+        if (s.forcedPseudo()) {
+            int pseudoNum = pseudoEngine.next();
+            addConsumedNumber(pseudoNum, false);
+            metrics.recordServed(Mode.PSEUDO, 1);
+            return pseudoNum;
+        }
+
+        int tagged = randomNumbersQueue.pollTagged();
+        if (tagged < 0) {
+            metrics.recordUnderflow();
+
+            if (s.mode() == Mode.PSEUDO) {
+                // Не генерируем блок на вызывающем потоке (часто EDT) — только одно число
+                refillPseudoAsync();
+                int pseudoNum = pseudoEngine.next();
+                addConsumedNumber(pseudoNum, false);
+                metrics.recordServed(Mode.PSEUDO, 1);
+                return pseudoNum;
             }
 
-            synchronized (this) {
-                if (apiRequestCount >= maxApiRequests) {
-                    activatePseudoMode("API request limit reached (" + maxApiRequests + ")");
-                    int pseudoNum = fallbackRng.nextInt(65536);
-                    addConsumedNumber(pseudoNum);
-                    return OptionalInt.of(pseudoNum);
-                }
+            if (s.apiRequestCount() >= maxApiRequests) {
+                activatePseudoMode("API request limit reached (" + maxApiRequests + ")");
+                int pseudoNum = pseudoEngine.next();
+                addConsumedNumber(pseudoNum, false);
+                metrics.recordServed(Mode.PSEUDO, 1);
+                return pseudoNum;
             }
 
             loadInitialDataAsync();
+            return -1;
+        }
+
+        // Происхождение — по самому числу: после смены режима в буфере могут
+        // оставаться числа и квантовых, и псевдослучайных блоков
+        Mode source = sourceOf(tagged);
+        addConsumedNumber(tagged & 0xFFFF, source == Mode.QUANTUM);
+        metrics.recordServed(source, 1);
+
+        if (randomNumbersQueue.size() < queueMinSize && s.apiRequestCount() < maxApiRequests && !s.loading()) {
+            loadInitialDataAsync();
+        }
+
+        return tagged;
+    }
+
+    private static Mode sourceOf(int tagged) {
+        return (tagged & EntropyBuffer.QUANTUM_TAG) != 0 ? Mode.QUANTUM : Mode.PSEUDO;
+    }
+
+    /**
+     * Следующее случайное число с учётом в {@link EntropyLedger}:
+     * выданное число приписывается источнику, из которого оно пришло, и назначению {@code purpose}.
+     * НЕБЛОКИРУЮЩИЙ, как и {@link #getNextRandomNumber()}.
+     */
+    @Override
+    public OptionalInt getNextRandomNumber(EntropyLedger.Purpose purpose) {
+        int tagged = nextTagged();
+        if (tagged < 0) {
             return OptionalInt.empty();
         }
+        ledger.recordDraw(purpose, sourceOf(tagged));
+        return OptionalInt.of(tagged & 0xFFFF);
+    }
+
+    /**
+     * Блочное чтение: копирует до {@code len} чисел из буфера в {@code dst}.
+     * НЕБЛОКИРУЮЩИЙ. В PSEUDO режиме недостающие числа генерируются сразу,
+     * в QUANTUM режиме при нехватке запускается фоновая загрузка и возвращается
+     * столько, сколько есть (возможно 0).
+     *
+     * @return сколько чисел скопировано
+     */
+    @Override
+    public int read(short[] dst, int off, int len) {
+        if (len <= 0) return 0;
+        return read(dst, off, len, new long[ProvenanceBits.words(len)]);
+    }
+
+    /**
+     * Блочное чтение с происхождением каждого числа — как {@link #read(short[], int, int)}.
+     */
+    @Override
+    public int read(short[] dst, int off, int len, long[] provenance) {
+        if (len <= 0) return 0;
+
+        ProviderState s = state.get();
+        if (s.forcedPseudo()) {
+            pseudoEngine.fill(dst, off, len);
+            ProvenanceBits.fill(provenance, 0, len, false);
+            addConsumedNumbers(dst, off, len, false);
+            metrics.recordServed(Mode.PSEUDO, len);
+            return len;
+        }
+
+        int count = randomNumbersQueue.drainTo(dst, off, len, provenance);
+        if (count > 0) {
+            addConsumedNumbers(dst, off, count, provenance);
+            int quantum = ProvenanceBits.count(provenance, 0, count, true);
+            metrics.recordServed(Mode.QUANTUM, quantum);
+            metrics.recordServed(Mode.PSEUDO, count - quantum);
+        }
+
+        if (count < len) {
+            metrics.recordUnderflow();
+
+            if (s.mode() == Mode.QUANTUM && s.apiRequestCount() >= maxApiRequests) {
+                activatePseudoMode("API request limit reached (" + maxApiRequests + ")");
+                s = state.get();
+            }
 
-        addConsumedNumber(nextNumber); // <--- ИЗМЕНЕНО
+            if (s.mode() == Mode.PSEUDO) {
+                int missing = len - count;
+                pseudoEngine.fill(dst, off + count, missing);
+                ProvenanceBits.fill(provenance, count, missing, false);
+                addConsumedNumbers(dst, off + count, missing, false);
+                metrics.recordServed(Mode.PSEUDO, missing);
+                refillPseudoAsync();
+                return len;
+            }
+
+            loadInitialDataAsync();
+            return count;
+        }
 
-        if (randomNumbersQueue.size() < queueMinSize && apiRequestCount < maxApiRequests && !isLoading) {
+        if (randomNumbersQueue.size() < queueMinSize && s.apiRequestCount() < maxApiRequests && !s.loading()) {
             loadInitialDataAsync();
         }
+        return count;
+    }
 
-        return OptionalInt.of(nextNumber);
+    @Override
+    public void requestRefill() {
+        loadInitialDataAsync();
     }
 
     public long getNextRandomNumberInRange(long min, long max) {
@@ -346,8 +625,9 @@ public class RNProvider {
     }
 
     public void shutdown() {
-        LOGGER.info("RNProvider shutting down. Mode: " + currentMode
-                + ", API requests: " + apiRequestCount
+        ProviderState s = state.get();
+        LOGGER.info("RNProvider shutting down. Mode: " + s.mode()
+                + ", API requests: " + s.apiRequestCount()
                 + ", pseudo batches: " + pseudoBatchCount);
     }
 
@@ -355,8 +635,25 @@ public class RNProvider {
     // Package-private accessors
     // ========================================================================
 
-    int getApiRequestCount() { return apiRequestCount; }
-    boolean isInitialLoadComplete() { return initialLoadComplete; }
+    int getApiRequestCount() { return state.get().apiRequestCount(); }
+
+    /** Текущий снимок состояния. */
+    ProviderState getState() { return state.get(); }
+
+    int getQueueMinSize() { return queueMinSize; }
+
+    HttpClient getHttpClient() { return httpClient; }
+
+    /** Последняя партия, отбракованная тестами здоровья (или null). */
+    short[] getLastQuarantinedBatch() { return lastQuarantinedBatch; }
+    int getConsecutiveFailures() { return consecutiveFailures; }
+    boolean isInitialLoadComplete() { return state.get().initialLoadComplete(); }
+
+    /** Метрики провайдера (для регистрации в JMX). */
+    ProviderMetrics getMetrics() { return metrics; }
+
+    /** Учёт расхода энтропии по режимам (регистрируется в JMX). */
+    EntropyLedger getEntropyLedger() { return ledger; }
 
     void triggerLoad() { loadInitialDataAsync(); }
 
@@ -365,47 +662,104 @@ public class RNProvider {
     // ========================================================================
 
     /**
-     * Добавляет число в кольцевой буфер.
-     * Потокобезопасно за счет атомарности записи в массив примитивов.
+     * Добавляет число в историю вместе с битом происхождения и передаёт его
+     * тестам сессии. История без блокировок; монитор — только у {@link RandomnessTestSuite.Session}.
+     */
+    private void addConsumedNumber(int value, boolean quantum) {
+        consumedHistory.add(value, quantum);
+        (quantum ? quantumSession : pseudoSession).accept(value);
+    }
+
+    /** Добавляет блок uint16-значений одного происхождения. */
+    private void addConsumedNumbers(short[] values, int off, int len, boolean quantum) {
+        consumedHistory.addAll(values, off, len, null, quantum);
+        (quantum ? quantumSession : pseudoSession).acceptAll(values, off, len);
+    }
+
+    /**
+     * Добавляет блок uint16-значений; происхождение значения {@code values[off + i]} —
+     * бит {@code i} карты {@code provenance}. Тесты сессии получают блок отрезками
+     * одного происхождения — по одному захвату монитора сессии на отрезок.
      */
-    private void addConsumedNumber(long value) {
-        consumedNumbersRing[ringWriteIndex] = value;
-        ringWriteIndex = (ringWriteIndex + 1) % HISTORY_MAX_SIZE;
-        totalConsumed++;
+    private void addConsumedNumbers(short[] values, int off, int len, long[] provenance) {
+        consumedHistory.addAll(values, off, len, provenance, false);
+        int runStart = 0;
+        while (runStart < len) {
+            boolean quantum = ProvenanceBits.get(provenance, runStart);
+            int runEnd = runStart + 1;
+            while (runEnd < len && ProvenanceBits.get(provenance, runEnd) == quantum) {
+                runEnd++;
+            }
+            (quantum ? quantumSession : pseudoSession).acceptAll(values, off + runStart, runEnd - runStart);
+            runStart = runEnd;
+        }
     }
 
     // ========================================================================
     // Pseudo-random fallback
     // ========================================================================
 
-    private void activatePseudoMode(String reason) {
-        if (currentMode == Mode.PSEUDO) return;
+    /**
+     * Переходит в PSEUDO режим.
+     *
+     * @return true, если переход выполнил этот вызов (провайдер был в QUANTUM)
+     */
+    private boolean activatePseudoMode(String reason) {
+        if (!transition(s -> s.fallBack(reason)).changed()) return false;
 
-        currentMode = Mode.PSEUDO;
-        this.fallbackReason = reason;
-        lastError = null;
+        metrics.recordFallback();
         LOGGER.info("Switched to PSEUDO mode (L128X256MixRandom). Reason: " + reason);
 
         fillQueueWithPseudo();
-        initialLoadComplete = true;
 
         notifyModeChanged(Mode.PSEUDO);
         notifyLoadingCompleted();
+        return true;
     }
 
+    /**
+     * Синхронно добавляет PSEUDO_BATCH_SIZE чисел одним блоком.
+     * Используется при смене режима и на фоновых потоках.
+     */
     private void fillQueueWithPseudo() {
-        for (int i = 0; i < PSEUDO_BATCH_SIZE; i++) {
-            randomNumbersQueue.add(fallbackRng.nextInt(65536));
-        }
+        short[] block = pseudoEngine.generate(PSEUDO_BATCH_SIZE);
+        batchQuality.record(block, 0, block.length, Mode.PSEUDO);
+        randomNumbersQueue.addAll(block, 0, block.length);
         pseudoBatchCount++;
+        notifyDataAdded(block.length);
         LOGGER.fine("Filled queue with " + PSEUDO_BATCH_SIZE + " pseudo-random numbers. "
                 + "Queue size: " + randomNumbersQueue.size());
     }
 
+    /**
+     * Асинхронная PSEUDO-дозагрузка: блок генерируется вне вызывающего потока (EDT).
+     * Одновременно выполняется не более одной дозагрузки.
+     */
+    private void refillPseudoAsync() {
+        if (!pseudoRefillPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        pseudoEngine.generateAsync(PSEUDO_BATCH_SIZE)
+                .whenComplete((block, ex) -> {
+                    try {
+                        if (ex != null) {
+                            LOGGER.log(Level.WARNING, "Pseudo refill failed", ex);
+                        } else if (state.get().mode() == Mode.PSEUDO) {
+                            batchQuality.record(block, 0, block.length, Mode.PSEUDO);
+                            randomNumbersQueue.addAll(block, 0, block.length);
+                            pseudoBatchCount++;
+                            notifyDataAdded(block.length);
+                        }
+                    } finally {
+                        pseudoRefillPending.set(false);
+                    }
+                });
+    }
+
     private void switchToQuantumMode() {
-        if (currentMode == Mode.QUANTUM) return;
+        if (!transition(ProviderState::recoverQuantum).changed()) return;
 
-        currentMode = Mode.QUANTUM;
         pseudoBatchCount = 0;
         LOGGER.info("Switched back to QUANTUM mode (ANU API).");
         notifyModeChanged(Mode.QUANTUM);
@@ -416,33 +770,30 @@ public class RNProvider {
     // ========================================================================
 
     private void loadInitialDataAsync() {
-        if (isForcedPseudo) {
-            return;
-        }
-
-        synchronized (this) {
-            if (isLoading || apiRequestCount >= maxApiRequests) {
-                if (apiRequestCount >= maxApiRequests && currentMode == Mode.QUANTUM) {
+        // Решение принимается по тому снимку, к которому применялся переход
+        Transition t = transition(s -> s.startLoading(maxApiRequests));
+        if (!t.changed()) {
+            ProviderState s = t.from();
+            if (s.forcedPseudo()) {
+                return;
+            }
+            if (s.apiRequestCount() >= maxApiRequests) {
+                if (s.mode() == Mode.QUANTUM) {
                     activatePseudoMode("API request limit reached");
                 }
                 return;
             }
-
-            if (currentMode == Mode.PSEUDO) {
-                fillQueueWithPseudo();
-                return;
+            if (!s.loading() && s.mode() == Mode.PSEUDO) {
+                refillPseudoAsync();
             }
-
-            isLoading = true;
+            return;
         }
 
         CompletableFuture.runAsync(this::loadWithRetry, Thread::startVirtualThread)
                 .exceptionally(ex -> {
                     LOGGER.log(Level.SEVERE, "Exception during data loading", ex);
                     handleLoadFailure("Exception: " + ex.getMessage());
-                    synchronized (this) {
-                        isLoading = false;
-                    }
+                    transition(ProviderState::finishLoading);
                     return null;
                 });
     }
@@ -465,6 +816,12 @@ public class RNProvider {
                     handleLoadFailure("Суточный лимит исчерпан, переключаю на псевдослучайные числа.");
                     return;
 
+                } catch (HealthTestException e) {
+                    LOGGER.severe("Batch quarantined: " + e.getMessage());
+                    notifyError("Health test failed: " + e.getMessage());
+                    handleLoadFailure("SP 800-90B health test failed: " + e.getMessage());
+                    return;
+
                 } catch (Exception e) {
                     retryCount++;
                     consecutiveFailures++;
@@ -475,6 +832,7 @@ public class RNProvider {
                         return;
                     }
 
+                    metrics.recordRetry();
                     long backoffMs = calculateBackoff(retryCount);
                     LOGGER.warning(String.format("API failed (attempt %d/%d). Retry in %d ms. Error: %s",
                             retryCount, maxRetries, backoffMs, e.getMessage()));
@@ -490,20 +848,15 @@ public class RNProvider {
                 }
             }
         } finally {
-            synchronized (this) {
-                isLoading = false;
-            }
+            transition(ProviderState::finishLoading);
         }
     }
 
     private void handleLoadFailure(String reason) {
-        if (currentMode == Mode.QUANTUM) {
-            activatePseudoMode(reason);
-            notifyApiAvailability(false); // <--- ДОБАВИТЬ: Замораживаем и двигаем кнопку влево
-        } else {
-            if (randomNumbersQueue.size() < queueMinSize) {
-                fillQueueWithPseudo();
-            }
+        if (activatePseudoMode(reason)) {
+            notifyApiAvailability(false); // Замораживаем и двигаем кнопку влево
+        } else if (randomNumbersQueue.size() < queueMinSize) {
+            fillQueueWithPseudo();
         }
     }
 
@@ -522,6 +875,63 @@ public class RNProvider {
         return url.toString();
     }
 
+    /**
+     * hex16: элемент — {@code size} чисел по 4 hex-символа (короткий элемент
+     * дополняется ведущими нулями). Символы собираются по 8 в {@code long} и
+     * декодируются {@link HexDecoder#decode8} — два числа за шаг, без
+     * промежуточных массивов.
+     *
+     * @throws IOException если в данных не-hex символ
+     */
+    static short[] decodeHex16(JsonNode dataNode) throws IOException {
+        // Элементы ответа одной длины (size): размер берётся по первому, без второго прохода
+        int perElement = dataNode.isEmpty() ? 0 : (dataNode.get(0).asText().length() + 3) >>> 2;
+        short[] batch = new short[dataNode.size() * perElement];
+        int w = 0;
+        try {
+            for (JsonNode element : dataNode) {
+                String text = element.asText();
+                int partial = text.length() & 3;
+                if (partial != 0) {
+                    text = "000".substring(partial - 1) + text;
+                }
+                int len = text.length();
+                if (w + (len >>> 2) > batch.length) {
+                    batch = Arrays.copyOf(batch, Math.max(w + (len >>> 2), batch.length * 2));
+                }
+                int i = 0;
+                for (; i + 8 <= len; i += 8) {
+                    int packed = HexDecoder.decode8(packAscii(text, i, 8));
+                    batch[w++] = (short) (packed >>> 16);
+                    batch[w++] = (short) packed;
+                }
+                if (i < len) {
+                    // Последние 4 символа: вторая половина шага — нули
+                    int packed = HexDecoder.decode8(packAscii(text, i, 4) << 32 | 0x30303030L);
+                    batch[w++] = (short) (packed >>> 16);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid hex16 data: " + e.getMessage(), e);
+        }
+        return w == batch.length ? batch : Arrays.copyOf(batch, w);
+    }
+
+    /** {@code n} ≤ 8 символов начиная с {@code from}, первый — в старшем байте. */
+    private static long packAscii(String text, int from, int n) {
+        long chars = 0;
+        int seen = 0;
+        for (int k = 0; k < n; k++) {
+            char c = text.charAt(from + k);
+            seen |= c;
+            chars = chars << 8 | (c & 0xFF);
+        }
+        if (seen >= 0x80) {
+            throw new IllegalArgumentException(HexDecoder.INVALID_CHARACTER);
+        }
+        return chars;
+    }
+
     private void loadInitialData() throws Exception {
         notifyLoadingStarted();
 
@@ -535,7 +945,16 @@ public class RNProvider {
                 .GET()
                 .build();
 
-        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        // Не чаще одного запроса в интервал на все провайдеры с этим ограничителем
+        rateLimiter.acquire();
+
+        long fetchStart = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } finally {
+            metrics.recordFetchLatency((System.nanoTime() - fetchStart) / 1_000_000);
+        }
         int statusCode = response.statusCode();
 
         if (statusCode != 200) {
@@ -561,23 +980,33 @@ public class RNProvider {
                 throw new IOException("Invalid response format: 'data' is not an array.");
             }
 
+            short[] batch;
             int loadedCount = 0;
-            for (JsonNode element : dataNode) {
-                if ("hex16".equals(dataType)) {
-                    randomNumbersQueue.add(Integer.parseInt(element.asText(), 16));
-                } else {
-                    randomNumbersQueue.add(element.asInt());
+            if ("hex16".equals(dataType)) {
+                batch = decodeHex16(dataNode);
+                loadedCount = batch.length;
+            } else {
+                batch = new short[dataNode.size()];
+                for (JsonNode element : dataNode) {
+                    batch[loadedCount++] = (short) element.asInt();
                 }
-                loadedCount++;
             }
 
+            // SP 800-90B: партия попадает в буфер только после RCT и APT
+            if (!healthTests.testBatch(batch, 0, loadedCount)) {
+                transition(s -> s.countRequest(false));
+                lastQuarantinedBatch = batch;
+                metrics.recordHealthFailure(healthTests.getLastFailure());
+                throw new HealthTestException(healthTests.getLastFailure());
+            }
+            randomNumbersQueue.addAll(batch, 0, loadedCount, true);
+            ledger.recordFetched(loadedCount);
+            batchQuality.record(batch, 0, loadedCount, Mode.QUANTUM);
+
             LOGGER.info("Loaded " + loadedCount + " quantum random numbers. Queue: " + randomNumbersQueue.size());
 
-            synchronized (this) {
-                apiRequestCount++;
-                initialLoadComplete = true;
-                lastError = null;
-            }
+            transition(s -> s.countRequest(true));
+            notifyDataAdded(loadedCount);
             notifyApiAvailability(true); // <--- ДОБАВИТЬ: Размораживаем кнопку
             notifyRawDataReceived(responseBody);
             notifyLoadingCompleted();
@@ -590,9 +1019,10 @@ public class RNProvider {
     }
 
     private void checkAndLoadMore() {
-        if (randomNumbersQueue.size() < queueMinSize && apiRequestCount < maxApiRequests && !isLoading) {
+        ProviderState s = state.get();
+        if (randomNumbersQueue.size() < queueMinSize && s.apiRequestCount() < maxApiRequests && !s.loading()) {
             loadInitialDataAsync();
-        } else if (randomNumbersQueue.size() < queueMinSize && currentMode == Mode.PSEUDO) {
+        } else if (randomNumbersQueue.size() < queueMinSize && s.mode() == Mode.PSEUDO) {
             fillQueueWithPseudo();
         }
     }
@@ -625,4 +1055,8 @@ public class RNProvider {
         listeners.forEach(listener -> listener.onApiAvailabilityChanged(isAvailable));
     }
 
+    private void notifyDataAdded(int count) {
+        listeners.forEach(listener -> listener.onDataAdded(count));
+    }
+
 }
@@ -1,5 +1,6 @@
 package org.ThreeDotsSierpinski;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,19 +26,33 @@ public class RandomNumberProcessor {
      * @throws IllegalArgumentException Если HEX-строка некорректна.
      */
     public List<Integer> processHexToNumbers(String hexData) {
-        byte[] bytes = hexStringToByteArray(hexData);
-        List<Integer> numbers = new ArrayList<>();
-
-        for (int i = 0; i < bytes.length - 1; i += 2) {
-            int high = bytes[i] & 0xFF;
-            int low = bytes[i + 1] & 0xFF;
-            int combined = (high << 8) | low; // 0–65535
-            numbers.add(combined);
+        short[] words = processHexToShorts(hexData);
+        List<Integer> numbers = new ArrayList<>(words.length);
+        for (short word : words) {
+            numbers.add(word & 0xFFFF);
         }
-
         return numbers;
     }
 
+    /**
+     * Преобразует HEX-строку в массив uint16 без упаковки в Integer.
+     * Декодирование по 8 символов за шаг — см. {@link HexDecoder}.
+     *
+     * @param hexData HEX-строка от API (только ASCII 0-9, A-F, a-f).
+     * @return Массив 16-битных значений (старший байт — первые два символа).
+     * @throws IllegalArgumentException Если HEX-строка некорректна.
+     */
+    public short[] processHexToShorts(String hexData) {
+        if ((hexData.length() & 1) != 0) {
+            throw new IllegalArgumentException(HexDecoder.INVALID_LENGTH);
+        }
+        // Не-Latin-1 символы кодируются как '?' и отбраковываются декодером
+        byte[] chars = hexData.getBytes(StandardCharsets.ISO_8859_1);
+        short[] words = new short[HexDecoder.decodedLength(chars.length)];
+        HexDecoder.decode(chars, 0, chars.length, words, 0);
+        return words;
+    }
+
     /**
      * Генерирует число в заданном диапазоне [min, max] из случайного числа.
      *
@@ -73,28 +88,67 @@ public class RandomNumberProcessor {
         return Math.min(result, max); // Защита от выхода за границу из-за погрешности double
     }
 
+    // ========================================================================
+    // Пакетный маппинг uint16 → [min, max]
+    // ========================================================================
+
     /**
-     * Преобразует HEX-строку в массив байтов.
+     * Пакетно отображает uint16-значения в диапазон [min, max] точным
+     * целочисленным multiply-shift: {@code min + ⌊v · range / 2^16⌋}.
+     *
+     * Результат совпадает с {@link #generateNumberInRange(int, long, long)}
+     * (floor-маппинг), но без double и без clamp, и верен для любого диапазона
+     * вплоть до всего {@code long}. Для диапазонов до 2^47 цикл — одно
+     * умножение и сдвиг на элемент, без ветвлений, и векторизуется C2.
      *
-     * @param s HEX-строка.
-     * @return Массив байтов.
-     * @throws IllegalArgumentException Если строка некорректна.
+     * @param src    значения в [0, 65535]
+     * @param min    нижняя граница (включительно)
+     * @param max    верхняя граница (включительно)
+     * @throws IllegalArgumentException если min > max
      */
-    private byte[] hexStringToByteArray(String s) {
-        int len = s.length();
-        if (len % 2 != 0) {
-            throw new IllegalArgumentException("Invalid HEX string length.");
+    public void mapToRange(int[] src, int srcOff, long[] dst, int dstOff, int len, long min, long max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min не может быть больше max");
         }
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            int high = Character.digit(s.charAt(i), 16);
-            int low = Character.digit(s.charAt(i + 1), 16);
-            if (high == -1 || low == -1) {
-                throw new IllegalArgumentException("Invalid character in HEX string.");
+        long range = max - min + 1; // 0 означает весь диапазон long (2^64)
+
+        if (range > 0 && range <= 1L << 47) {
+            // v · range < 2^63 — произведение помещается в long
+            for (int i = 0; i < len; i++) {
+                dst[dstOff + i] = min + (src[srcOff + i] * range >>> 16);
+            }
+        } else {
+            // ⌊v · 2^48 · range / 2^64⌋ = ⌊v · range / 2^16⌋, range беззнаковый
+            for (int i = 0; i < len; i++) {
+                long scaled = (long) src[srcOff + i] << 48;
+                dst[dstOff + i] = min + (range == 0 ? scaled : Math.unsignedMultiplyHigh(scaled, range));
+            }
+        }
+    }
+
+    /**
+     * Пакетный маппинг в {@code int}-диапазон. Для диапазонов до 2^16 вся
+     * арифметика 32-битная ({@code v · range < 2^32}, беззнаковый сдвиг),
+     * что даёт вдвое больше элементов на векторный регистр.
+     *
+     * @see #mapToRange(int[], int, long[], int, int, long, long)
+     */
+    public void mapToRange(int[] src, int srcOff, int[] dst, int dstOff, int len, int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min не может быть больше max");
+        }
+        long range = (long) max - min + 1;
+
+        if (range <= 1 << 16) {
+            int r = (int) range;
+            for (int i = 0; i < len; i++) {
+                dst[dstOff + i] = min + (src[srcOff + i] * r >>> 16);
+            }
+        } else {
+            for (int i = 0; i < len; i++) {
+                dst[dstOff + i] = (int) (min + (src[srcOff + i] * range >>> 16));
             }
-            data[i / 2] = (byte) ((high << 4) + low);
         }
-        return data;
     }
 
 }
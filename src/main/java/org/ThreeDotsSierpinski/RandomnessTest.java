@@ -4,17 +4,29 @@ import java.util.List;
 
 /**
  * Интерфейс для тестов случайности числовых выборок.
+ *
+ * Основной метод — {@link #testSample(Sample, double)}: выборка без упаковки
+ * и с общим для всех тестов битовым потоком. Вариант со {@code List<Long>}
+ * сохранён для совместимости и один раз переводит список в {@link Sample}.
  */
 public interface RandomnessTest {
 
     /**
      * Запускает тест и возвращает детальный результат с метрикой.
      *
-     * @param numbers выборка чисел
-     * @param alpha   уровень значимости (0.01, 0.05, 0.1)
+     * @param sample выборка чисел
+     * @param alpha  уровень значимости (0.01, 0.05, 0.1)
      * @return результат с названием теста, статусом и значением метрики
      */
-    TestResult testWithDetails(List<Long> numbers, double alpha);
+    TestResult testSample(Sample sample, double alpha);
+
+    /**
+     * Запускает тест на списке чисел.
+     * null передаётся в {@link #testSample} как есть — его проверяет сам тест.
+     */
+    default TestResult testWithDetails(List<Long> numbers, double alpha) {
+        return testSample(numbers == null ? null : Sample.of(numbers), alpha);
+    }
 
     /**
      * Возвращает имя теста.
@@ -0,0 +1,225 @@
+package org.ThreeDotsSierpinski;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Диалог результатов тестов случайности.
+ *
+ * Тесты выполняются вне EDT ({@link RandomnessTestSuite#runAllAsync}), строки
+ * результатов появляются по мере готовности. Пока тесты идут, видны прогресс
+ * и кнопка отмены; закрытие окна тоже отменяет незавершённые тесты.
+ * Если запуск отменён или тест упал с ошибкой ({@link Error}), незавершённые
+ * строки помечаются, в статусе — причина, кнопка становится «Закрыть».
+ */
+public class RandomnessTestDialog {
+
+    private static final double ALPHA = 0.05;
+
+    private final JFrame parent;
+    private final JLabel statusLabel;
+
+    public RandomnessTestDialog(JFrame parent, JLabel statusLabel) {
+        this.parent = parent;
+        this.statusLabel = statusLabel;
+    }
+
+    /**
+     * Показывает диалог и запускает тесты. Возвращается сразу (вызывать из EDT).
+     *
+     * @param sample  выборка одного происхождения
+     * @param source  происхождение выборки (для подписей)
+     * @param session инкрементальные тесты по всей сессии того же источника
+     */
+    public void show(Sample sample, RNProvider.Mode source, RandomnessTestSuite.Session session) {
+        var suite = new RandomnessTestSuite();
+        int total = suite.getTests().size();
+
+        var dialog = new JDialog(parent,
+                "Результаты тестов случайности (" + sample.size() + " чисел " + source + ")", false);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.setLayout(new BorderLayout());
+
+        var panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBorder(BorderFactory.createEmptyBorder(8, 4, 8, 4));
+
+        // Слот на каждый тест в порядке набора: строка заменяется, когда тест завершится
+        JPanel[] slots = new JPanel[total];
+        boolean[] finished = new boolean[total];   // только из EDT
+        for (int i = 0; i < total; i++) {
+            slots[i] = new JPanel(new BorderLayout());
+            slots[i].setAlignmentX(Component.LEFT_ALIGNMENT);
+            slots[i].add(pendingRow(suite.getTests().get(i).getTestName()));
+            panel.add(slots[i]);
+        }
+        dialog.add(panel, BorderLayout.CENTER);
+
+        var progress = new JProgressBar(0, total);
+        progress.setStringPainted(true);
+        progress.setString("0/" + total);
+        var cancelButton = new JButton("Отмена");
+
+        var footer = new JPanel(new BorderLayout(8, 0));
+        footer.setBorder(BorderFactory.createEmptyBorder(4, 8, 8, 8));
+        footer.add(progress, BorderLayout.CENTER);
+        footer.add(cancelButton, BorderLayout.EAST);
+        dialog.add(footer, BorderLayout.SOUTH);
+
+        RandomnessTestSuite.Run run = suite.runAllAsync(sample, ALPHA, (result, index) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (finished[index]) return;   // запуск уже прерван
+                    finished[index] = true;
+                    slots[index].removeAll();
+                    slots[index].add(resultRow(result));
+                    progress.setValue(progress.getValue() + 1);
+                    progress.setString(progress.getValue() + "/" + total);
+                    dialog.pack();
+                }));
+
+        cancelButton.addActionListener(_ -> {
+            if (!run.results().isDone()) {
+                run.cancel();
+                statusLabel.setText("Тесты отменены");
+            }
+            dialog.dispose();
+        });
+        dialog.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                run.cancel();
+            }
+        });
+
+        run.results().whenComplete((results, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause()
+                        : failure;
+                SwingUtilities.invokeLater(() -> {
+                    boolean cancelled = cause instanceof CancellationException;
+                    String rowText = cancelled ? "отменено" : "прервано";
+                    for (int i = 0; i < total; i++) {
+                        if (!finished[i]) {
+                            finished[i] = true;
+                            slots[i].removeAll();
+                            slots[i].add(stoppedRow(rowText, suite.getTests().get(i).getTestName()));
+                        }
+                    }
+                    statusLabel.setText(cancelled
+                            ? "Тесты отменены"
+                            : "Тесты прерваны ошибкой: " + describe(cause));
+                    progress.setString(cancelled ? "отменено" : "ошибка");
+                    cancelButton.setText("Закрыть");
+                    dialog.pack();
+                });
+                return;
+            }
+            // Тесты сессии тоже считаются вне EDT
+            List<TestResult> sessionResults = session.getCount() > sample.size()
+                    ? session.results(ALPHA)
+                    : List.of();
+            long sessionCount = session.getCount();
+            SwingUtilities.invokeLater(() -> {
+                long passed = results.stream().filter(TestResult::passed).count();
+                long skipped = results.stream().filter(TestResult::isSkipped).count();
+                String skippedNote = skipped > 0 ? ", пропущено: " + skipped : "";
+                statusLabel.setText("Тесты: " + passed + "/" + (results.size() - skipped)
+                        + " пройдено" + skippedNote + " (" + sample.size() + " " + source + " точек)");
+
+                if (!sessionResults.isEmpty()) {
+                    var sessionHeader = new JLabel("Вся сессия (" + sessionCount + " чисел " + source + "):");
+                    sessionHeader.setFont(new Font("SansSerif", Font.BOLD, 13));
+                    sessionHeader.setAlignmentX(Component.LEFT_ALIGNMENT);
+                    sessionHeader.setBorder(BorderFactory.createEmptyBorder(8, 8, 2, 0));
+                    panel.add(sessionHeader);
+                    for (TestResult result : sessionResults) {
+                        panel.add(resultRow(result));
+                    }
+                }
+
+                panel.add(Box.createVerticalStrut(8));
+                var summary = new JLabel("Итого: " + passed + "/" + (results.size() - skipped)
+                        + " тестов пройдено" + (skipped > 0 ? skippedNote + " (мало данных)" : ""));
+                summary.setFont(new Font("SansSerif", Font.BOLD, 13));
+                summary.setAlignmentX(Component.LEFT_ALIGNMENT);
+                summary.setBorder(BorderFactory.createEmptyBorder(4, 8, 0, 0));
+                panel.add(summary);
+
+                var legend = new JLabel("<html><font color='#228B22'>● отлично</font>"
+                        + "   <font color='#CC9900'>● приемлемо</font>"
+                        + "   <font color='#CC0000'>● не пройден</font>"
+                        + "   <font color='#787878'>● пропущен (мало данных)</font></html>");
+                legend.setFont(new Font("SansSerif", Font.PLAIN, 11));
+                legend.setBorder(BorderFactory.createEmptyBorder(6, 8, 0, 0));
+                legend.setAlignmentX(Component.LEFT_ALIGNMENT);
+                panel.add(legend);
+
+                cancelButton.setText("Закрыть");
+                dialog.pack();
+            });
+        });
+
+        statusLabel.setText("Тесты выполняются...");
+        dialog.pack();
+        dialog.setLocationRelativeTo(parent);
+        dialog.setVisible(true);
+    }
+
+    private static String describe(Throwable cause) {
+        return cause.getMessage() == null
+                ? cause.getClass().getSimpleName()
+                : cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    /** Строка теста, который не завершился: запуск отменён или прерван ошибкой. */
+    private static JPanel stoppedRow(String reason, String testName) {
+        var row = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 2));
+        var text = new JLabel("–  " + reason + "    " + testName);
+        text.setFont(new Font("Monospaced", Font.PLAIN, 13));
+        text.setForeground(new Color(120, 120, 120));
+        row.add(text);
+        return row;
+    }
+
+    private static JPanel pendingRow(String testName) {
+        var row = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 2));
+        var text = new JLabel("…  выполняется    " + testName);
+        text.setFont(new Font("Monospaced", Font.PLAIN, 13));
+        text.setForeground(new Color(120, 120, 120));
+        row.add(text);
+        return row;
+    }
+
+    private static JPanel resultRow(TestResult result) {
+        var row = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 2));
+
+        var indicator = new JLabel("●");
+        indicator.setFont(new Font("SansSerif", Font.BOLD, 16));
+        indicator.setForeground(switch (result.quality()) {
+            case STRONG   -> new Color(34, 139, 34);
+            case MARGINAL -> new Color(204, 153, 0);
+            case FAIL     -> new Color(204, 0, 0);
+            case SKIPPED  -> new Color(120, 120, 120);
+        });
+        row.add(indicator);
+
+        var mark = new JLabel(switch (result.quality()) {
+            case STRONG   -> "✓";
+            case MARGINAL -> "○";
+            case FAIL     -> "✗";
+            case SKIPPED  -> "–";
+        });
+        mark.setFont(new Font("SansSerif", Font.BOLD, 14));
+        mark.setForeground(indicator.getForeground());
+        row.add(mark);
+
+        var text = new JLabel(result.statistic() + "    " + result.testName());
+        text.setFont(new Font("Monospaced", Font.PLAIN, 13));
+        row.add(text);
+        return row;
+    }
+}
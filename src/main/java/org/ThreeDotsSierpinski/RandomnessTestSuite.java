@@ -1,11 +1,24 @@
 package org.ThreeDotsSierpinski;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Набор тестов случайности.
  *
  * Запускает все зарегистрированные тесты и возвращает детальные результаты.
+ * {@link Session} ведёт те же тесты инкрементально по всем числам сессии.
+ *
+ * {@link #runAllAsync} запускает каждый тест отдельной задачей на виртуальном
+ * потоке и сообщает результаты по мере готовности; {@link #runAll} — то же,
+ * с ожиданием всех результатов.
  */
 public class RandomnessTestSuite {
 
@@ -16,32 +29,208 @@ public class RandomnessTestSuite {
                 new KolmogorovSmirnovTest(),
                 new FrequencyBitTest(),
                 new ChiSquareUniformityTest(),
-                new RunsBitTest()
+                new RunsBitTest(),
+                new BlockFrequencyTest(),
+                new CumulativeSumsTest(),
+                new LongestRunOfOnesTest(),
+                new DiscreteFourierTransformTest(),
+                new SerialTest(),
+                new ApproximateEntropyTest(),
+                new BinaryMatrixRankTest(),
+                new NonOverlappingTemplateTest(),
+                new OverlappingTemplateTest()
         );
     }
 
+    /** Набор из заданных тестов. */
+    RandomnessTestSuite(List<RandomnessTest> tests) {
+        this.tests = List.copyOf(tests);
+    }
+
     public List<TestResult> runAll(List<Long> numbers, double alpha) {
-        return tests.stream()
-                .map(test -> {
-                    try {
-                        return test.testWithDetails(numbers, alpha);
-                    } catch (Exception e) {
-                        return new TestResult(test.getTestName(), false, "error: " + e.getMessage());
+        return runAll(numbers == null ? null : Sample.of(numbers), alpha);
+    }
+
+    /**
+     * Запускает все тесты на одной выборке: битовый поток строится один раз
+     * и общий для всех битовых тестов.
+     */
+    public List<TestResult> runAll(Sample sample, double alpha) {
+        return runAllAsync(sample, alpha, (result, index) -> { }).results().join();
+    }
+
+    /** Зарегистрированные тесты в порядке результатов. */
+    public List<RandomnessTest> getTests() {
+        return tests;
+    }
+
+    /**
+     * Запускает каждый тест отдельной задачей на виртуальном потоке.
+     *
+     * @param onResult вызывается из потока задачи, как только тест завершён:
+     *                 результат и индекс теста в {@link #getTests()}
+     * @return запуск: общий результат и отмена
+     */
+    public Run runAllAsync(Sample sample, double alpha, ObjIntConsumer<TestResult> onResult) {
+        return new Run(tests, sample, alpha, onResult);
+    }
+
+    private static TestResult runOne(RandomnessTest test, Sample sample, double alpha) {
+        try {
+            return test.testSample(sample, alpha);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (InsufficientDataException e) {
+            return TestResult.skipped(test.getTestName(), e.getMessage());
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException(test.getTestName());
+            }
+            return new TestResult(test.getTestName(), false, "error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Асинхронный запуск набора. Отмена прерывает потоки ещё идущих тестов;
+     * их результаты больше не сообщаются, а {@link #results()} завершается
+     * {@link CancellationException}. Длинные тесты проверяют прерывание между
+     * блоками, этапами и шаблонами — и в своих параллельных задачах
+     * ({@link Cancellation}), поэтому отменённый тест перестаёт занимать процессор.
+     */
+    public static final class Run {
+        private final List<FutureTask<TestResult>> tasks = new ArrayList<>();
+        private final CompletableFuture<List<TestResult>> results = new CompletableFuture<>();
+
+        private Run(List<RandomnessTest> tests, Sample sample, double alpha, ObjIntConsumer<TestResult> onResult) {
+            TestResult[] collected = new TestResult[tests.size()];
+            var remaining = new AtomicInteger(tests.size());
+
+            for (int i = 0; i < tests.size(); i++) {
+                int index = i;
+                RandomnessTest test = tests.get(i);
+                tasks.add(new FutureTask<>(() -> runOne(test, sample, alpha)) {
+                    @Override
+                    protected void done() {
+                        if (isCancelled() || results.isDone()) return;
+                        try {
+                            collected[index] = get();
+                        } catch (ExecutionException e) {
+                            // Исключения теста runOne превращает в результат с ошибкой;
+                            // сюда доходят отмена и Error — сообщаем настоящую причину
+                            results.completeExceptionally(e.getCause());
+                            return;
+                        } catch (InterruptedException | CancellationException e) {
+                            results.completeExceptionally(new CancellationException(test.getTestName()));
+                            return;
+                        }
+                        onResult.accept(collected[index], index);
+                        if (remaining.decrementAndGet() == 0) {
+                            results.complete(Arrays.asList(collected));
+                        }
                     }
-                })
-                .toList();
+                });
+            }
+
+            if (tasks.isEmpty()) {
+                results.complete(List.of());
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                Thread.ofVirtual().name("randomness-test-" + i).start(tasks.get(i));
+            }
+        }
+
+        /** Все результаты в порядке тестов. */
+        public CompletableFuture<List<TestResult>> results() {
+            return results;
+        }
+
+        /** Прерывает незавершённые тесты. */
+        public void cancel() {
+            results.completeExceptionally(new CancellationException("Тесты отменены"));
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        public boolean isCancelled() {
+            return results.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * Инкрементальные аналоги всех тестов набора, в том же порядке.
+     */
+    public static List<OnlineRandomnessTest> newOnlineTests() {
+        return List.of(
+                new KolmogorovSmirnovTest.Online(),
+                new FrequencyBitTest.Online(),
+                new ChiSquareUniformityTest.Online(),
+                new RunsBitTest.Online()
+        );
+    }
+
+    /**
+     * Потокобезопасная сессия инкрементальных тестов: числа учитываются
+     * по мере потребления, результаты доступны в любой момент.
+     */
+    public static final class Session {
+        private final List<OnlineRandomnessTest> tests = newOnlineTests();
+        private long count;
+
+        public synchronized void accept(int value) {
+            for (OnlineRandomnessTest test : tests) {
+                test.accept(value);
+            }
+            count++;
+        }
+
+        public synchronized void acceptAll(short[] values, int off, int len) {
+            for (OnlineRandomnessTest test : tests) {
+                test.acceptAll(values, off, len);
+            }
+            count += len;
+        }
+
+        /** Сколько чисел учтено за сессию. */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /** Результаты всех тестов по числам сессии; ошибки — как в {@link #runAll}. */
+        public synchronized List<TestResult> results(double alpha) {
+            return tests.stream()
+                    .map(test -> {
+                        try {
+                            return test.result(alpha);
+                        } catch (Exception e) {
+                            return new TestResult(test.getTestName(), false, "error: " + e.getMessage());
+                        }
+                    })
+                    .toList();
+        }
+
+        public synchronized void reset() {
+            tests.forEach(OnlineRandomnessTest::reset);
+            count = 0;
+        }
     }
 
+    /**
+     * Текстовый отчёт. Пропущенные из-за малой выборки тесты не входят в счёт пройденных.
+     */
     public static String formatResults(List<TestResult> results) {
         StringBuilder sb = new StringBuilder();
         int passed = 0;
+        int skipped = 0;
 
         for (TestResult result : results) {
             sb.append(result).append("\n");
             if (result.passed()) passed++;
+            if (result.isSkipped()) skipped++;
         }
 
-        sb.append("\nИтого: ").append(passed).append("/").append(results.size()).append(" тестов пройдено");
+        sb.append("\nИтого: ").append(passed).append("/").append(results.size() - skipped).append(" тестов пройдено");
+        if (skipped > 0) {
+            sb.append(", пропущено: ").append(skipped).append(" (мало данных)");
+        }
         return sb.toString();
     }
 
@@ -0,0 +1,84 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Скользящий счётчик событий в секунду.
+ *
+ * Хранит кольцо из {@value #SLOTS} посекундных корзин. Скорость считается
+ * по последним {@value #WINDOW_SECONDS} <b>завершённым</b> секундам, поэтому
+ * текущая (неполная) секунда не занижает результат.
+ *
+ * Корзина — один {@code long}: младшие {@value #COUNT_BITS} бит — счётчик,
+ * старшие — номер секунды по модулю 2^{@value #TAG_BITS}. Переход корзины на
+ * новую секунду и добавление к ней делаются одним CAS, поэтому сброс не
+ * может затереть событие, уже записанное в новую секунду другим потоком.
+ */
+final class RateMeter {
+
+    private static final int SLOTS = 16;
+    private static final int WINDOW_SECONDS = 5;
+
+    /** Бит счётчика (до ~6.9·10^10 событий в секунду) и метки секунды (~8.5 лет). */
+    private static final int COUNT_BITS = 36;
+    private static final int TAG_BITS = 64 - COUNT_BITS;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+    private final LongSupplier nanoClock;
+
+    RateMeter() {
+        this(System::nanoTime);
+    }
+
+    RateMeter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        // Пустая корзина помечена секундой, которая не попадёт в окно ближайшие годы
+        long stale = pack(currentSecond() - SLOTS, 0);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.set(i, stale);
+        }
+    }
+
+    /** Регистрирует {@code n} событий в текущей секунде. */
+    void record(long n) {
+        long second = currentSecond();
+        int slot = (int) (second & (SLOTS - 1));
+        long tag = tag(second);
+        long current;
+        long next;
+        do {
+            current = slots.get(slot);
+            next = current >>> COUNT_BITS == tag
+                    ? current + n
+                    // Корзина принадлежала старой секунде — переиспользуем её
+                    : pack(second, n);
+        } while (!slots.compareAndSet(slot, current, next));
+    }
+
+    /** Среднее число событий в секунду за последние завершённые секунды. */
+    double perSecond() {
+        long now = currentSecond();
+        long sum = 0;
+        for (long s = now - WINDOW_SECONDS; s < now; s++) {
+            long packed = slots.get((int) (s & (SLOTS - 1)));
+            if (packed >>> COUNT_BITS == tag(s)) {
+                sum += packed & COUNT_MASK;
+            }
+        }
+        return (double) sum / WINDOW_SECONDS;
+    }
+
+    private static long tag(long second) {
+        return second & ((1L << TAG_BITS) - 1);
+    }
+
+    private static long pack(long second, long count) {
+        return tag(second) << COUNT_BITS | count;
+    }
+
+    private long currentSecond() {
+        return nanoClock.getAsLong() / 1_000_000_000L;
+    }
+}
@@ -0,0 +1,180 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Итеративное radix-2 БПФ вещественной последовательности длины N = 2^k
+ * на примитивном {@code double[]}, без выделения памяти на преобразование.
+ *
+ * Вещественный вход упаковывается в комплексный длины N/2 (чётные отсчёты —
+ * действительная часть, нечётные — мнимая), преобразуется на месте и
+ * разворачивается в спектр вещественного сигнала. Таблица поворотных
+ * множителей считается один раз на размер и кэшируется ({@link #forSize}).
+ * Для больших N каждый этап бабочек делится на куски по общему ForkJoinPool.
+ * Между этапами и кусками проверяется прерывание вызывающего потока ({@link Cancellation}).
+ */
+final class RealFft {
+
+    /** Комплексная длина, начиная с которой этапы считаются параллельно. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final ConcurrentHashMap<Integer, RealFft> CACHE = new ConcurrentHashMap<>();
+
+    private final int n;
+    private final int half;
+    /** cos и sin угла 2πk/N, k ∈ [0, N/2). */
+    private final double[] cos;
+    private final double[] sin;
+
+    private RealFft(int n) {
+        this.n = n;
+        this.half = n >>> 1;
+        this.cos = new double[half];
+        this.sin = new double[half];
+        for (int k = 0; k < half; k++) {
+            double angle = 2 * Math.PI * k / n;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+        }
+    }
+
+    /**
+     * Преобразование длины {@code n} (степень двойки, не меньше 4); таблицы общие для всех вызовов.
+     */
+    static RealFft forSize(int n) {
+        if (n < 4 || Integer.bitCount(n) != 1) {
+            throw new IllegalArgumentException("Длина БПФ должна быть степенью двойки не меньше 4, получено " + n);
+        }
+        return CACHE.computeIfAbsent(n, RealFft::new);
+    }
+
+    int size() {
+        return n;
+    }
+
+    /**
+     * Прямое БПФ на месте: X_k = Σ x_j · e^(−2πijk/N).
+     *
+     * Результат упакован: {@code data[0]} = X₀, {@code data[1]} = X_{N/2} (оба
+     * вещественные), {@code data[2k]}, {@code data[2k+1]} — Re и Im X_k для 0 &lt; k &lt; N/2.
+     */
+    void transform(double[] data) {
+        if (data.length != n) {
+            throw new IllegalArgumentException("Ожидался массив длины " + n + ", получено " + data.length);
+        }
+        var cancellation = Cancellation.ofCurrentThread();
+        bitReverse(data);
+        for (int len = 2; len <= half; len <<= 1) {
+            cancellation.check();
+            butterflies(data, len, cancellation);
+        }
+        unpack(data);
+    }
+
+    /**
+     * |X_k| для k ∈ [0, N/2) из упакованного результата {@link #transform}.
+     * {@code out} может совпадать со {@code spectrum}: |X_k| пишется в индекс k,
+     * а дальше читаются только индексы больше 2k.
+     */
+    void magnitudes(double[] spectrum, double[] out) {
+        out[0] = Math.abs(spectrum[0]);
+        for (int k = 1; k < half; k++) {
+            double re = spectrum[2 * k];
+            double im = spectrum[2 * k + 1];
+            out[k] = Math.sqrt(re * re + im * im);
+        }
+    }
+
+    /** Перестановка комплексных отсчётов в бит-обратном порядке. */
+    private void bitReverse(double[] data) {
+        int shift = Integer.numberOfLeadingZeros(half) + 1;
+        for (int i = 0; i < half; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (j > i) {
+                double re = data[2 * i];
+                double im = data[2 * i + 1];
+                data[2 * i] = data[2 * j];
+                data[2 * i + 1] = data[2 * j + 1];
+                data[2 * j] = re;
+                data[2 * j + 1] = im;
+            }
+        }
+    }
+
+    /**
+     * Один этап: N/4 бабочек с размахом {@code len}. Бабочки нумеруются
+     * подряд и делятся на непрерывные куски — последовательно или параллельно.
+     */
+    private void butterflies(double[] data, int len, Cancellation cancellation) {
+        int count = half >>> 1;
+        if (half < PARALLEL_THRESHOLD) {
+            butterflyRange(data, len, 0, count);
+            return;
+        }
+        int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        int chunkSize = (count + chunks - 1) / chunks;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            cancellation.check();
+            butterflyRange(data, len, c * chunkSize, Math.min(count, (c + 1) * chunkSize));
+        });
+    }
+
+    private void butterflyRange(double[] data, int len, int from, int to) {
+        int span = len >>> 1;
+        int stride = 2 * (half / len);     // шаг по таблице 2π/N для корней степени len
+        for (int b = from; b < to; b++) {
+            int k = b % span;
+            int i = (b / span) * len + k;
+            int j = i + span;
+            double wr = cos[k * stride];
+            double wi = -sin[k * stride];
+            double xr = data[2 * j];
+            double xi = data[2 * j + 1];
+            double tr = wr * xr - wi * xi;
+            double ti = wr * xi + wi * xr;
+            data[2 * j] = data[2 * i] - tr;
+            data[2 * j + 1] = data[2 * i + 1] - ti;
+            data[2 * i] += tr;
+            data[2 * i + 1] += ti;
+        }
+    }
+
+    /**
+     * Спектр вещественного сигнала из комплексного БПФ Z длины N/2:
+     * X_k = E_k + W^k·O_k, X_{N/2−k} = conj(E_k − W^k·O_k), W = e^(−2πi/N),
+     * где E_k = (Z_k + conj Z_{N/2−k}) / 2, O_k = −i·(Z_k − conj Z_{N/2−k}) / 2.
+     */
+    private void unpack(double[] data) {
+        double z0r = data[0];
+        double z0i = data[1];
+        data[0] = z0r + z0i;
+        data[1] = z0r - z0i;
+
+        for (int k = 1; k <= half / 2; k++) {
+            int m = half - k;
+            double ar = data[2 * k];
+            double ai = data[2 * k + 1];
+            double br = data[2 * m];
+            double bi = -data[2 * m + 1];           // conj Z_{N/2−k}
+
+            double er = (ar + br) / 2;
+            double ei = (ai + bi) / 2;
+            double or = (ai - bi) / 2;              // −i·(a − b)/2
+            double oi = -(ar - br) / 2;
+
+            double wr = cos[k];
+            double wi = -sin[k];
+            double tr = wr * or - wi * oi;
+            double ti = wr * oi + wi * or;
+
+            data[2 * k] = er + tr;
+            data[2 * k + 1] = ei + ti;
+            if (m != k) {
+                data[2 * m] = er - tr;
+                data[2 * m + 1] = -(ei - ti);
+            }
+        }
+    }
+}
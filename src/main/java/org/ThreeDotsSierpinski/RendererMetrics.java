@@ -0,0 +1,101 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Метрики рендеринга одного режима визуализации, доступные через JMX.
+ *
+ * Пишутся только из EDT (шаг анимации и paintComponent), читаются JMX-потоком.
+ */
+public class RendererMetrics implements RendererMetricsMXBean {
+
+    private final String modeId;
+    private final BooleanSupplier runningSupplier;
+
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder points = new LongAdder();
+    private final RateMeter stepRate = new RateMeter();
+    private final RateMeter pointRate = new RateMeter();
+
+    private final LongAdder stepNanosTotal = new LongAdder();
+    private final AtomicLong lastStepNanos = new AtomicLong();
+    private final AtomicLong maxStepNanos = new AtomicLong();
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder frameNanosTotal = new LongAdder();
+    private final AtomicLong lastFrameNanos = new AtomicLong();
+    private final AtomicLong maxFrameNanos = new AtomicLong();
+
+    RendererMetrics(String modeId, BooleanSupplier runningSupplier) {
+        this.modeId = modeId;
+        this.runningSupplier = runningSupplier;
+    }
+
+    // ========================================================================
+    // Запись (вызывается DotController)
+    // ========================================================================
+
+    void recordStep(long durationNanos, int pointsDrawn) {
+        steps.increment();
+        stepRate.record(1);
+        points.add(pointsDrawn);
+        pointRate.record(pointsDrawn);
+        stepNanosTotal.add(durationNanos);
+        lastStepNanos.set(durationNanos);
+        maxStepNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    void recordFrame(long durationNanos) {
+        frames.increment();
+        frameNanosTotal.add(durationNanos);
+        lastFrameNanos.set(durationNanos);
+        maxFrameNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    // ========================================================================
+    // RendererMetricsMXBean
+    // ========================================================================
+
+    @Override
+    public String getModeId() { return modeId; }
+
+    @Override
+    public long getSteps() { return steps.sum(); }
+
+    @Override
+    public double getStepsPerSecond() { return stepRate.perSecond(); }
+
+    @Override
+    public long getPointsDrawn() { return points.sum(); }
+
+    @Override
+    public double getPointsPerSecond() { return pointRate.perSecond(); }
+
+    @Override
+    public long getLastStepMicros() { return lastStepNanos.get() / 1_000; }
+
+    @Override
+    public double getAverageStepMicros() { return average(stepNanosTotal, steps) / 1_000.0; }
+
+    @Override
+    public long getMaxStepMicros() { return maxStepNanos.get() / 1_000; }
+
+    @Override
+    public long getLastFrameMicros() { return lastFrameNanos.get() / 1_000; }
+
+    @Override
+    public double getAverageFrameMicros() { return average(frameNanosTotal, frames) / 1_000.0; }
+
+    @Override
+    public long getMaxFrameMicros() { return maxFrameNanos.get() / 1_000; }
+
+    @Override
+    public boolean isRunning() { return runningSupplier.getAsBoolean(); }
+
+    private static double average(LongAdder total, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) total.sum() / n;
+    }
+}
@@ -0,0 +1,45 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * JMX-интерфейс метрик рендеринга {@link DotController}.
+ *
+ * Регистрируется как {@code org.ThreeDotsSierpinski:type=Renderer,mode=<id режима>}.
+ */
+public interface RendererMetricsMXBean {
+
+    /** Идентификатор режима визуализации. */
+    String getModeId();
+
+    /** Всего выполнено шагов анимации (тиков таймера). */
+    long getSteps();
+
+    /** Шагов в секунду (скользящее окно). */
+    double getStepsPerSecond();
+
+    /** Всего нарисовано точек. */
+    long getPointsDrawn();
+
+    /** Точек в секунду (скользящее окно). */
+    double getPointsPerSecond();
+
+    /** Длительность последнего шага режима, мкс. */
+    long getLastStepMicros();
+
+    /** Средняя длительность шага режима, мкс. */
+    double getAverageStepMicros();
+
+    /** Максимальная длительность шага режима, мкс. */
+    long getMaxStepMicros();
+
+    /** Длительность последней отрисовки кадра (paintComponent), мкс. */
+    long getLastFrameMicros();
+
+    /** Средняя длительность отрисовки кадра, мкс. */
+    double getAverageFrameMicros();
+
+    /** Максимальная длительность отрисовки кадра, мкс. */
+    long getMaxFrameMicros();
+
+    /** Запущена ли анимация. */
+    boolean isRunning();
+}
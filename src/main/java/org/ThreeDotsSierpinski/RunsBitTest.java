@@ -1,54 +1,62 @@
 package org.ThreeDotsSierpinski;
 
-import java.util.List;
-
 /**
  * NIST Runs Test.
  *
  * Проверяет количество серий (переходов 0→1, 1→0) в битовой последовательности.
+ * Переходы считаются по словам битового потока {@link Sample}:
+ * {@code bitCount(w ^ (w >>> 1))} плюс стыки слов.
  */
 public class RunsBitTest implements RandomnessTest {
 
+    private static final String NAME = "Серии (Runs)";
+
     @Override
-    public TestResult testWithDetails(List<Long> numbers, double alpha) {
-        if (numbers == null || numbers.size() < 10) {
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
             throw new IllegalArgumentException("Требуется минимум 10 чисел");
         }
 
-        int totalBits = numbers.size() * 16;
-        int[] bits = new int[totalBits];
-        int idx = 0;
-        for (long number : numbers) {
-            for (int bit = 0; bit < 16; bit++) {
-                bits[idx++] = (int) ((number >> bit) & 1);
+        long[] bits = sample.bits();
+        long n = sample.bitLength();
+        int tailBits = (int) (n & 63);
+
+        long ones = 0;
+        long transitions = 0;
+        for (int k = 0; k < bits.length; k++) {
+            long w = bits[k];
+            ones += Long.bitCount(w);
+
+            // Пары соседних бит внутри слова: бит i сравнивается с битом i + 1
+            int valid = k == bits.length - 1 && tailBits != 0 ? tailBits : 64;
+            long pairMask = valid == 64 ? Long.MAX_VALUE : (1L << (valid - 1)) - 1;
+            transitions += Long.bitCount((w ^ (w >>> 1)) & pairMask);
+
+            // Пара на границе слов: старший бит предыдущего и младший текущего
+            if (k > 0) {
+                transitions += (bits[k - 1] >>> 63) ^ (w & 1);
             }
         }
 
-        int n = bits.length;
+        return evaluate(ones, n, transitions + 1, alpha);
+    }
 
-        double pi = 0;
-        for (int b : bits) {
-            pi += b;
-        }
-        pi /= n;
+    /**
+     * Результат по достаточной статистике: число единиц, длина и число серий.
+     */
+    static TestResult evaluate(long ones, long n, long runs, double alpha) {
+        double pi = (double) ones / n;
 
         if (Math.abs(pi - 0.5) > 2.0 / Math.sqrt(n)) {
-            return new TestResult(getTestName(), false,
+            return new TestResult(NAME, false,
                     "pi=" + String.format("%.4f", pi) + " (pre-test fail)", TestResult.Quality.FAIL);
         }
 
-        int runs = 1;
-        for (int i = 1; i < n; i++) {
-            if (bits[i] != bits[i - 1]) {
-                runs++;
-            }
-        }
-
         double numerator = Math.abs(runs - 2.0 * n * pi * (1 - pi));
         double denominator = 2.0 * Math.sqrt(2.0 * n) * pi * (1 - pi);
 
         if (denominator == 0) {
-            return new TestResult(getTestName(), false, "div/0", TestResult.Quality.FAIL);
+            return new TestResult(NAME, false, "div/0", TestResult.Quality.FAIL);
         }
 
         double pValue = MathUtils.erfc(numerator / denominator);
@@ -58,12 +66,74 @@ public class RunsBitTest implements RandomnessTest {
                     :                       TestResult.Quality.FAIL;
 
         String stat = String.format("p=%.4f", pValue);
-        return new TestResult(getTestName(), quality != TestResult.Quality.FAIL, stat, quality);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * p-значение без текстового результата; 0, если не пройден
+     * предварительный частотный тест или все биты одинаковы.
+     */
+    static double pValue(long ones, long n, long runs) {
+        double pi = (double) ones / n;
+        double denominator = 2.0 * Math.sqrt(2.0 * n) * pi * (1 - pi);
+        if (Math.abs(pi - 0.5) > 2.0 / Math.sqrt(n) || denominator == 0) {
+            return 0.0;
+        }
+        return MathUtils.erfc(Math.abs(runs - 2.0 * n * pi * (1 - pi)) / denominator);
     }
 
     @Override
     public String getTestName() {
-        return "Серии (Runs)";
+        return NAME;
+    }
+
+    /**
+     * Инкрементальный вариант: единицы, переходы и последний бит предыдущего числа.
+     * Биты числа идут от младшего к старшему, как в битовом потоке {@link Sample}.
+     */
+    public static final class Online implements OnlineRandomnessTest {
+        private long ones;
+        private long transitions;
+        private int lastBit;
+        private long count;
+
+        @Override
+        public void accept(int value) {
+            int v = value & 0xFFFF;
+            ones += Integer.bitCount(v);
+            // Переходы внутри числа: соседние биты i и i + 1 различаются
+            transitions += Integer.bitCount((v ^ (v >>> 1)) & 0x7FFF);
+            if (count > 0 && lastBit != (v & 1)) {
+                transitions++;
+            }
+            lastBit = v >>> 15;
+            count++;
+        }
+
+        @Override
+        public long getCount() { return count; }
+
+        @Override
+        public TestResult result(double alpha) {
+            OnlineRandomnessTest.requireMinimum(count);
+            return evaluate(ones, 16 * count, transitions + 1, alpha);
+        }
+
+        /** p-значение без порога и проверки размера. */
+        double pValue() {
+            return RunsBitTest.pValue(ones, 16 * count, transitions + 1);
+        }
+
+        @Override
+        public void reset() {
+            ones = 0;
+            transitions = 0;
+            lastBit = 0;
+            count = 0;
+        }
+
+        @Override
+        public String getTestName() { return NAME; }
     }
 
 }
@@ -0,0 +1,110 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Выборка для тестов случайности без упаковки в {@code List<Long>}.
+ *
+ * Хранит значения в {@code long[]} и по первому запросу строит общий для всех
+ * тестов битовый поток: младшие 16 бит каждого значения, от младшего бита
+ * к старшему, по 4 значения на слово {@code long}. Бит {@code i} значения
+ * {@code j} — бит {@code 16j + i} потока. Битовые тесты считают по словам
+ * через {@link Long#bitCount}, а не по одному биту.
+ *
+ * Неизменяема; ленивое построение потока безопасно при гонке (результат одинаков).
+ */
+public final class Sample {
+
+    /** Бит на значение в битовом потоке (uint16). */
+    static final int BITS_PER_VALUE = 16;
+
+    private final long[] values;
+    private volatile long[] bits;
+
+    private Sample(long[] values) {
+        this.values = values;
+    }
+
+    /** Выборка из списка (одна распаковка). */
+    public static Sample of(List<Long> numbers) {
+        Objects.requireNonNull(numbers, "Список чисел не может быть null");
+        long[] values = new long[numbers.size()];
+        int i = 0;
+        for (long number : numbers) {
+            values[i++] = number;
+        }
+        return new Sample(values);
+    }
+
+    /** Выборка из копии массива. */
+    public static Sample of(long... values) {
+        return new Sample(values.clone());
+    }
+
+    /** Выборка из uint16-значений {@code values[off, off + len)}. */
+    public static Sample ofUint16(short[] values, int off, int len) {
+        long[] copy = new long[len];
+        for (int i = 0; i < len; i++) {
+            copy[i] = values[off + i] & 0xFFFF;
+        }
+        return new Sample(copy);
+    }
+
+    /** Выборка поверх массива без копирования; массив больше не должен меняться. */
+    static Sample wrap(long[] values) {
+        return new Sample(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public long get(int index) {
+        return values[index];
+    }
+
+    /** Значения без копирования — только для чтения. */
+    long[] values() {
+        return values;
+    }
+
+    /** Длина битового потока: 16 бит на значение. */
+    public long bitLength() {
+        return (long) BITS_PER_VALUE * values.length;
+    }
+
+    /**
+     * Битовый поток; в последнем слове биты за {@link #bitLength()} равны 0.
+     * Только для чтения.
+     */
+    long[] bits() {
+        long[] packed = bits;
+        if (packed == null) {
+            packed = pack(values);
+            bits = packed;
+        }
+        return packed;
+    }
+
+    /**
+     * Байт {@code index} битового потока (биты 8·index … 8·index + 7,
+     * младший бит — первый). Длина потока всегда кратна 16, поэтому
+     * поток делится на целые байты.
+     */
+    static int byteAt(long[] bits, long index) {
+        return (int) (bits[(int) (index >>> 3)] >>> ((index & 7) << 3)) & 0xFF;
+    }
+
+    private static long[] pack(long[] values) {
+        long[] packed = new long[(values.length + 3) >>> 2];
+        for (int i = 0; i < values.length; i++) {
+            packed[i >>> 2] |= (values[i] & 0xFFFF) << ((i & 3) * BITS_PER_VALUE);
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,73 @@
+package org.ThreeDotsSierpinski;
+
+/**
+ * NIST SP 800-22 Serial Test (2.11).
+ *
+ * Сравнивает частоты перекрывающихся шаблонов длины m, m − 1 и m − 2:
+ * ψ²ₘ = 2^m/n · Σ v² − n, p₁ = igamc(2^(m−2), ∇ψ²ₘ/2),
+ * p₂ = igamc(2^(m−3), ∇²ψ²ₘ/2). Частоты всех трёх длин получаются из одного
+ * прохода по потоку ({@link PatternCounts}). Итог — худшее из двух p-значений.
+ *
+ * m подбирается по длине потока: наибольшее m &lt; ⌊log₂ n⌋ − 2, но не больше
+ * {@link #MAX_M}.
+ */
+public class SerialTest implements RandomnessTest {
+
+    private static final String NAME = "Серийный (Serial)";
+
+    /** Наибольшая длина шаблона (NIST рекомендует 16 для длинных потоков). */
+    static final int MAX_M = 16;
+
+    /** Длина шаблона для потока из {@code n} бит. */
+    static int patternLength(long n) {
+        return Math.clamp(PatternCounts.log2(n) - 3, 2, MAX_M);
+    }
+
+    @Override
+    public TestResult testSample(Sample sample, double alpha) {
+        if (sample == null || sample.size() < 10) {
+            throw new IllegalArgumentException("Требуется минимум 10 чисел");
+        }
+
+        long n = sample.bitLength();
+        int m = patternLength(n);
+        double[] pValues = pValues(sample.bits(), n, m);
+        double pValue = Math.min(pValues[0], pValues[1]);
+
+        var quality = TestResult.Quality.ofPValue(pValue, alpha);
+        String stat = String.format("p₁=%.4f p₂=%.4f (m=%d)", pValues[0], pValues[1], m);
+        return new TestResult(NAME, quality != TestResult.Quality.FAIL, stat, quality);
+    }
+
+    /**
+     * p₁ и p₂ для шаблонов длины {@code m} ≥ 2 по потоку {@code bits} длины {@code n}.
+     */
+    static double[] pValues(long[] bits, long n, int m) {
+        int[] countsM = PatternCounts.count(bits, n, m);
+        int[] countsM1 = PatternCounts.fold(countsM);
+
+        double psiM = psiSquared(countsM, n);
+        double psiM1 = psiSquared(countsM1, n);
+        double psiM2 = m >= 3 ? psiSquared(PatternCounts.fold(countsM1), n) : 0.0;
+
+        double delta1 = psiM - psiM1;
+        double delta2 = psiM - 2 * psiM1 + psiM2;
+        return new double[]{
+                MathUtils.igamc(Math.pow(2, m - 2), Math.max(0, delta1) / 2),
+                MathUtils.igamc(Math.pow(2, m - 3), Math.max(0, delta2) / 2)
+        };
+    }
+
+    /** ψ² = 2^k/n · Σ v² − n для таблицы шаблонов длины k (ψ² для k = 0 равно 0). */
+    private static double psiSquared(int[] counts, long n) {
+        if (counts.length == 1) {
+            return 0.0;
+        }
+        return counts.length * PatternCounts.sumOfSquares(counts) / n - n;
+    }
+
+    @Override
+    public String getTestName() {
+        return NAME;
+    }
+}
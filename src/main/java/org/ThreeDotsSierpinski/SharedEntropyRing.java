@@ -0,0 +1,522 @@
+package org.ThreeDotsSierpinski;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Общий для нескольких JVM пул энтропии в memory-mapped файле.
+ *
+ * Один процесс-производитель ({@link Producer}) переносит числа из {@link RNProvider}
+ * в кольцо, процессы-потребители ({@link Consumer}) забирают их без системных
+ * вызовов и обмена по сокету: захват значения — CAS по его ячейке в отображённой
+ * памяти ({@link VarHandle}).
+ *
+ * Формат файла (порядок байтов платформы):
+ * <pre>
+ *   0   magic      "QRNGRNG2"
+ *   8   capacity   ёмкость кольца в uint16 (степень двойки)
+ *   16  write      сколько значений опубликовано производителем (растёт монотонно)
+ *   24  claim      подсказка: позиция, с которой потребители ищут значение (растёт монотонно)
+ *   32  heartbeat  System.currentTimeMillis() последнего цикла производителя
+ *   40  epoch      случайный номер файла: меняется при каждом {@link #create}
+ *   48  serving    1, пока производитель пополняет кольцо; 0 — перестал (источник ушёл в PSEUDO)
+ *   64  slots      capacity × long: (seq &lt;&lt; 16) | значение
+ * </pre>
+ * Ячейки — очередь Вьюкова: номер круга лежит в том же слове, что и значение.
+ * Ячейка позиции {@code pos} свободна для производителя при {@code seq == pos},
+ * заполнена при {@code seq == pos + 1}. Потребитель забирает значение одним CAS
+ * по ячейке — на {@code seq = pos + capacity}, то есть сразу освобождает её для
+ * следующего круга — и только потом сдвигает {@code claim}. Захват и
+ * освобождение неразделимы: значение нельзя получить порванным или дважды, а
+ * потребитель, умерший в любой момент, ничего не держит — курсор, который он
+ * не успел сдвинуть, сдвигает любой следующий потребитель, увидев, что ячейка
+ * уже забрана.
+ *
+ * Перезапущенный производитель не трогает старый файл, который потребители
+ * держат отображённым (усечение под отображением — SIGBUS у них): новое кольцо
+ * строится во временном файле и атомарно переименовывается на место старого.
+ *
+ * Если производитель не обновлял heartbeat дольше порога, потребитель
+ * переоткрывает файл по пути — при новом {@code epoch} переходит на новое
+ * кольцо, иначе читает из резервного {@link EntropySource}. Туда же он идёт
+ * при пустом кольце, которое производитель больше не пополняет ({@code serving = 0}).
+ */
+public final class SharedEntropyRing implements AutoCloseable {
+    private static final Logger LOGGER = LoggerConfig.getLogger();
+
+    /** "QRNGRNG2" в ASCII: формат с номером круга в каждой ячейке. */
+    static final long MAGIC = 0x51524E47524E4732L;
+    static final int HEADER_BYTES = 64;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int WRITE_OFFSET = 16;
+    private static final int CLAIM_OFFSET = 24;
+    private static final int HEARTBEAT_OFFSET = 32;
+    private static final int EPOCH_OFFSET = 40;
+    private static final int SERVING_OFFSET = 48;
+
+    /** Младшие биты ячейки — значение, старшие — номер круга. */
+    private static final int SEQ_SHIFT = 16;
+
+    /** {@link #take}: позиция ещё не опубликована. */
+    static final int EMPTY = -1;
+    /** {@link #take}: позицию уже забрал другой потребитель. */
+    static final int TAKEN = -2;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final int capacity;
+    private final int mask;
+
+    private SharedEntropyRing(FileChannel channel, MappedByteBuffer mapped, int capacity) {
+        this.channel = channel;
+        this.mapped = mapped;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    private static long bytes(long capacity) {
+        return HEADER_BYTES + Long.BYTES * capacity;
+    }
+
+    /**
+     * Создаёт (или пересоздаёт) файл кольца — вызывается производителем.
+     * Существующий файл заменяется переименованием, его отображения у
+     * потребителей остаются целыми.
+     *
+     * @param capacity ёмкость в uint16, степень двойки
+     */
+    public static SharedEntropyRing create(Path path, int capacity) throws IOException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity должна быть степенью двойки, получено " + capacity);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer mapped;
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes(capacity));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        LONGS.setVolatile(mapped, CAPACITY_OFFSET, (long) capacity);
+        LONGS.setVolatile(mapped, WRITE_OFFSET, 0L);
+        LONGS.setVolatile(mapped, CLAIM_OFFSET, 0L);
+        for (int i = 0; i < capacity; i++) {
+            LONGS.setRelease(mapped, slotOffset(i), (long) i << SEQ_SHIFT);
+        }
+        LONGS.setVolatile(mapped, HEARTBEAT_OFFSET, System.currentTimeMillis());
+        LONGS.setVolatile(mapped, EPOCH_OFFSET, ThreadLocalRandom.current().nextLong());
+        LONGS.setVolatile(mapped, SERVING_OFFSET, 1L);
+        // magic последним: потребитель не увидит недоинициализированный заголовок
+        LONGS.setVolatile(mapped, MAGIC_OFFSET, MAGIC);
+
+        try {
+            // Отображение переживает переименование: дальше пишем в уже новый файл по пути
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new SharedEntropyRing(channel, mapped, capacity);
+    }
+
+    /**
+     * Открывает существующий файл кольца — вызывается потребителем.
+     *
+     * @throws IOException если файл не является кольцом энтропии
+     */
+    public static SharedEntropyRing open(Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a shared entropy ring: " + path);
+            }
+            var header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            long magic = (long) LONGS.getVolatile(header, MAGIC_OFFSET);
+            long capacity = (long) LONGS.getVolatile(header, CAPACITY_OFFSET);
+            if (magic != MAGIC || capacity <= 0 || Long.bitCount(capacity) != 1
+                    || channel.size() < bytes(capacity)) {
+                throw new IOException("Not a shared entropy ring: " + path);
+            }
+
+            var mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes(capacity));
+            return new SharedEntropyRing(channel, mapped, (int) capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Номер файла кольца: у пересозданного файла другой. */
+    long epoch() {
+        return (long) LONGS.getVolatile(mapped, EPOCH_OFFSET);
+    }
+
+    /** Сколько опубликованных значений ещё не захвачено. */
+    public int available() {
+        long claim = (long) LONGS.getVolatile(mapped, CLAIM_OFFSET);
+        long write = (long) LONGS.getVolatile(mapped, WRITE_OFFSET);
+        return (int) Math.max(0, write - claim);
+    }
+
+    private static int slotOffset(long pos) {
+        return HEADER_BYTES + Long.BYTES * (int) pos;
+    }
+
+    // ========================================================================
+    // Производитель (один процесс)
+    // ========================================================================
+
+    /**
+     * Публикует до {@code len} значений в свободные (забранные потребителями) ячейки.
+     * Вызывается только одним потоком-производителем.
+     *
+     * @return сколько значений опубликовано (0, если кольцо заполнено)
+     */
+    int publish(short[] src, int off, int len) {
+        long write = (long) LONGS.getOpaque(mapped, WRITE_OFFSET);
+        int count = 0;
+        while (count < len) {
+            long pos = write + count;
+            int offset = slotOffset(pos & mask);
+            // acquire: потребитель, освободивший ячейку, уже прочитал её значение
+            if ((long) LONGS.getAcquire(mapped, offset) >>> SEQ_SHIFT != pos) {
+                break;
+            }
+            LONGS.setRelease(mapped, offset, (pos + 1) << SEQ_SHIFT | (src[off + count] & 0xFFFF));
+            count++;
+        }
+        if (count > 0) {
+            LONGS.setRelease(mapped, WRITE_OFFSET, write + count);
+        }
+        return count;
+    }
+
+    /** Свободное место в кольце (не меньше оценки: курсор захвата может отставать). */
+    int freeSpace() {
+        long write = (long) LONGS.getOpaque(mapped, WRITE_OFFSET);
+        long claim = (long) LONGS.getVolatile(mapped, CLAIM_OFFSET);
+        return (int) Math.max(0, capacity - (write - claim));
+    }
+
+    void heartbeat() {
+        LONGS.setRelease(mapped, HEARTBEAT_OFFSET, System.currentTimeMillis());
+    }
+
+    void setServing(boolean serving) {
+        LONGS.setRelease(mapped, SERVING_OFFSET, serving ? 1L : 0L);
+    }
+
+    /** Пополняет ли производитель кольцо (флаг {@code serving} заголовка). */
+    public boolean isServing() {
+        return (long) LONGS.getAcquire(mapped, SERVING_OFFSET) != 0;
+    }
+
+    // ========================================================================
+    // Потребители (любое количество потоков и процессов)
+    // ========================================================================
+
+    /**
+     * Забирает до {@code len} значений. Без системных вызовов и без ожидания
+     * других потребителей.
+     *
+     * @return сколько значений скопировано (0, если кольцо пусто)
+     */
+    int claim(short[] dst, int off, int len) {
+        int count = 0;
+        while (count < len) {
+            long pos = (long) LONGS.getVolatile(mapped, CLAIM_OFFSET);
+            int value = take(pos);
+            if (value == EMPTY) {
+                break;
+            }
+            if (value != TAKEN) {
+                dst[off + count++] = (short) value;
+            }
+            // Сдвигаем курсор за себя или за потребителя, который забрал ячейку и не успел
+            LONGS.compareAndSet(mapped, CLAIM_OFFSET, pos, pos + 1);
+        }
+        return count;
+    }
+
+    /**
+     * Забирает значение позиции {@code pos} одним CAS по её ячейке, не трогая курсор.
+     *
+     * @return значение 0 … 65535, {@link #EMPTY} или {@link #TAKEN}
+     */
+    int take(long pos) {
+        int offset = slotOffset(pos & mask);
+        while (true) {
+            long slot = (long) LONGS.getVolatile(mapped, offset);
+            long seq = slot >>> SEQ_SHIFT;
+            if (seq <= pos) {
+                return EMPTY;
+            }
+            if (seq != pos + 1) {
+                return TAKEN;
+            }
+            // CAS — полный барьер: значение прочитано до того, как производитель увидит ячейку свободной
+            if (LONGS.compareAndSet(mapped, offset, slot, (pos + capacity) << SEQ_SHIFT)) {
+                return (int) (slot & 0xFFFF);
+            }
+        }
+    }
+
+    /** Сколько миллисекунд назад производитель последний раз подавал признаки жизни. */
+    public long heartbeatAgeMillis() {
+        return System.currentTimeMillis() - (long) LONGS.getAcquire(mapped, HEARTBEAT_OFFSET);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ========================================================================
+    // Producer / Consumer
+    // ========================================================================
+
+    /**
+     * Поток, переносящий числа из источника (обычно RNProvider) в кольцо
+     * и обновляющий heartbeat.
+     *
+     * Производитель {@link #quantumOnly} публикует только квантовые числа и только
+     * пока источник их выдаёт, держа в кольце не больше {@code prefetch} незабранных:
+     * каждое чтение ниже порога дозагрузки провайдера — запрос к ANU API, и
+     * заполнять большое кольцо впрок значит тратить квоту, пока никто не читает.
+     */
+    public static final class Producer implements AutoCloseable {
+        private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        private final SharedEntropyRing ring;
+        private final EntropySource source;
+        private final BooleanSupplier quantum;
+        private final boolean quantumOnly;
+        private final int prefetch;
+        private final short[] buffer;
+        private final long[] provenance;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        /** Переносит все числа источника, заполняя кольцо целиком. */
+        public Producer(SharedEntropyRing ring, EntropySource source) {
+            this(ring, source, () -> true, false, ring.capacity);
+        }
+
+        private Producer(SharedEntropyRing ring, EntropySource source, BooleanSupplier quantum,
+                         boolean quantumOnly, int prefetch) {
+            if (prefetch <= 0) {
+                throw new IllegalArgumentException("prefetch должен быть положительным, получено " + prefetch);
+            }
+            this.ring = ring;
+            this.source = source;
+            this.quantum = quantum;
+            this.quantumOnly = quantumOnly;
+            this.prefetch = Math.min(prefetch, ring.capacity);
+            this.buffer = new short[Math.min(ring.capacity, 4096)];
+            this.provenance = new long[ProvenanceBits.words(buffer.length)];
+            this.thread = new Thread(this::run, "entropy-ring-producer");
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Производитель только квантовых чисел.
+         *
+         * @param quantum  выдаёт ли источник сейчас квантовые числа (режим QUANTUM);
+         *                 пока нет — производитель не читает и снимает флаг {@code serving}
+         * @param prefetch сколько незабранных чисел держать в кольце
+         */
+        public static Producer quantumOnly(SharedEntropyRing ring, EntropySource source,
+                                           BooleanSupplier quantum, int prefetch) {
+            return new Producer(ring, source, quantum, true, prefetch);
+        }
+
+        public Producer start() {
+            thread.start();
+            return this;
+        }
+
+        private void run() {
+            try {
+                while (running) {
+                    ring.heartbeat();
+
+                    boolean serving = quantum.getAsBoolean();
+                    ring.setServing(serving);
+                    int room = Math.min(ring.freeSpace(), prefetch - ring.available());
+                    if (!serving || room <= 0) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                        continue;
+                    }
+
+                    int count = source.read(buffer, 0, Math.min(room, buffer.length), provenance);
+                    if (count == 0) {
+                        source.requestRefill();
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                        continue;
+                    }
+                    ring.publish(buffer, 0, quantumOnly ? keepQuantum(count) : count);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Shared entropy ring producer failed", e);
+            }
+        }
+
+        /** Сдвигает квантовые числа из первых {@code count} в начало буфера, псевдослучайные отбрасывает. */
+        private int keepQuantum(int count) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (ProvenanceBits.get(provenance, i)) {
+                    buffer[kept++] = buffer[i];
+                }
+            }
+            return kept;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * {@link EntropySource} поверх кольца. Если кольцо пусто, а производитель
+     * не подаёт признаков жизни дольше {@code staleMs}, потребитель, открытый по
+     * пути, ищет там пересозданное кольцо; не нашёл — чтение идёт из резервного
+     * источника. Так же и при пустом кольце, которое производитель перестал пополнять.
+     */
+    public static final class Consumer implements EntropySource, AutoCloseable {
+        /** Порог heartbeat по умолчанию. */
+        static final long DEFAULT_STALE_MS = 2000;
+
+        /** Как часто при молчащем производителе проверять, не пересоздан ли файл. */
+        private static final long RECONNECT_INTERVAL_MS = 500;
+
+        private final Path path;
+        private final EntropySource fallback;
+        private final long staleMs;
+        private volatile SharedEntropyRing ring;
+        private long lastReconnectMillis;
+
+        /**
+         * @param ring     открытое кольцо
+         * @param fallback резервный источник (может быть null — тогда при пустом кольце 0)
+         * @param staleMs  после скольких мс без heartbeat производитель считается мёртвым
+         */
+        public Consumer(SharedEntropyRing ring, EntropySource fallback, long staleMs) {
+            this(null, ring, fallback, staleMs);
+        }
+
+        private Consumer(Path path, SharedEntropyRing ring, EntropySource fallback, long staleMs) {
+            this.path = path;
+            this.ring = ring;
+            this.fallback = fallback;
+            this.staleMs = staleMs;
+        }
+
+        public static Consumer open(Path path, EntropySource fallback) throws IOException {
+            return open(path, fallback, DEFAULT_STALE_MS);
+        }
+
+        static Consumer open(Path path, EntropySource fallback, long staleMs) throws IOException {
+            return new Consumer(path, SharedEntropyRing.open(path), fallback, staleMs);
+        }
+
+        @Override
+        public int read(short[] dst, int off, int len) {
+            if (len <= 0) {
+                return 0;
+            }
+            int count = ring.claim(dst, off, len);
+            if (count > 0) {
+                return count;
+            }
+            if (!isProducerAlive() && reconnect()) {
+                count = ring.claim(dst, off, len);
+                if (count > 0) {
+                    return count;
+                }
+            }
+            return isServed() || fallback == null ? 0 : fallback.read(dst, off, len);
+        }
+
+        /** Производитель жив и пополняет кольцо — пустое кольцо скоро наполнится. */
+        private boolean isServed() {
+            return isProducerAlive() && ring.isServing();
+        }
+
+        /**
+         * Переходит на кольцо, пересозданное по тому же пути перезапущенным производителем.
+         *
+         * @return true, если кольцо сменилось
+         */
+        private synchronized boolean reconnect() {
+            long now = System.currentTimeMillis();
+            if (path == null || now - lastReconnectMillis < RECONNECT_INTERVAL_MS) {
+                return false;
+            }
+            lastReconnectMillis = now;
+            try {
+                var fresh = SharedEntropyRing.open(path);
+                if (fresh.epoch() == ring.epoch()) {
+                    fresh.close();
+                    return false;
+                }
+                var old = ring;
+                ring = fresh;
+                old.close();
+                LOGGER.info("Shared entropy ring was recreated, switched to the new file: " + path);
+                return true;
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Shared entropy ring is not available yet: " + path, e);
+                return false;
+            }
+        }
+
+        @Override
+        public void requestRefill() {
+            if (fallback != null && !isServed()) {
+                fallback.requestRefill();
+            }
+        }
+
+        public boolean isProducerAlive() {
+            return ring.heartbeatAgeMillis() <= staleMs;
+        }
+
+        @Override
+        public void close() throws IOException {
+            ring.close();
+        }
+    }
+}
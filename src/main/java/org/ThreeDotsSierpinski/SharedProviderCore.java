@@ -0,0 +1,237 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Общее ядро провайдера для нескольких потребителей одной JVM: один
+ * {@link RNProvider} — один HttpClient, один счётчик квоты API, один буфер.
+ *
+ * Потребители получают {@link Handle} с классом обслуживания ({@link QosClass}).
+ * Пока буфер полон (не меньше порога дозагрузки) или провайдер в PSEUDO режиме,
+ * каждый получает сколько просит. Когда квантовых чисел мало, остаток делится
+ * пропорционально весам активных потребителей (обращавшихся за последнюю
+ * секунду): интерактивная отрисовка вытесняет фоновые выборки, но не морит их
+ * голодом, пока у фоновых есть вес.
+ */
+public final class SharedProviderCore {
+
+    /**
+     * Класс обслуживания потребителя.
+     */
+    public enum QosClass {
+        /** Отрисовка и всё, что видит пользователь. */
+        INTERACTIVE(8),
+        /** Тесты случайности, выборки, экспорт. */
+        BACKGROUND(1);
+
+        final int defaultWeight;
+
+        QosClass(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    /** Потребитель считается активным столько после последнего обращения. */
+    static final long ACTIVE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static SharedProviderCore shared;
+
+    private final RNProvider provider;
+    private final int scarcityThreshold;
+    private final LongSupplier nanoClock;
+    private final List<Handle> handles = new CopyOnWriteArrayList<>();
+
+    public SharedProviderCore(RNProvider provider) {
+        this(provider, provider.getQueueMinSize(), System::nanoTime);
+    }
+
+    SharedProviderCore(RNProvider provider, int scarcityThreshold, LongSupplier nanoClock) {
+        if (provider == null) {
+            throw new IllegalArgumentException("provider не может быть null");
+        }
+        this.provider = provider;
+        this.scarcityThreshold = scarcityThreshold;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Ядро JVM, созданное из конфигурации при первом обращении.
+     */
+    public static synchronized SharedProviderCore shared() {
+        if (shared == null) {
+            shared = new SharedProviderCore(new RNProvider());
+        }
+        return shared;
+    }
+
+    public RNProvider getProvider() {
+        return provider;
+    }
+
+    /** Открывает потребителя с весом класса по умолчанию. */
+    public Handle open(String name, QosClass qos) {
+        return open(name, qos, qos.defaultWeight);
+    }
+
+    /**
+     * Открывает потребителя.
+     *
+     * @param weight доля при нехватке чисел относительно других активных потребителей
+     */
+    public Handle open(String name, QosClass qos, int weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("weight должен быть положительным, получено " + weight);
+        }
+        var handle = new Handle(name, qos, weight);
+        handles.add(handle);
+        return handle;
+    }
+
+    List<Handle> getHandles() {
+        return List.copyOf(handles);
+    }
+
+    /**
+     * Сколько чисел из {@code requested} может получить {@code handle} прямо сейчас.
+     */
+    private int allowance(Handle handle, int requested) {
+        if (provider.isForcedPseudo() || provider.getMode() == RNProvider.Mode.PSEUDO) {
+            return requested;
+        }
+        int available = provider.getQueueSize();
+        if (available >= scarcityThreshold) {
+            return requested;
+        }
+
+        // Нехватка: взвешенная справедливая доля среди активных потребителей
+        long now = nanoClock.getAsLong();
+        long totalWeight = 0;
+        for (Handle other : handles) {
+            if (other == handle || other.isActive(now)) {
+                totalWeight += other.weight;
+            }
+        }
+        int share = (int) ((long) available * handle.weight / totalWeight);
+        if (share == 0 && available > 0 && handle.qos == QosClass.INTERACTIVE) {
+            share = 1;  // интерактивный потребитель не ждёт округления
+        }
+        return Math.min(requested, share);
+    }
+
+    /**
+     * Дескриптор потребителя. Потокобезопасен.
+     */
+    public final class Handle implements EntropySource, AutoCloseable {
+        private final String name;
+        private final QosClass qos;
+        private final int weight;
+
+        private volatile long lastActiveNanos;
+        private volatile boolean everActive = false;
+
+        private final LongAdder requested = new LongAdder();
+        private final LongAdder served = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        private Handle(String name, QosClass qos, int weight) {
+            this.name = name;
+            this.qos = qos;
+            this.weight = weight;
+        }
+
+        @Override
+        public int read(short[] dst, int off, int len) {
+            return read(dst, off, len, null);
+        }
+
+        /** Как {@link #read(short[], int, int)}, с происхождением чисел (если {@code provenance} не null). */
+        @Override
+        public int read(short[] dst, int off, int len, long[] provenance) {
+            if (len <= 0) {
+                return 0;
+            }
+            touch();
+            requested.add(len);
+
+            int allowed = allowance(this, len);
+            if (allowed < len) {
+                throttled.increment();
+            }
+            if (allowed == 0) {
+                provider.requestRefill();
+                return 0;
+            }
+            int count = provenance == null
+                    ? provider.read(dst, off, allowed)
+                    : provider.read(dst, off, allowed, provenance);
+            served.add(count);
+            return count;
+        }
+
+        @Override
+        public void requestRefill() {
+            provider.requestRefill();
+        }
+
+        /** Одно число (НЕБЛОКИРУЮЩИЙ), с учётом доли потребителя. */
+        public OptionalInt getNextRandomNumber() {
+            return next(null);
+        }
+
+        /** Одно число с учётом в {@link EntropyLedger}. */
+        @Override
+        public OptionalInt getNextRandomNumber(EntropyLedger.Purpose purpose) {
+            return next(purpose);
+        }
+
+        private OptionalInt next(EntropyLedger.Purpose purpose) {
+            touch();
+            requested.increment();
+            if (allowance(this, 1) == 0) {
+                throttled.increment();
+                provider.requestRefill();
+                return OptionalInt.empty();
+            }
+            OptionalInt value = purpose == null
+                    ? provider.getNextRandomNumber()
+                    : provider.getNextRandomNumber(purpose);
+            if (value.isPresent()) {
+                served.increment();
+            }
+            return value;
+        }
+
+        private void touch() {
+            lastActiveNanos = nanoClock.getAsLong();
+            everActive = true;
+        }
+
+        private boolean isActive(long now) {
+            return everActive && now - lastActiveNanos <= ACTIVE_WINDOW_NANOS;
+        }
+
+        public String getName() { return name; }
+        public QosClass getQos() { return qos; }
+        public int getWeight() { return weight; }
+
+        /** Сколько чисел запрошено. */
+        public long getRequested() { return requested.sum(); }
+
+        /** Сколько чисел выдано. */
+        public long getServed() { return served.sum(); }
+
+        /** Сколько обращений урезано из-за нехватки. */
+        public long getThrottled() { return throttled.sum(); }
+
+        /** Отключает потребителя от ядра; его вес больше не учитывается. */
+        @Override
+        public void close() {
+            handles.remove(this);
+        }
+    }
+}
@@ -19,6 +19,9 @@ public class SierpinskiMode implements VisualizationMode {
 
     private static final int DOTS_PER_STEP = Config.getInt("dots.per.update");
 
+    /** Выбор одной из трёх вершин (randomValue % 3). */
+    private static final EntropyLedger.Purpose VERTEX = new EntropyLedger.Purpose("Sierpinski", "vertex", 3);
+
     private SierpinskiAlgorithm algorithm;
     private Point currentPoint;
     private int pointCount = 0;
@@ -49,13 +52,13 @@ public class SierpinskiMode implements VisualizationMode {
     }
 
     @Override
-    public List<Point> step(RNProvider provider, BufferedImage canvas, int dotSize) {
+    public List<Point> step(EntropySource provider, BufferedImage canvas, int dotSize) {
         var newPoints = new ArrayList<Point>();
         var g2d = canvas.createGraphics();
         g2d.setColor(Color.RED);
 
         for (int i = 0; i < DOTS_PER_STEP; i++) {
-            OptionalInt randomOpt = provider.getNextRandomNumber();
+            OptionalInt randomOpt = provider.getNextRandomNumber(VERTEX);
             if (randomOpt.isEmpty()) {
                 break; // Буфер пуст, прерываем batch, вернем то, что успели нарисовать
             }
@@ -0,0 +1,116 @@
+package org.ThreeDotsSierpinski;
+
+import java.util.Arrays;
+
+/**
+ * Бит-параллельный поиск m-битного шаблона в упакованном потоке — основа
+ * тестов Template Matching (NIST SP 800-22, 2.7 и 2.8).
+ *
+ * Поток один раз сдвигается на 0 … m − 1 бит ({@link #shiftedStreams}); после
+ * этого совпадение шаблона сразу во всех 64 позициях слова — AND m слов
+ * (сдвинутое слово или его инверсия по биту шаблона). Результат — битовая
+ * карта начал совпадений, по которой вхождения считаются через
+ * {@link Long#bitCount} и {@link Long#numberOfTrailingZeros}.
+ *
+ * Шаблон — {@code int}, бит j которого — j-й бит шаблона в потоке.
+ */
+final class TemplateMatcher {
+
+    private TemplateMatcher() {
+        // Utility class — не инстанцируется
+    }
+
+    /**
+     * Поток, сдвинутый на j = 0 … m − 1 бит: бит p строки j — бит p + j потока
+     * (за концом потока — нули). Общий для всех шаблонов длины m.
+     */
+    static long[][] shiftedStreams(long[] bits, int m) {
+        long[][] shifted = new long[m][];
+        shifted[0] = bits;
+        for (int j = 1; j < m; j++) {
+            long[] s = new long[bits.length];
+            for (int k = 0; k < bits.length; k++) {
+                long next = k + 1 < bits.length ? bits[k + 1] : 0;
+                s[k] = (bits[k] >>> j) | (next << (64 - j));
+            }
+            shifted[j] = s;
+        }
+        return shifted;
+    }
+
+    /** Битовая карта позиций, с которых начинается {@code template} длины m = shifted.length. */
+    static long[] matches(long[][] shifted, int template) {
+        int words = shifted[0].length;
+        long[] bitmap = new long[words];
+        for (int k = 0; k < words; k++) {
+            long match = -1L;
+            for (int j = 0; j < shifted.length; j++) {
+                long word = shifted[j][k];
+                match &= ((template >>> j) & 1) == 1 ? word : ~word;
+            }
+            bitmap[k] = match;
+        }
+        return bitmap;
+    }
+
+    /** Число установленных бит карты в позициях [from, to). */
+    static long countRange(long[] bitmap, long from, long to) {
+        long total = 0;
+        long i = from;
+        while (i < to) {
+            int w = (int) (i >>> 6);
+            long end = Math.min(to, ((long) w + 1) << 6);
+            long mask = -1L << (i & 63);
+            if ((end & 63) != 0) {
+                mask &= (1L << (end & 63)) - 1;
+            }
+            total += Long.bitCount(bitmap[w] & mask);
+            i = end;
+        }
+        return total;
+    }
+
+    /** Первая установленная позиция карты в [from, to) или −1. */
+    static long nextMatch(long[] bitmap, long from, long to) {
+        long i = from;
+        while (i < to) {
+            int w = (int) (i >>> 6);
+            long word = bitmap[w] & (-1L << (i & 63));
+            if (word != 0) {
+                long p = ((long) w << 6) + Long.numberOfTrailingZeros(word);
+                return p < to ? p : -1;
+            }
+            i = ((long) w + 1) << 6;
+        }
+        return -1;
+    }
+
+    /**
+     * Все апериодические шаблоны длины m — не совпадающие ни с одним своим
+     * сдвигом (ни один собственный префикс не равен суффиксу), в лексикографическом
+     * порядке записи шаблона. Для m = 9 их 148.
+     */
+    static int[] aperiodicTemplates(int m) {
+        int[] result = new int[1 << m];
+        int count = 0;
+        for (int v = 0; v < 1 << m; v++) {
+            // Запись v: первый бит шаблона — старший бит v
+            int template = Integer.reverse(v) >>> (32 - m);
+            if (isAperiodic(template, m)) {
+                result[count++] = template;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static boolean isAperiodic(int template, int m) {
+        for (int shift = 1; shift < m; shift++) {
+            int len = m - shift;
+            int mask = (1 << len) - 1;
+            if ((template & mask) == ((template >>> shift) & mask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -6,7 +6,7 @@ package org.ThreeDotsSierpinski;
  * @param testName  название теста
  * @param passed    true если тест пройден
  * @param statistic строковое представление ключевой метрики (например "p=0.847")
- * @param quality   уровень качества: STRONG / MARGINAL / FAIL
+ * @param quality   уровень качества: STRONG / MARGINAL / FAIL / SKIPPED
  */
 public record TestResult(String testName, boolean passed, String statistic, Quality quality) {
 
@@ -16,9 +16,19 @@ public record TestResult(String testName, boolean passed, String statistic, Qual
      * STRONG   — уверенно пройден, большой запас до порога
      * MARGINAL — пройден, но близко к порогу (требует внимания)
      * FAIL     — не пройден
+     * SKIPPED  — не выполнен: мало данных; не входит в счёт пройденных
      */
     public enum Quality {
-        STRONG, MARGINAL, FAIL
+        STRONG, MARGINAL, FAIL, SKIPPED;
+
+        /**
+         * Уровень по p-значению: STRONG при p ≥ 2α, MARGINAL при p ≥ α, иначе FAIL.
+         */
+        public static Quality ofPValue(double pValue, double alpha) {
+            return pValue >= 2 * alpha ? STRONG
+                 : pValue >= alpha     ? MARGINAL
+                 :                       FAIL;
+        }
     }
 
     /**
@@ -29,12 +39,25 @@ public record TestResult(String testName, boolean passed, String statistic, Qual
         this(testName, passed, statistic, passed ? Quality.STRONG : Quality.FAIL);
     }
 
+    /**
+     * Тест не выполнен: выборка меньше его минимума ({@link InsufficientDataException}).
+     */
+    public static TestResult skipped(String testName, String reason) {
+        return new TestResult(testName, false, "пропущен: " + reason, Quality.SKIPPED);
+    }
+
+    /** Тест пропущен и не считается ни пройденным, ни проваленным. */
+    public boolean isSkipped() {
+        return quality == Quality.SKIPPED;
+    }
+
     @Override
     public String toString() {
         String mark = switch (quality) {
             case STRONG -> "\u2713";   // ✓
             case MARGINAL -> "\u25CB"; // ○
             case FAIL -> "\u2717";     // ✗
+            case SKIPPED -> "\u2013";  // –
         };
         return mark + "  " + statistic + "    " + testName;
     }
@@ -8,7 +8,7 @@ import java.util.List;
  * Интерфейс для режимов визуализации случайных чисел.
  *
  * Каждый режим:
- * - Получает случайные числа из RNProvider
+ * - Получает случайные числа из EntropySource (в GUI — дескриптор SharedProviderCore)
  * - Рисует на BufferedImage
  * - Возвращает список нарисованных точек (для анимации RED→BLACK)
  *
@@ -48,7 +48,7 @@ public interface VisualizationMode {
      * @param dotSize  размер точки (из конфига)
      * @return список точек, нарисованных красным (для последующей перекраски в чёрный)
      */
-    List<Point> step(RNProvider provider, BufferedImage canvas, int dotSize);
+    List<Point> step(EntropySource provider, BufferedImage canvas, int dotSize);
 
     /** Количество нарисованных точек с момента initialize() */
     int getPointCount();
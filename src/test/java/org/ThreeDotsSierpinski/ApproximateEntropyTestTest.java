@@ -0,0 +1,73 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ApproximateEntropyTest (NIST Approximate Entropy Test).
+ *
+ * Покрывает:
+ * - p-значение на примере NIST SP 800-22 (2.12.4)
+ * - Выбор m по длине потока
+ * - Случайные данные → passed
+ * - Повторяющийся шаблон при балансе нулей и единиц → failed
+ * - Валидация (null, < 10)
+ */
+@DisplayName("ApproximateEntropyTest — приблизительная энтропия (ApEn)")
+@Tag("fast")
+class ApproximateEntropyTestTest {
+
+    @Test
+    @DisplayName("Пример NIST: ε = 0100110101, m = 3 → p = 0.261961")
+    void testNistExample() {
+        long[] bits = new long[1];
+        String stream = "0100110101";
+        for (int i = 0; i < stream.length(); i++) {
+            if (stream.charAt(i) == '1') bits[0] |= 1L << i;
+        }
+        assertEquals(0.261961, ApproximateEntropyTest.pValue(bits, 10, 3), 1e-5);
+    }
+
+    @Test
+    @DisplayName("m < ⌊log₂ n⌋ − 5, от 1 до 10")
+    void testPatternLength() {
+        assertEquals(1, ApproximateEntropyTest.patternLength(160));
+        assertEquals(5, ApproximateEntropyTest.patternLength(3200));
+        assertEquals(10, ApproximateEntropyTest.patternLength(1_600_000));
+    }
+
+    @Test
+    @DisplayName("Случайные uint16 → passed")
+    void testRandomPasses() {
+        var sample = Sample.of(new Random(42).longs(5000, 0, 65536).toArray());
+        TestResult result = new ApproximateEntropyTest().testSample(sample, 0.05);
+        assertTrue(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("Числа из четырёх сбалансированных шаблонов → failed, частотный тест проходит")
+    void testRepeatingPatternFails() {
+        long[] patterns = {0x00FF, 0xFF00, 0x0F0F, 0xF0F0};
+        var random = new Random(2);
+        long[] values = new long[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = patterns[random.nextInt(patterns.length)];
+        }
+        var sample = Sample.of(values);
+        assertFalse(new ApproximateEntropyTest().testSample(sample, 0.05).passed());
+        assertTrue(new FrequencyBitTest().testSample(sample, 0.05).passed());
+    }
+
+    @Test
+    @DisplayName("null и меньше 10 чисел → IllegalArgumentException")
+    void testValidation() {
+        var test = new ApproximateEntropyTest();
+        assertThrows(IllegalArgumentException.class, () -> test.testSample(null, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> test.testSample(Sample.of(1, 2, 3), 0.05));
+    }
+}
@@ -0,0 +1,186 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для BatchQualityMonitor и p-значений, на которых он построен.
+ *
+ * Покрывает:
+ * - MathUtils.igamc: известные значения и критическое значение χ²
+ * - Случайная партия проходит, константная и смещённая — FAIL
+ * - Кольцо фиксированного размера: порядок, вытеснение, счётчики
+ * - Фильтр по происхождению и спарклайн
+ * - Партии RNProvider попадают в монитор при загрузке, включая PSEUDO-блок fallback
+ */
+@DisplayName("BatchQualityMonitor — качество каждой партии при поступлении")
+@Tag("fast")
+class BatchQualityMonitorTest {
+
+    private static short[] randomBatch(long seed, int size) {
+        var random = new SplittableRandom(seed);
+        short[] batch = new short[size];
+        for (int i = 0; i < size; i++) {
+            batch[i] = (short) random.nextInt(65536);
+        }
+        return batch;
+    }
+
+    @Nested
+    @DisplayName("MathUtils.igamc")
+    class IgamcTests {
+
+        @Test
+        @DisplayName("Q(1, x) = e^-x, Q(1/2, x) = erfc(√x)")
+        void testKnownValues() {
+            for (double x : new double[]{0.1, 1, 3.5, 10}) {
+                assertEquals(Math.exp(-x), MathUtils.igamc(1, x), 1e-10);
+                assertEquals(MathUtils.erfc(Math.sqrt(x)), MathUtils.igamc(0.5, x), 1e-6);
+            }
+            assertEquals(1.0, MathUtils.igamc(7.5, 0));
+        }
+
+        @Test
+        @DisplayName("χ² с 15 степенями свободы: критическое 24.996 соответствует p = 0.05")
+        void testChiSquareCritical() {
+            assertEquals(0.05, MathUtils.igamc(7.5, 24.996 / 2), 1e-4);
+            assertEquals(0.01, MathUtils.igamc(7.5, 30.578 / 2), 1e-4);
+        }
+
+        @Test
+        @DisplayName("Некорректные аргументы")
+        void testValidation() {
+            assertThrows(IllegalArgumentException.class, () -> MathUtils.igamc(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> MathUtils.igamc(1, -1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Оценка партии")
+    class AssessmentTests {
+
+        @Test
+        @DisplayName("Случайная партия проходит все три теста")
+        void testRandomBatch() {
+            var monitor = new BatchQualityMonitor();
+            var quality = monitor.record(randomBatch(42, 1024), 0, 1024, RNProvider.Mode.QUANTUM);
+
+            assertNotNull(quality);
+            assertEquals(1024, quality.size());
+            assertEquals(RNProvider.Mode.QUANTUM, quality.source());
+            assertTrue(quality.minP() >= BatchQualityMonitor.ALPHA, quality.toString());
+            assertNotEquals(TestResult.Quality.FAIL, quality.quality());
+        }
+
+        @Test
+        @DisplayName("Константная партия — FAIL, p-значения около нуля")
+        void testConstantBatch() {
+            short[] batch = new short[1024];
+            java.util.Arrays.fill(batch, (short) 0x00FF);
+            var quality = new BatchQualityMonitor().record(batch, 0, batch.length, RNProvider.Mode.QUANTUM);
+
+            assertEquals(TestResult.Quality.FAIL, quality.quality());
+            assertTrue(quality.chiSquareP() < 1e-10);
+        }
+
+        @Test
+        @DisplayName("Смещённая партия (лишние единицы) — FAIL по Frequency")
+        void testBiasedBatch() {
+            short[] batch = randomBatch(7, 1024);
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] |= 0x0101;
+            }
+            var quality = new BatchQualityMonitor().record(batch, 0, batch.length, RNProvider.Mode.QUANTUM);
+
+            assertTrue(quality.monobitP() < BatchQualityMonitor.ALPHA);
+            assertEquals(TestResult.Quality.FAIL, quality.quality());
+        }
+
+        @Test
+        @DisplayName("p-значение партии совпадает с Online-тестом, а не зависит от смещения")
+        void testOffsetAndShortBatch() {
+            short[] batch = randomBatch(3, 600);
+            var monitor = new BatchQualityMonitor();
+            var quality = monitor.record(batch, 100, 500, RNProvider.Mode.PSEUDO);
+
+            var online = new FrequencyBitTest.Online();
+            online.acceptAll(batch, 100, 500);
+            assertEquals(online.pValue(), quality.monobitP(), 1e-12);
+
+            assertNull(monitor.record(batch, 0, BatchQualityMonitor.MIN_BATCH_SIZE - 1, RNProvider.Mode.PSEUDO));
+            assertEquals(1, monitor.getRecorded());
+        }
+    }
+
+    @Nested
+    @DisplayName("Кольцо и представления")
+    class RingTests {
+
+        @Test
+        @DisplayName("Кольцо хранит последние capacity партий от старой к новой")
+        void testRingOrder() {
+            var clock = new AtomicLong();
+            var monitor = new BatchQualityMonitor(3, clock::incrementAndGet);
+            short[] batch = randomBatch(1, 256);
+            for (int i = 0; i < 5; i++) {
+                monitor.record(batch, 0, batch.length, RNProvider.Mode.QUANTUM);
+            }
+
+            var history = monitor.snapshot();
+            assertEquals(3, history.size());
+            assertEquals(3, history.get(0).timestampMillis());
+            assertEquals(5, history.get(2).timestampMillis());
+            assertSame(history.get(2), monitor.getLast());
+            assertEquals(5, monitor.getRecorded());
+            assertThrows(IllegalArgumentException.class, () -> new BatchQualityMonitor(0, clock::get));
+        }
+
+        @Test
+        @DisplayName("Фильтр по происхождению, счётчик FAIL и спарклайн")
+        void testSourceFilterAndSparkline() {
+            var monitor = new BatchQualityMonitor();
+            assertNull(monitor.getLast());
+            assertEquals("", BatchQualityMonitor.sparkline(monitor.snapshot()));
+
+            monitor.record(randomBatch(5, 1024), 0, 1024, RNProvider.Mode.QUANTUM);
+            monitor.record(randomBatch(6, 1024), 0, 1024, RNProvider.Mode.PSEUDO);
+            monitor.record(new short[1024], 0, 1024, RNProvider.Mode.QUANTUM);
+
+            var quantum = monitor.snapshot(RNProvider.Mode.QUANTUM);
+            assertEquals(2, quantum.size());
+            assertEquals(1, monitor.snapshot(RNProvider.Mode.PSEUDO).size());
+            assertEquals(1, monitor.getFailed());
+
+            String spark = BatchQualityMonitor.sparkline(quantum);
+            assertEquals(2, spark.length());
+            assertEquals('▁', spark.charAt(1), "Нулевая партия — нижний уровень");
+        }
+    }
+
+    @Nested
+    @DisplayName("Интеграция с RNProvider")
+    class ProviderTests {
+
+        @Test
+        @DisplayName("Без API-ключа: оценён только PSEUDO-блок, квантовый спарклайн пуст")
+        void testMetricsWithoutQuantumBatches() {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            var metrics = provider.getMetrics();
+
+            assertEquals(1, metrics.getBatchesAssessed(), "Блок, залитый при переходе в PSEUDO");
+            assertEquals(RNProvider.Mode.PSEUDO, provider.getBatchQuality().getLast().source());
+            assertFalse(Double.isNaN(metrics.getLastBatchMinPValue()));
+            assertEquals("", metrics.getQuantumBatchSparkline());
+        }
+    }
+}
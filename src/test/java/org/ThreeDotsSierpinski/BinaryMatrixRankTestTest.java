@@ -0,0 +1,88 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для BinaryMatrixRankTest (NIST Binary Matrix Rank Test).
+ *
+ * Покрывает:
+ * - Ранг над GF(2): единичная, нулевая, с зависимыми строками
+ * - p-значение на примере NIST SP 800-22 (2.5.8)
+ * - Параллельный путь совпадает с последовательным подсчётом
+ * - Случайные данные → passed, повторяющиеся строки → failed
+ * - Валидация (null, меньше 38 матриц → InsufficientDataException)
+ */
+@DisplayName("BinaryMatrixRankTest — ранг двоичных матриц 32×32")
+@Tag("fast")
+class BinaryMatrixRankTestTest {
+
+    @Test
+    @DisplayName("Ранг: единичная 32, нулевая 0, строка-сумма двух других снижает ранг")
+    void testRank() {
+        int[] identity = new int[32];
+        for (int i = 0; i < 32; i++) identity[i] = 1 << i;
+        assertEquals(32, BinaryMatrixRankTest.rank(identity));
+        assertEquals(0, BinaryMatrixRankTest.rank(new int[32]));
+
+        int[] dependent = new int[32];
+        for (int i = 0; i < 32; i++) dependent[i] = 1 << i;
+        dependent[31] = dependent[3] ^ dependent[17];
+        assertEquals(31, BinaryMatrixRankTest.rank(dependent));
+    }
+
+    @Test
+    @DisplayName("Пример NIST: 97 матриц, 23 / 60 / 14 → p = 0.532069")
+    void testNistExample() {
+        assertEquals(0.532069, BinaryMatrixRankTest.pValue(new long[]{23, 60, 14}), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Параллельный путь совпадает с подсчётом по одной матрице")
+    void testParallelMatchesSequential() {
+        int matrices = 2 * BinaryMatrixRankTest.PARALLEL_THRESHOLD + 17;
+        long[] bits = new Random(6).longs(matrices * 16L).toArray();
+
+        long[] expected = new long[3];
+        for (int m = 0; m < matrices; m++) {
+            long[] one = new long[16];
+            System.arraycopy(bits, m * 16, one, 0, 16);
+            long[] counts = BinaryMatrixRankTest.rankCounts(one, 1);
+            for (int i = 0; i < 3; i++) expected[i] += counts[i];
+        }
+        assertArrayEquals(expected, BinaryMatrixRankTest.rankCounts(bits, matrices));
+    }
+
+    @Test
+    @DisplayName("Случайные uint16 → passed")
+    void testRandomPasses() {
+        var sample = Sample.of(new Random(42).longs(20_000, 0, 65536).toArray());
+        TestResult result = new BinaryMatrixRankTest().testSample(sample, 0.05);
+        assertTrue(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("Каждые 32 бита повторяются дважды → ранг ≤ 16, failed")
+    void testRepeatedRowsFail() {
+        long[] values = new Random(1).longs(20_000, 0, 65536).toArray();
+        for (int i = 2; i < values.length; i += 4) {
+            values[i] = values[i - 2];
+            values[i + 1] = values[i - 1];
+        }
+        TestResult result = new BinaryMatrixRankTest().testSample(Sample.of(values), 0.05);
+        assertFalse(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("null и меньше 38 матриц → InsufficientDataException")
+    void testValidation() {
+        var test = new BinaryMatrixRankTest();
+        assertThrows(InsufficientDataException.class, () -> test.testSample(null, 0.05));
+        assertThrows(InsufficientDataException.class, () -> test.testSample(Sample.of(new long[37 * 64]), 0.05));
+    }
+}
@@ -0,0 +1,103 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для BlockFrequencyTest (NIST Frequency Test within a Block).
+ *
+ * Покрывает:
+ * - Выбор M: кратно 64, не меньше 128, не больше 99 блоков
+ * - Подсчёт по словам совпадает с побитовым
+ * - Случайные данные → passed; блоки с перекосом при общем балансе → failed
+ * - Валидация (null, < 10, M не кратно 64, выборка короче блока)
+ */
+@DisplayName("BlockFrequencyTest — блочный частотный тест")
+@Tag("fast")
+class BlockFrequencyTestTest {
+
+    /** Побитовый эталон. */
+    private static double naive(long[] bits, long n, int m) {
+        long blocks = n / m;
+        double sum = 0;
+        for (long b = 0; b < blocks; b++) {
+            long ones = 0;
+            for (long i = b * m; i < (b + 1) * m; i++) {
+                ones += (bits[(int) (i >>> 6)] >>> i) & 1;
+            }
+            double deviation = (double) ones / m - 0.5;
+            sum += deviation * deviation;
+        }
+        return MathUtils.igamc(blocks / 2.0, 2.0 * m * sum);
+    }
+
+    @Nested
+    @DisplayName("Вычисление")
+    class ComputationTests {
+
+        @Test
+        @DisplayName("M кратно 64, не меньше 128, блоков не больше 99")
+        void testBlockSize() {
+            assertEquals(128, BlockFrequencyTest.blockBitsFor(160));
+            for (long n : new long[]{10_000, 1_000_000, 100_000_000}) {
+                int m = BlockFrequencyTest.blockBitsFor(n);
+                assertEquals(0, m % 64);
+                assertTrue(n / m <= BlockFrequencyTest.MAX_BLOCKS, "n=" + n + ", M=" + m);
+                assertTrue(m > n / 100, "M > 0.01·n");
+            }
+        }
+
+        @Test
+        @DisplayName("Подсчёт по словам совпадает с побитовым")
+        void testMatchesNaive() {
+            var sample = Sample.of(new Random(9).longs(5000, 0, 65536).toArray());
+            for (int m : new int[]{128, 256, 1024}) {
+                assertEquals(naive(sample.bits(), sample.bitLength(), m),
+                        BlockFrequencyTest.pValue(sample.bits(), sample.bitLength(), m), 1e-12);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("testSample()")
+    class SampleTests {
+
+        @Test
+        @DisplayName("Случайные uint16 → passed")
+        void testRandomPasses() {
+            var sample = Sample.of(new Random(42).longs(2000, 0, 65536).toArray());
+            TestResult result = new BlockFrequencyTest().testSample(sample, 0.05);
+            assertTrue(result.passed(), result.statistic());
+        }
+
+        @Test
+        @DisplayName("Чередование блоков 0xFFFF и 0x0000: баланс в целом, перекос в блоках → failed")
+        void testUnbalancedBlocksFail() {
+            long[] values = new long[2048];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (i / 64) % 2 == 0 ? 0xFFFF : 0;
+            }
+            TestResult result = new BlockFrequencyTest(1024).testSample(Sample.of(values), 0.05);
+            assertFalse(result.passed(), result.statistic());
+            assertTrue(new FrequencyBitTest().testSample(Sample.of(values), 0.05).passed(),
+                    "Обычный частотный тест перекоса не видит");
+        }
+
+        @Test
+        @DisplayName("Некорректные аргументы → IllegalArgumentException")
+        void testValidation() {
+            var test = new BlockFrequencyTest();
+            assertThrows(IllegalArgumentException.class, () -> test.testSample(null, 0.05));
+            assertThrows(IllegalArgumentException.class, () -> test.testSample(Sample.of(1, 2, 3), 0.05));
+            assertThrows(IllegalArgumentException.class, () -> new BlockFrequencyTest(100));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BlockFrequencyTest(1024).testSample(Sample.of(new long[20]), 0.05));
+        }
+    }
+}
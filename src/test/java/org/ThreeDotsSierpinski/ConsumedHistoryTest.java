@@ -0,0 +1,143 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ConsumedHistory (история потреблённых чисел без блокировок).
+ *
+ * Покрывает:
+ * - Порядок от старых к новым и вытеснение по кругу
+ * - Выборка по происхождению, карта и общий флаг блока
+ * - Из блока длиннее кольца остаётся хвост
+ * - Параллельные писатели: значение и его происхождение не расходятся
+ */
+@DisplayName("ConsumedHistory — история потреблённых чисел")
+@Tag("fast")
+class ConsumedHistoryTest {
+
+    private static short[] range(int from, int count) {
+        short[] values = new short[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (short) (from + i);
+        }
+        return values;
+    }
+
+    @Nested
+    @DisplayName("Один писатель")
+    class SingleWriterTests {
+
+        @Test
+        @DisplayName("last: от старых к новым, после круга — только последние")
+        void testLastAndWrap() {
+            var history = new ConsumedHistory(4);
+            assertArrayEquals(new long[0], history.last(10));
+
+            for (int v = 1; v <= 6; v++) {
+                history.add(v, false);
+            }
+            assertArrayEquals(new long[]{3, 4, 5, 6}, history.last(10));
+            assertArrayEquals(new long[]{5, 6}, history.last(2));
+            assertEquals(6, history.total());
+        }
+
+        @Test
+        @DisplayName("select: по карте происхождения и по флагу блока")
+        void testSelect() {
+            var history = new ConsumedHistory(16);
+            long[] provenance = new long[1];
+            ProvenanceBits.set(provenance, 1, true);
+            ProvenanceBits.set(provenance, 3, true);
+
+            history.addAll(range(10, 4), 0, 4, provenance, false);   // 11 и 13 квантовые
+            history.addAll(range(20, 2), 0, 2, null, true);
+            history.add(0xFFFF, false);
+
+            assertArrayEquals(new long[]{11, 13, 20, 21}, history.select(true));
+            assertArrayEquals(new long[]{10, 12, 0xFFFF}, history.select(false));
+        }
+
+        @Test
+        @DisplayName("Блок длиннее кольца: сохраняется хвост, total учитывает весь блок")
+        void testOversizedBlock() {
+            var history = new ConsumedHistory(3);
+            history.addAll(range(100, 10), 2, 8, null, true);
+
+            assertArrayEquals(new long[]{107, 108, 109}, history.select(true));
+            assertEquals(8, history.total());
+        }
+
+        @Test
+        @DisplayName("Ёмкость должна быть положительной")
+        void testInvalidCapacity() {
+            assertThrows(IllegalArgumentException.class, () -> new ConsumedHistory(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Параллельные писатели")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Снимки во время записи: квантовые — только нечётные, псевдо — только чётные")
+        void testProvenanceStaysWithValue() throws Exception {
+            var history = new ConsumedHistory(1024);
+            var stop = new AtomicBoolean(false);
+            var failure = new AtomicReference<Throwable>();
+            var start = new CountDownLatch(1);
+
+            List<Thread> writers = new ArrayList<>();
+            for (int w = 0; w < 3; w++) {
+                int seed = w;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                        short[] block = new short[7];
+                        long[] provenance = new long[1];
+                        for (int n = seed; !stop.get(); n++) {
+                            int v = n & 0x7FFF;
+                            history.add(v, (v & 1) == 1);
+                            for (int i = 0; i < block.length; i++) {
+                                block[i] = (short) (v + i);
+                                ProvenanceBits.set(provenance, i, ((v + i) & 1) == 1);
+                            }
+                            history.addAll(block, 0, block.length, provenance, false);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }));
+            }
+
+            start.countDown();
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            for (int round = 0; round < 500 || history.total() < 100_000; round++) {
+                assertTrue(System.nanoTime() < deadline, "Писатели не продвигаются");
+                for (long v : history.select(true)) {
+                    assertEquals(1, v & 1, "квантовое значение " + v);
+                }
+                for (long v : history.select(false)) {
+                    assertEquals(0, v & 1, "псевдослучайное значение " + v);
+                }
+                assertTrue(history.last(2048).length <= 1024);
+            }
+            stop.set(true);
+            for (Thread writer : writers) {
+                writer.join(5_000);
+            }
+            assertNull(failure.get());
+            assertEquals(1024, history.last(2048).length, "После остановки писателей окно заполнено");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для CumulativeSumsTest (NIST Cusum).
+ *
+ * Покрывает:
+ * - p-значение на примере NIST SP 800-22 (2.13.4)
+ * - Байтовые таблицы совпадают с побитовым подсчётом z (прямой и обратный)
+ * - Случайные данные → passed, смещённые → failed
+ * - Валидация (null, < 10)
+ */
+@DisplayName("CumulativeSumsTest — кумулятивные суммы (Cusum)")
+@Tag("fast")
+class CumulativeSumsTestTest {
+
+    /** Побитовый эталон: p-значения прямого и обратного прохода. */
+    private static double[] naive(long[] bits, long n) {
+        long s = 0;
+        long forward = 0;
+        long[] prefix = new long[(int) n + 1];
+        for (int i = 0; i < n; i++) {
+            s += ((bits[i >>> 6] >>> i) & 1) == 1 ? 1 : -1;
+            prefix[i + 1] = s;
+            forward = Math.max(forward, Math.abs(s));
+        }
+        long backward = 0;
+        for (int k = 0; k < n; k++) {
+            backward = Math.max(backward, Math.abs(s - prefix[k]));
+        }
+        return new double[]{CumulativeSumsTest.pValue(n, forward), CumulativeSumsTest.pValue(n, backward)};
+    }
+
+    @Nested
+    @DisplayName("Вычисление")
+    class ComputationTests {
+
+        @Test
+        @DisplayName("Пример NIST: n = 10, z = 4 → p = 0.4116588")
+        void testNistExample() {
+            assertEquals(0.4116588, CumulativeSumsTest.pValue(10, 4), 1e-6);
+        }
+
+        @Test
+        @DisplayName("Байтовые таблицы совпадают с побитовым подсчётом")
+        void testMatchesNaive() {
+            var random = new Random(11);
+            for (int trial = 0; trial < 20; trial++) {
+                long[] values = random.longs(50 + trial * 37, 0, 65536).toArray();
+                if (trial % 3 == 0) {
+                    for (int i = 0; i < values.length; i++) values[i] |= 0x0F00;  // дрейф вверх
+                }
+                var sample = Sample.of(values);
+                double[] expected = naive(sample.bits(), sample.bitLength());
+                double[] actual = CumulativeSumsTest.pValues(sample.bits(), sample.bitLength());
+                assertArrayEquals(expected, actual, 1e-12, "trial " + trial);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("testSample()")
+    class SampleTests {
+
+        @Test
+        @DisplayName("Случайные uint16 → passed")
+        void testRandomPasses() {
+            var sample = Sample.of(new Random(42).longs(2000, 0, 65536).toArray());
+            TestResult result = new CumulativeSumsTest().testSample(sample, 0.05);
+            assertTrue(result.passed(), result.statistic());
+            assertTrue(result.statistic().contains("p→=") && result.statistic().contains("p←="));
+        }
+
+        @Test
+        @DisplayName("Лишние единицы → failed")
+        void testBiasedFails() {
+            long[] values = new Random(3).longs(2000, 0, 65536).toArray();
+            Arrays.setAll(values, i -> values[i] | 0x0001);
+            TestResult result = new CumulativeSumsTest().testSample(Sample.of(values), 0.05);
+            assertFalse(result.passed(), result.statistic());
+        }
+
+        @Test
+        @DisplayName("null и меньше 10 чисел → IllegalArgumentException")
+        void testValidation() {
+            var test = new CumulativeSumsTest();
+            assertThrows(IllegalArgumentException.class, () -> test.testSample(null, 0.05));
+            assertThrows(IllegalArgumentException.class, () -> test.testSample(Sample.of(1, 2, 3), 0.05));
+        }
+    }
+}
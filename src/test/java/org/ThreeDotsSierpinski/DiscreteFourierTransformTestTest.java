@@ -0,0 +1,61 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для DiscreteFourierTransformTest (NIST Spectral Test).
+ *
+ * Покрывает:
+ * - Длина преобразования: степень двойки, не больше MAX_BITS
+ * - Случайные данные → passed
+ * - Периодическая последовательность, проходящая частотный тест → failed
+ * - Валидация (null, меньше 64 чисел)
+ */
+@DisplayName("DiscreteFourierTransformTest — спектральный тест (DFT)")
+@Tag("fast")
+class DiscreteFourierTransformTestTest {
+
+    @Test
+    @DisplayName("Длина преобразования — наибольшая степень двойки")
+    void testTransformLength() {
+        assertEquals(1024, DiscreteFourierTransformTest.transformLength(1024));
+        assertEquals(1024, DiscreteFourierTransformTest.transformLength(2000));
+        assertEquals(DiscreteFourierTransformTest.MAX_BITS,
+                DiscreteFourierTransformTest.transformLength(100_000_000L));
+    }
+
+    @Test
+    @DisplayName("Случайные uint16 → passed")
+    void testRandomPasses() {
+        var sample = Sample.of(new Random(42).longs(5000, 0, 65536).toArray());
+        TestResult result = new DiscreteFourierTransformTest().testSample(sample, 0.05);
+        assertTrue(result.passed(), result.statistic());
+        assertTrue(result.statistic().contains("n=65536"), result.statistic());
+    }
+
+    @Test
+    @DisplayName("Каждое второе число — 0x5555 → failed, частотный тест не видит")
+    void testPeriodicFails() {
+        long[] values = new Random(7).longs(5000, 0, 65536).toArray();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i & 1) == 0 ? 0x5555 : values[i];
+        }
+        var sample = Sample.of(values);
+        assertFalse(new DiscreteFourierTransformTest().testSample(sample, 0.05).passed());
+        assertTrue(new FrequencyBitTest().testSample(sample, 0.05).passed());
+    }
+
+    @Test
+    @DisplayName("null и меньше 64 чисел → IllegalArgumentException")
+    void testValidation() {
+        var test = new DiscreteFourierTransformTest();
+        assertThrows(IllegalArgumentException.class, () -> test.testSample(null, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> test.testSample(Sample.of(new long[63]), 0.05));
+    }
+}
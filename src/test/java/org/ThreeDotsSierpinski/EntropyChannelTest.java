@@ -0,0 +1,200 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для EntropyChannel и EntropyInputStream.
+ *
+ * Покрывает:
+ * - Порядок байтов (младший байт слова первым), heap и direct буферы
+ * - Слово, разделённое между двумя чтениями
+ * - UnderflowPolicy: BLOCK ждёт заполнения, SHORT_COUNT возвращает сколько есть
+ * - InputStream: read() / read(byte[]) / readNBytes поверх RNProvider
+ */
+@DisplayName("EntropyChannel / EntropyInputStream — байтовый доступ к буферу")
+@Tag("fast")
+class EntropyChannelTest {
+
+    /** Источник 0, 1, 2, ... (mod 65536), отдающий не больше {@code budget} слов. */
+    private static class CountingSource implements EntropySource {
+        int next = 0;
+        int budget;
+        final AtomicInteger reads = new AtomicInteger();
+
+        CountingSource(int budget) {
+            this.budget = budget;
+        }
+
+        @Override
+        public synchronized int read(short[] dst, int off, int len) {
+            reads.incrementAndGet();
+            int count = Math.min(len, budget);
+            for (int i = 0; i < count; i++) {
+                dst[off + i] = (short) next++;
+            }
+            budget -= count;
+            return count;
+        }
+
+        synchronized void add(int words) {
+            budget += words;
+        }
+    }
+
+    @Nested
+    @DisplayName("EntropyChannel")
+    class ChannelTests {
+
+        @Test
+        @DisplayName("Младший байт слова первым (heap и direct буферы)")
+        void testByteOrder() throws IOException {
+            var source = new CountingSource(Integer.MAX_VALUE);
+            source.next = 0x0201;
+            var channel = new EntropyChannel(source);
+
+            var heap = ByteBuffer.allocate(4);
+            assertEquals(4, channel.read(heap));
+            assertArrayEquals(new byte[]{0x01, 0x02, 0x02, 0x02}, heap.array());
+
+            var direct = ByteBuffer.allocateDirect(2);
+            assertEquals(2, channel.read(direct));
+            assertEquals(0x03, direct.get(0));
+            assertEquals(0x02, direct.get(1));
+        }
+
+        @Test
+        @DisplayName("Нечётная длина: старший байт выдаётся в следующем чтении")
+        void testSplitWord() throws IOException {
+            var channel = new EntropyChannel(new CountingSource(Integer.MAX_VALUE));
+
+            var first = ByteBuffer.allocate(3);
+            channel.read(first);
+            var second = ByteBuffer.allocate(3);
+            channel.read(second);
+
+            // слова 0x0000, 0x0001, 0x0002 → байты 00 00 01 | 00 02 00
+            assertArrayEquals(new byte[]{0, 0, 1}, first.array());
+            assertArrayEquals(new byte[]{0, 2, 0}, second.array());
+        }
+
+        @Test
+        @DisplayName("Большой буфер читается блоками по BLOCK_WORDS")
+        void testBulkReads() throws IOException {
+            var source = new CountingSource(Integer.MAX_VALUE);
+            var channel = new EntropyChannel(source);
+
+            var buffer = ByteBuffer.allocate(EntropyChannel.BLOCK_WORDS * 2 * 3);
+            assertEquals(buffer.capacity(), channel.read(buffer));
+            assertEquals(3, source.reads.get());
+        }
+
+        @Test
+        @DisplayName("SHORT_COUNT: возвращает сколько есть, в том числе 0")
+        void testShortCount() throws IOException {
+            var source = new CountingSource(3);
+            var channel = new EntropyChannel(source, EntropyChannel.UnderflowPolicy.SHORT_COUNT, 1000);
+
+            assertEquals(6, channel.read(ByteBuffer.allocate(100)));
+            assertEquals(0, channel.read(ByteBuffer.allocate(100)));
+        }
+
+        @Test
+        @DisplayName("BLOCK: ждёт, пока данные не заполнят буфер целиком")
+        void testBlockWaitsForData() throws Exception {
+            var source = new CountingSource(2);
+            var channel = new EntropyChannel(source, EntropyChannel.UnderflowPolicy.BLOCK, 5000);
+
+            Thread.startVirtualThread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                source.add(10);
+            });
+
+            assertEquals(20, channel.read(ByteBuffer.allocate(20)));
+        }
+
+        @Test
+        @DisplayName("BLOCK: источник молчит дольше таймаута → IOException")
+        void testBlockTimeout() {
+            var channel = new EntropyChannel(new CountingSource(0), EntropyChannel.UnderflowPolicy.BLOCK, 50);
+            assertThrows(IOException.class, () -> channel.read(ByteBuffer.allocate(4)));
+        }
+
+        @Test
+        @DisplayName("Закрытый канал → ClosedChannelException")
+        void testClosed() {
+            var channel = new EntropyChannel(new CountingSource(10));
+            channel.close();
+
+            assertFalse(channel.isOpen());
+            assertThrows(ClosedChannelException.class, () -> channel.read(ByteBuffer.allocate(4)));
+        }
+    }
+
+    @Nested
+    @DisplayName("EntropyInputStream")
+    class InputStreamTests {
+
+        @Test
+        @DisplayName("read() и read(byte[]) выдают те же байты, что и канал")
+        void testRead() throws IOException {
+            try (var in = new EntropyInputStream(new CountingSource(Integer.MAX_VALUE))) {
+                assertEquals(0, in.read());
+                assertEquals(0, in.read());
+                assertEquals(1, in.read());
+
+                byte[] bytes = new byte[3];
+                assertEquals(3, in.read(bytes));
+                assertArrayEquals(new byte[]{0, 2, 0}, bytes);
+            }
+        }
+
+        @Test
+        @DisplayName("SHORT_COUNT: ждёт хотя бы один байт, затем короткое чтение")
+        void testShortCountAtLeastOne() throws Exception {
+            var source = new CountingSource(0);
+            Thread.startVirtualThread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                source.add(2);
+            });
+
+            try (var in = new EntropyInputStream(source, EntropyChannel.UnderflowPolicy.SHORT_COUNT, 5000)) {
+                assertEquals(4, in.read(new byte[100]));
+            }
+        }
+
+        @Test
+        @DisplayName("readNBytes поверх RNProvider в PSEUDO режиме: 2 байта на число")
+        void testReadFromProvider() throws IOException {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+
+            byte[] bytes;
+            try (var in = new EntropyInputStream(provider)) {
+                bytes = in.readNBytes(10_000);
+            }
+
+            assertEquals(10_000, bytes.length);
+            assertEquals(5_000, provider.getConsumedNumbers().size());
+        }
+    }
+}
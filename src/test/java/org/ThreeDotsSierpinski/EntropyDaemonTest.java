@@ -0,0 +1,232 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для EntropyDaemon и DaemonEntropySource.
+ *
+ * Покрывает:
+ * - Запрос/ответ с префиксом длины через Unix-domain сокет
+ * - Короткий ответ (0) при пустом пуле
+ * - Несколько запросов в одной записи (пачка) и несколько клиентов
+ * - Некорректный размер запроса → разрыв соединения
+ * - HTTP в формате ANU API: RNProvider использует демон вместо ANU
+ */
+@DisplayName("EntropyDaemon — раздача энтропии локальным процессам")
+@Tag("fast")
+class EntropyDaemonTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EntropyDaemon daemon;
+
+    @AfterEach
+    void tearDown() {
+        if (daemon != null) {
+            daemon.close();
+        }
+    }
+
+    /** Источник 0, 1, 2, ... (mod 65536), отдающий не больше {@code budget} слов. */
+    private static class CountingSource implements EntropySource {
+        int next = 0;
+        long budget;
+
+        CountingSource(long budget) {
+            this.budget = budget;
+        }
+
+        @Override
+        public synchronized int read(short[] dst, int off, int len) {
+            int count = (int) Math.min(len, budget);
+            for (int i = 0; i < count; i++) {
+                dst[off + i] = (short) next++;
+            }
+            budget -= count;
+            return count;
+        }
+    }
+
+    private EntropyDaemon startDaemon(EntropySource source, int httpPort) throws Exception {
+        daemon = new EntropyDaemon(source, tempDir.resolve("qrng.sock"), httpPort);
+        daemon.start();
+        return daemon;
+    }
+
+    @Nested
+    @DisplayName("Unix-domain сокет")
+    class SocketTests {
+
+        @Test
+        @DisplayName("Клиент получает значения в исходном порядке")
+        void testClientRead() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), -1);
+
+            try (var client = new DaemonEntropySource(daemon.getSocketPath())) {
+                short[] dst = new short[10];
+                assertEquals(8, client.read(dst, 2, 8));
+                for (int i = 0; i < 8; i++) {
+                    assertEquals(i, dst[2 + i]);
+                }
+
+                short[] big = new short[EntropyDaemon.MAX_REQUEST_WORDS + 100];
+                assertEquals(EntropyDaemon.MAX_REQUEST_WORDS, client.read(big, 0, big.length),
+                        "Один запрос ограничен MAX_REQUEST_WORDS");
+            }
+            assertEquals(2, daemon.getRequestsServed());
+        }
+
+        @Test
+        @DisplayName("Пустой пул → ответ 0, как у неблокирующего источника")
+        void testShortResponse() throws Exception {
+            startDaemon(new CountingSource(3), -1);
+
+            try (var client = new DaemonEntropySource(daemon.getSocketPath())) {
+                assertEquals(3, client.read(new short[16], 0, 16));
+                assertEquals(0, client.read(new short[16], 0, 16));
+            }
+        }
+
+        @Test
+        @DisplayName("Пачка запросов в одной записи — ответы по порядку")
+        void testPipelinedRequests() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), -1);
+
+            try (var channel = SocketChannel.open(UnixDomainSocketAddress.of(daemon.getSocketPath()))) {
+                var requests = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+                requests.putInt(2).putInt(3).putInt(1).flip();
+                channel.write(requests);
+
+                // 3 ответа: (4 + 4) + (4 + 6) + (4 + 2) байт
+                var responses = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+                while (responses.hasRemaining()) {
+                    assertTrue(channel.read(responses) >= 0);
+                }
+                responses.flip();
+
+                List<Integer> values = new ArrayList<>();
+                for (int expected : new int[]{2, 3, 1}) {
+                    assertEquals(expected, responses.getInt());
+                    for (int i = 0; i < expected; i++) {
+                        values.add((int) responses.getShort());
+                    }
+                }
+                assertEquals(List.of(0, 1, 2, 3, 4, 5), values);
+            }
+        }
+
+        @Test
+        @DisplayName("Несколько клиентов получают непересекающиеся данные")
+        void testConcurrentClients() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), -1);
+            Set<Integer> seen = ConcurrentHashMap.newKeySet();
+            List<Thread> threads = new ArrayList<>();
+
+            for (int t = 0; t < 4; t++) {
+                threads.add(Thread.startVirtualThread(() -> {
+                    try (var client = new DaemonEntropySource(daemon.getSocketPath())) {
+                        short[] dst = new short[1000];
+                        for (int r = 0; r < 10; r++) {
+                            int count = client.read(dst, 0, dst.length);
+                            for (int i = 0; i < count; i++) {
+                                seen.add(dst[i] & 0xFFFF);
+                            }
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(40_000, seen.size(), "Каждое значение выдано ровно одному клиенту");
+        }
+
+        @Test
+        @DisplayName("Некорректный размер запроса → демон разрывает соединение")
+        void testInvalidRequest() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), -1);
+
+            try (var channel = SocketChannel.open(UnixDomainSocketAddress.of(daemon.getSocketPath()))) {
+                var request = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                request.putInt(-5).flip();
+                channel.write(request);
+
+                assertEquals(-1, channel.read(ByteBuffer.allocate(4)));
+            }
+        }
+
+        @Test
+        @DisplayName("Демон остановлен → клиент получает UncheckedIOException")
+        void testDaemonStopped() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), -1);
+
+            try (var client = new DaemonEntropySource(daemon.getSocketPath())) {
+                daemon.close();
+                assertThrows(UncheckedIOException.class, () -> client.read(new short[4], 0, 4));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("HTTP в формате ANU API")
+    class HttpTests {
+
+        @Test
+        @DisplayName("Некорректные параметры → 400")
+        void testBadRequest() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), 0);
+            var client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + daemon.getHttpPort() + "/";
+
+            var hex = client.send(HttpRequest.newBuilder(URI.create(base + "?length=4&type=hex16")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            var tooLong = client.send(HttpRequest.newBuilder(URI.create(base + "?length=5000&type=uint16")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(400, hex.statusCode());
+            assertEquals(400, tooLong.statusCode());
+            assertTrue(tooLong.body().contains("\"message\""));
+        }
+
+        @Test
+        @DisplayName("RNProvider загружает QUANTUM данные с демона вместо ANU")
+        void testProviderUsesDaemon() throws Exception {
+            startDaemon(new CountingSource(Long.MAX_VALUE), 0);
+            var settings = new RNProvider.ProviderSettings(
+                    "http://127.0.0.1:" + daemon.getHttpPort() + "/", "daemon-key", "uint16",
+                    64, 2, 10, 1000, 1000, 10, 0, 1L, 1L);
+            var provider = new RNProvider(settings, true, ms -> { });
+
+            assertTrue(provider.waitForInitialData(5000));
+            assertEquals(RNProvider.Mode.QUANTUM, provider.getMode());
+            assertEquals(0, provider.getNextRandomNumber().orElseThrow());
+            assertEquals(1, provider.getNextRandomNumber().orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для EntropyLedger (учёт расхода энтропии по режимам).
+ *
+ * Покрывает:
+ * - Запрошенные, нужные и потерянные биты, эффективность
+ * - Биты на точку: всего и по режимам
+ * - Разбивка по назначениям, самые расточительные первыми
+ * - RNProvider.getNextRandomNumber(Purpose) и источник числа
+ * - Режимы визуализации приписывают каждое число назначению
+ * - Регистрация в JMX
+ */
+@DisplayName("EntropyLedger — учёт бит по режимам и назначениям")
+@Tag("fast")
+class EntropyLedgerTest {
+
+    private static final EntropyLedger.Purpose WALK = new EntropyLedger.Purpose("test", "walk", 4);
+    private static final EntropyLedger.Purpose ANGLE = new EntropyLedger.Purpose("test", "angle", 360);
+
+    private static RNProvider createPseudoProvider() {
+        var settings = new RNProvider.ProviderSettings(
+                "http://localhost:1", null, "uint16",
+                5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+        return new RNProvider(settings, false, ms -> { });
+    }
+
+    @Nested
+    @DisplayName("Подсчёт бит")
+    class AccountingTests {
+
+        @Test
+        @DisplayName("% 4: запрошено 16 бит, нужно 2")
+        void testRequestedVsNeeded() {
+            var ledger = new EntropyLedger();
+            for (int i = 0; i < 10; i++) {
+                ledger.recordDraw(WALK, RNProvider.Mode.QUANTUM);
+            }
+
+            assertEquals(160, ledger.getBitsRequested());
+            assertEquals(20, ledger.getBitsNeeded(), 1e-9);
+            assertEquals(140, ledger.getBitsWasted(), 1e-9);
+            assertEquals(0.125, ledger.getEfficiency(), 1e-9);
+            assertEquals(160, ledger.getQuantumBitsConsumed());
+        }
+
+        @Test
+        @DisplayName("Квантовые и псевдослучайные числа учитываются раздельно")
+        void testSources() {
+            var ledger = new EntropyLedger();
+            ledger.recordFetched(100);
+            ledger.recordDraw(WALK, RNProvider.Mode.QUANTUM);
+            ledger.recordDraw(WALK, RNProvider.Mode.PSEUDO);
+            ledger.recordDraw(WALK, RNProvider.Mode.PSEUDO);
+
+            assertEquals(1600, ledger.getQuantumBitsFetched());
+            assertEquals(16, ledger.getQuantumBitsConsumed());
+            assertEquals(48, ledger.getBitsRequested());
+        }
+
+        @Test
+        @DisplayName("Биты на точку — всего и по режимам")
+        void testBitsPerPoint() {
+            var ledger = new EntropyLedger();
+            var other = new EntropyLedger.Purpose("other", "vertex", 3);
+            for (int i = 0; i < 8; i++) {
+                ledger.recordDraw(WALK, RNProvider.Mode.QUANTUM);
+            }
+            ledger.recordDraw(other, RNProvider.Mode.QUANTUM);
+            ledger.recordPoints("test", 2);
+            ledger.recordPoints("other", 1);
+            ledger.recordPoints("other", 0);
+
+            assertEquals(3, ledger.getPointsRendered());
+            assertEquals(144.0 / 3, ledger.getBitsPerPoint(), 1e-9);
+            assertEquals(64.0, ledger.getBitsPerPointByMode().get("test"), 1e-9);
+            assertEquals(16.0, ledger.getBitsPerPointByMode().get("other"), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Разбивка: самые расточительные назначения первыми")
+        void testBreakdownOrder() {
+            var ledger = new EntropyLedger();
+            ledger.recordDraw(ANGLE, RNProvider.Mode.QUANTUM);
+            for (int i = 0; i < 5; i++) {
+                ledger.recordDraw(WALK, RNProvider.Mode.QUANTUM);
+            }
+
+            var lines = ledger.getBreakdown();
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).startsWith("test/walk: draws=5"), lines.get(0));
+            assertTrue(lines.get(1).startsWith("test/angle: draws=1"), lines.get(1));
+        }
+
+        @Test
+        @DisplayName("Пустой учёт и некорректное число исходов")
+        void testEmptyAndValidation() {
+            var ledger = new EntropyLedger();
+            assertEquals(0, ledger.getEfficiency());
+            assertEquals(0, ledger.getBitsPerPoint());
+            assertTrue(ledger.getBreakdown().isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> new EntropyLedger.Purpose("m", "p", 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Интеграция с RNProvider и режимами")
+    class IntegrationTests {
+
+        @Test
+        @DisplayName("getNextRandomNumber(Purpose) приписывает число назначению")
+        void testProviderAttribution() {
+            var provider = createPseudoProvider();
+            for (int i = 0; i < 3; i++) {
+                OptionalInt value = provider.getNextRandomNumber(WALK);
+                assertTrue(value.isPresent());
+            }
+            provider.getNextRandomNumber();  // без назначения — не учитывается
+
+            var ledger = provider.getEntropyLedger();
+            assertEquals(48, ledger.getBitsRequested(WALK));
+            assertEquals(0, ledger.getQuantumBitsConsumed(), "В PSEUDO режиме квантовых бит нет");
+        }
+
+        @Test
+        @DisplayName("DLA и Sierpinski: каждое потреблённое число учтено")
+        void testModesAttributeEveryDraw() {
+            var provider = createPseudoProvider();
+            var ledger = provider.getEntropyLedger();
+            var canvas = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+
+            long before = 0;
+            for (VisualizationMode mode : VisualizationMode.allModes()) {
+                mode.initialize(canvas, 200, 200);
+                for (int i = 0; i < 5; i++) {
+                    mode.step(provider, canvas, 2);
+                }
+                long requested = ledger.getBitsRequested();
+                assertEquals(16L * mode.getRandomNumbersUsed(), requested - before, mode.getId());
+                before = requested;
+            }
+            assertTrue(ledger.getBreakdown().stream().anyMatch(line -> line.startsWith("dla/walk")));
+            assertTrue(ledger.getBreakdown().stream().anyMatch(line -> line.startsWith("Sierpinski/vertex")));
+        }
+
+        @Test
+        @DisplayName("Регистрация в JMX и чтение атрибутов")
+        void testJmx() throws Exception {
+            var ledger = new EntropyLedger();
+            ledger.recordDraw(WALK, RNProvider.Mode.QUANTUM);
+
+            var name = JmxSupport.register(ledger, "type=EntropyLedgerTest");
+            assertNotNull(name);
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                assertEquals(16L, server.getAttribute(name, "BitsRequested"));
+                assertNotNull(server.getAttribute(name, "BitsPerPointByMode"));
+            } finally {
+                JmxSupport.unregister(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для EntropyPublisher (Flow.Publisher блоков энтропии).
+ *
+ * Покрывает:
+ * - Выдача ровно request(n) блоков, без лишних чтений из буфера
+ * - Пустой буфер: requestRefill() только при ненулевом спросе
+ * - Выдача сразу после поступления данных (dataAvailable), без опроса
+ * - request(n ≤ 0) → onError(IllegalArgumentException)
+ * - close() → onComplete; cancel() прекращает выдачу
+ * - Работа поверх RNProvider в PSEUDO режиме
+ */
+@DisplayName("EntropyPublisher — реактивный поток энтропии")
+@Tag("fast")
+class EntropyPublisherTest {
+
+    /** Источник, в который тест вручную кладёт данные. */
+    private static class ManualSource implements EntropySource {
+        private int available = 0;
+        private int next = 0;
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicInteger refillRequests = new AtomicInteger();
+
+        synchronized void add(int count) {
+            available += count;
+        }
+
+        @Override
+        public synchronized int read(short[] dst, int off, int len) {
+            reads.incrementAndGet();
+            int count = Math.min(len, available);
+            for (int i = 0; i < count; i++) {
+                dst[off + i] = (short) next++;
+            }
+            available -= count;
+            return count;
+        }
+
+        @Override
+        public void requestRefill() {
+            refillRequests.incrementAndGet();
+        }
+    }
+
+    /** Подписчик, который запоминает все сигналы. */
+    private static class RecordingSubscriber implements Flow.Subscriber<IntBuffer> {
+        final List<IntBuffer> chunks = new CopyOnWriteArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        volatile boolean completed = false;
+        Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(IntBuffer item) {
+            chunks.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /** Синхронный executor: сигналы выдаются в вызывающем потоке. */
+    private static EntropyPublisher createPublisher(ManualSource source, int chunkSize) {
+        return new EntropyPublisher(source, chunkSize, Runnable::run);
+    }
+
+    @Nested
+    @DisplayName("Спрос и выдача")
+    class DemandTests {
+
+        @Test
+        @DisplayName("request(n) → ровно n блоков")
+        void testExactDemand() {
+            var source = new ManualSource();
+            source.add(10_000);
+            var publisher = createPublisher(source, 16);
+            var subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            subscriber.subscription.request(3);
+
+            assertEquals(3, subscriber.chunks.size());
+            assertEquals(3, source.reads.get(), "Без спроса буфер не читается");
+            assertEquals(16, subscriber.chunks.get(0).remaining());
+            assertEquals(16, subscriber.chunks.get(1).get(0), "Блоки идут подряд");
+        }
+
+        @Test
+        @DisplayName("Пустой буфер: requestRefill только при ненулевом спросе")
+        void testRefillOnlyWithDemand() {
+            var source = new ManualSource();
+            var publisher = createPublisher(source, 16);
+            var subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            publisher.dataAvailable();
+            assertEquals(0, source.refillRequests.get(), "Без спроса дозагрузка не запрашивается");
+
+            subscriber.subscription.request(2);
+            assertEquals(1, source.refillRequests.get());
+            assertTrue(subscriber.chunks.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Данные уходят подписчику сразу после поступления")
+        void testPushOnArrival() {
+            var source = new ManualSource();
+            var publisher = createPublisher(source, 16);
+            var subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(2);
+
+            source.add(20);
+            publisher.dataAvailable();
+
+            assertEquals(2, subscriber.chunks.size());
+            assertEquals(16, subscriber.chunks.get(0).remaining());
+            assertEquals(4, subscriber.chunks.get(1).remaining(), "Короткий хвост партии");
+        }
+
+        @Test
+        @DisplayName("request(0) → onError(IllegalArgumentException)")
+        void testInvalidRequest() {
+            var publisher = createPublisher(new ManualSource(), 16);
+            var subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            subscriber.subscription.request(0);
+
+            assertInstanceOf(IllegalArgumentException.class, subscriber.error.get());
+            assertEquals(0, publisher.getSubscriberCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Завершение")
+    class TerminationTests {
+
+        @Test
+        @DisplayName("cancel() прекращает выдачу")
+        void testCancel() {
+            var source = new ManualSource();
+            source.add(1_000);
+            var publisher = createPublisher(source, 16);
+            var subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            subscriber.subscription.request(1);
+            subscriber.subscription.cancel();
+            subscriber.subscription.request(5);
+
+            assertEquals(1, subscriber.chunks.size());
+            assertEquals(0, publisher.getSubscriberCount());
+        }
+
+        @Test
+        @DisplayName("close() → onComplete, в том числе для новых подписчиков")
+        void testClose() {
+            var publisher = createPublisher(new ManualSource(), 16);
+            var subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            publisher.close();
+            assertTrue(subscriber.completed);
+
+            var late = new RecordingSubscriber();
+            publisher.subscribe(late);
+            assertTrue(late.completed);
+        }
+    }
+
+    @Nested
+    @DisplayName("Поверх RNProvider")
+    class ProviderTests {
+
+        @Test
+        @DisplayName("Блоки из буфера провайдера на виртуальных потоках")
+        void testOverProvider() throws Exception {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            var received = new AtomicInteger();
+            var done = new CountDownLatch(1);
+
+            try (var publisher = new EntropyPublisher(provider, 256)) {
+                publisher.subscribe(new Flow.Subscriber<>() {
+                    Flow.Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(IntBuffer item) {
+                        while (item.hasRemaining()) {
+                            int value = item.get();
+                            assertTrue(value >= 0 && value <= 65535);
+                        }
+                        if (received.incrementAndGet() < 10) {
+                            subscription.request(1);   // медленный подписчик: по одному блоку
+                        } else {
+                            done.countDown();
+                        }
+                    }
+
+                    @Override public void onError(Throwable throwable) { }
+                    @Override public void onComplete() { }
+                });
+
+                assertTrue(done.await(5, TimeUnit.SECONDS));
+            }
+            assertEquals(10, received.get());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для HealthTests (непрерывные тесты здоровья SP 800-90B).
+ *
+ * Покрывает:
+ * - Пороги RCT и APT (сверка с таблицей SP 800-90B для W = 512)
+ * - Хорошие данные проходят оба теста
+ * - Залипшее значение → отказ RCT
+ * - Смещённое распределение без повторов подряд → отказ APT
+ * - Состояние не переносится между партиями
+ * - Валидация мин-энтропии
+ */
+@DisplayName("HealthTests — RCT и APT по SP 800-90B")
+@Tag("fast")
+class HealthTestsTest {
+
+    @Nested
+    @DisplayName("Пороги")
+    class CutoffTests {
+
+        @Test
+        @DisplayName("RCT: C = 1 + ⌈20 / H⌉")
+        void testRctCutoff() {
+            assertEquals(4, new HealthTests(8).getRctCutoff());
+            assertEquals(21, new HealthTests(1).getRctCutoff());
+            assertEquals(3, new HealthTests(16).getRctCutoff());
+        }
+
+        @Test
+        @DisplayName("APT: совпадает с таблицей SP 800-90B (W = 512)")
+        void testAptCutoffTable() {
+            assertEquals(410, new HealthTests(0.5).getAptCutoff());
+            assertEquals(311, new HealthTests(1).getAptCutoff());
+            assertEquals(177, new HealthTests(2).getAptCutoff());
+            assertEquals(62, new HealthTests(4).getAptCutoff());
+            assertEquals(13, new HealthTests(8).getAptCutoff());
+        }
+
+        @ParameterizedTest(name = "H = {0}")
+        @ValueSource(doubles = {0, -1, 16.5, Double.NaN})
+        @DisplayName("Мин-энтропия вне (0, 16] → IllegalArgumentException")
+        void testInvalidMinEntropy(double minEntropy) {
+            assertThrows(IllegalArgumentException.class, () -> new HealthTests(minEntropy));
+        }
+    }
+
+    @Nested
+    @DisplayName("Проверка партий")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Псевдослучайные партии проходят оба теста")
+        void testGoodData() {
+            var health = new HealthTests(8);
+            var engine = new PseudoEngine(42L);
+            short[] batch = new short[1024];
+
+            for (int i = 0; i < 1000; i++) {
+                engine.fill(batch, 0, batch.length);
+                assertTrue(health.testBatch(batch, 0, batch.length), health.getLastFailure());
+            }
+            assertNull(health.getLastFailure());
+        }
+
+        @Test
+        @DisplayName("Значение повторяется C раз подряд → отказ RCT")
+        void testStuckValue() {
+            var health = new HealthTests(8);
+            short[] batch = {1, 2, 3, 9, 9, 9, 4, 5};
+            assertTrue(health.testBatch(batch, 0, batch.length), "Три повтора — ниже порога 4");
+
+            batch[6] = 9;
+            assertFalse(health.testBatch(batch, 0, batch.length));
+            assertTrue(health.getLastFailure().startsWith("Repetition Count Test"));
+        }
+
+        @Test
+        @DisplayName("Значение слишком часто в окне, но не подряд → отказ APT")
+        void testBiasedValue() {
+            var health = new HealthTests(8);
+            short[] batch = new short[HealthTests.APT_WINDOW];
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = (short) (i % 20 == 0 ? 5 : 1000 + i);
+            }
+            assertFalse(health.testBatch(batch, 0, batch.length));
+            assertTrue(health.getLastFailure().startsWith("Adaptive Proportion Test"));
+        }
+
+        @Test
+        @DisplayName("Учитывается только диапазон [off, off + len)")
+        void testRange() {
+            var health = new HealthTests(8);
+            short[] batch = {7, 7, 7, 7, 1, 2, 3};
+            assertTrue(health.testBatch(batch, 3, 4));
+            assertFalse(health.testBatch(batch, 0, 4));
+        }
+
+        @Test
+        @DisplayName("Повторы на стыке двух партий не суммируются")
+        void testStateResetPerBatch() {
+            var health = new HealthTests(8);
+            short[] batch = {1, 2, 3, 9, 9, 9};
+            short[] next = {9, 9, 9, 4, 5, 6};
+            assertTrue(health.testBatch(batch, 0, batch.length));
+            assertTrue(health.testBatch(next, 0, next.length));
+        }
+    }
+}
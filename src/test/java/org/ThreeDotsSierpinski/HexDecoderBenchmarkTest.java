@@ -0,0 +1,133 @@
+package org.ThreeDotsSierpinski;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Бенчмарк SWAR-декодера против прежних реализаций на 1 МБ hex:
+ * processHexToNumbers (Character.digit → byte[] → List&lt;Integer&gt;) и
+ * разбор ответа hex16 в RNProvider (Integer.parseInt на каждый элемент).
+ *
+ * Не входит в обычный прогон ({@code @Tag("benchmark")} исключён в pom.xml):
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups=none}. Не микробенчмарк
+ * уровня JMH: прогрев и лучшее из нескольких прогонов, времена выводятся
+ * в консоль. Проверяется только совпадение результатов — время ни с чем не
+ * сравнивается, на загруженной машине бенчмарк не падает.
+ */
+@DisplayName("HexDecoder — бенчмарк против посимвольного декодирования")
+@Tag("benchmark")
+class HexDecoderBenchmarkTest {
+
+    private static final int HEX_LENGTH = 1024 * 1024;
+    private static final int ROUNDS = 15;
+
+    /** Прежняя реализация processHexToNumbers — эталон для сравнения. */
+    private static List<Integer> legacyProcessHexToNumbers(String s) {
+        int len = s.length();
+        if (len % 2 != 0) {
+            throw new IllegalArgumentException("Invalid HEX string length.");
+        }
+        byte[] bytes = new byte[len / 2];
+        for (int i = 0; i < len; i += 2) {
+            int high = Character.digit(s.charAt(i), 16);
+            int low = Character.digit(s.charAt(i + 1), 16);
+            if (high == -1 || low == -1) {
+                throw new IllegalArgumentException("Invalid character in HEX string.");
+            }
+            bytes[i / 2] = (byte) ((high << 4) + low);
+        }
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < bytes.length - 1; i += 2) {
+            numbers.add(((bytes[i] & 0xFF) << 8) | (bytes[i + 1] & 0xFF));
+        }
+        return numbers;
+    }
+
+    /**
+     * Прежний разбор hex16 в RNProvider — {@code Integer.parseInt} по 4 символа
+     * (прежний код разбирал элемент целиком и при size &gt; 1 терял числа).
+     */
+    private static short[] legacyParseElements(ArrayNode data, int size) {
+        short[] batch = new short[data.size() * size];
+        int w = 0;
+        for (int i = 0; i < data.size(); i++) {
+            String text = data.get(i).asText();
+            for (int k = 0; k < size; k++) {
+                batch[w++] = (short) Integer.parseInt(text, 4 * k, 4 * k + 4, 16);
+            }
+        }
+        return batch;
+    }
+
+    private static long bestOf(ThrowingRunnable task) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static String randomHex() {
+        byte[] raw = new byte[HEX_LENGTH / 2];
+        new Random(42).nextBytes(raw);
+        return HexFormat.of().withUpperCase().formatHex(raw);
+    }
+
+    private static void report(String what, long legacyNanos, long swarNanos) {
+        System.out.printf("%s, %d chars: legacy %.2f ms, SWAR %.2f ms (x%.1f)%n",
+                what, HEX_LENGTH, legacyNanos / 1e6, swarNanos / 1e6, (double) legacyNanos / swarNanos);
+    }
+
+    @Test
+    @DisplayName("processHexToShorts против processHexToNumbers, 1 МБ hex")
+    void benchmarkProcessor() throws Exception {
+        String hex = randomHex();
+        var processor = new RandomNumberProcessor();
+
+        List<Integer> legacy = legacyProcessHexToNumbers(hex);
+        short[] swar = processor.processHexToShorts(hex);
+        assertEquals(legacy.size(), swar.length);
+        for (int i = 0; i < swar.length; i++) {
+            assertEquals(legacy.get(i), swar[i] & 0xFFFF);
+        }
+
+        report("processHexToShorts",
+                bestOf(() -> legacyProcessHexToNumbers(hex)),
+                bestOf(() -> processor.processHexToShorts(hex)));
+    }
+
+    @Test
+    @DisplayName("RNProvider.decodeHex16 против Integer.parseInt, 1 МБ hex, size = 1, 2, 8")
+    void benchmarkProviderIngestion() throws Exception {
+        String hex = randomHex();
+        for (int size : new int[]{1, 2, 8}) {
+            int chars = 4 * size;
+            ArrayNode data = new ObjectMapper().createArrayNode();
+            for (int i = 0; i < hex.length(); i += chars) {
+                data.add(hex.substring(i, i + chars));
+            }
+
+            assertArrayEquals(legacyParseElements(data, size), RNProvider.decodeHex16(data));
+
+            report("hex16 ingestion, size=" + size,
+                    bestOf(() -> legacyParseElements(data, size)),
+                    bestOf(() -> RNProvider.decodeHex16(data)));
+        }
+    }
+}
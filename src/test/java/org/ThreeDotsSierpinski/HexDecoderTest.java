@@ -0,0 +1,154 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для HexDecoder (SWAR-декодирование hex16).
+ *
+ * Покрывает:
+ * - Совпадение с посимвольным разбором на случайных строках любой длины
+ * - Верхний и нижний регистр, смешанный регистр внутри блока
+ * - Каждый не-hex байт на каждой позиции 8-символьного блока → ошибка
+ * - Хвост и неполное последнее число проверяются
+ * - ByteBuffer (heap и direct) → IntBuffer
+ * - Те же сообщения об ошибках, что у RandomNumberProcessor
+ */
+@DisplayName("HexDecoder — SWAR-декодер hex16")
+@Tag("fast")
+class HexDecoderTest {
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Эталон: посимвольный разбор. */
+    private static short[] reference(String hex) {
+        short[] words = new short[hex.length() / 4];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = (short) Integer.parseInt(hex.substring(4 * i, 4 * i + 4), 16);
+        }
+        return words;
+    }
+
+    @Nested
+    @DisplayName("Корректные данные")
+    class ValidInputTests {
+
+        @Test
+        @DisplayName("Случайные строки длиной 0..64 совпадают с эталоном")
+        void testRandomRoundTrip() {
+            var random = new Random(7);
+            for (int len = 0; len <= 64; len += 2) {
+                byte[] raw = new byte[len / 2];
+                random.nextBytes(raw);
+                String hex = random.nextBoolean()
+                        ? HexFormat.of().formatHex(raw)
+                        : HexFormat.of().withUpperCase().formatHex(raw);
+
+                short[] words = new short[len / 4];
+                assertEquals(len / 4, HexDecoder.decode(ascii(hex), 0, len, words, 0));
+                assertArrayEquals(reference(hex), words, hex);
+            }
+        }
+
+        @Test
+        @DisplayName("Все символы алфавита и смешанный регистр в одном блоке")
+        void testAlphabet() {
+            short[] words = new short[6];
+            HexDecoder.decode(ascii("0123456789abcdefABCDEFaBcD"), 0, 24, words, 0);
+            assertArrayEquals(new short[]{0x0123, 0x4567, (short) 0x89AB, (short) 0xCDEF,
+                    (short) 0xABCD, (short) 0xEFAB}, words);
+        }
+
+        @Test
+        @DisplayName("Смещения и неполное последнее число")
+        void testOffsetsAndTrailingPair() {
+            short[] words = new short[4];
+            assertEquals(2, HexDecoder.decode(ascii("zzFFFF0001ab"), 2, 10, words, 1));
+            assertArrayEquals(new short[]{0, (short) 0xFFFF, 0x0001, 0}, words);
+        }
+
+        @Test
+        @DisplayName("ByteBuffer → IntBuffer, heap и direct")
+        void testBuffers() {
+            byte[] chars = ascii("00ff1234abcdFFFF8000");
+            for (ByteBuffer src : new ByteBuffer[]{
+                    ByteBuffer.wrap(chars),
+                    ByteBuffer.allocateDirect(chars.length).put(chars).flip()}) {
+                IntBuffer dst = IntBuffer.allocate(8);
+                assertEquals(5, HexDecoder.decode(src, dst));
+
+                assertFalse(src.hasRemaining());
+                assertEquals(5, dst.position());
+                assertArrayEquals(new int[]{0x00FF, 0x1234, 0xABCD, 0xFFFF, 0x8000},
+                        Arrays.copyOf(dst.array(), 5));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Ошибки")
+    class InvalidInputTests {
+
+        @Test
+        @DisplayName("Любой не-hex байт на любой позиции блока отбраковывается")
+        void testEveryInvalidByteEveryLane() {
+            for (int b = 0; b < 256; b++) {
+                boolean valid = Character.digit((char) b, 16) >= 0;
+                for (int lane = 0; lane < 8; lane++) {
+                    byte[] chars = ascii("01234567");
+                    chars[lane] = (byte) b;
+                    if (valid) {
+                        assertDoesNotThrow(() -> HexDecoder.decode(chars, 0, 8, new short[2], 0));
+                    } else {
+                        var e = assertThrows(IllegalArgumentException.class,
+                                () -> HexDecoder.decode(chars, 0, 8, new short[2], 0),
+                                "byte " + b + " lane " + lane);
+                        assertEquals("Invalid character in HEX string.", e.getMessage());
+                    }
+                }
+            }
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"ABCDEF0G", "12345678ABCZ", "12345678ZZ", "ABCD-1"})
+        @DisplayName("Ошибка в SWAR-блоке, в хвосте и в неполном числе")
+        void testInvalidCharacter(String hex) {
+            var e = assertThrows(IllegalArgumentException.class,
+                    () -> HexDecoder.decode(ascii(hex), 0, hex.length(), new short[4], 0));
+            assertEquals("Invalid character in HEX string.", e.getMessage());
+        }
+
+        @Test
+        @DisplayName("Нечётная длина проверяется раньше символов")
+        void testOddLength() {
+            var e = assertThrows(IllegalArgumentException.class,
+                    () -> HexDecoder.decode(ascii("GGG"), 0, 3, new short[1], 0));
+            assertEquals("Invalid HEX string length.", e.getMessage());
+            assertThrows(IllegalArgumentException.class,
+                    () -> HexDecoder.decode(ByteBuffer.wrap(ascii("ABC")), IntBuffer.allocate(1)));
+        }
+
+        @Test
+        @DisplayName("Недостаточно места в IntBuffer")
+        void testOverflow() {
+            assertThrows(BufferOverflowException.class,
+                    () -> HexDecoder.decode(ByteBuffer.wrap(ascii("00000000")), IntBuffer.allocate(1)));
+        }
+    }
+}
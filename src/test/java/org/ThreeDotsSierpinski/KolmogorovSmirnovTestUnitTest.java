@@ -9,6 +9,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -19,6 +20,9 @@ import static org.junit.jupiter.api.Assertions.*;
 /**
  * Unit тесты для класса KolmogorovSmirnovTest.
  * <p>
+ * Гистограммный путь сверяется с сортировкой: uint16, узкий диапазон,
+ * значения вне диапазона, слияние параллельных кусков.
+ * <p>
  * Примечание: Имя класса KolmogorovSmirnovTestUnitTest, чтобы избежать
  * конфликта с основным классом KolmogorovSmirnovTest.
  */
@@ -210,6 +214,79 @@ class KolmogorovSmirnovTestUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Гистограммный путь")
+    class HistogramTests {
+
+        /** Прежний путь через сортировку — эталон. */
+        private double sortedDeviation(long[] values, long min, long max) {
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double d = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                double theoretical = Math.max(0.0, Math.min(1.0, (double) (sorted[i] - min) / (max - min)));
+                d = Math.max(d, Math.abs((double) (i + 1) / sorted.length - theoretical));
+            }
+            return d;
+        }
+
+        private long[] randomValues(int n, long min, long max, long seed) {
+            var random = new Random(seed);
+            long[] values = new long[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = min + random.nextInt((int) (max - min + 1));
+            }
+            return values;
+        }
+
+        @Test
+        @DisplayName("uint16 и узкий диапазон: D совпадает с сортировкой")
+        void testMatchesSort() {
+            long[] uint16 = randomValues(5_000, 0, 65535, 1);
+            assertEquals(KolmogorovSmirnovTest.evaluate(sortedDeviation(uint16, 0, 65535), 5_000, 0.05),
+                    ksTest.testSample(Sample.of(uint16), 0.05));
+
+            long[] narrow = randomValues(3_000, 100, 1099, 2);
+            var narrowTest = new KolmogorovSmirnovTest(100, 1099);
+            assertEquals(KolmogorovSmirnovTest.evaluate(sortedDeviation(narrow, 100, 1099), 3_000, 0.05),
+                    narrowTest.testSample(Sample.of(narrow), 0.05));
+        }
+
+        @Test
+        @DisplayName("Повторы значений: D по гистограмме точно равно D по сортировке")
+        void testMaxDeviationExact() {
+            int n = 200_000;
+            long[] values = randomValues(n, 0, 65535, 5);
+            assertEquals(sortedDeviation(values, 0, 65535),
+                    KolmogorovSmirnovTest.maxDeviation(KolmogorovSmirnovTest.histogram(values, 0, 65536), n, 65535));
+        }
+
+        @Test
+        @DisplayName("Значение вне диапазона — гистограмма отказывается, результат как у сортировки")
+        void testOutOfRangeFallsBack() {
+            long[] values = randomValues(1_000, 0, 999, 3);
+            values[500] = 5_000;
+            assertNull(KolmogorovSmirnovTest.histogram(values, 0, 1000));
+
+            var test = new KolmogorovSmirnovTest(0, 999);
+            assertEquals(KolmogorovSmirnovTest.evaluate(sortedDeviation(values, 0, 999), 1_000, 0.05),
+                    test.testSample(Sample.of(values), 0.05));
+        }
+
+        @Test
+        @DisplayName("Параллельные куски складываются в ту же гистограмму")
+        void testParallelMerge() {
+            int n = KolmogorovSmirnovTest.PARALLEL_THRESHOLD + 12_345;
+            long[] values = randomValues(n, 0, 65535, 4);
+
+            long[] expected = new long[65536];
+            for (long v : values) expected[(int) v]++;
+            assertArrayEquals(expected, KolmogorovSmirnovTest.histogram(values, 0, 65536));
+            assertEquals(KolmogorovSmirnovTest.evaluate(sortedDeviation(values, 0, 65535), n, 0.05),
+                    ksTest.testSample(Sample.of(values), 0.05));
+        }
+    }
+
     @Nested
     @DisplayName("Интеграция с RandomnessTest интерфейсом")
     class InterfaceTests {
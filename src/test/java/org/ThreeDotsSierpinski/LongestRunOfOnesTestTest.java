@@ -0,0 +1,124 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для LongestRunOfOnesTest (NIST Longest Run of Ones in a Block).
+ *
+ * Покрывает:
+ * - p-значение на примере NIST SP 800-22 (2.4.8, n = 128, M = 8)
+ * - Выбор M по длине потока
+ * - Байтовые таблицы совпадают с побитовым подсчётом для M = 128 и 10 000
+ * - Случайные данные → passed, длинные серии → failed
+ * - Валидация (null, < 10)
+ */
+@DisplayName("LongestRunOfOnesTest — длиннейшая серия единиц в блоке")
+@Tag("fast")
+class LongestRunOfOnesTestTest {
+
+    private static final String NIST_EXAMPLE =
+            "11001100000101010110110001001100111000000000001001001101010100010001001111010110100000001101011111001100111001101101100010110010";
+
+    /** Битовый поток из строки '0'/'1', первый символ — первый бит. */
+    private static long[] bitsOf(String stream) {
+        long[] bits = new long[(stream.length() + 63) >>> 6];
+        for (int i = 0; i < stream.length(); i++) {
+            if (stream.charAt(i) == '1') {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /** Побитовый эталон теста. */
+    private static double naive(long[] bits, long n) {
+        var params = LongestRunOfOnesTest.paramsFor(n);
+        int m = params.blockBits();
+        long blocks = n / m;
+        long[] counts = new long[params.pi().length];
+        for (long b = 0; b < blocks; b++) {
+            int run = 0;
+            int longest = 0;
+            for (long i = b * m; i < (b + 1) * m; i++) {
+                run = ((bits[(int) (i >>> 6)] >>> i) & 1) == 1 ? run + 1 : 0;
+                longest = Math.max(longest, run);
+            }
+            counts[Math.clamp(longest - params.lowest(), 0, counts.length - 1)]++;
+        }
+        double chiSquare = 0;
+        for (int i = 0; i < counts.length; i++) {
+            double expected = blocks * params.pi()[i];
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+        }
+        return MathUtils.igamc((counts.length - 1) / 2.0, chiSquare / 2.0);
+    }
+
+    @Nested
+    @DisplayName("Вычисление")
+    class ComputationTests {
+
+        @Test
+        @DisplayName("Пример NIST: n = 128 → p = 0.180609")
+        void testNistExample() {
+            assertEquals(0.180609, LongestRunOfOnesTest.pValue(bitsOf(NIST_EXAMPLE), 128), 1e-4);
+        }
+
+        @Test
+        @DisplayName("M по длине потока: 8, 128, 10 000")
+        void testParams() {
+            assertSame(LongestRunOfOnesTest.SMALL, LongestRunOfOnesTest.paramsFor(128));
+            assertSame(LongestRunOfOnesTest.MEDIUM, LongestRunOfOnesTest.paramsFor(6272));
+            assertSame(LongestRunOfOnesTest.LARGE, LongestRunOfOnesTest.paramsFor(750_000));
+        }
+
+        @Test
+        @DisplayName("Байтовые таблицы совпадают с побитовым подсчётом")
+        void testMatchesNaive() {
+            var random = new Random(5);
+            for (int size : new int[]{20, 500, 10_000, 50_000}) {
+                long[] values = random.longs(size, 0, 65536).toArray();
+                for (int i = 0; i < size; i += 7) values[i] = 0xFFFF;  // серии через границы байтов
+                var sample = Sample.of(values);
+                assertEquals(naive(sample.bits(), sample.bitLength()),
+                        LongestRunOfOnesTest.pValue(sample.bits(), sample.bitLength()), 1e-12, "size " + size);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("testSample()")
+    class SampleTests {
+
+        @Test
+        @DisplayName("Случайные uint16 → passed")
+        void testRandomPasses() {
+            var sample = Sample.of(new Random(42).longs(2000, 0, 65536).toArray());
+            TestResult result = new LongestRunOfOnesTest().testSample(sample, 0.05);
+            assertTrue(result.passed(), result.statistic());
+            assertTrue(result.statistic().contains("M=128"), result.statistic());
+        }
+
+        @Test
+        @DisplayName("Серии единиц длиной 8 в каждом числе → failed")
+        void testLongRunsFail() {
+            long[] values = new Random(8).longs(2000, 0, 65536).map(v -> v | 0x0FF0).toArray();
+            TestResult result = new LongestRunOfOnesTest().testSample(Sample.of(values), 0.05);
+            assertFalse(result.passed(), result.statistic());
+        }
+
+        @Test
+        @DisplayName("null и меньше 10 чисел → IllegalArgumentException")
+        void testValidation() {
+            var test = new LongestRunOfOnesTest();
+            assertThrows(IllegalArgumentException.class, () -> test.testSample(null, 0.05));
+            assertThrows(IllegalArgumentException.class, () -> test.testSample(Sample.of(1, 2, 3), 0.05));
+        }
+    }
+}
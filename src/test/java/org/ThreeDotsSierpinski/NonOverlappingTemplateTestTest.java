@@ -0,0 +1,91 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для NonOverlappingTemplateTest (NIST Non-overlapping Template Matching).
+ *
+ * Покрывает:
+ * - p-значения всех 148 шаблонов совпадают с побитовым эталоном
+ * - Случайные данные → passed
+ * - Периодический поток → failed
+ * - Валидация (null, меньше 512 чисел → InsufficientDataException)
+ */
+@DisplayName("NonOverlappingTemplateTest — непересекающиеся шаблоны")
+@Tag("fast")
+class NonOverlappingTemplateTestTest {
+
+    /** Побитовый эталон для одного шаблона: сдвиг на 1 или на m после совпадения. */
+    private static double naive(long[] bits, long n, int template) {
+        int m = NonOverlappingTemplateTest.M_BITS;
+        int blocks = NonOverlappingTemplateTest.BLOCKS;
+        long blockBits = n / blocks;
+        double mu = (blockBits - m + 1) / Math.pow(2, m);
+        double variance = blockBits * (1 / Math.pow(2, m) - (2.0 * m - 1) / Math.pow(2, 2 * m));
+        double chiSquare = 0;
+        for (int b = 0; b < blocks; b++) {
+            long w = 0;
+            long p = b * blockBits;
+            while (p <= (b + 1) * blockBits - m) {
+                boolean match = true;
+                for (int j = 0; j < m && match; j++) {
+                    match = ((bits[(int) ((p + j) >>> 6)] >>> (p + j)) & 1) == ((template >>> j) & 1);
+                }
+                if (match) {
+                    w++;
+                    p += m;
+                } else {
+                    p++;
+                }
+            }
+            chiSquare += (w - mu) * (w - mu) / variance;
+        }
+        return MathUtils.igamc(blocks / 2.0, chiSquare / 2);
+    }
+
+    @Test
+    @DisplayName("p-значения всех 148 шаблонов совпадают с побитовым эталоном")
+    void testMatchesNaive() {
+        var sample = Sample.of(new Random(21).longs(3000, 0, 65536).toArray());
+        int[] templates = NonOverlappingTemplateTest.templates();
+        double[] pValues = NonOverlappingTemplateTest.pValues(sample.bits(), sample.bitLength());
+
+        assertEquals(148, pValues.length);
+        for (int t = 0; t < templates.length; t++) {
+            assertEquals(naive(sample.bits(), sample.bitLength(), templates[t]), pValues[t], 1e-12, "шаблон " + t);
+        }
+    }
+
+    @Test
+    @DisplayName("Случайные uint16 → passed")
+    void testRandomPasses() {
+        var sample = Sample.of(new Random(42).longs(20_000, 0, 65536).toArray());
+        TestResult result = new NonOverlappingTemplateTest().testSample(sample, 0.05);
+        assertTrue(result.passed(), result.statistic());
+        assertTrue(result.statistic().contains("/148"), result.statistic());
+    }
+
+    @Test
+    @DisplayName("Повторяющиеся 4 числа → failed")
+    void testPeriodicFails() {
+        long[] values = new long[20_000];
+        long[] cycle = {0x1234, 0xBEEF, 0x0F0F, 0x9C3A};
+        for (int i = 0; i < values.length; i++) values[i] = cycle[i & 3];
+        TestResult result = new NonOverlappingTemplateTest().testSample(Sample.of(values), 0.05);
+        assertFalse(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("null и меньше 512 чисел → InsufficientDataException")
+    void testValidation() {
+        var test = new NonOverlappingTemplateTest();
+        assertThrows(InsufficientDataException.class, () -> test.testSample(null, 0.05));
+        assertThrows(InsufficientDataException.class, () -> test.testSample(Sample.of(new long[511]), 0.05));
+    }
+}
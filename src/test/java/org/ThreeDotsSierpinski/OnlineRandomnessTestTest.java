@@ -0,0 +1,135 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для OnlineRandomnessTest и RandomnessTestSuite.Session.
+ *
+ * Покрывает:
+ * - Инкрементальный результат совпадает с пакетным для всех четырёх тестов
+ * - KS по гистограмме совпадает с сортировкой, в том числе при повторах
+ * - Поблочное и поштучное накопление эквивалентны, reset() обнуляет
+ * - Меньше 10 чисел → IllegalArgumentException, в Session — "error"
+ * - RNProvider ведёт сессию по всем числам, раздельно по происхождению
+ */
+@DisplayName("OnlineRandomnessTest — инкрементальные тесты случайности")
+@Tag("fast")
+class OnlineRandomnessTestTest {
+
+    private static List<Long> randomSample(int size, long seed) {
+        var random = new Random(seed);
+        List<Long> sample = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sample.add((long) random.nextInt(65536));
+        }
+        return sample;
+    }
+
+    private static List<RandomnessTest> batchTests() {
+        return List.of(new KolmogorovSmirnovTest(), new FrequencyBitTest(),
+                new ChiSquareUniformityTest(), new RunsBitTest());
+    }
+
+    @Nested
+    @DisplayName("Совпадение с пакетными тестами")
+    class EquivalenceTests {
+
+        @Test
+        @DisplayName("Случайная выборка: статистики совпадают у всех тестов")
+        void testMatchesBatch() {
+            List<Long> sample = randomSample(5_000, 17);
+            List<OnlineRandomnessTest> online = RandomnessTestSuite.newOnlineTests();
+            for (long value : sample) {
+                online.forEach(test -> test.accept((int) value));
+            }
+
+            List<RandomnessTest> batch = batchTests();
+            for (int i = 0; i < batch.size(); i++) {
+                assertEquals(batch.get(i).testWithDetails(sample, 0.05), online.get(i).result(0.05),
+                        batch.get(i).getTestName());
+            }
+        }
+
+        @Test
+        @DisplayName("Повторы и крайние значения: KS и Runs совпадают")
+        void testTiesAndEdges() {
+            List<Long> sample = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                sample.add(i % 3 == 0 ? 0L : i % 3 == 1 ? 65535L : 30000L);
+            }
+            var ks = new KolmogorovSmirnovTest.Online();
+            var runs = new RunsBitTest.Online();
+            sample.forEach(v -> {
+                ks.accept(v.intValue());
+                runs.accept(v.intValue());
+            });
+
+            assertEquals(new KolmogorovSmirnovTest().testWithDetails(sample, 0.05), ks.result(0.05));
+            assertEquals(new RunsBitTest().testWithDetails(sample, 0.05), runs.result(0.05));
+        }
+
+        @Test
+        @DisplayName("Блок и поштучно — одинаково, reset() обнуляет")
+        void testBlockAndReset() {
+            short[] block = new short[1000];
+            var random = new Random(3);
+            for (int i = 0; i < block.length; i++) block[i] = (short) random.nextInt(65536);
+
+            for (int t = 0; t < 4; t++) {
+                var byValue = RandomnessTestSuite.newOnlineTests().get(t);
+                var byBlock = RandomnessTestSuite.newOnlineTests().get(t);
+                for (short v : block) byValue.accept(v & 0xFFFF);
+                byBlock.acceptAll(block, 0, 500);
+                byBlock.acceptAll(block, 500, 500);
+
+                assertEquals(byValue.result(0.05), byBlock.result(0.05));
+                assertEquals(1000, byBlock.getCount());
+
+                byBlock.reset();
+                assertEquals(0, byBlock.getCount());
+                assertThrows(IllegalArgumentException.class, () -> byBlock.result(0.05));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Session и RNProvider")
+    class SessionTests {
+
+        @Test
+        @DisplayName("Пустая сессия: каждый тест возвращает error")
+        void testEmptySession() {
+            var session = new RandomnessTestSuite.Session();
+            List<TestResult> results = session.results(0.05);
+            assertEquals(4, results.size());
+            assertTrue(results.stream().noneMatch(TestResult::passed));
+            assertTrue(results.stream().allMatch(r -> r.statistic().startsWith("error")));
+        }
+
+        @Test
+        @DisplayName("Провайдер учитывает все числа, а не только историю")
+        void testProviderSession() {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            provider.read(new short[120_000], 0, 120_000);
+            provider.getNextRandomNumber();
+
+            var session = provider.getSessionTests(RNProvider.Mode.PSEUDO);
+            assertEquals(120_001, session.getCount());
+            assertEquals(100_000, provider.getConsumedNumbers().size());
+            assertEquals(0, provider.getSessionTests(RNProvider.Mode.QUANTUM).getCount());
+            assertEquals(4, session.results(0.05).size());
+        }
+    }
+}
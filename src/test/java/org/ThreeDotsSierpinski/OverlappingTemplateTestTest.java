@@ -0,0 +1,73 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для OverlappingTemplateTest (NIST Overlapping Template Matching).
+ *
+ * Покрывает:
+ * - Категории блоков совпадают с побитовым подсчётом вхождений
+ * - Случайные данные → passed
+ * - Лишние серии из 9+ единиц → failed
+ * - Валидация (null, меньше 72 блоков → InsufficientDataException)
+ */
+@DisplayName("OverlappingTemplateTest — пересекающиеся шаблоны")
+@Tag("fast")
+class OverlappingTemplateTestTest {
+
+    @Test
+    @DisplayName("Категории блоков совпадают с побитовым подсчётом")
+    void testMatchesNaive() {
+        long[] values = new Random(17).longs(8000, 0, 65536).toArray();
+        for (int i = 0; i < values.length; i += 13) values[i] = 0xFFFF;
+        var sample = Sample.of(values);
+        long[] bits = sample.bits();
+        int blocks = (int) (sample.bitLength() / OverlappingTemplateTest.BLOCK_BITS);
+
+        long[] expected = new long[6];
+        for (int b = 0; b < blocks; b++) {
+            int count = 0;
+            long start = (long) b * OverlappingTemplateTest.BLOCK_BITS;
+            for (long p = start; p <= start + OverlappingTemplateTest.BLOCK_BITS - 9; p++) {
+                boolean match = true;
+                for (int j = 0; j < 9 && match; j++) {
+                    match = ((bits[(int) ((p + j) >>> 6)] >>> (p + j)) & 1) == 1;
+                }
+                if (match) count++;
+            }
+            expected[Math.min(count, 5)]++;
+        }
+        assertArrayEquals(expected, OverlappingTemplateTest.categoryCounts(bits, blocks));
+    }
+
+    @Test
+    @DisplayName("Случайные uint16 → passed")
+    void testRandomPasses() {
+        var sample = Sample.of(new Random(42).longs(20_000, 0, 65536).toArray());
+        TestResult result = new OverlappingTemplateTest().testSample(sample, 0.05);
+        assertTrue(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("Каждое 20-е число — 0xFFFF → failed")
+    void testLongRunsFail() {
+        long[] values = new Random(5).longs(20_000, 0, 65536).toArray();
+        for (int i = 0; i < values.length; i += 20) values[i] = 0xFFFF;
+        TestResult result = new OverlappingTemplateTest().testSample(Sample.of(values), 0.05);
+        assertFalse(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("null и меньше 72 блоков → InsufficientDataException")
+    void testValidation() {
+        var test = new OverlappingTemplateTest();
+        assertThrows(InsufficientDataException.class, () -> test.testSample(null, 0.05));
+        assertThrows(InsufficientDataException.class, () -> test.testSample(Sample.of(new long[4000]), 0.05));
+    }
+}
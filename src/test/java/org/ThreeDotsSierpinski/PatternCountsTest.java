@@ -0,0 +1,84 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для PatternCounts.
+ *
+ * Покрывает:
+ * - Частоты шаблонов на примере NIST (ε = 0011011101, m = 3)
+ * - Скользящее окно совпадает с подсчётом по подстрокам (через границы слов)
+ * - fold даёт частоты m − 1 без второго прохода
+ * - Валидация m и длины потока
+ */
+@DisplayName("PatternCounts — частоты перекрывающихся m-битных шаблонов")
+@Tag("fast")
+class PatternCountsTest {
+
+    /** Битовый поток из строки '0'/'1', первый символ — первый бит. */
+    private static long[] bitsOf(String stream) {
+        long[] bits = new long[(stream.length() + 63) >>> 6];
+        for (int i = 0; i < stream.length(); i++) {
+            if (stream.charAt(i) == '1') {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /** Эталон: циклические подстроки длины m. */
+    private static int[] naive(String stream, int m) {
+        String cyclic = stream + stream.substring(0, m - 1);
+        int[] counts = new int[1 << m];
+        for (int i = 0; i < stream.length(); i++) {
+            counts[Integer.parseInt(cyclic.substring(i, i + m), 2)]++;
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Пример NIST: ε = 0011011101, m = 3")
+    void testNistExample() {
+        int[] counts = PatternCounts.count(bitsOf("0011011101"), 10, 3);
+        // 000 001 010 011 100 101 110 111
+        assertArrayEquals(new int[]{0, 1, 1, 2, 1, 2, 2, 1}, counts);
+        assertArrayEquals(new int[]{1, 3, 3, 3}, PatternCounts.fold(counts));
+    }
+
+    @Test
+    @DisplayName("Окно совпадает с подсчётом по подстрокам, fold — с подсчётом для m − 1")
+    void testMatchesNaive() {
+        var random = new Random(4);
+        var sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(random.nextBoolean() ? '1' : '0');
+        }
+        String stream = sb.toString();
+        long[] bits = bitsOf(stream);
+
+        for (int m = 1; m <= 12; m++) {
+            int[] counts = PatternCounts.count(bits, stream.length(), m);
+            assertArrayEquals(naive(stream, m), counts, "m=" + m);
+            if (m > 1) {
+                assertArrayEquals(naive(stream, m - 1), PatternCounts.fold(counts), "fold m=" + m);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Некорректные m и длина потока")
+    void testValidation() {
+        long[] bits = new long[1];
+        assertThrows(IllegalArgumentException.class, () -> PatternCounts.count(bits, 64, 0));
+        assertThrows(IllegalArgumentException.class, () -> PatternCounts.count(bits, 64, PatternCounts.MAX_M + 1));
+        assertThrows(IllegalArgumentException.class, () -> PatternCounts.count(bits, 2, 3));
+        assertEquals(10, PatternCounts.log2(1024));
+        assertEquals(10, PatternCounts.log2(2047));
+    }
+}
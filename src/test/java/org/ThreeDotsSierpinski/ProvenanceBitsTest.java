@@ -0,0 +1,116 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для ProvenanceBits (битовая карта происхождения чисел).
+ *
+ * Покрывает:
+ * - set/get и fill через границу слов
+ * - copy с невыровненными позициями источника и приёмника
+ * - select и count совпадают с поэлементной фильтрацией
+ * - RNProvider.getConsumedNumbers(Mode) в PSEUDO режиме
+ */
+@DisplayName("ProvenanceBits — происхождение чисел истории")
+@Tag("fast")
+class ProvenanceBitsTest {
+
+    @Nested
+    @DisplayName("Операции над картой")
+    class BitOperationTests {
+
+        @Test
+        @DisplayName("fill через границу слов не задевает соседние биты")
+        void testFillAcrossWords() {
+            long[] bits = new long[ProvenanceBits.words(200)];
+            assertEquals(4, bits.length);
+
+            ProvenanceBits.fill(bits, 60, 70, true);
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i >= 60 && i < 130, ProvenanceBits.get(bits, i), "бит " + i);
+            }
+
+            ProvenanceBits.fill(bits, 64, 64, false);
+            ProvenanceBits.set(bits, 100, true);
+            assertEquals(0xFL << 60, bits[0]);
+            assertEquals(1L << 36, bits[1]);
+            assertEquals(0b11L, bits[2]);
+        }
+
+        @Test
+        @DisplayName("copy с невыровненными позициями")
+        void testUnalignedCopy() {
+            var random = new SplittableRandom(7);
+            long[] src = {random.nextLong(), random.nextLong(), random.nextLong()};
+            long[] dst = {-1L, -1L, -1L};
+
+            ProvenanceBits.copy(src, 5, dst, 61, 120);
+
+            for (int i = 0; i < 192; i++) {
+                boolean expected = i >= 61 && i < 181 ? ProvenanceBits.get(src, i - 61 + 5) : true;
+                assertEquals(expected, ProvenanceBits.get(dst, i), "бит " + i);
+            }
+        }
+
+        @Test
+        @DisplayName("select и count совпадают с поэлементной фильтрацией")
+        void testSelectMatchesNaive() {
+            var random = new SplittableRandom(42);
+            int n = 1000;
+            long[] bits = new long[ProvenanceBits.words(n)];
+            long[] values = new long[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = i * 3L;
+                ProvenanceBits.set(bits, i, random.nextInt(3) == 0);
+            }
+
+            for (int[] range : new int[][]{{0, n}, {3, 5}, {63, 129}, {500, 500}, {777, 1000}}) {
+                for (boolean quantum : new boolean[]{true, false}) {
+                    List<Long> expected = new ArrayList<>();
+                    for (int i = range[0]; i < range[1]; i++) {
+                        if (ProvenanceBits.get(bits, i) == quantum) expected.add(values[i]);
+                    }
+
+                    long[] out = new long[n + 1];
+                    out[0] = -5;
+                    int end = ProvenanceBits.select(bits, values, range[0], range[1], quantum, out, 1);
+                    List<Long> actual = new ArrayList<>();
+                    for (int i = 1; i < end; i++) actual.add(out[i]);
+
+                    assertEquals(expected, actual);
+                    assertEquals(-5, out[0], "позиции до outPos не трогаются");
+                    assertEquals(expected.size(), ProvenanceBits.count(bits, range[0], range[1], quantum));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("История RNProvider")
+    class ProviderViewTests {
+
+        @Test
+        @DisplayName("PSEUDO режим: квантовая выборка пуста, псевдослучайная — вся история")
+        void testPseudoOnlyHistory() {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            provider.getNextRandomNumber();
+            provider.read(new short[300], 0, 300);
+
+            assertTrue(provider.getConsumedNumbers(RNProvider.Mode.QUANTUM).isEmpty());
+            assertEquals(provider.getConsumedNumbers(), provider.getConsumedNumbers(RNProvider.Mode.PSEUDO));
+            assertEquals(301, provider.getConsumedNumbers(RNProvider.Mode.PSEUDO).size());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для JMX-метрик: LatencyHistogram, RateMeter, ProviderMetrics.
+ *
+ * Покрывает:
+ * - Перцентили гистограммы задержек (границы корзин, максимум)
+ * - Скользящий счётчик событий в секунду (с подменённым временем, параллельная запись)
+ * - Учёт выданных чисел, underflow и fallback в RNProvider
+ * - Регистрация MBean в platform MBeanServer и операции
+ */
+@DisplayName("ProviderMetrics — JMX метрики провайдера")
+@Tag("fast")
+class ProviderMetricsTest {
+
+    private static RNProvider createPseudoProvider() {
+        var settings = new RNProvider.ProviderSettings(
+                "http://localhost:1", null, "uint16",
+                5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+        return new RNProvider(settings, false, ms -> { });
+    }
+
+    @Nested
+    @DisplayName("LatencyHistogram")
+    class HistogramTests {
+
+        @Test
+        @DisplayName("Пустая гистограмма → перцентили 0")
+        void testEmpty() {
+            var histogram = new LatencyHistogram();
+            assertEquals(0, histogram.count());
+            assertEquals(0, histogram.percentile(50));
+            assertEquals(0, histogram.max());
+        }
+
+        @Test
+        @DisplayName("Перцентили возвращают верхнюю границу корзины")
+        void testPercentiles() {
+            var histogram = new LatencyHistogram();
+            for (int i = 0; i < 90; i++) histogram.record(40);   // корзина ≤50
+            for (int i = 0; i < 10; i++) histogram.record(900);  // корзина ≤1000
+
+            assertEquals(100, histogram.count());
+            assertEquals(50, histogram.percentile(50));
+            assertEquals(50, histogram.percentile(90));
+            assertEquals(1_000, histogram.percentile(99));
+            assertEquals(900, histogram.max());
+        }
+
+        @Test
+        @DisplayName("Значения больше последней границы → максимум")
+        void testOverflowBucket() {
+            var histogram = new LatencyHistogram();
+            histogram.record(120_000);
+            assertEquals(120_000, histogram.percentile(99));
+        }
+    }
+
+    @Nested
+    @DisplayName("RateMeter")
+    class RateMeterTests {
+
+        @Test
+        @DisplayName("Скорость считается по завершённым секундам")
+        void testRate() {
+            var clock = new AtomicLong(100_000_000_000L);
+            var meter = new RateMeter(clock::get);
+
+            for (int s = 0; s < 5; s++) {
+                meter.record(10);
+                clock.addAndGet(1_000_000_000L);
+            }
+            // Текущая секунда не учитывается
+            meter.record(1_000);
+
+            assertEquals(10.0, meter.perSecond(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Старые корзины не учитываются")
+        void testStaleSlotsIgnored() {
+            var clock = new AtomicLong(0);
+            var meter = new RateMeter(clock::get);
+            meter.record(500);
+            clock.addAndGet(60_000_000_000L);
+
+            assertEquals(0.0, meter.perSecond(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Переход корзины на новую секунду не теряет параллельные события")
+        void testConcurrentSlotReuse() throws InterruptedException {
+            var clock = new AtomicLong(0);
+            var meter = new RateMeter(clock::get);
+            int threads = 8;
+            int perThread = 100;
+
+            for (int round = 1; round <= 500; round++) {
+                // Та же корзина, что 16 секунд назад — первый record её сбрасывает
+                meter.record(1_000_000);
+                clock.addAndGet(16_000_000_000L);
+
+                var start = new CountDownLatch(1);
+                var workers = new Thread[threads];
+                for (int t = 0; t < threads; t++) {
+                    workers[t] = Thread.ofPlatform().start(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        for (int i = 0; i < perThread; i++) meter.record(1);
+                    });
+                }
+                start.countDown();
+                for (Thread w : workers) w.join();
+
+                clock.addAndGet(1_000_000_000L);
+                assertEquals((double) threads * perThread / 5, meter.perSecond(), 1e-9, "round " + round);
+                clock.addAndGet(-1_000_000_000L);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("ProviderMetrics + RNProvider")
+    class ProviderTests {
+
+        @Test
+        @DisplayName("Без API ключа: fallback учтён, выдача считается как PSEUDO")
+        void testPseudoServedCounted() {
+            RNProvider provider = createPseudoProvider();
+            ProviderMetrics metrics = provider.getMetrics();
+
+            assertEquals(1, metrics.getFallbacks());
+            assertEquals("PSEUDO", metrics.getMode());
+
+            for (int i = 0; i < 50; i++) {
+                assertTrue(provider.getNextRandomNumber().isPresent());
+            }
+
+            assertEquals(50, metrics.getPseudoNumbersServed());
+            assertEquals(0, metrics.getQuantumNumbersServed());
+            assertEquals(provider.getQueueSize(), metrics.getQueueDepth());
+        }
+
+        @Test
+        @DisplayName("toggleForcedPseudo переключает флаг провайдера")
+        void testToggleForcedPseudo() {
+            RNProvider provider = createPseudoProvider();
+            ProviderMetrics metrics = provider.getMetrics();
+
+            assertTrue(metrics.toggleForcedPseudo());
+            assertTrue(provider.isForcedPseudo());
+            assertTrue(metrics.isForcedPseudo());
+        }
+
+        @Test
+        @DisplayName("MBean регистрируется и читается через MBeanServer")
+        void testJmxRegistration() throws Exception {
+            RNProvider provider = createPseudoProvider();
+            ObjectName name = JmxSupport.register(provider.getMetrics(), "type=RNProvider,name=test");
+            assertNotNull(name);
+
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                assertTrue(server.isRegistered(name));
+                assertEquals("PSEUDO", server.getAttribute(name, "Mode"));
+                assertEquals(1L, server.getAttribute(name, "Fallbacks"));
+
+                int before = provider.getQueueSize();
+                server.invoke(name, "forceRefill", null, null);
+
+                // В PSEUDO режиме дозагрузка асинхронная
+                long deadline = System.currentTimeMillis() + 5000;
+                while (provider.getQueueSize() <= before && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertTrue(provider.getQueueSize() > before);
+            } finally {
+                JmxSupport.unregister(name);
+            }
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для RNProvider.ProviderState (состояние провайдера и его переходы).
+ *
+ * Покрывает:
+ * - Ручной PSEUDO: включение, снятие, возврат в QUANTUM только если PSEUDO был ручным
+ * - Fallback и возврат в QUANTUM, неприменимые переходы возвращают this
+ * - Начало и конец загрузки, учёт запросов
+ * - Гонка setForcedPseudo и fallback по лимиту: инварианты не нарушаются
+ */
+@DisplayName("ProviderState — состояние RNProvider и CAS-переходы")
+@Tag("fast")
+class ProviderStateTest {
+
+    private static final RNProvider.ProviderState INITIAL = RNProvider.ProviderState.INITIAL;
+
+    @Nested
+    @DisplayName("Переходы")
+    class TransitionTests {
+
+        @Test
+        @DisplayName("Ручной PSEUDO включается и снимается с возвратом в QUANTUM")
+        void testForceAndRelease() {
+            var forced = INITIAL.forcePseudo();
+            assertEquals(RNProvider.Mode.PSEUDO, forced.mode());
+            assertTrue(forced.forcedPseudo());
+            assertEquals(RNProvider.ProviderState.FORCED_REASON, forced.fallbackReason());
+            assertSame(forced, forced.forcePseudo());
+
+            var released = forced.releaseForcedPseudo(true);
+            assertEquals(RNProvider.Mode.QUANTUM, released.mode());
+            assertFalse(released.forcedPseudo());
+            assertNull(released.fallbackReason());
+            assertSame(INITIAL, INITIAL.releaseForcedPseudo(true));
+        }
+
+        @Test
+        @DisplayName("После настоящего fallback снятие ручного PSEUDO оставляет PSEUDO и причину")
+        void testReleaseAfterFallback() {
+            var forced = INITIAL.fallBack("API key not configured").forcePseudo();
+            assertEquals("API key not configured", forced.fallbackReason());
+
+            var released = forced.releaseForcedPseudo(false);
+            assertEquals(RNProvider.Mode.PSEUDO, released.mode());
+            assertFalse(released.forcedPseudo());
+            assertEquals("API key not configured", released.fallbackReason());
+        }
+
+        @Test
+        @DisplayName("Fallback сохраняет причину, повторный fallback неприменим")
+        void testFallBack() {
+            var fallen = INITIAL.countRequest(false).fallBack("HTTP 500");
+            assertEquals(RNProvider.Mode.PSEUDO, fallen.mode());
+            assertEquals("HTTP 500", fallen.fallbackReason());
+            assertTrue(fallen.initialLoadComplete());
+            assertEquals(1, fallen.apiRequestCount());
+            assertSame(fallen, fallen.fallBack("other"));
+
+            var recovered = fallen.recoverQuantum();
+            assertEquals(RNProvider.Mode.QUANTUM, recovered.mode());
+            assertSame(recovered, recovered.recoverQuantum());
+        }
+
+        @Test
+        @DisplayName("При ручном PSEUDO возврата в QUANTUM нет")
+        void testNoRecoveryWhileForced() {
+            var forced = INITIAL.forcePseudo();
+            assertSame(forced, forced.recoverQuantum());
+            assertSame(forced, forced.fallBack("HTTP 500"));
+        }
+
+        @Test
+        @DisplayName("Загрузка: одна за раз, только в QUANTUM и в пределах лимита")
+        void testLoading() {
+            var loading = INITIAL.startLoading(2);
+            assertTrue(loading.loading());
+            assertSame(loading, loading.startLoading(2));
+
+            var done = loading.countRequest(true).finishLoading();
+            assertFalse(done.loading());
+            assertTrue(done.initialLoadComplete());
+            assertEquals(1, done.apiRequestCount());
+            assertSame(done, done.finishLoading());
+
+            var limited = done.countRequest(true);
+            assertSame(limited, limited.startLoading(2));
+            var pseudo = INITIAL.fallBack("x");
+            assertSame(pseudo, pseudo.startLoading(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Конкурентные переходы")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Переключение ручного PSEUDO в гонке с fallback по лимиту")
+        void testForcedToggleRacesFallback() throws Exception {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", "test-key", "uint16",
+                    5, 2, 0, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            assertEquals(RNProvider.Mode.QUANTUM, provider.getMode());
+
+            var start = new CountDownLatch(1);
+            var running = new AtomicBoolean(true);
+            var violation = new AtomicReference<RNProvider.ProviderState>();
+
+            Thread toggler = Thread.ofPlatform().start(() -> {
+                await(start);
+                for (int i = 0; i < 2_000; i++) {
+                    provider.setForcedPseudo(i % 2 == 0);
+                }
+                provider.setForcedPseudo(false);
+            });
+            Thread consumer = Thread.ofPlatform().start(() -> {
+                await(start);
+                while (running.get()) {
+                    provider.getNextRandomNumber();
+                }
+            });
+            Thread observer = Thread.ofPlatform().start(() -> {
+                await(start);
+                while (running.get()) {
+                    var s = provider.getState();
+                    if (s.forcedPseudo() && s.mode() != RNProvider.Mode.PSEUDO
+                            || s.mode() == RNProvider.Mode.PSEUDO && s.fallbackReason() == null) {
+                        violation.compareAndSet(null, s);
+                    }
+                }
+            });
+
+            start.countDown();
+            toggler.join();
+            running.set(false);
+            consumer.join();
+            observer.join();
+
+            assertNull(violation.get(), "Несогласованный снимок: " + violation.get());
+            var last = provider.getState();
+            assertFalse(last.forcedPseudo());
+            assertEquals(RNProvider.Mode.PSEUDO, last.mode(), "Лимит 0 — после снятия ручного режима fallback");
+            assertTrue(last.fallbackReason().startsWith("API request limit reached"), last.fallbackReason());
+            assertFalse(last.loading());
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
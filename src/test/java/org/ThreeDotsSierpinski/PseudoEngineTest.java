@@ -0,0 +1,170 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для PseudoEngine и EntropyBuffer.
+ *
+ * Покрывает:
+ * - 4 значения uint16 из одного nextLong() (порядок: младшие биты первыми)
+ * - Поштучная выдача next() согласована с блочной
+ * - Параллельное заполнение больших блоков (независимые sub-streams)
+ * - Асинхронная генерация
+ * - EntropyBuffer: FIFO, рост ёмкости, drainTo через границу кольца
+ * - EntropyBuffer: происхождение значений (pollTagged, drainTo с картой)
+ */
+@DisplayName("PseudoEngine — блочная PSEUDO генерация")
+@Tag("fast")
+class PseudoEngineTest {
+
+    @Nested
+    @DisplayName("PseudoEngine")
+    class EngineTests {
+
+        @Test
+        @DisplayName("fillFrom извлекает 4 uint16 из каждого nextLong()")
+        void testFourValuesPerLong() {
+            RandomGenerator reference = RandomGeneratorFactory.of(PseudoEngine.ALGORITHM).create(7L);
+            RandomGenerator source = RandomGeneratorFactory.of(PseudoEngine.ALGORITHM).create(7L);
+
+            short[] block = new short[10];
+            PseudoEngine.fillFrom(source, block, 0, block.length);
+
+            for (int w = 0; w < 3; w++) {
+                long word = reference.nextLong();
+                for (int lane = 0; lane < 4 && w * 4 + lane < block.length; lane++) {
+                    assertEquals((int) ((word >>> (16 * lane)) & 0xFFFF), block[w * 4 + lane] & 0xFFFF);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("next() выдаёт ту же последовательность, что и generate()")
+        void testNextMatchesBlock() {
+            short[] block = new PseudoEngine(42L).generate(9);
+            var engine = new PseudoEngine(42L);
+
+            for (short expected : block) {
+                assertEquals(expected & 0xFFFF, engine.next());
+            }
+        }
+
+        @Test
+        @DisplayName("Значения в диапазоне [0, 65535]")
+        void testRange() {
+            var engine = new PseudoEngine();
+            for (int i = 0; i < 10_000; i++) {
+                int value = engine.next();
+                assertTrue(value >= 0 && value <= 65535, "Вне диапазона: " + value);
+            }
+        }
+
+        @Test
+        @DisplayName("Большой блок заполняется параллельно и выглядит случайным")
+        void testParallelFill() {
+            int len = PseudoEngine.PARALLEL_THRESHOLD * 4 + 3;
+            short[] block = new PseudoEngine(1L).generate(len);
+
+            long ones = 0;
+            for (short v : block) {
+                ones += Integer.bitCount(v & 0xFFFF);
+            }
+            double ratio = (double) ones / (16.0 * len);
+            assertEquals(0.5, ratio, 0.01, "Доля единичных битов должна быть ≈ 0.5");
+
+            // Хвост тоже заполнен (не остался нулевым)
+            assertFalse(block[len - 1] == 0 && block[len - 2] == 0 && block[len - 3] == 0);
+        }
+
+        @Test
+        @DisplayName("generateAsync выполняется вне вызывающего потока")
+        void testAsync() throws Exception {
+            Thread caller = Thread.currentThread();
+            var worker = new Thread[1];
+
+            short[] block = new PseudoEngine(3L)
+                    .generateAsync(100, command -> {
+                        worker[0] = new Thread(command);
+                        worker[0].start();
+                    })
+                    .get();
+
+            assertEquals(100, block.length);
+            assertNotSame(caller, worker[0]);
+        }
+    }
+
+    @Nested
+    @DisplayName("EntropyBuffer")
+    class BufferTests {
+
+        @Test
+        @DisplayName("FIFO порядок и -1 на пустом буфере")
+        void testFifo() {
+            var buffer = new EntropyBuffer(16);
+            buffer.add(1);
+            buffer.add(65535);
+            buffer.addAll(new short[]{5, 6, 7}, 1, 2);
+
+            assertEquals(4, buffer.size());
+            assertEquals(1, buffer.poll());
+            assertEquals(65535, buffer.poll());
+            assertEquals(6, buffer.poll());
+            assertEquals(7, buffer.poll());
+            assertEquals(-1, buffer.poll());
+            assertTrue(buffer.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Рост ёмкости сохраняет порядок при заворачивании кольца")
+        void testGrowthAcrossWrap() {
+            var buffer = new EntropyBuffer(16);
+            short[] block = new short[12];
+            for (int i = 0; i < block.length; i++) block[i] = (short) i;
+
+            buffer.addAll(block, 0, 12);
+            for (int i = 0; i < 10; i++) buffer.poll();   // head = 10
+            buffer.addAll(block, 0, 12);                   // заворачивается и растёт
+
+            short[] out = new short[14];
+            assertEquals(14, buffer.drainTo(out, 0, 100));
+            assertEquals(10, out[0]);
+            assertEquals(11, out[1]);
+            for (int i = 0; i < 12; i++) {
+                assertEquals(i, out[i + 2]);
+            }
+            assertEquals(0, buffer.drainTo(out, 0, 1));
+        }
+
+        @Test
+        @DisplayName("Происхождение сохраняется при заворачивании и росте кольца")
+        void testProvenanceAcrossGrowth() {
+            var buffer = new EntropyBuffer(16);
+            short[] block = new short[12];
+            for (int i = 0; i < block.length; i++) block[i] = (short) i;
+
+            buffer.addAll(block, 0, 12, true);
+            for (int i = 0; i < 10; i++) buffer.poll();   // head = 10
+            buffer.addAll(block, 0, 12, false);            // заворачивается и растёт
+            buffer.add(99, true);
+
+            assertEquals(10 | EntropyBuffer.QUANTUM_TAG, buffer.pollTagged());
+
+            short[] out = new short[14];
+            long[] provenance = new long[1];
+            assertEquals(14, buffer.drainTo(out, 0, 100, provenance));
+            assertEquals(11, out[0]);
+            assertEquals(99, out[13]);
+            assertEquals(1L | (1L << 13), provenance[0], "квантовые только первое и последнее");
+            assertEquals(-1, buffer.pollTagged());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для QuantumRandomGenerator (RandomGenerator поверх EntropySource).
+ *
+ * Покрывает:
+ * - Упаковка uint16 в nextInt / nextLong (младшее слово первым)
+ * - nextDouble в [0, 1), nextBytes (2 байта на слово, нечётная длина)
+ * - nextInt(bound) / nextInt(origin, bound): диапазон и равномерность
+ * - Блочное чтение из источника (одно обращение на блок)
+ * - Ожидание данных от временно пустого источника и таймаут
+ * - Работа поверх RNProvider в PSEUDO режиме (stream API)
+ */
+@DisplayName("QuantumRandomGenerator — RandomGenerator поверх буфера провайдера")
+@Tag("fast")
+class QuantumRandomGeneratorTest {
+
+    /**
+     * Детерминированный источник: 0, 1, 2, ... (mod 65536). Считает обращения.
+     */
+    private static class CountingSource implements EntropySource {
+        int next = 0;
+        final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public int read(short[] dst, int off, int len) {
+            reads.incrementAndGet();
+            for (int i = 0; i < len; i++) {
+                dst[off + i] = (short) next++;
+            }
+            return len;
+        }
+    }
+
+    @Nested
+    @DisplayName("Упаковка слов")
+    class PackingTests {
+
+        @Test
+        @DisplayName("nextInt = два uint16, nextLong = четыре uint16")
+        void testPacking() {
+            var generator = new QuantumRandomGenerator(new CountingSource());
+
+            assertEquals(0x0001_0000, generator.nextInt());                 // слова 0, 1
+            assertEquals(0x0005_0004_0003_0002L, generator.nextLong());     // слова 2..5
+        }
+
+        @Test
+        @DisplayName("nextLong через границу внутреннего буфера")
+        void testLongAcrossBlockBoundary() {
+            var generator = new QuantumRandomGenerator(new CountingSource(), 6, 1000);
+            generator.nextInt();  // слова 0, 1
+            generator.nextInt();  // слова 2, 3
+
+            assertEquals(0x0007_0006_0005_0004L, generator.nextLong());
+        }
+
+        @Test
+        @DisplayName("nextBytes: младший байт слова первым, нечётная длина")
+        void testNextBytes() {
+            var generator = new QuantumRandomGenerator(new CountingSource());
+            generator.nextInt(); // пропускаем слова 0 и 1
+
+            byte[] bytes = new byte[5];
+            generator.nextBytes(bytes);
+
+            assertArrayEquals(new byte[]{2, 0, 3, 0, 4}, bytes);
+        }
+
+        @Test
+        @DisplayName("Источник читается блоками, а не по одному значению")
+        void testBlockReads() {
+            var source = new CountingSource();
+            var generator = new QuantumRandomGenerator(source, 1024, 1000);
+
+            for (int i = 0; i < 1024; i++) {
+                generator.nextLong();
+            }
+
+            assertEquals(4, source.reads.get(), "4096 слов = 4 блока по 1024");
+        }
+    }
+
+    @Nested
+    @DisplayName("Распределения")
+    class DistributionTests {
+
+        @Test
+        @DisplayName("nextDouble в [0, 1)")
+        void testNextDoubleRange() {
+            var generator = new QuantumRandomGenerator(new PseudoSource());
+            for (int i = 0; i < 10_000; i++) {
+                double d = generator.nextDouble();
+                assertTrue(d >= 0.0 && d < 1.0, "Вне [0,1): " + d);
+            }
+        }
+
+        @Test
+        @DisplayName("nextInt(bound) для малого и большого bound")
+        void testBoundedRange() {
+            var generator = new QuantumRandomGenerator(new PseudoSource());
+            int[] counts = new int[6];
+            for (int i = 0; i < 60_000; i++) {
+                counts[generator.nextInt(6)]++;
+            }
+            for (int count : counts) {
+                assertEquals(10_000, count, 500, "Грани кубика должны выпадать равномерно");
+            }
+
+            for (int i = 0; i < 10_000; i++) {
+                int value = generator.nextInt(1_000_000_007);
+                assertTrue(value >= 0 && value < 1_000_000_007);
+            }
+        }
+
+        @Test
+        @DisplayName("nextInt(origin, bound), включая диапазон шире Integer.MAX_VALUE")
+        void testOriginBound() {
+            var generator = new QuantumRandomGenerator(new PseudoSource());
+            for (int i = 0; i < 10_000; i++) {
+                int a = generator.nextInt(-5, 5);
+                assertTrue(a >= -5 && a < 5);
+                int b = generator.nextInt(Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+                assertTrue(b > Integer.MIN_VALUE && b < Integer.MAX_VALUE);
+            }
+        }
+
+        @Test
+        @DisplayName("Некорректные границы → IllegalArgumentException")
+        void testInvalidBounds() {
+            var generator = new QuantumRandomGenerator(new CountingSource());
+            assertThrows(IllegalArgumentException.class, () -> generator.nextInt(0));
+            assertThrows(IllegalArgumentException.class, () -> generator.nextInt(5, 5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Пустой источник")
+    class EmptySourceTests {
+
+        @Test
+        @DisplayName("Ждёт, пока источник не отдаст данные")
+        void testWaitsForData() {
+            var calls = new AtomicInteger();
+            EntropySource lateSource = (dst, off, len) -> {
+                if (calls.incrementAndGet() < 3) return 0;
+                dst[off] = 42;
+                return 1;
+            };
+
+            var generator = new QuantumRandomGenerator(lateSource, 16, 5000);
+            assertEquals(42, generator.nextWord());
+        }
+
+        @Test
+        @DisplayName("Источник молчит дольше таймаута → IllegalStateException")
+        void testTimeout() {
+            var refills = new AtomicInteger();
+            EntropySource empty = new EntropySource() {
+                @Override
+                public int read(short[] dst, int off, int len) { return 0; }
+
+                @Override
+                public void requestRefill() { refills.incrementAndGet(); }
+            };
+
+            var generator = new QuantumRandomGenerator(empty, 16, 50);
+            assertThrows(IllegalStateException.class, generator::nextInt);
+            assertEquals(1, refills.get(), "Должен попросить источник о дозагрузке");
+        }
+    }
+
+    @Nested
+    @DisplayName("Поверх RNProvider")
+    class ProviderTests {
+
+        @Test
+        @DisplayName("ints() / doubles() работают на буфере провайдера")
+        void testStreamsOverProvider() {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            var generator = new QuantumRandomGenerator(provider);
+
+            long inRange = generator.ints(5_000, 0, 10).filter(v -> v >= 0 && v < 10).count();
+            double mean = generator.doubles(20_000).average().orElseThrow();
+
+            assertEquals(5_000, inRange);
+            assertEquals(0.5, mean, 0.02);
+            // 5 000 × 1 (bound ≤ 65536 → одно слово) + 20 000 × 4 слов, блоками по 1024
+            assertEquals(86_016, provider.getConsumedNumbers().size(),
+                    "Потреблённые блоки попадают в историю провайдера");
+        }
+    }
+
+    /** Источник на PseudoEngine — для статистических проверок. */
+    private static class PseudoSource implements EntropySource {
+        private final PseudoEngine engine = new PseudoEngine(123L);
+
+        @Override
+        public int read(short[] dst, int off, int len) {
+            engine.fill(dst, off, len);
+            return len;
+        }
+    }
+}
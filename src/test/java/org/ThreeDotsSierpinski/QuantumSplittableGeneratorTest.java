@@ -0,0 +1,285 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для QuantumSplittableGenerator (split() по непересекающимся диапазонам).
+ *
+ * Покрывает:
+ * - split() отдаёт потомку верхнюю половину окна родителя
+ * - Разделённый блок не перезаписывается при дозагрузке
+ * - Параллельные longs()/ints()/doubles() потребляют непересекающиеся данные
+ * - Поток заданного размера читает из источника примерно столько, сколько выдаёт
+ * - Задачи fork-join на потомках split()
+ * - Проверка аргументов потоков
+ */
+@DisplayName("QuantumSplittableGenerator — split() по диапазонам пула")
+@Tag("fast")
+class QuantumSplittableGeneratorTest {
+
+    /**
+     * Источник, в котором каждые 4 слова — очередное значение счётчика 0, 1, 2, ...
+     * (младшее слово первым). nextLong() на выровненных данных возвращает номер четвёрки,
+     * поэтому повтор значения означает, что одни и те же данные прочитаны дважды.
+     */
+    private static class LongCounterSource implements EntropySource {
+        long next = 0;
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicLong words = new AtomicLong();
+
+        @Override
+        public synchronized int read(short[] dst, int off, int len) {
+            reads.incrementAndGet();
+            int count = len & ~3;
+            words.addAndGet(count);
+            for (int i = 0; i < count; i += 4) {
+                long value = next++;
+                dst[off + i] = (short) value;
+                dst[off + i + 1] = (short) (value >>> 16);
+                dst[off + i + 2] = (short) (value >>> 32);
+                dst[off + i + 3] = (short) (value >>> 48);
+            }
+            return count;
+        }
+    }
+
+    @Nested
+    @DisplayName("split()")
+    class SplitTests {
+
+        @Test
+        @DisplayName("Потомок получает верхнюю половину окна, родитель — нижнюю")
+        void testSplitHalves() {
+            var generator = new QuantumSplittableGenerator(new LongCounterSource(), 16, 1000);
+            assertEquals(0, generator.nextLong());      // блок 0..3, окно [4, 16) = значения 1..3
+
+            var child = generator.split();              // 12 слов → потомку 4 (значение 3)
+
+            assertEquals(3, child.nextLong());
+            assertEquals(1, generator.nextLong());
+            assertEquals(2, generator.nextLong());
+            assertEquals(4, generator.nextLong(), "Родитель резервирует новый блок");
+            assertEquals(8, child.nextLong(), "Потомок резервирует свой блок после родителя");
+        }
+
+        @Test
+        @DisplayName("Дозагрузка не затирает данные, отданные потомку")
+        void testSharedBlockNotOverwritten() {
+            var generator = new QuantumSplittableGenerator(new LongCounterSource(), 32, 1000);
+            generator.nextLong();                       // окно [4, 32) = значения 1..7
+
+            var child = generator.split();              // 28 слов → потомку [20, 32) = 5..7
+            for (int i = 0; i < 5; i++) {
+                generator.nextLong();                   // 1..4 и новый блок 8..15
+            }
+
+            for (int expected = 5; expected <= 7; expected++) {
+                assertEquals(expected, child.nextLong());
+            }
+        }
+
+        @Test
+        @DisplayName("Пустое окно: потомок резервирует блок сам")
+        void testSplitEmptyWindow() {
+            var source = new LongCounterSource();
+            var generator = new QuantumSplittableGenerator(source, 16, 1000);
+
+            var child = generator.split();
+            assertEquals(0, source.reads.get(), "split() не обращается к источнику");
+            assertEquals(0, child.nextLong());
+            assertEquals(4, generator.nextLong());
+        }
+
+        @Test
+        @DisplayName("splits(n) выдаёт n независимых генераторов")
+        void testSplits() {
+            var generator = new QuantumSplittableGenerator(new LongCounterSource(), 64, 1000);
+            Set<Long> firsts = ConcurrentHashMap.newKeySet();
+
+            generator.splits(5).forEach(g -> assertTrue(firsts.add(g.nextLong())));
+
+            assertEquals(5, firsts.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Параллельные потоки")
+    class ParallelTests {
+
+        @Test
+        @DisplayName("longs().parallel() не читает одни и те же данные дважды")
+        void testParallelLongsDisjoint() {
+            var source = new LongCounterSource();
+            var generator = new QuantumSplittableGenerator(source, 1024, 5000);
+
+            long distinct = generator.longs(200_000).parallel().distinct().count();
+
+            assertEquals(200_000, distinct);
+        }
+
+        @Test
+        @DisplayName("ints(n, origin, bound).parallel() в диапазоне")
+        void testParallelBoundedInts() {
+            var generator = new QuantumSplittableGenerator(new PseudoSource());
+
+            long inRange = generator.ints(100_000, -3, 7).parallel()
+                    .filter(v -> v >= -3 && v < 7)
+                    .count();
+
+            assertEquals(100_000, inRange);
+        }
+
+        @Test
+        @DisplayName("Monte Carlo оценка π в fork-join задаче на потомках split()")
+        void testForkJoinMonteCarlo() {
+            var generator = new QuantumSplittableGenerator(new PseudoSource());
+            int n = 400_000;
+
+            long hits = ForkJoinPool.commonPool().invoke(new PiTask(generator, n));
+
+            assertEquals(Math.PI, 4.0 * hits / n, 0.02);
+        }
+
+        @Test
+        @DisplayName("Некорректные аргументы → IllegalArgumentException")
+        void testInvalidArguments() {
+            var generator = new QuantumSplittableGenerator(new LongCounterSource(), 16, 1000);
+            assertThrows(IllegalArgumentException.class, () -> generator.ints(-1));
+            assertThrows(IllegalArgumentException.class, () -> generator.ints(5, 5));
+            assertThrows(IllegalArgumentException.class, () -> generator.longs(10, 3L, 1L));
+            assertThrows(IllegalArgumentException.class, () -> generator.doubles(1.0, 1.0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new QuantumSplittableGenerator(new LongCounterSource(), 18, 1000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Резервирование по потребности")
+    class DemandTests {
+
+        /** Допуск на округление до 4 слов и добор после отбраковки — на каждый лист. */
+        private long slack() {
+            return 8L * ForkJoinPool.getCommonPoolParallelism() * (4 + QuantumSplittableGenerator.OVERFLOW_RESERVE);
+        }
+
+        @Test
+        @DisplayName("ints(1000).parallel() читает около 2000 слов, а не блок на лист")
+        void testParallelIntsReadOnlyDemand() {
+            var source = new LongCounterSource();
+            var generator = new QuantumSplittableGenerator(source);
+
+            generator.ints(1000).parallel().sum();
+
+            assertTrue(source.words.get() >= 2000);
+            assertTrue(source.words.get() <= 2000 + slack(), "прочитано " + source.words.get());
+        }
+
+        @Test
+        @DisplayName("longs(n).parallel() читает около 4n слов без повторов")
+        void testParallelLongsReadOnlyDemand() {
+            var source = new LongCounterSource();
+            var generator = new QuantumSplittableGenerator(source);
+
+            assertEquals(5000, generator.longs(5000).parallel().distinct().count());
+            assertTrue(source.words.get() <= 4 * 5000 + slack(), "прочитано " + source.words.get());
+        }
+
+        @Test
+        @DisplayName("Отбраковка в ints(n, 0, 1000) учтена в оценке потребности")
+        void testBoundedIntsDemand() {
+            // Случайные слова: у счётчика старшие слова нулевые и почти всегда отбраковываются
+            var source = new PseudoSource();
+            var generator = new QuantumSplittableGenerator(source);
+            double perValue = QuantumSplittableGenerator.wordsPerInt(0, 1000);
+            assertEquals(65536.0 / 65000, perValue, 1e-12);
+
+            generator.ints(20_000, 0, 1000).parallel().sum();
+
+            assertTrue(source.words.get() <= 20_000 * perValue * 1.05 + slack(), "прочитано " + source.words.get());
+        }
+
+        @Test
+        @DisplayName("Поток забирает из окна генератора только нужное, остальное остаётся ему")
+        void testStreamTakesOnlyDemandFromWindow() {
+            var generator = new QuantumSplittableGenerator(new LongCounterSource(), 16, 1000);
+            assertEquals(0, generator.nextLong());      // окно [4, 16) = значения 1..3
+
+            assertArrayEquals(new long[]{2, 3}, generator.longs(2).toArray());
+            assertEquals(1, generator.nextLong());
+            assertEquals(4, generator.nextLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("Поверх RNProvider")
+    class ProviderTests {
+
+        @Test
+        @DisplayName("Параллельный поток на буфере провайдера в PSEUDO режиме")
+        void testParallelOverProvider() {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            var generator = new QuantumSplittableGenerator(provider);
+
+            double mean = generator.doubles(100_000).parallel().average().orElseThrow();
+
+            assertEquals(0.5, mean, 0.01);
+        }
+    }
+
+    /** Fork-join задача: каждый лист работает на своём потомке split(). */
+    private static class PiTask extends RecursiveTask<Long> {
+        private final RandomGenerator.SplittableGenerator generator;
+        private final int samples;
+
+        PiTask(RandomGenerator.SplittableGenerator generator, int samples) {
+            this.generator = generator;
+            this.samples = samples;
+        }
+
+        @Override
+        protected Long compute() {
+            if (samples <= 10_000) {
+                long hits = 0;
+                for (int i = 0; i < samples; i++) {
+                    double x = generator.nextDouble();
+                    double y = generator.nextDouble();
+                    if (x * x + y * y < 1.0) hits++;
+                }
+                return hits;
+            }
+            var left = new PiTask(generator.split(), samples / 2);
+            left.fork();
+            long right = new PiTask(generator, samples - samples / 2).compute();
+            return right + left.join();
+        }
+    }
+
+    /** Потокобезопасный источник на PseudoEngine — для статистических проверок. */
+    private static class PseudoSource implements EntropySource {
+        private final PseudoEngine engine = new PseudoEngine(123L);
+        final AtomicLong words = new AtomicLong();
+
+        @Override
+        public synchronized int read(short[] dst, int off, int len) {
+            words.addAndGet(len);
+            engine.fill(dst, off, len);
+            return len;
+        }
+    }
+}
@@ -28,13 +28,17 @@ import static org.junit.jupiter.api.Assertions.*;
  * Используют com.sun.net.httpserver.HttpServer — никаких внешних зависимостей.
  * Sleeper заменён на no-op для мгновенного прохождения retry-логики.
  * Покрытие:
- * - Успешная загрузка uint16 / hex16
+ * - Успешная загрузка uint16 / hex16 (hex16 по блокам size — через HexDecoder)
+ * - Раздельная история квантовых и псевдослучайных чисел
+ * - Учёт выдачи по происхождению числа после fallback (ledger, метрики)
+ * - Монитор качества: квантовые партии и PSEUDO-блок, залитый при fallback
  * - Проверка HTTP-заголовка x-api-key
  * - Проверка query parameters (length, type, size)
  * - Retry после HTTP 500 → успех
  * - Исчерпание retry → lastError
  * - Malformed JSON
  * - API message error ({"message": "..."})
+ * - Партия не прошла тесты здоровья SP 800-90B → карантин и PSEUDO
  * - Пустой буфер → NoSuchElementException
  * - Лимит maxApiRequests
  * - Listener callbacks (started, completed, error, rawData)
@@ -187,6 +191,102 @@ class RNProviderIntegrationTest {
     @DisplayName("Успешная загрузка данных")
     class SuccessfulLoadTests {
 
+        @Test
+        @DisplayName("История разделяет квантовые и псевдослучайные числа")
+        void testProvenanceViews() throws Exception {
+            mockSuccess("{\"data\":[100,200,300,400,500]}");
+            RNProvider provider = createProvider();
+            provider.triggerLoad();
+            assertTrue(provider.waitForInitialData(5000));
+
+            provider.getNextRandomNumber();
+            provider.getNextRandomNumber();
+            provider.setForcedPseudo(true);
+            provider.read(new short[4], 0, 4);
+            provider.setForcedPseudo(false);
+            short[] rest = new short[3];
+            assertEquals(3, provider.read(rest, 0, 3));
+
+            assertEquals(List.of(100L, 200L, 300L, 400L, 500L),
+                    provider.getConsumedNumbers(RNProvider.Mode.QUANTUM));
+            assertEquals(4, provider.getConsumedNumbers(RNProvider.Mode.PSEUDO).size());
+            assertEquals(9, provider.getConsumedNumbers().size());
+        }
+
+        @Test
+        @DisplayName("После fallback оставшиеся в буфере квантовые числа учитываются как QUANTUM")
+        void testSourceAccountingAfterFallback() throws Exception {
+            var calls = new AtomicInteger();
+            mockServer.createContext("/", exchange -> {
+                if (calls.getAndIncrement() == 0) {
+                    sendResponse(exchange, 200, "{\"data\":[100,200,300,400,500]}");
+                } else {
+                    sendResponse(exchange, 500, "Server Down");
+                }
+            });
+            RNProvider provider = createProvider();
+            provider.triggerLoad();
+            assertTrue(provider.waitForInitialData(5000));
+
+            // Очередь падает ниже queueMinSize = 3 → дозагрузка не удаётся → PSEUDO
+            for (int i = 0; i < 3; i++) {
+                provider.getNextRandomNumber();
+            }
+            long start = System.currentTimeMillis();
+            while (provider.getMode() == RNProvider.Mode.QUANTUM && System.currentTimeMillis() - start < 5000) {
+                Thread.sleep(50);
+            }
+            assertEquals(RNProvider.Mode.PSEUDO, provider.getMode());
+
+            var purpose = new EntropyLedger.Purpose("test", "walk", 4);
+            assertEquals(400, provider.getNextRandomNumber(purpose).getAsInt());
+            assertEquals(500, provider.getNextRandomNumber(purpose).getAsInt());
+            assertTrue(provider.getNextRandomNumber(purpose).isPresent());      // первое псевдослучайное
+
+            assertEquals(2 * 16, provider.getEntropyLedger().getQuantumBitsConsumed());
+            assertEquals(3 * 16, provider.getEntropyLedger().getBitsRequested(purpose));
+            assertEquals(5, provider.getMetrics().getQuantumNumbersServed());
+            assertEquals(1, provider.getMetrics().getPseudoNumbersServed());
+        }
+
+        @Test
+        @DisplayName("Загруженная партия сразу оценивается монитором качества")
+        void testBatchQualityRecorded() throws Exception {
+            mockSuccess("{\"data\":[100,200,300,400,500,600,700,800,900,1000,1100,1200]}");
+            RNProvider provider = createProvider();
+            provider.triggerLoad();
+            assertTrue(provider.waitForInitialData(5000));
+
+            var last = provider.getBatchQuality().getLast();
+            assertNotNull(last);
+            assertEquals(RNProvider.Mode.QUANTUM, last.source());
+            assertEquals(12, last.size());
+            assertEquals(1, provider.getMetrics().getBatchesAssessed());
+        }
+
+        @Test
+        @DisplayName("Блок, залитый при переходе в PSEUDO, тоже оценивается монитором качества")
+        void testBatchQualityRecordedOnFallback() throws Exception {
+            RNProvider.ProviderSettings settings = new RNProvider.ProviderSettings(
+                    baseUrl, "test-key", "uint16",
+                    2, 1, 1, // maxApiRequests = 1
+                    2000, 2000, 0,
+                    3, 1L, 10L
+            );
+            mockSuccess("{\"data\":[10,20]}");
+            RNProvider provider = new RNProvider(settings, true, INSTANT_SLEEPER);
+            assertTrue(provider.waitForInitialData(5000));
+
+            provider.getNextRandomNumber();
+            provider.getNextRandomNumber();
+            provider.getNextRandomNumber();  // лимит исчерпан → fallback и синхронная заливка блока
+            assertEquals(RNProvider.Mode.PSEUDO, provider.getMode());
+
+            var pseudo = provider.getBatchQuality().snapshot(RNProvider.Mode.PSEUDO);
+            assertFalse(pseudo.isEmpty(), "PSEUDO-блок fallback должен попасть в монитор");
+            assertEquals(1024, pseudo.get(0).size());
+        }
+
         @Test
         @DisplayName("uint16 — парсит массив целых чисел")
         void testLoadUint16() throws Exception {
@@ -216,6 +316,21 @@ class RNProviderIntegrationTest {
             assertEquals(0, provider.getNextRandomNumber().getAsInt());
         }
 
+        @Test
+        @DisplayName("hex16 с size=2 — каждый элемент даёт два числа")
+        void testLoadHex16Blocks() throws Exception {
+            mockSuccess("{\"data\":[\"0001FFFF\",\"abcd1234\"]}");
+            RNProvider provider = createProvider("hex16");
+
+            provider.triggerLoad();
+            assertTrue(provider.waitForInitialData(5000));
+
+            assertEquals(0x0001, provider.getNextRandomNumber().getAsInt());
+            assertEquals(0xFFFF, provider.getNextRandomNumber().getAsInt());
+            assertEquals(0xABCD, provider.getNextRandomNumber().getAsInt());
+            assertEquals(0x1234, provider.getNextRandomNumber().getAsInt());
+        }
+
         @Test
         @DisplayName("Большой массив данных загружается полностью")
         void testLoadLargeArray() throws Exception {
@@ -436,6 +551,36 @@ class RNProviderIntegrationTest {
             assertNull(provider.getLastError());
         }
 
+        @Test
+        @DisplayName("Партия не прошла SP 800-90B → карантин и PSEUDO без retry")
+        void testHealthTestFailure() throws Exception {
+            AtomicInteger requestCount = new AtomicInteger(0);
+            StringBuilder json = new StringBuilder("{\"data\":[");
+            for (int i = 0; i < 100; i++) {
+                if (i > 0) json.append(",");
+                json.append(7);
+            }
+            String stuck = json.append("]}").toString();
+            mockServer.createContext("/", exchange -> {
+                requestCount.incrementAndGet();
+                sendResponse(exchange, 200, stuck);
+            });
+
+            RNProvider provider = new RNProvider(testSettings(), true, INSTANT_SLEEPER);
+
+            long start = System.currentTimeMillis();
+            while (provider.getMode() == RNProvider.Mode.QUANTUM && System.currentTimeMillis() - start < 5000) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(RNProvider.Mode.PSEUDO, provider.getMode());
+            assertEquals(1, requestCount.get(), "Отказ теста здоровья не повторяется");
+            assertEquals(100, provider.getLastQuarantinedBatch().length);
+            assertEquals(1, provider.getMetrics().getHealthTestFailures());
+            assertTrue(provider.getMetrics().getLastHealthFailure().startsWith("Repetition Count Test"));
+            assertTrue(provider.getFallbackReason().contains("SP 800-90B"));
+        }
+
         // ========================================================================
         // Тесты: Буфер и getNextRandomNumber
         // ========================================================================
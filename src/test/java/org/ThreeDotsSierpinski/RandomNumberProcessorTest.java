@@ -9,7 +9,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -90,6 +93,43 @@ class RandomNumberProcessorTest {
         }
     }
 
+    @Nested
+    @DisplayName("processHexToShorts()")
+    class ProcessHexToShortsTests {
+
+        /** Прежняя реализация processHexToNumbers (Character.digit → byte[] → List) — эталон. */
+        private List<Integer> legacyProcessHexToNumbers(String s) {
+            byte[] bytes = new byte[s.length() / 2];
+            for (int i = 0; i < s.length(); i += 2) {
+                int high = Character.digit(s.charAt(i), 16);
+                int low = Character.digit(s.charAt(i + 1), 16);
+                bytes[i / 2] = (byte) ((high << 4) + low);
+            }
+            List<Integer> numbers = new ArrayList<>();
+            for (int i = 0; i < bytes.length - 1; i += 2) {
+                numbers.add(((bytes[i] & 0xFF) << 8) | (bytes[i + 1] & 0xFF));
+            }
+            return numbers;
+        }
+
+        @Test
+        @DisplayName("Блок 64 КБ hex совпадает с прежним посимвольным декодированием")
+        void testMatchesLegacyDecoding() {
+            byte[] raw = new byte[32 * 1024];
+            new Random(42).nextBytes(raw);
+            String hex = HexFormat.of().withUpperCase().formatHex(raw);
+
+            List<Integer> legacy = legacyProcessHexToNumbers(hex);
+            short[] words = processor.processHexToShorts(hex);
+
+            assertEquals(legacy.size(), words.length);
+            for (int i = 0; i < words.length; i++) {
+                assertEquals(legacy.get(i), words[i] & 0xFFFF, "index " + i);
+            }
+            assertEquals(legacy, processor.processHexToNumbers(hex));
+        }
+    }
+
     @Nested
     @DisplayName("generateNumberInRange()")
     class GenerateNumberInRangeTests {
@@ -242,4 +282,88 @@ class RandomNumberProcessorTest {
         }
     }
 
+    @Nested
+    @DisplayName("mapToRange() — пакетный multiply-shift")
+    class BatchMappingTests {
+
+        private int[] allUint16() {
+            int[] values = new int[65536];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i;
+            }
+            return values;
+        }
+
+        @ParameterizedTest(name = "[{0}, {1}]")
+        @CsvSource({"0, 2", "1, 6", "0, 65535", "-100, 100", "0, 1000000", "-5000000000, 5000000000"})
+        @DisplayName("Совпадает с поштучным generateNumberInRange() для всех uint16")
+        void testMatchesScalar(long min, long max) {
+            int[] src = allUint16();
+            long[] dst = new long[src.length];
+            processor.mapToRange(src, 0, dst, 0, src.length, min, max);
+
+            for (int v = 0; v < src.length; v++) {
+                assertEquals(processor.generateNumberInRange(v, min, max), dst[v], "v = " + v);
+            }
+        }
+
+        @Test
+        @DisplayName("Весь диапазон long: границы и монотонность")
+        void testFullLongRange() {
+            int[] src = {0, 1, 32768, 65535};
+            long[] dst = new long[4];
+            processor.mapToRange(src, 0, dst, 0, 4, Long.MIN_VALUE, Long.MAX_VALUE);
+
+            assertEquals(Long.MIN_VALUE, dst[0]);
+            assertEquals(Long.MIN_VALUE + (1L << 48), dst[1]);
+            assertEquals(0, dst[2]);
+            assertEquals(Long.MAX_VALUE - (1L << 48) + 1, dst[3]);
+        }
+
+        @Test
+        @DisplayName("Диапазон больше 2^47 — точный результат через unsignedMultiplyHigh")
+        void testWideRange() {
+            long max = (1L << 50) - 1;
+            int[] src = {0, 3, 65535};
+            long[] dst = new long[3];
+            processor.mapToRange(src, 0, dst, 0, 3, 0, max);
+
+            assertArrayEquals(new long[]{0, 3L << 34, 65535L << 34}, dst);
+        }
+
+        @ParameterizedTest(name = "[{0}, {1}]")
+        @CsvSource({"0, 2", "0, 359", "-7, 65528", "0, 65536", "-2000000000, 2000000000"})
+        @DisplayName("int-вариант совпадает с long-вариантом")
+        void testIntMatchesLong(int min, int max) {
+            int[] src = allUint16();
+            int[] ints = new int[src.length];
+            long[] longs = new long[src.length];
+            processor.mapToRange(src, 0, ints, 0, src.length, min, max);
+            processor.mapToRange(src, 0, longs, 0, src.length, min, max);
+
+            for (int v = 0; v < src.length; v++) {
+                assertEquals(longs[v], ints[v], "v = " + v);
+            }
+        }
+
+        @Test
+        @DisplayName("Смещения src и dst учитываются")
+        void testOffsets() {
+            int[] src = {65535, 0, 32768, 65535};
+            int[] dst = new int[5];
+            processor.mapToRange(src, 1, dst, 2, 2, 10, 11);
+
+            assertArrayEquals(new int[]{0, 0, 10, 11, 0}, dst);
+        }
+
+        @Test
+        @DisplayName("min > max → IllegalArgumentException")
+        void testInvalidRange() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> processor.mapToRange(new int[1], 0, new long[1], 0, 1, 5L, 4L));
+            assertThrows(IllegalArgumentException.class,
+                    () -> processor.mapToRange(new int[1], 0, new int[1], 0, 1, 5, 4));
+        }
+    }
+
 }
@@ -9,7 +9,15 @@ import org.junit.jupiter.api.Tag;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,12 +25,17 @@ import static org.junit.jupiter.api.Assertions.*;
  * Unit тесты для RandomnessTestSuite.
  *
  * Покрывает:
- * - runAll: все 4 теста запускаются
+ * - runAll: все 13 тестов запускаются
  * - runAll: случайные данные → большинство pass
  * - runAll: константные данные → все fail
  * - runAll: exception в тесте → TestResult с passed=false и "error"
+ * - runAll: мало данных для теста → SKIPPED, а не провал
+ * - runAllAsync: результаты по мере готовности, отмена прерывает тесты
+ * - runAllAsync: отмена останавливает длинный тест в параллельных задачах
+ * - runAllAsync: Error теста доходит до results() как есть, а не как отмена
+ * - Длинные тесты на прерванном потоке → CancellationException
  * - formatResults: формат отчёта
- * - formatResults: содержит итого
+ * - formatResults: содержит итого, пропущенные не входят в счёт
  */
 @DisplayName("RandomnessTestSuite — набор тестов случайности")
 @Tag("fast")
@@ -40,15 +53,17 @@ class RandomnessTestSuiteTest {
     class RunAllTests {
 
         @Test
-        @DisplayName("Запускает все 4 зарегистрированных теста")
-        void testRunsAllFourTests() {
+        @DisplayName("Запускает все 13 зарегистрированных тестов")
+        void testRunsAllThirteenTests() {
             Random rng = new Random(42);
             List<Long> sample = rng.ints(500, 0, 65536)
                     .mapToLong(i -> i).boxed().collect(Collectors.toList());
 
             List<TestResult> results = suite.runAll(sample, 0.05);
 
-            assertEquals(4, results.size(), "Должно быть 4 результата (K-S, Frequency, Chi-Square, Runs)");
+            assertEquals(13, results.size(),
+                    "Должно быть 13 результатов (K-S, Frequency, Chi-Square, Runs, Block Frequency, Cusum, Longest Run, "
+                            + "DFT, Serial, ApEn, Matrix Rank, Non-overlapping Template, Overlapping Template)");
         }
 
         @Test
@@ -64,7 +79,7 @@ class RandomnessTestSuiteTest {
                     .distinct()
                     .count();
 
-            assertEquals(4, uniqueNames, "Все 4 теста должны иметь разные имена");
+            assertEquals(13, uniqueNames, "Все 13 тестов должны иметь разные имена");
         }
 
         @Test
@@ -77,8 +92,8 @@ class RandomnessTestSuiteTest {
             List<TestResult> results = suite.runAll(sample, 0.05);
             long passed = results.stream().filter(TestResult::passed).count();
 
-            assertTrue(passed >= 3,
-                    "Для 1000 случайных чисел минимум 3 из 4 тестов должны пройти, прошло: " + passed);
+            assertTrue(passed >= 9,
+                    "Для 1000 случайных чисел минимум 9 из 13 тестов должны пройти, прошло: " + passed);
         }
 
         @Test
@@ -132,6 +147,24 @@ class RandomnessTestSuiteTest {
                     "Должен содержать Chi-Square тест, имена: " + allNames);
             assertTrue(allNames.contains("Серии") || allNames.contains("Runs"),
                     "Должен содержать Runs тест, имена: " + allNames);
+            assertTrue(allNames.contains("Block Frequency"),
+                    "Должен содержать Block Frequency тест, имена: " + allNames);
+            assertTrue(allNames.contains("Cusum"),
+                    "Должен содержать Cusum тест, имена: " + allNames);
+            assertTrue(allNames.contains("Longest Run"),
+                    "Должен содержать Longest Run тест, имена: " + allNames);
+            assertTrue(allNames.contains("DFT"),
+                    "Должен содержать DFT тест, имена: " + allNames);
+            assertTrue(allNames.contains("Serial"),
+                    "Должен содержать Serial тест, имена: " + allNames);
+            assertTrue(allNames.contains("ApEn"),
+                    "Должен содержать ApEn тест, имена: " + allNames);
+            assertTrue(allNames.contains("Matrix Rank"),
+                    "Должен содержать Matrix Rank тест, имена: " + allNames);
+            assertTrue(allNames.contains("Non-overlapping Template"),
+                    "Должен содержать Non-overlapping Template тест, имена: " + allNames);
+            assertTrue(allNames.contains("(Overlapping Template)"),
+                    "Должен содержать Overlapping Template тест, имена: " + allNames);
         }
     }
 
@@ -140,22 +173,195 @@ class RandomnessTestSuiteTest {
     class ErrorHandlingTests {
 
         @Test
-        @DisplayName("Слишком мало данных → TestResult с error (не крашит suite)")
+        @DisplayName("Слишком мало данных → TestResult с error или пропуском (не крашит suite)")
         void testTooFewDataHandledGracefully() {
             List<Long> tiny = List.of(1L, 2L, 3L);
 
             // Отдельные тесты бросают IllegalArgumentException для <10 элементов
-            // suite должен поймать и вернуть error result
+            // suite должен поймать и вернуть error result (или пропуск — см. ниже)
             List<TestResult> results = suite.runAll(tiny, 0.05);
 
-            assertEquals(4, results.size(), "Все 4 результата должны вернуться");
+            assertEquals(13, results.size(), "Все 13 результатов должны вернуться");
             for (TestResult result : results) {
                 assertFalse(result.passed(), "С 3 элементами ни один тест не должен пройти");
-                assertTrue(result.statistic().contains("error"),
+                assertTrue(result.statistic().contains("error") || result.isSkipped(),
                         "statistic должен содержать 'error', получено: " + result.statistic()
                                 + " для " + result.testName());
             }
         }
+
+        @Test
+        @DisplayName("100 чисел: матричный и шаблонные тесты пропущены, а не провалены")
+        void testInsufficientDataSkipped() {
+            var sample = Sample.of(new Random(6).longs(100, 0, 65536).toArray());
+            var tooShort = List.of(new BinaryMatrixRankTest().getTestName(),
+                    new NonOverlappingTemplateTest().getTestName(),
+                    new OverlappingTemplateTest().getTestName());
+
+            List<TestResult> results = suite.runAll(sample, 0.05);
+
+            for (TestResult result : results) {
+                assertEquals(tooShort.contains(result.testName()), result.isSkipped(),
+                        result.testName() + ": " + result.statistic());
+                assertFalse(result.statistic().contains("error"), result.statistic());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("runAllAsync()")
+    class AsyncTests {
+
+        /** Тест, который ждёт прерывания; сообщает, что его прервали. */
+        private RandomnessTest blockingTest(CountDownLatch started, AtomicBoolean interrupted) {
+            return new RandomnessTest() {
+                @Override
+                public TestResult testSample(Sample sample, double alpha) {
+                    started.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        Thread.currentThread().interrupt();
+                    }
+                    return new TestResult(getTestName(), true, "late");
+                }
+
+                @Override
+                public String getTestName() {
+                    return "blocking";
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("Результаты приходят по одному, итог — в порядке тестов")
+        void testStreamsResults() throws Exception {
+            var sample = Sample.of(new Random(1).longs(1000, 0, 65536).toArray());
+            List<Integer> indices = new CopyOnWriteArrayList<>();
+
+            var run = suite.runAllAsync(sample, 0.05, (result, index) -> indices.add(index));
+            List<TestResult> results = run.results().get(10, TimeUnit.SECONDS);
+
+            assertEquals(suite.runAll(sample, 0.05), results);
+            assertEquals(IntStream.range(0, suite.getTests().size()).boxed().toList(),
+                    indices.stream().sorted().toList());
+            assertFalse(run.isCancelled());
+        }
+
+        @Test
+        @DisplayName("Отмена прерывает идущий тест, готовые результаты уже сообщены")
+        void testCancelInterrupts() throws Exception {
+            var started = new CountDownLatch(1);
+            var interrupted = new AtomicBoolean(false);
+            var fast = new FrequencyBitTest();
+            var custom = new RandomnessTestSuite(List.of(fast, blockingTest(started, interrupted)));
+            List<String> reported = new CopyOnWriteArrayList<>();
+            var sample = Sample.of(new Random(2).longs(100, 0, 65536).toArray());
+
+            var run = custom.runAllAsync(sample, 0.05, (result, index) -> reported.add(result.testName()));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (reported.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            run.cancel();
+
+            assertTrue(run.isCancelled());
+            assertThrows(CancellationException.class, () -> run.results().get(5, TimeUnit.SECONDS));
+            deadline = System.currentTimeMillis() + 5000;
+            while (!interrupted.get() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(interrupted.get(), "Поток теста должен быть прерван");
+            assertEquals(List.of(fast.getTestName()), reported);
+        }
+
+        @Test
+        @DisplayName("Отмена останавливает настоящий длинный тест, а не ждёт его конца")
+        void testCancelStopsLongTest() throws Exception {
+            var started = new CountDownLatch(1);
+            var finished = new CountDownLatch(1);
+            var outcome = new AtomicReference<Throwable>();
+            var dft = new DiscreteFourierTransformTest();
+            // Повторяем настоящий тест, пока его не остановит отмена
+            RandomnessTest repeated = new RandomnessTest() {
+                @Override
+                public TestResult testSample(Sample sample, double alpha) {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            dft.testSample(sample, alpha);
+                        }
+                    } catch (RuntimeException e) {
+                        outcome.set(e);
+                        throw e;
+                    } finally {
+                        finished.countDown();
+                    }
+                }
+
+                @Override
+                public String getTestName() {
+                    return dft.getTestName();
+                }
+            };
+            var sample = Sample.of(new Random(3).longs(1 << 18, 0, 65536).toArray());
+
+            var run = new RandomnessTestSuite(List.of(repeated)).runAllAsync(sample, 0.05, (result, index) -> { });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            run.cancel();
+
+            assertTrue(finished.await(10, TimeUnit.SECONDS), "Отменённый тест должен остановиться");
+            assertInstanceOf(CancellationException.class, outcome.get());
+            assertThrows(CancellationException.class, () -> run.results().get(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Error теста завершает results() этой ошибкой, а не отменой")
+        void testErrorReportedAsCause() {
+            var error = new AssertionError("сбой теста");
+            RandomnessTest failing = new RandomnessTest() {
+                @Override
+                public TestResult testSample(Sample sample, double alpha) {
+                    throw error;
+                }
+
+                @Override
+                public String getTestName() {
+                    return "failing";
+                }
+            };
+            var sample = Sample.of(new Random(4).longs(100, 0, 65536).toArray());
+
+            var run = new RandomnessTestSuite(List.of(failing)).runAllAsync(sample, 0.05, (result, index) -> { });
+
+            var thrown = assertThrows(ExecutionException.class,
+                    () -> run.results().get(5, TimeUnit.SECONDS));
+            assertSame(error, thrown.getCause());
+        }
+
+        @Test
+        @DisplayName("Длинные тесты на прерванном потоке бросают CancellationException")
+        void testLongTestsCheckInterrupt() {
+            var sample = Sample.of(new Random(5).longs(300_000, 0, 65536).toArray());
+            List<RandomnessTest> longTests = List.of(
+                    new DiscreteFourierTransformTest(),
+                    new BinaryMatrixRankTest(),
+                    new NonOverlappingTemplateTest(),
+                    new OverlappingTemplateTest());
+
+            for (RandomnessTest test : longTests) {
+                Thread.currentThread().interrupt();
+                try {
+                    assertThrows(CancellationException.class, () -> test.testSample(sample, 0.05),
+                            test.getTestName());
+                } finally {
+                    Thread.interrupted();
+                }
+                assertNotNull(test.testSample(sample, 0.05), "Без прерывания тест работает: " + test.getTestName());
+            }
+        }
     }
 
     @Nested
@@ -206,6 +412,21 @@ class RandomnessTestSuiteTest {
             assertTrue(report.contains("\u2717"), "Должен содержать ✗");
         }
 
+        @Test
+        @DisplayName("Пропущенные тесты не входят в счёт пройденных")
+        void testFormatExcludesSkipped() {
+            List<TestResult> results = List.of(
+                    new TestResult("Test A", true, "p=0.9"),
+                    TestResult.skipped("Test B", "мало"),
+                    new TestResult("Test C", false, "p=0.001")
+            );
+
+            String report = RandomnessTestSuite.formatResults(results);
+
+            assertTrue(report.contains("1/2 тестов пройдено"), report);
+            assertTrue(report.contains("пропущено: 1"), report);
+        }
+
         @Test
         @DisplayName("Пустой список → '0/0'")
         void testFormatEmptyList() {
@@ -0,0 +1,102 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для RealFft.
+ *
+ * Покрывает:
+ * - Совпадение с прямым ДПФ по определению (малые размеры)
+ * - Параллельный путь (N ≥ 2·PARALLEL_THRESHOLD) на выборочных частотах
+ * - Синусоида даёт пик на своей частоте
+ * - Кэш таблиц по размеру и валидация длины
+ */
+@DisplayName("RealFft — БПФ вещественной последовательности")
+@Tag("fast")
+class RealFftTest {
+
+    /** X_k по определению: Re и Im. */
+    private static double[] dft(double[] x, int k) {
+        double re = 0;
+        double im = 0;
+        for (int j = 0; j < x.length; j++) {
+            double angle = -2 * Math.PI * ((long) j * k % x.length) / x.length;
+            re += x[j] * Math.cos(angle);
+            im += x[j] * Math.sin(angle);
+        }
+        return new double[]{re, im};
+    }
+
+    private static void assertSpectrum(double[] x, double[] spectrum, int k, double tolerance) {
+        double[] expected = dft(x, k);
+        int n = x.length;
+        if (k == 0) {
+            assertEquals(expected[0], spectrum[0], tolerance);
+        } else if (k == n / 2) {
+            assertEquals(expected[0], spectrum[1], tolerance);
+        } else {
+            assertEquals(expected[0], spectrum[2 * k], tolerance, "Re X_" + k);
+            assertEquals(expected[1], spectrum[2 * k + 1], tolerance, "Im X_" + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Совпадает с ДПФ по определению для N = 4 … 1024")
+    void testMatchesDefinition() {
+        var random = new Random(1);
+        for (int n = 4; n <= 1024; n <<= 1) {
+            double[] x = random.doubles(n, -1, 1).toArray();
+            double[] spectrum = x.clone();
+            RealFft.forSize(n).transform(spectrum);
+            for (int k = 0; k <= n / 2; k++) {
+                assertSpectrum(x, spectrum, k, 1e-9 * n);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Параллельный путь совпадает с определением")
+    void testParallelPath() {
+        int n = 4 * RealFft.PARALLEL_THRESHOLD;
+        double[] x = new Random(2).doubles(n, -1, 1).toArray();
+        double[] spectrum = x.clone();
+        RealFft.forSize(n).transform(spectrum);
+        for (int k : new int[]{0, 1, 7, 1000, n / 4 - 1, n / 4, n / 2 - 3, n / 2}) {
+            assertSpectrum(x, spectrum, k, 1e-7 * Math.sqrt(n));
+        }
+    }
+
+    @Test
+    @DisplayName("Синусоида: пик на своей частоте, модули на месте")
+    void testSinePeak() {
+        int n = 256;
+        double[] data = new double[n];
+        for (int j = 0; j < n; j++) {
+            data[j] = Math.cos(2 * Math.PI * 10 * j / n);
+        }
+        var fft = RealFft.forSize(n);
+        fft.transform(data);
+        fft.magnitudes(data, data);
+
+        assertEquals(n / 2.0, data[10], 1e-9);
+        for (int k = 0; k < n / 2; k++) {
+            if (k != 10) assertEquals(0, data[k], 1e-9, "k=" + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Таблицы кэшируются; длина — степень двойки ≥ 4")
+    void testCacheAndValidation() {
+        assertSame(RealFft.forSize(64), RealFft.forSize(64));
+        assertEquals(64, RealFft.forSize(64).size());
+        assertThrows(IllegalArgumentException.class, () -> RealFft.forSize(2));
+        assertThrows(IllegalArgumentException.class, () -> RealFft.forSize(100));
+        assertThrows(IllegalArgumentException.class, () -> RealFft.forSize(64).transform(new double[32]));
+    }
+}
@@ -0,0 +1,112 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для Sample (выборка с общим битовым потоком).
+ *
+ * Покрывает:
+ * - Раскладка битового потока: 4 значения на слово, младшие биты первыми
+ * - Поток строится один раз и общий для всех тестов
+ * - Частотный и Runs по словам совпадают с побитовым подсчётом, в том числе с неполным последним словом
+ * - runAll(Sample) совпадает с runAll(List)
+ */
+@DisplayName("Sample — выборка без упаковки и битовый поток")
+@Tag("fast")
+class SampleTest {
+
+    private static long[] randomValues(int size, long seed) {
+        var random = new Random(seed);
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(65536);
+        }
+        return values;
+    }
+
+    @Nested
+    @DisplayName("Битовый поток")
+    class BitstreamTests {
+
+        @Test
+        @DisplayName("4 значения на слово, младшие 16 бит, хвост обнулён")
+        void testLayout() {
+            var sample = Sample.of(0x1234, 0xABCD, 0xFFFF, 0x0001, 0x1_0002);
+            long[] bits = sample.bits();
+
+            assertEquals(2, bits.length);
+            assertEquals(0x0001_FFFF_ABCD_1234L, bits[0]);
+            assertEquals(0x0002L, bits[1], "Старшие биты значения и хвост слова отброшены");
+            assertEquals(80, sample.bitLength());
+            assertSame(bits, sample.bits(), "Поток строится один раз");
+        }
+
+        @Test
+        @DisplayName("ofUint16 читает short как беззнаковые, of(List) — null запрещён")
+        void testFactories() {
+            var sample = Sample.ofUint16(new short[]{7, (short) 0xFFFF, 9}, 1, 2);
+            assertEquals(2, sample.size());
+            assertEquals(65535, sample.get(0));
+            assertEquals(9, sample.get(1));
+            assertThrows(NullPointerException.class, () -> Sample.of((List<Long>) null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Тесты по словам")
+    class WordLevelTests {
+
+        /** Побитовый подсчёт, как в прежней реализации: единицы и серии. */
+        private long[] reference(long[] values) {
+            long ones = 0;
+            long runs = 1;
+            int previous = -1;
+            for (long value : values) {
+                for (int bit = 0; bit < 16; bit++) {
+                    int b = (int) ((value >> bit) & 1);
+                    ones += b;
+                    if (previous >= 0 && b != previous) runs++;
+                    previous = b;
+                }
+            }
+            return new long[]{ones, runs};
+        }
+
+        @ParameterizedTest(name = "n={0}")
+        @ValueSource(ints = {10, 11, 12, 13, 257, 1000})
+        @DisplayName("Frequency и Runs совпадают с побитовым подсчётом")
+        void testMatchesBitByBit(int n) {
+            long[] values = randomValues(n, n);
+            long[] ref = reference(values);
+            long bitsTotal = 16L * n;
+            var sample = Sample.of(values);
+
+            assertEquals(FrequencyBitTest.evaluate(2 * ref[0] - bitsTotal, bitsTotal, 0.05),
+                    new FrequencyBitTest().testSample(sample, 0.05));
+            assertEquals(RunsBitTest.evaluate(ref[0], bitsTotal, ref[1], 0.05),
+                    new RunsBitTest().testSample(sample, 0.05));
+        }
+
+        @Test
+        @DisplayName("runAll(Sample) совпадает с runAll(List)")
+        void testSuiteOnSample() {
+            long[] values = randomValues(2_000, 5);
+            List<Long> list = new ArrayList<>();
+            for (long v : values) list.add(v);
+
+            var suite = new RandomnessTestSuite();
+            assertEquals(suite.runAll(list, 0.05), suite.runAll(Sample.of(values), 0.05));
+        }
+    }
+}
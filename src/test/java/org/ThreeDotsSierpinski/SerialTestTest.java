@@ -0,0 +1,79 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для SerialTest (NIST Serial Test).
+ *
+ * Покрывает:
+ * - p₁ и p₂ на примере NIST SP 800-22 (2.11.4)
+ * - Выбор m по длине потока
+ * - Случайные данные → passed
+ * - Корреляция соседних бит при балансе нулей и единиц → failed
+ * - Валидация (null, < 10)
+ */
+@DisplayName("SerialTest — серийный тест")
+@Tag("fast")
+class SerialTestTest {
+
+    @Test
+    @DisplayName("Пример NIST: ε = 0011011101, m = 3 → p₁ = 0.808792, p₂ = 0.670320")
+    void testNistExample() {
+        long[] bits = new long[1];
+        String stream = "0011011101";
+        for (int i = 0; i < stream.length(); i++) {
+            if (stream.charAt(i) == '1') bits[0] |= 1L << i;
+        }
+        double[] p = SerialTest.pValues(bits, 10, 3);
+        assertEquals(0.808792, p[0], 1e-5);
+        assertEquals(0.670320, p[1], 1e-5);
+    }
+
+    @Test
+    @DisplayName("m < ⌊log₂ n⌋ − 2, от 2 до 16")
+    void testPatternLength() {
+        assertEquals(4, SerialTest.patternLength(160));
+        assertEquals(8, SerialTest.patternLength(3200));
+        assertEquals(16, SerialTest.patternLength(1_600_000));
+    }
+
+    @Test
+    @DisplayName("Случайные uint16 → passed")
+    void testRandomPasses() {
+        var sample = Sample.of(new Random(42).longs(5000, 0, 65536).toArray());
+        TestResult result = new SerialTest().testSample(sample, 0.05);
+        assertTrue(result.passed(), result.statistic());
+    }
+
+    @Test
+    @DisplayName("Бит повторяет предыдущий с вероятностью 3/4 → failed")
+    void testCorrelatedFails() {
+        var random = new Random(12);
+        long[] values = new long[5000];
+        int bit = 0;
+        for (int i = 0; i < values.length; i++) {
+            long v = 0;
+            for (int b = 0; b < 16; b++) {
+                if (random.nextInt(4) == 0) bit ^= 1;
+                v |= (long) bit << b;
+            }
+            values[i] = v;
+        }
+        var sample = Sample.of(values);
+        assertFalse(new SerialTest().testSample(sample, 0.05).passed());
+    }
+
+    @Test
+    @DisplayName("null и меньше 10 чисел → IllegalArgumentException")
+    void testValidation() {
+        var test = new SerialTest();
+        assertThrows(IllegalArgumentException.class, () -> test.testSample(null, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> test.testSample(Sample.of(1, 2, 3), 0.05));
+    }
+}
@@ -0,0 +1,552 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для SharedEntropyRing (memory-mapped кольцо для нескольких JVM).
+ *
+ * Покрывает:
+ * - Публикация и захват в порядке FIFO, переход через конец кольца
+ * - Производитель не перезаписывает незахваченные значения
+ * - Несколько потребителей получают непересекающиеся диапазоны
+ * - Нагрузка на полном кольце: производитель и потребители одновременно,
+ *   в потоках и в отдельных JVM — ни одно значение не выдано дважды или порванным
+ * - Потребитель, умерший посреди захвата, не останавливает кольцо
+ * - Отдельное отображение файла видит данные производителя
+ * - Heartbeat: резервный источник при «мёртвом» производителе
+ * - Производитель только квантовых чисел: псевдослучайные не попадают в кольцо,
+ *   после перехода в PSEUDO пополнение останавливается, впрок — не больше prefetch
+ * - Перезапуск производителя: старое отображение цело, потребитель переходит на новый файл
+ * - Проверка формата файла и ёмкости
+ */
+@DisplayName("SharedEntropyRing — общий пул энтропии в mapped файле")
+@Tag("fast")
+class SharedEntropyRingTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static short[] sequence(int from, int count) {
+        short[] values = new short[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (short) (from + i);
+        }
+        return values;
+    }
+
+    @Nested
+    @DisplayName("Кольцо")
+    class RingTests {
+
+        @Test
+        @DisplayName("FIFO и переход через конец кольца")
+        void testWrapAround() throws IOException {
+            try (var ring = SharedEntropyRing.create(tempDir.resolve("ring"), 8)) {
+                assertEquals(6, ring.publish(sequence(0, 6), 0, 6));
+                short[] dst = new short[8];
+                assertEquals(5, ring.claim(dst, 0, 5));
+
+                assertEquals(7, ring.publish(sequence(6, 7), 0, 7));   // индексы 6, 7, 0..4
+                assertEquals(8, ring.claim(dst, 0, 8));
+                assertArrayEquals(sequence(5, 8), dst);
+                assertEquals(0, ring.claim(dst, 0, 8));
+            }
+        }
+
+        @Test
+        @DisplayName("Заполненное кольцо не принимает новых значений")
+        void testFullRing() throws IOException {
+            try (var ring = SharedEntropyRing.create(tempDir.resolve("ring"), 8)) {
+                assertEquals(8, ring.publish(sequence(0, 10), 0, 10));
+                assertEquals(0, ring.publish(sequence(0, 1), 0, 1));
+                assertEquals(0, ring.freeSpace());
+
+                short[] dst = new short[3];
+                ring.claim(dst, 0, 3);
+                assertEquals(3, ring.freeSpace());
+                assertArrayEquals(sequence(0, 3), dst, "Незахваченные значения не перезаписаны");
+            }
+        }
+
+        @Test
+        @DisplayName("Потребитель в отдельном отображении видит данные производителя")
+        void testSeparateMapping() throws IOException {
+            Path path = tempDir.resolve("ring");
+            try (var producer = SharedEntropyRing.create(path, 1024);
+                 var consumer = SharedEntropyRing.open(path)) {
+                producer.publish(sequence(100, 50), 0, 50);
+
+                assertEquals(1024, consumer.getCapacity());
+                assertEquals(50, consumer.available());
+                short[] dst = new short[50];
+                assertEquals(50, consumer.claim(dst, 0, 50));
+                assertArrayEquals(sequence(100, 50), dst);
+                assertEquals(0, producer.available(), "Курсор захвата общий для обоих отображений");
+            }
+        }
+
+        @Test
+        @DisplayName("Несколько потребителей получают непересекающиеся значения")
+        void testConcurrentConsumers() throws Exception {
+            Path path = tempDir.resolve("ring");
+            try (var ring = SharedEntropyRing.create(path, 1 << 16)) {
+                ring.publish(sequence(0, 1 << 16), 0, 1 << 16);
+
+                boolean[] seen = new boolean[1 << 16];
+                var duplicates = new AtomicLong();
+                List<Thread> threads = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    threads.add(Thread.startVirtualThread(() -> {
+                        try (var consumer = SharedEntropyRing.open(path)) {
+                            short[] dst = new short[100];
+                            int count;
+                            while ((count = consumer.claim(dst, 0, dst.length)) > 0) {
+                                for (int i = 0; i < count; i++) {
+                                    synchronized (seen) {
+                                        if (seen[dst[i] & 0xFFFF]) duplicates.incrementAndGet();
+                                        seen[dst[i] & 0xFFFF] = true;
+                                    }
+                                }
+                            }
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }));
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+
+                assertEquals(0, duplicates.get());
+                for (boolean value : seen) {
+                    assertTrue(value, "Каждое значение захвачено ровно одним потребителем");
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Некорректная ёмкость и чужой файл")
+        void testValidation() throws IOException {
+            assertThrows(IllegalArgumentException.class,
+                    () -> SharedEntropyRing.create(tempDir.resolve("bad"), 1000));
+
+            Path foreign = tempDir.resolve("foreign");
+            Files.write(foreign, new byte[128]);
+            assertThrows(IOException.class, () -> SharedEntropyRing.open(foreign));
+        }
+    }
+
+    @Nested
+    @DisplayName("Нагрузка на полном кольце")
+    class StressTests {
+
+        /** Сколько значений проходит через кольцо: каждое uint16 ровно один раз. */
+        private static final int TOTAL = 1 << 16;
+
+        /** Маленькое кольцо: производитель всё время упирается в потребителей и делает сотни кругов. */
+        private static final int CAPACITY = 64;
+
+        @Test
+        @DisplayName("Потоки с отдельными отображениями: каждое значение ровно один раз")
+        void testConcurrentProducerAndConsumers() throws Exception {
+            Path path = tempDir.resolve("ring");
+            int[] seen = new int[TOTAL];
+            var done = new AtomicBoolean();
+
+            try (var ring = SharedEntropyRing.create(path, CAPACITY)) {
+                List<Thread> consumers = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    consumers.add(Thread.ofPlatform().start(() -> {
+                        try (var consumer = SharedEntropyRing.open(path)) {
+                            short[] dst = new short[CAPACITY];
+                            while (true) {
+                                int count = consumer.claim(dst, 0, ThreadLocalRandom.current().nextInt(1, 40));
+                                if (count == 0) {
+                                    if (done.get() && consumer.available() == 0) {
+                                        return;
+                                    }
+                                    Thread.yield();
+                                }
+                                synchronized (seen) {
+                                    for (int i = 0; i < count; i++) seen[dst[i] & 0xFFFF]++;
+                                }
+                            }
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }));
+                }
+
+                publishAll(ring);
+                done.set(true);
+                for (Thread consumer : consumers) {
+                    consumer.join(TimeUnit.SECONDS.toMillis(30));
+                }
+            }
+
+            assertEachOnce(seen);
+        }
+
+        @Test
+        @DisplayName("Потребители в отдельных JVM: каждое значение ровно один раз")
+        void testConsumerProcesses() throws Exception {
+            Path path = tempDir.resolve("ring");
+            Path doneFile = tempDir.resolve("done");
+            int[] seen = new int[TOTAL];
+
+            try (var ring = SharedEntropyRing.create(path, CAPACITY)) {
+                List<Process> processes = new ArrayList<>();
+                List<Path> outputs = new ArrayList<>();
+                for (int p = 0; p < 2; p++) {
+                    Path output = tempDir.resolve("consumed-" + p);
+                    outputs.add(output);
+                    processes.add(ConsumerProcess.start(path, doneFile, output));
+                }
+
+                publishAll(ring);
+                Files.createFile(doneFile);
+                for (Process process : processes) {
+                    assertTrue(process.waitFor(60, TimeUnit.SECONDS), "Процесс-потребитель не завершился");
+                    assertEquals(0, process.exitValue());
+                }
+
+                for (Path output : outputs) {
+                    try (var in = new DataInputStream(Files.newInputStream(output))) {
+                        int count = in.readInt();
+                        for (int i = 0; i < count; i++) seen[in.readShort() & 0xFFFF]++;
+                    }
+                }
+            }
+
+            assertEachOnce(seen);
+        }
+
+        @Test
+        @DisplayName("Потребитель умер, забрав ячейку и не сдвинув курсор: кольцо работает дальше")
+        void testConsumerDiedBeforeCursorMove() throws IOException {
+            try (var ring = SharedEntropyRing.create(tempDir.resolve("ring"), 8)) {
+                assertEquals(8, ring.publish(sequence(0, 8), 0, 8));
+                assertEquals(0, ring.take(0), "Ячейка забрана, курсор остался на 0");
+                assertEquals(SharedEntropyRing.TAKEN, ring.take(0));
+
+                short[] dst = new short[8];
+                assertEquals(7, ring.claim(dst, 0, 8));
+                assertArrayEquals(sequence(1, 7), Arrays.copyOf(dst, 7));
+                assertEquals(8, ring.publish(sequence(8, 8), 0, 8), "Все ячейки снова свободны");
+                assertEquals(8, ring.claim(dst, 0, 8));
+                assertArrayEquals(sequence(8, 8), dst);
+            }
+        }
+
+        @Test
+        @DisplayName("Процессы-потребители убиты посреди чтения: кольцо работает дальше")
+        void testKilledConsumerProcesses() throws Exception {
+            Path path = tempDir.resolve("ring");
+            Path neverDone = tempDir.resolve("never");
+            var stop = new AtomicBoolean();
+
+            try (var ring = SharedEntropyRing.create(path, CAPACITY)) {
+                Thread producer = Thread.ofPlatform().start(() -> {
+                    short[] values = sequence(0, CAPACITY);
+                    while (!stop.get()) {
+                        if (ring.publish(values, 0, CAPACITY) == 0) Thread.yield();
+                    }
+                });
+                try {
+                    for (int p = 0; p < 3; p++) {
+                        Path output = tempDir.resolve("killed-" + p);
+                        Process process = ConsumerProcess.start(path, neverDone, output);
+                        assertTrue(waitUntil(() -> Files.exists(output), 30), "Потребитель не запустился");
+                        process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+                    }
+                } finally {
+                    stop.set(true);
+                    producer.join();
+                }
+
+                short[] dst = new short[CAPACITY];
+                while (ring.claim(dst, 0, CAPACITY) > 0) {
+                    // опустошаем кольцо
+                }
+                assertEquals(CAPACITY, ring.publish(sequence(1000, CAPACITY), 0, CAPACITY),
+                        "Убитые потребители не держат ячейки");
+                assertEquals(CAPACITY, ring.claim(dst, 0, CAPACITY));
+                assertArrayEquals(sequence(1000, CAPACITY), dst);
+            }
+        }
+
+        private boolean waitUntil(BooleanSupplier condition, int seconds) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            while (!condition.getAsBoolean()) {
+                if (System.nanoTime() > deadline) return false;
+                Thread.sleep(10);
+            }
+            return true;
+        }
+
+        /** Публикует 0 … TOTAL − 1 по одному-два десятка значений, ожидая освобождения ячеек. */
+        private void publishAll(SharedEntropyRing ring) {
+            short[] values = sequence(0, TOTAL);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            int published = 0;
+            while (published < TOTAL) {
+                int len = Math.min(TOTAL - published, ThreadLocalRandom.current().nextInt(1, 24));
+                int count = ring.publish(values, published, len);
+                if (count == 0) {
+                    assertTrue(System.nanoTime() < deadline, "Потребители не освобождают кольцо");
+                    Thread.yield();
+                }
+                published += count;
+            }
+        }
+
+        private void assertEachOnce(int[] seen) {
+            for (int value = 0; value < TOTAL; value++) {
+                assertEquals(1, seen[value], "Значение " + value + " выдано " + seen[value] + " раз");
+            }
+        }
+    }
+
+    /** Потребитель в отдельной JVM: забирает значения, пока не появится файл-флаг и кольцо не опустеет. */
+    static final class ConsumerProcess {
+
+        static Process start(Path ring, Path doneFile, Path output) throws IOException {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            if (ManagementFactory.getRuntimeMXBean().getInputArguments().contains("--enable-preview")) {
+                command.add("--enable-preview");
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ConsumerProcess.class.getName());
+            command.add(ring.toString());
+            command.add(doneFile.toString());
+            command.add(output.toString());
+            return new ProcessBuilder(command).inheritIO().start();
+        }
+
+        public static void main(String[] args) throws IOException {
+            Path doneFile = Path.of(args[1]);
+            short[] consumed = new short[1 << 16];
+            int total = 0;
+            try (var ring = SharedEntropyRing.open(Path.of(args[0]))) {
+                Files.createFile(Path.of(args[2]));     // сигнал «запущен»: дальше могут убить
+                short[] dst = new short[64];
+                while (true) {
+                    int count = ring.claim(dst, 0, ThreadLocalRandom.current().nextInt(1, 40));
+                    if (count == 0) {
+                        if (Files.exists(doneFile) && ring.available() == 0) {
+                            break;
+                        }
+                        LockSupport.parkNanos(10_000);
+                    }
+                    int kept = Math.min(count, consumed.length - total);
+                    System.arraycopy(dst, 0, consumed, total, kept);
+                    total += kept;
+                }
+            }
+            try (var out = new DataOutputStream(Files.newOutputStream(Path.of(args[2])))) {
+                out.writeInt(total);
+                for (int i = 0; i < total; i++) out.writeShort(consumed[i]);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Producer / Consumer")
+    class ProducerConsumerTests {
+
+        @Test
+        @DisplayName("Producer переносит числа из RNProvider в кольцо")
+        void testProducerFromProvider() throws Exception {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            Path path = tempDir.resolve("ring");
+
+            try (var ring = SharedEntropyRing.create(path, 4096);
+                 var producer = new SharedEntropyRing.Producer(ring, provider).start();
+                 var consumer = SharedEntropyRing.Consumer.open(path, null)) {
+
+                var generator = new QuantumRandomGenerator(consumer, 256, 5000);
+                double mean = generator.doubles(20_000).average().orElseThrow();
+
+                assertEquals(0.5, mean, 0.02);
+                assertTrue(consumer.isProducerAlive());
+            }
+        }
+
+        /** Источник: чётные значения квантовые, нечётные — псевдослучайные; считает выданное. */
+        private static final class TaggedCounterSource implements EntropySource {
+            private int next;
+            final AtomicLong words = new AtomicLong();
+
+            @Override
+            public synchronized int read(short[] dst, int off, int len) {
+                return read(dst, off, len, new long[ProvenanceBits.words(len)]);
+            }
+
+            @Override
+            public synchronized int read(short[] dst, int off, int len, long[] provenance) {
+                for (int i = 0; i < len; i++) {
+                    int value = next++ & 0xFFFF;
+                    dst[off + i] = (short) value;
+                    ProvenanceBits.set(provenance, i, value % 2 == 0);
+                }
+                words.addAndGet(len);
+                return len;
+            }
+        }
+
+        private boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!condition.getAsBoolean()) {
+                if (System.nanoTime() > deadline) return false;
+                Thread.sleep(5);
+            }
+            return true;
+        }
+
+        @Test
+        @DisplayName("quantumOnly: в кольцо попадают только квантовые числа, не больше prefetch впрок")
+        void testQuantumOnlyProducer() throws Exception {
+            var source = new TaggedCounterSource();
+            try (var ring = SharedEntropyRing.create(tempDir.resolve("ring"), 4096);
+                 var producer = SharedEntropyRing.Producer.quantumOnly(ring, source, () -> true, 100).start()) {
+
+                assertTrue(waitUntil(() -> ring.available() > 0));
+                Thread.sleep(50);
+                assertTrue(ring.available() <= 100, "В кольце " + ring.available());
+                assertTrue(source.words.get() <= 2 * 100, "Из источника прочитано " + source.words.get());
+
+                short[] dst = new short[100];
+                int count = ring.claim(dst, 0, dst.length);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(0, dst[i] % 2, "Псевдослучайное число в кольце: " + dst[i]);
+                }
+                assertTrue(waitUntil(() -> source.words.get() > 200), "Забранное пополняется");
+            }
+        }
+
+        @Test
+        @DisplayName("quantumOnly: источник ушёл в PSEUDO — производитель не читает, потребитель берёт резервный")
+        void testQuantumOnlyStopsAfterFallback() throws Exception {
+            var source = new TaggedCounterSource();
+            var quantum = new AtomicBoolean(true);
+            Path path = tempDir.resolve("ring");
+            EntropySource fallback = (dst, off, len) -> {
+                dst[off] = 7;
+                return 1;
+            };
+
+            try (var ring = SharedEntropyRing.create(path, 64);
+                 var producer = SharedEntropyRing.Producer.quantumOnly(ring, source, quantum::get, 64).start();
+                 var consumer = new SharedEntropyRing.Consumer(SharedEntropyRing.open(path), fallback, 1000)) {
+                assertTrue(waitUntil(() -> ring.available() == 64));
+
+                quantum.set(false);
+                assertTrue(waitUntil(() -> !ring.isServing()));
+                short[] dst = new short[64];
+                assertEquals(64, consumer.read(dst, 0, 64), "Квантовые числа из кольца дочитываются");
+                long read = source.words.get();
+                Thread.sleep(50);
+                assertEquals(read, source.words.get(), "После перехода в PSEUDO источник не читается");
+                assertEquals(0, ring.available());
+
+                assertEquals(1, consumer.read(dst, 0, 64));
+                assertEquals(7, dst[0], "Пустое и не пополняемое кольцо → резервный источник");
+            }
+        }
+
+        @Test
+        @DisplayName("quantumOnly поверх RNProvider в PSEUDO режиме: кольцо остаётся пустым")
+        void testQuantumOnlyOverPseudoProvider() throws Exception {
+            var settings = new RNProvider.ProviderSettings(
+                    "http://localhost:1", null, "uint16",
+                    5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+            var provider = new RNProvider(settings, false, ms -> { });
+            var core = new SharedProviderCore(provider);
+
+            try (var ring = SharedEntropyRing.create(tempDir.resolve("ring"), 256);
+                 var producer = SharedEntropyRing.Producer.quantumOnly(
+                         ring, core.open("ring", SharedProviderCore.QosClass.BACKGROUND), () -> true, 256).start()) {
+                assertTrue(waitUntil(() -> core.getHandles().get(0).getServed() > 1000),
+                        "Производитель читает провайдера");
+                assertEquals(0, ring.available(), "Псевдослучайные числа провайдера не попадают в кольцо");
+            }
+        }
+
+        @Test
+        @DisplayName("Перезапуск производителя не усекает файл под потребителем, тот переходит на новое кольцо")
+        void testProducerRestart() throws Exception {
+            Path path = tempDir.resolve("ring");
+            var first = SharedEntropyRing.create(path, 1024);
+            try (var consumer = SharedEntropyRing.Consumer.open(path, null, 20)) {
+                first.publish(sequence(0, 10), 0, 10);
+                short[] dst = new short[10];
+                assertEquals(5, consumer.read(dst, 0, 5));
+
+                first.close();
+                try (var second = SharedEntropyRing.create(path, 64)) {
+                    assertNotEquals(first.epoch(), second.epoch());
+                    second.publish(sequence(100, 10), 0, 10);
+
+                    assertEquals(5, consumer.read(dst, 0, 10), "Старое отображение читается без SIGBUS");
+                    assertArrayEquals(sequence(5, 5), Arrays.copyOf(dst, 5));
+
+                    Thread.sleep(50);
+                    second.heartbeat();
+                    assertEquals(10, consumer.read(dst, 0, 10), "Старое кольцо молчит → новый файл по пути");
+                    assertArrayEquals(sequence(100, 10), dst);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Производитель молчит → чтение из резервного источника")
+        void testFallbackOnStaleHeartbeat() throws Exception {
+            Path path = tempDir.resolve("ring");
+            EntropySource fallback = (dst, off, len) -> {
+                dst[off] = 7;
+                return 1;
+            };
+
+            try (var ring = SharedEntropyRing.create(path, 64);
+                 var consumer = new SharedEntropyRing.Consumer(SharedEntropyRing.open(path), fallback, 20)) {
+                ring.publish(sequence(1, 2), 0, 2);
+                short[] dst = new short[4];
+
+                assertEquals(2, consumer.read(dst, 0, 4), "Пока в кольце есть данные, читаем из кольца");
+                assertEquals(0, consumer.read(dst, 0, 4), "Кольцо пусто, производитель жив");
+
+                Thread.sleep(50);
+                assertFalse(consumer.isProducerAlive());
+                assertEquals(1, consumer.read(dst, 0, 4));
+                assertEquals(7, dst[0]);
+            }
+        }
+    }
+}
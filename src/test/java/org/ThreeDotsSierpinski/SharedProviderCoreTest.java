@@ -0,0 +1,234 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для SharedProviderCore и ApiRateLimiter.
+ *
+ * Покрывает:
+ * - Ограничитель частоты: слоты с шагом интервала, простой не копит запас
+ * - Провайдеры с одинаковым connectTimeout разделяют HttpClient
+ * - Полный буфер и PSEUDO режим — без ограничений
+ * - Нехватка: доли по весам активных потребителей
+ * - Неактивные и закрытые потребители не учитываются
+ * - Интерактивный потребитель получает хотя бы одно число
+ * - Режим визуализации рисует через дескриптор: учёт в дескрипторе и журнале
+ */
+@DisplayName("SharedProviderCore — общее ядро, QoS и ограничение частоты")
+@Tag("fast")
+class SharedProviderCoreTest {
+
+    private static RNProvider.ProviderSettings pseudoSettings() {
+        return new RNProvider.ProviderSettings(
+                "http://localhost:1", null, "uint16",
+                5, 2, 100, 100, 100, 3, 0, 1L, 1L);
+    }
+
+    /**
+     * Провайдер в QUANTUM режиме с управляемым размером буфера.
+     */
+    private static final class PoolProvider extends RNProvider {
+        final AtomicInteger pool;
+        final AtomicInteger refills = new AtomicInteger();
+
+        PoolProvider(int size) {
+            super(pseudoSettings(), false, ms -> { });
+            pool = new AtomicInteger(size);
+        }
+
+        @Override
+        public Mode getMode() { return Mode.QUANTUM; }
+
+        @Override
+        public int getQueueSize() { return pool.get(); }
+
+        @Override
+        public int read(short[] dst, int off, int len) {
+            int count = Math.min(len, pool.get());
+            pool.addAndGet(-count);
+            return count;
+        }
+
+        @Override
+        public OptionalInt getNextRandomNumber() {
+            return pool.get() > 0 ? OptionalInt.of(pool.decrementAndGet()) : OptionalInt.empty();
+        }
+
+        @Override
+        public void requestRefill() { refills.incrementAndGet(); }
+    }
+
+    @Nested
+    @DisplayName("ApiRateLimiter")
+    class RateLimiterTests {
+
+        @Test
+        @DisplayName("Одновременные запросы выстраиваются с шагом интервала")
+        void testSlots() throws Exception {
+            var clock = new AtomicLong(0);
+            List<Long> sleeps = new ArrayList<>();
+            var limiter = new ApiRateLimiter(1000, clock::get, sleeps::add);
+
+            assertEquals(0, limiter.acquire());
+            assertEquals(1000, limiter.acquire());
+            assertEquals(2000, limiter.acquire());
+            assertEquals(List.of(1000L, 2000L), sleeps);
+        }
+
+        @Test
+        @DisplayName("После простоя запрос проходит сразу, запас не копится")
+        void testIdle() throws Exception {
+            var clock = new AtomicLong(0);
+            var limiter = new ApiRateLimiter(1000, clock::get, ms -> { });
+
+            limiter.acquire();
+            clock.set(5_000_000_000L);
+            assertEquals(0, limiter.acquire());
+            assertEquals(1000, limiter.acquire());
+
+            clock.addAndGet(400_000_000L);
+            assertEquals(1600, limiter.acquire());
+        }
+
+        @Test
+        @DisplayName("unlimited() не ждёт, отрицательный интервал запрещён")
+        void testUnlimitedAndValidation() throws Exception {
+            var limiter = ApiRateLimiter.unlimited();
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0, limiter.acquire());
+            }
+            assertThrows(IllegalArgumentException.class, () -> new ApiRateLimiter(-1));
+            assertEquals(1000, ApiRateLimiter.global().getMinIntervalMs());
+        }
+    }
+
+    @Nested
+    @DisplayName("Общие ресурсы")
+    class SharedResourceTests {
+
+        @Test
+        @DisplayName("Провайдеры с одинаковым connectTimeout используют один HttpClient")
+        void testSharedHttpClient() {
+            var first = new RNProvider(pseudoSettings(), false, ms -> { });
+            var second = new RNProvider(pseudoSettings(), false, ms -> { });
+            assertSame(first.getHttpClient(), second.getHttpClient());
+        }
+
+        @Test
+        @DisplayName("PSEUDO режим — потребитель получает всё, что просит")
+        void testPseudoUnlimited() {
+            var core = new SharedProviderCore(new RNProvider(pseudoSettings(), false, ms -> { }));
+            var background = core.open("tests", SharedProviderCore.QosClass.BACKGROUND);
+
+            assertEquals(10_000, background.read(new short[10_000], 0, 10_000));
+            assertEquals(0, background.getThrottled());
+        }
+
+        @Test
+        @DisplayName("Режим визуализации рисует через дескриптор GUI")
+        void testModeDrawsThroughHandle() {
+            var provider = new RNProvider(pseudoSettings(), false, ms -> { });
+            var gui = new SharedProviderCore(provider).open("gui", SharedProviderCore.QosClass.INTERACTIVE);
+            var canvas = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+            var mode = new SierpinskiMode();
+            mode.initialize(canvas, 200, 200);
+
+            for (int i = 0; i < 5; i++) {
+                mode.step(gui, canvas, 2);
+            }
+
+            assertTrue(mode.getRandomNumbersUsed() > 0);
+            assertEquals(mode.getRandomNumbersUsed(), gui.getServed());
+            assertEquals(16L * mode.getRandomNumbersUsed(), provider.getEntropyLedger().getBitsRequested());
+        }
+    }
+
+    @Nested
+    @DisplayName("Справедливая доля при нехватке")
+    class FairShareTests {
+
+        @Test
+        @DisplayName("Буфер не ниже порога — без ограничений")
+        void testAbundant() {
+            var provider = new PoolProvider(1000);
+            var core = new SharedProviderCore(provider, 100, () -> 0L);
+            var background = core.open("bg", SharedProviderCore.QosClass.BACKGROUND);
+            core.open("ui", SharedProviderCore.QosClass.INTERACTIVE).read(new short[1], 0, 1);
+
+            assertEquals(500, background.read(new short[500], 0, 500));
+        }
+
+        @Test
+        @DisplayName("Нехватка: доли пропорциональны весам 8 : 1")
+        void testWeightedShare() {
+            var provider = new PoolProvider(91);
+            var core = new SharedProviderCore(provider, 1000, () -> 0L);
+            var ui = core.open("ui", SharedProviderCore.QosClass.INTERACTIVE);
+            var bg = core.open("bg", SharedProviderCore.QosClass.BACKGROUND);
+            short[] dst = new short[100];
+
+            assertEquals(1, bg.read(dst, 0, 1));      // 90 · 1/1 → bg активен
+            assertEquals(80, ui.read(dst, 0, 100));   // 90 · 8/9
+            assertEquals(1, bg.read(dst, 0, 100));    // 10 · 1/9
+            assertEquals(1, bg.getThrottled());
+            assertEquals(1, ui.getThrottled());
+        }
+
+        @Test
+        @DisplayName("Неактивный и закрытый потребитель не забирают долю")
+        void testInactiveAndClosed() {
+            var clock = new AtomicLong(0);
+            var provider = new PoolProvider(90);
+            var core = new SharedProviderCore(provider, 1000, clock::get);
+            var ui = core.open("ui", SharedProviderCore.QosClass.INTERACTIVE);
+            var bg = core.open("bg", SharedProviderCore.QosClass.BACKGROUND);
+            short[] dst = new short[100];
+
+            ui.read(dst, 0, 1);                        // ui активен
+            assertEquals(9, bg.read(dst, 0, 100));     // 89 · 1/9
+
+            clock.addAndGet(2 * SharedProviderCore.ACTIVE_WINDOW_NANOS);
+            assertEquals(40, bg.read(dst, 0, 40), "ui давно не обращался");
+
+            ui.read(dst, 0, 1);
+            ui.close();
+            assertEquals(39, bg.read(dst, 0, 100), "закрытый ui не учитывается");
+        }
+
+        @Test
+        @DisplayName("Интерактивный получает минимум одно число, фоновый может получить 0")
+        void testInteractiveMinimum() {
+            var provider = new PoolProvider(3);
+            var core = new SharedProviderCore(provider, 1000, () -> 0L);
+            var ui = core.open("ui", SharedProviderCore.QosClass.INTERACTIVE, 1);
+            var bg = core.open("bg", SharedProviderCore.QosClass.BACKGROUND, 10);
+
+            bg.read(new short[1], 0, 1);               // 3 · 10/10 → 1, bg активен
+            assertTrue(ui.getNextRandomNumber().isPresent(), "2 · 1/11 = 0, но ui интерактивный");
+
+            var other = core.open("bg2", SharedProviderCore.QosClass.BACKGROUND, 1);
+            assertEquals(0, other.read(new short[1], 0, 1), "1 · 1/12 = 0");
+            assertTrue(provider.refills.get() > 0, "Нулевая доля запускает дозагрузку");
+        }
+
+        @Test
+        @DisplayName("Вес должен быть положительным")
+        void testInvalidWeight() {
+            var core = new SharedProviderCore(new PoolProvider(0), 10, () -> 0L);
+            assertThrows(IllegalArgumentException.class,
+                    () -> core.open("x", SharedProviderCore.QosClass.BACKGROUND, 0));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.ThreeDotsSierpinski;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для TemplateMatcher.
+ *
+ * Покрывает:
+ * - 148 апериодических 9-битных шаблонов, среди них 000000001 и 111111110
+ * - Карта совпадений совпадает с побитовым сравнением (через границы слов)
+ * - countRange и nextMatch на невыровненных границах
+ */
+@DisplayName("TemplateMatcher — бит-параллельный поиск шаблонов")
+@Tag("fast")
+class TemplateMatcherTest {
+
+    private static boolean bit(long[] bits, long p) {
+        return ((bits[(int) (p >>> 6)] >>> p) & 1) == 1;
+    }
+
+    @Test
+    @DisplayName("Апериодических 9-битных шаблонов 148, периодические исключены")
+    void testAperiodicTemplates() {
+        int[] templates = TemplateMatcher.aperiodicTemplates(9);
+        assertEquals(148, templates.length);
+
+        // 000000001: единица — последний бит шаблона
+        assertEquals(1 << 8, templates[0]);
+        // 111111110: нуль — последний бит
+        assertEquals(0xFF, templates[templates.length - 1]);
+        // 101010101 — периодический
+        int periodic = 0b101010101;
+        for (int t : templates) {
+            assertNotEquals(periodic, t);
+        }
+        assertArrayEquals(new int[]{0b10, 0b01}, TemplateMatcher.aperiodicTemplates(2));
+    }
+
+    @Test
+    @DisplayName("Карта совпадений совпадает с побитовым сравнением")
+    void testMatchesNaive() {
+        long n = 5000;
+        long[] bits = new Random(3).longs((n + 63) / 64).toArray();
+        bits[bits.length - 1] &= (1L << (n & 63)) - 1;
+        long[][] shifted = TemplateMatcher.shiftedStreams(bits, 9);
+
+        for (int template : new int[]{0x1FF, 0x100, 0b110100101, 0}) {
+            long[] bitmap = TemplateMatcher.matches(shifted, template);
+            for (long p = 0; p + 9 <= n; p++) {
+                boolean expected = true;
+                for (int j = 0; j < 9; j++) {
+                    expected &= bit(bits, p + j) == (((template >>> j) & 1) == 1);
+                }
+                assertEquals(expected, bit(bitmap, p), "template " + template + ", p=" + p);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("countRange и nextMatch на невыровненных границах")
+    void testRangeQueries() {
+        long[] bitmap = new long[4];
+        long[] positions = {3, 63, 64, 100, 130, 255};
+        for (long p : positions) {
+            bitmap[(int) (p >>> 6)] |= 1L << p;
+        }
+
+        assertEquals(6, TemplateMatcher.countRange(bitmap, 0, 256));
+        assertEquals(3, TemplateMatcher.countRange(bitmap, 4, 101));
+        assertEquals(0, TemplateMatcher.countRange(bitmap, 101, 130));
+
+        assertEquals(63, TemplateMatcher.nextMatch(bitmap, 4, 256));
+        assertEquals(130, TemplateMatcher.nextMatch(bitmap, 101, 256));
+        assertEquals(-1, TemplateMatcher.nextMatch(bitmap, 101, 130));
+        assertEquals(-1, TemplateMatcher.nextMatch(bitmap, 256, 256));
+    }
+}
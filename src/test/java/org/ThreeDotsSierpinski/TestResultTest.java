@@ -12,7 +12,8 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * Покрывает:
  * - Создание и доступ к полям
- * - toString(): ✓ для passed, ✗ для failed
+ * - toString(): ✓ для passed, ✗ для failed, – для пропущенного
+ * - skipped(): не пройден, но и не провален
  * - equals/hashCode (record-based)
  */
 @DisplayName("TestResult — результат теста случайности")
@@ -70,6 +71,19 @@ class TestResultTest {
             assertTrue(str.contains("Chi-Square"), "Должен содержать testName");
         }
 
+        @Test
+        @DisplayName("Пропущенный → – (U+2013), не пройден и не провален")
+        void testSkipped() {
+            TestResult result = TestResult.skipped("Binary Matrix Rank", "Требуется минимум 2432 чисел");
+
+            assertTrue(result.isSkipped());
+            assertFalse(result.passed());
+            assertEquals(TestResult.Quality.SKIPPED, result.quality());
+            assertTrue(result.toString().contains("\u2013"));
+            assertFalse(result.toString().contains("\u2717"), "Пропущенный не помечается как проваленный");
+            assertTrue(result.statistic().contains("2432"));
+        }
+
         @Test
         @DisplayName("Не содержит ✓ для failed и ✗ для passed")
         void testNoWrongMarks() {